@@ -101,6 +101,7 @@ public class DefaultProfilerConfig implements ProfilerConfig {
 
     private String profileInstrumentEngine = INSTRUMENT_ENGINE_ASM;
     private boolean instrumentMatcherEnable = true;
+    private boolean instrumentInterceptorFieldEnable = false;
     private InstrumentMatcherCacheConfig instrumentMatcherCacheConfig = new InstrumentMatcherCacheConfig();
 
     private int interceptorRegistrySize = 1024 * 8;
@@ -142,8 +143,17 @@ public class DefaultProfilerConfig implements ProfilerConfig {
     private boolean deadlockMonitorEnable = true;
     private long deadlockMonitorInterval = 60000L;
 
+    private boolean stackSamplingMonitorEnable = false;
+    private long stackSamplingMonitorInterval = 100L;
+    private long stackSamplingMonitorThreshold = 1000L;
+    private int stackSamplingMonitorMaxDepth = 64;
+    private int stackSamplingMonitorCpuBudget = 1;
+
     private int callStackMaxDepth = 512;
 
+    private boolean spanEventSummaryEnable = false;
+    private int spanEventSummaryThreshold = 1000;
+
     private int jdbcSqlCacheSize = 1024;
     private boolean traceSqlBindValue = false;
     private int maxSqlBindValueSize = 1024;
@@ -152,6 +162,13 @@ public class DefaultProfilerConfig implements ProfilerConfig {
     private boolean samplingEnable = true;
     private int samplingRate = 1;
 
+    // tail sampling of traces rejected by the sampling rate
+    private boolean tailSamplingEnable = false;
+    private int tailSamplingSlowThreshold = 1000;
+    private int tailSamplingSlowPercentile = 99;
+    private int tailSamplingBufferSize = 10000;
+    private int tailSamplingMaxEventsPerTrace = 512;
+
     // span buffering
     private boolean ioBufferingEnable;
     private int ioBufferingBufferSize;
@@ -309,6 +326,31 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return deadlockMonitorInterval;
     }
 
+    @Override
+    public boolean isStackSamplingMonitorEnable() {
+        return stackSamplingMonitorEnable;
+    }
+
+    @Override
+    public long getStackSamplingMonitorInterval() {
+        return stackSamplingMonitorInterval;
+    }
+
+    @Override
+    public long getStackSamplingMonitorThreshold() {
+        return stackSamplingMonitorThreshold;
+    }
+
+    @Override
+    public int getStackSamplingMonitorMaxDepth() {
+        return stackSamplingMonitorMaxDepth;
+    }
+
+    @Override
+    public int getStackSamplingMonitorCpuBudget() {
+        return stackSamplingMonitorCpuBudget;
+    }
+
     @Override
     public int getSpanDataSenderSocketTimeout() {
         return spanDataSenderSocketTimeout;
@@ -365,6 +407,31 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return samplingRate;
     }
 
+    @Override
+    public boolean isTailSamplingEnable() {
+        return tailSamplingEnable;
+    }
+
+    @Override
+    public int getTailSamplingSlowThreshold() {
+        return tailSamplingSlowThreshold;
+    }
+
+    @Override
+    public int getTailSamplingSlowPercentile() {
+        return tailSamplingSlowPercentile;
+    }
+
+    @Override
+    public int getTailSamplingBufferSize() {
+        return tailSamplingBufferSize;
+    }
+
+    @Override
+    public int getTailSamplingMaxEventsPerTrace() {
+        return tailSamplingMaxEventsPerTrace;
+    }
+
     @Override
     public boolean isIoBufferingEnable() {
         return ioBufferingEnable;
@@ -434,6 +501,16 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         this.callStackMaxDepth = callStackMaxDepth;
     }
 
+    @Override
+    public boolean isSpanEventSummaryEnable() {
+        return spanEventSummaryEnable;
+    }
+
+    @Override
+    public int getSpanEventSummaryThreshold() {
+        return spanEventSummaryThreshold;
+    }
+
     @Override
     public boolean isPropagateInterceptorException() {
         return propagateInterceptorException;
@@ -454,6 +531,11 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return instrumentMatcherEnable;
     }
 
+    @Override
+    public boolean isInstrumentInterceptorFieldEnable() {
+        return instrumentInterceptorFieldEnable;
+    }
+
     @Override
     public InstrumentMatcherCacheConfig getInstrumentMatcherCacheConfig() {
         return instrumentMatcherCacheConfig;
@@ -477,6 +559,7 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         this.profileEnable = readBoolean("profiler.enable", true);
         this.profileInstrumentEngine = readString("profiler.instrument.engine", INSTRUMENT_ENGINE_ASM);
         this.instrumentMatcherEnable = readBoolean("profiler.instrument.matcher.enable", true);
+        this.instrumentInterceptorFieldEnable = readBoolean("profiler.instrument.interceptor.field.enable", false);
 
         this.instrumentMatcherCacheConfig.setInterfaceCacheSize(readInt("profiler.instrument.matcher.interface.cache.size", 4));
         this.instrumentMatcherCacheConfig.setInterfaceCacheEntrySize(readInt("profiler.instrument.matcher.interface.cache.entry.size", 16));
@@ -524,11 +607,34 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         this.deadlockMonitorEnable = readBoolean("profiler.monitor.deadlock.enable", true);
         this.deadlockMonitorInterval = readLong("profiler.monitor.deadlock.interval", 60000L);
 
+        this.stackSamplingMonitorEnable = readBoolean("profiler.monitor.stacksampling.enable", false);
+        this.stackSamplingMonitorInterval = readLong("profiler.monitor.stacksampling.interval", 100L);
+        if (this.stackSamplingMonitorInterval < 10) {
+            this.stackSamplingMonitorInterval = 10;
+        }
+        this.stackSamplingMonitorThreshold = readLong("profiler.monitor.stacksampling.threshold", 1000L);
+        this.stackSamplingMonitorMaxDepth = readInt("profiler.monitor.stacksampling.max.depth", 64);
+        if (this.stackSamplingMonitorMaxDepth < 1) {
+            this.stackSamplingMonitorMaxDepth = 1;
+        }
+        // percentage of a single core
+        this.stackSamplingMonitorCpuBudget = readInt("profiler.monitor.stacksampling.cpu.budget", 1);
+        if (this.stackSamplingMonitorCpuBudget < 1) {
+            this.stackSamplingMonitorCpuBudget = 1;
+        } else if (this.stackSamplingMonitorCpuBudget > 100) {
+            this.stackSamplingMonitorCpuBudget = 100;
+        }
+
         // CallStack
         this.callStackMaxDepth = readInt("profiler.callstack.max.depth", 64);
         if (this.callStackMaxDepth < 2) {
             this.callStackMaxDepth = 2;
         }
+        this.spanEventSummaryEnable = readBoolean("profiler.callstack.summary.enable", false);
+        this.spanEventSummaryThreshold = readInt("profiler.callstack.summary.threshold", 1000);
+        if (this.spanEventSummaryThreshold < 0) {
+            this.spanEventSummaryThreshold = 0;
+        }
 
         // JDBC
         this.jdbcSqlCacheSize = readInt("profiler.jdbc.sqlcachesize", 1024);
@@ -538,6 +644,12 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         this.samplingEnable = readBoolean("profiler.sampling.enable", true);
         this.samplingRate = readInt("profiler.sampling.rate", 1);
 
+        this.tailSamplingEnable = readBoolean("profiler.sampling.tail.enable", false);
+        this.tailSamplingSlowThreshold = readInt("profiler.sampling.tail.slow.threshold", 1000);
+        this.tailSamplingSlowPercentile = readInt("profiler.sampling.tail.slow.percentile", 99);
+        this.tailSamplingBufferSize = readInt("profiler.sampling.tail.buffer.size", 10000);
+        this.tailSamplingMaxEventsPerTrace = readInt("profiler.sampling.tail.trace.max.events", 512);
+
         // configuration for sampling and IO buffer 
         this.ioBufferingEnable = readBoolean("profiler.io.buffering.enable", true);
 
@@ -691,6 +803,7 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         sb.append(", profileEnable=").append(profileEnable);
         sb.append(", profileInstrumentEngine='").append(profileInstrumentEngine).append('\'');
         sb.append(", instrumentMatcherEnable=").append(instrumentMatcherEnable);
+        sb.append(", instrumentInterceptorFieldEnable=").append(instrumentInterceptorFieldEnable);
         sb.append(", instrumentMatcherCacheConfig=").append(instrumentMatcherCacheConfig);
         sb.append(", interceptorRegistrySize=").append(interceptorRegistrySize);
         sb.append(", collectorSpanServerIp='").append(collectorSpanServerIp).append('\'');
@@ -721,12 +834,24 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         sb.append(", dataSourceTraceLimitSize=").append(dataSourceTraceLimitSize);
         sb.append(", deadlockMonitorEnable=").append(deadlockMonitorEnable);
         sb.append(", deadlockMonitorInterval=").append(deadlockMonitorInterval);
+        sb.append(", stackSamplingMonitorEnable=").append(stackSamplingMonitorEnable);
+        sb.append(", stackSamplingMonitorInterval=").append(stackSamplingMonitorInterval);
+        sb.append(", stackSamplingMonitorThreshold=").append(stackSamplingMonitorThreshold);
+        sb.append(", stackSamplingMonitorMaxDepth=").append(stackSamplingMonitorMaxDepth);
+        sb.append(", stackSamplingMonitorCpuBudget=").append(stackSamplingMonitorCpuBudget);
         sb.append(", callStackMaxDepth=").append(callStackMaxDepth);
+        sb.append(", spanEventSummaryEnable=").append(spanEventSummaryEnable);
+        sb.append(", spanEventSummaryThreshold=").append(spanEventSummaryThreshold);
         sb.append(", jdbcSqlCacheSize=").append(jdbcSqlCacheSize);
         sb.append(", traceSqlBindValue=").append(traceSqlBindValue);
         sb.append(", maxSqlBindValueSize=").append(maxSqlBindValueSize);
         sb.append(", samplingEnable=").append(samplingEnable);
         sb.append(", samplingRate=").append(samplingRate);
+        sb.append(", tailSamplingEnable=").append(tailSamplingEnable);
+        sb.append(", tailSamplingSlowThreshold=").append(tailSamplingSlowThreshold);
+        sb.append(", tailSamplingSlowPercentile=").append(tailSamplingSlowPercentile);
+        sb.append(", tailSamplingBufferSize=").append(tailSamplingBufferSize);
+        sb.append(", tailSamplingMaxEventsPerTrace=").append(tailSamplingMaxEventsPerTrace);
         sb.append(", ioBufferingEnable=").append(ioBufferingEnable);
         sb.append(", ioBufferingBufferSize=").append(ioBufferingBufferSize);
         sb.append(", profileJvmVendorName='").append(profileJvmVendorName).append('\'');
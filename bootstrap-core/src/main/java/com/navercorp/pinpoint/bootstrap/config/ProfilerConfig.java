@@ -72,6 +72,16 @@ public interface ProfilerConfig {
 
     long getDeadlockMonitorInterval();
 
+    boolean isStackSamplingMonitorEnable();
+
+    long getStackSamplingMonitorInterval();
+
+    long getStackSamplingMonitorThreshold();
+
+    int getStackSamplingMonitorMaxDepth();
+
+    int getStackSamplingMonitorCpuBudget();
+
     int getSpanDataSenderSocketTimeout();
 
     String getSpanDataSenderSocketType();
@@ -94,6 +104,16 @@ public interface ProfilerConfig {
 
     int getSamplingRate();
 
+    boolean isTailSamplingEnable();
+
+    int getTailSamplingSlowThreshold();
+
+    int getTailSamplingSlowPercentile();
+
+    int getTailSamplingBufferSize();
+
+    int getTailSamplingMaxEventsPerTrace();
+
     boolean isIoBufferingEnable();
 
     int getIoBufferingBufferSize();
@@ -119,6 +139,10 @@ public interface ProfilerConfig {
 
     int getCallStackMaxDepth();
 
+    boolean isSpanEventSummaryEnable();
+
+    int getSpanEventSummaryThreshold();
+
     boolean isPropagateInterceptorException();
 
     String getProfileInstrumentEngine();
@@ -127,6 +151,8 @@ public interface ProfilerConfig {
 
     boolean isInstrumentMatcherEnable();
 
+    boolean isInstrumentInterceptorFieldEnable();
+
     InstrumentMatcherCacheConfig getInstrumentMatcherCacheConfig();
 
     boolean isProxyHttpHeaderEnable();
@@ -52,6 +52,11 @@ public class CollectorConfiguration implements InitializingBean {
 
     private int agentEventWorkerThreadSize;
     private int agentEventWorkerQueueSize;
+
+    private int metaDataWriteCacheSize;
+
+    private boolean applicationTraceFilterIndexEnable;
+    private int applicationTraceFilterIndexSlowThreshold;
     
     private List<String> l4IpList = Collections.emptyList();
 
@@ -106,6 +111,30 @@ public class CollectorConfiguration implements InitializingBean {
         this.agentEventWorkerQueueSize = agentEventWorkerQueueSize;
     }
 
+    public int getMetaDataWriteCacheSize() {
+        return metaDataWriteCacheSize;
+    }
+
+    public void setMetaDataWriteCacheSize(int metaDataWriteCacheSize) {
+        this.metaDataWriteCacheSize = metaDataWriteCacheSize;
+    }
+
+    public boolean isApplicationTraceFilterIndexEnable() {
+        return applicationTraceFilterIndexEnable;
+    }
+
+    public void setApplicationTraceFilterIndexEnable(boolean applicationTraceFilterIndexEnable) {
+        this.applicationTraceFilterIndexEnable = applicationTraceFilterIndexEnable;
+    }
+
+    public int getApplicationTraceFilterIndexSlowThreshold() {
+        return applicationTraceFilterIndexSlowThreshold;
+    }
+
+    public void setApplicationTraceFilterIndexSlowThreshold(int applicationTraceFilterIndexSlowThreshold) {
+        this.applicationTraceFilterIndexSlowThreshold = applicationTraceFilterIndexSlowThreshold;
+    }
+
     public List<String> getL4IpList() {
         return l4IpList;
     }
@@ -186,6 +215,11 @@ public class CollectorConfiguration implements InitializingBean {
         this.agentEventWorkerThreadSize = readInt(properties, "collector.agentEventWorker.threadSize", 32);
         this.agentEventWorkerQueueSize = readInt(properties, "collector.agentEventWorker.queueSize", 1024 * 5);
 
+        this.metaDataWriteCacheSize = readInt(properties, "collector.metadata.writecache.size", 100000);
+
+        this.applicationTraceFilterIndexEnable = readBoolean(properties, "collector.applicationTraceFilterIndex.enable");
+        this.applicationTraceFilterIndexSlowThreshold = readInt(properties, "collector.applicationTraceFilterIndex.slowThreshold", 3000);
+
         this.flinkClusterEnable = readBoolean(properties, "flink.cluster.enable");
         this.flinkClusterZookeeperAddress = readString(properties, "flink.cluster.zookeeper.address", "");
         this.flinkClusterSessionTimeout = readInt(properties, "flink.cluster.zookeeper.sessiontimeout", -1);
@@ -254,6 +288,9 @@ public class CollectorConfiguration implements InitializingBean {
         final StringBuilder sb = new StringBuilder("CollectorConfiguration{");
         sb.append("agentEventWorkerThreadSize=").append(agentEventWorkerThreadSize);
         sb.append(", agentEventWorkerQueueSize=").append(agentEventWorkerQueueSize);
+        sb.append(", metaDataWriteCacheSize=").append(metaDataWriteCacheSize);
+        sb.append(", applicationTraceFilterIndexEnable=").append(applicationTraceFilterIndexEnable);
+        sb.append(", applicationTraceFilterIndexSlowThreshold=").append(applicationTraceFilterIndexSlowThreshold);
         sb.append(", l4IpList=").append(l4IpList);
         sb.append(", clusterEnable=").append(clusterEnable);
         sb.append(", clusterAddress='").append(clusterAddress).append('\'');
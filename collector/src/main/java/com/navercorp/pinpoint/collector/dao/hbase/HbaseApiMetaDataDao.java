@@ -48,11 +48,18 @@ public class HbaseApiMetaDataDao implements ApiMetaDataDao {
     @Qualifier("metadataRowKeyDistributor")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Autowired
+    private MetaDataWriteCache metaDataWriteCache;
+
     @Override
     public void insert(TApiMetaData apiMetaData) {
         if (logger.isDebugEnabled()) {
             logger.debug("insert:{}", apiMetaData);
         }
+        if (metaDataWriteCache.isWritten(MetaDataWriteCache.Type.API, apiMetaData.getAgentId(), apiMetaData.getAgentStartTime(), apiMetaData.getApiId())) {
+            logger.debug("skip duplicated apiMetaData:{}", apiMetaData);
+            return;
+        }
 
 
         ApiMetaDataBo apiMetaDataBo = new ApiMetaDataBo(apiMetaData.getAgentId(), apiMetaData.getAgentStartTime(), apiMetaData.getApiId());
@@ -78,6 +85,7 @@ public class HbaseApiMetaDataDao implements ApiMetaDataDao {
         put.addColumn(HBaseTables.API_METADATA_CF_API, HBaseTables.API_METADATA_CF_API_QUALI_SIGNATURE, apiMetaDataBytes);
 
         hbaseTemplate.put(HBaseTables.API_METADATA, put);
+        metaDataWriteCache.markWritten(MetaDataWriteCache.Type.API, apiMetaData.getAgentId(), apiMetaData.getAgentStartTime(), apiMetaData.getApiId());
     }
 
     private byte[] getDistributedKey(byte[] rowKey) {
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.collector.dao.hbase;
 
 import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
 
+import com.navercorp.pinpoint.collector.config.CollectorConfiguration;
 import com.navercorp.pinpoint.collector.dao.ApplicationTraceIndexDao;
 import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
 import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
@@ -51,6 +52,9 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
     @Qualifier("applicationTraceIndexDistributor")
     private AbstractRowKeyDistributor rowKeyDistributor;
 
+    @Autowired
+    private CollectorConfiguration collectorConfiguration;
+
     @Override
     public void insert(final TSpan span) {
         if (span == null) {
@@ -73,6 +77,32 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
         if (!success) {
             hbaseTemplate.put(APPLICATION_TRACE_INDEX, put);
         }
+
+        if (collectorConfiguration.isApplicationTraceFilterIndexEnable()) {
+            insertFilterIndex(span, distributedKey, acceptedTime, value);
+        }
+    }
+
+    private void insertFilterIndex(TSpan span, byte[] distributedKey, long acceptedTime, byte[] value) {
+        final boolean error = span.getErr() != 0;
+        final boolean slow = span.getElapsed() >= collectorConfiguration.getApplicationTraceFilterIndexSlowThreshold();
+        if (!error && !slow) {
+            return;
+        }
+
+        final Put put = new Put(distributedKey);
+        final byte[] qualifier = makeQualifier(span);
+        if (error) {
+            put.addColumn(APPLICATION_TRACE_FILTER_INDEX_CF_ERROR, qualifier, acceptedTime, value);
+        }
+        if (slow) {
+            put.addColumn(APPLICATION_TRACE_FILTER_INDEX_CF_SLOW, qualifier, acceptedTime, value);
+        }
+
+        boolean success = hbaseTemplate.asyncPut(APPLICATION_TRACE_FILTER_INDEX, put);
+        if (!success) {
+            hbaseTemplate.put(APPLICATION_TRACE_FILTER_INDEX, put);
+        }
     }
 
     private byte[] makeQualifier(final TSpan span) {
@@ -45,6 +45,9 @@ public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
     @Qualifier("metadataRowKeyDistributor2")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Autowired
+    private MetaDataWriteCache metaDataWriteCache;
+
     @Override
     public void insert(TSqlMetaData sqlMetaData) {
         if (sqlMetaData == null) {
@@ -53,6 +56,10 @@ public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
         if (logger.isDebugEnabled()) {
             logger.debug("insert:{}", sqlMetaData);
         }
+        if (metaDataWriteCache.isWritten(MetaDataWriteCache.Type.SQL, sqlMetaData.getAgentId(), sqlMetaData.getAgentStartTime(), sqlMetaData.getSqlId())) {
+            logger.debug("skip duplicated sqlMetaData:{}", sqlMetaData);
+            return;
+        }
 
         SqlMetaDataBo sqlMetaDataBo = new SqlMetaDataBo(sqlMetaData.getAgentId(), sqlMetaData.getAgentStartTime(), sqlMetaData.getSqlId());
         final byte[] rowKey = getDistributedKey(sqlMetaDataBo.toRowKey());
@@ -65,6 +72,7 @@ public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
         put.addColumn(HBaseTables.SQL_METADATA_VER2_CF_SQL, HBaseTables.SQL_METADATA_VER2_CF_SQL_QUALI_SQLSTATEMENT, sqlBytes);
 
         hbaseTemplate.put(HBaseTables.SQL_METADATA_VER2, put);
+        metaDataWriteCache.markWritten(MetaDataWriteCache.Type.SQL, sqlMetaData.getAgentId(), sqlMetaData.getAgentStartTime(), sqlMetaData.getSqlId());
     }
 
     private byte[] getDistributedKey(byte[] rowKey) {
@@ -47,6 +47,9 @@ public class HbaseStringMetaDataDao implements StringMetaDataDao {
     @Qualifier("metadataRowKeyDistributor")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Autowired
+    private MetaDataWriteCache metaDataWriteCache;
+
     @Override
     public void insert(TStringMetaData stringMetaData) {
         if (stringMetaData == null) {
@@ -55,6 +58,10 @@ public class HbaseStringMetaDataDao implements StringMetaDataDao {
         if (logger.isDebugEnabled()) {
             logger.debug("insert:{}", stringMetaData);
         }
+        if (metaDataWriteCache.isWritten(MetaDataWriteCache.Type.STRING, stringMetaData.getAgentId(), stringMetaData.getAgentStartTime(), stringMetaData.getStringId())) {
+            logger.debug("skip duplicated stringMetaData:{}", stringMetaData);
+            return;
+        }
 
         final StringMetaDataBo stringMetaDataBo = new StringMetaDataBo(stringMetaData.getAgentId(), stringMetaData.getAgentStartTime(), stringMetaData.getStringId());
         final byte[] rowKey = getDistributedKey(stringMetaDataBo.toRowKey());
@@ -66,6 +73,7 @@ public class HbaseStringMetaDataDao implements StringMetaDataDao {
         put.addColumn(HBaseTables.STRING_METADATA_CF_STR, HBaseTables.STRING_METADATA_CF_STR_QUALI_STRING, sqlBytes);
 
         hbaseTemplate.put(HBaseTables.STRING_METADATA, put);
+        metaDataWriteCache.markWritten(MetaDataWriteCache.Type.STRING, stringMetaData.getAgentId(), stringMetaData.getAgentStartTime(), stringMetaData.getStringId());
     }
 
     private byte[] getDistributedKey(byte[] rowKey) {
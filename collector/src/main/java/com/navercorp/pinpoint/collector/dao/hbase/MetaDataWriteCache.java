@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.navercorp.pinpoint.collector.config.CollectorConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Remembers recently written metadata rows so that agents re-sending the same metadata
+ * (agent restart, tcp retry, reconnect) do not rewrite identical rows to hbase.
+ * <p>
+ * A metadata row is immutable for a given (agentId, agentStartTime, id), so a duplicated write can be dropped safely.
+ *
+ * @see HbaseApiMetaDataDao
+ * @see HbaseSqlMetaDataDao
+ * @see HbaseStringMetaDataDao
+ */
+@Component
+public class MetaDataWriteCache {
+
+    public enum Type {
+        API, SQL, STRING
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Cache<Key, Boolean> cache;
+
+    private final Map<Type, Counter> writtenCounter = new EnumMap<>(Type.class);
+    private final Map<Type, Counter> suppressedCounter = new EnumMap<>(Type.class);
+
+    @Autowired
+    public MetaDataWriteCache(CollectorConfiguration configuration, MetricRegistry metricRegistry) {
+        Objects.requireNonNull(configuration, "configuration must not be null");
+        Objects.requireNonNull(metricRegistry, "metricRegistry must not be null");
+
+        final int cacheSize = configuration.getMetaDataWriteCacheSize();
+        if (cacheSize > 0) {
+            this.cache = CacheBuilder.newBuilder()
+                    .concurrencyLevel(8)
+                    .maximumSize(cacheSize)
+                    .build();
+        } else {
+            this.cache = null;
+        }
+        logger.info("metadata write cache size:{}", cacheSize);
+
+        for (Type type : Type.values()) {
+            final String prefix = "collector.metadata." + type.name().toLowerCase();
+            writtenCounter.put(type, metricRegistry.counter(prefix + ".written"));
+            suppressedCounter.put(type, metricRegistry.counter(prefix + ".suppressed"));
+        }
+    }
+
+    /**
+     * @return true if the same metadata row was written recently and the write may be skipped
+     */
+    public boolean isWritten(Type type, String agentId, long agentStartTime, int id) {
+        if (cache == null) {
+            return false;
+        }
+        final Key key = new Key(type, agentId, agentStartTime, id);
+        if (cache.getIfPresent(key) == null) {
+            return false;
+        }
+        suppressedCounter.get(type).inc();
+        return true;
+    }
+
+    /**
+     * Must be called only after the row was written successfully.
+     */
+    public void markWritten(Type type, String agentId, long agentStartTime, int id) {
+        writtenCounter.get(type).inc();
+        if (cache == null) {
+            return;
+        }
+        cache.put(new Key(type, agentId, agentStartTime, id), Boolean.TRUE);
+    }
+
+    public long getSuppressedCount(Type type) {
+        return suppressedCounter.get(type).getCount();
+    }
+
+    private static final class Key {
+        private final Type type;
+        private final String agentId;
+        private final long agentStartTime;
+        private final int id;
+
+        private Key(Type type, String agentId, long agentStartTime, int id) {
+            this.type = Objects.requireNonNull(type, "type must not be null");
+            this.agentId = Objects.requireNonNull(agentId, "agentId must not be null");
+            this.agentStartTime = agentStartTime;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key key = (Key) o;
+
+            if (agentStartTime != key.agentStartTime) return false;
+            if (id != key.id) return false;
+            if (type != key.type) return false;
+            return agentId.equals(key.agentId);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = type.hashCode();
+            result = 31 * result + agentId.hashCode();
+            result = 31 * result + (int) (agentStartTime ^ (agentStartTime >>> 32));
+            result = 31 * result + id;
+            return result;
+        }
+    }
+}
@@ -68,7 +68,7 @@ public class SpanChunkHandler implements SimpleHandler {
                 if (logger.isDebugEnabled()) {
                     logger.debug("SpanChunk Size:{}", spanEventList.size());
                 }
-                // TODO need to batch update later.
+                final SpanEventStatistics spanEventStatistics = new SpanEventStatistics();
                 for (SpanEventBo spanEvent : spanEventList) {
                     final ServiceType spanEventType = registry.findServiceType(spanEvent.getServiceType());
 
@@ -79,16 +79,13 @@ public class SpanChunkHandler implements SimpleHandler {
                     // if terminal update statistics
                     final int elapsed = spanEvent.getEndElapsed();
                     final boolean hasException = spanEvent.hasException();
-
-                    /*
-                     * save information to draw a server map based on statistics
-                     */
-                    // save the information of caller (the spanevent that span called)
-                    statisticsHandler.updateCaller(spanChunkBo.getApplicationId(), applicationServiceType, spanChunkBo.getAgentId(), spanEvent.getDestinationId(), spanEventType, spanEvent.getEndPoint(), elapsed, hasException);
-
-                    // save the information of callee (the span that called spanevent)
-                    statisticsHandler.updateCallee(spanEvent.getDestinationId(), spanEventType, spanChunkBo.getApplicationId(), applicationServiceType, spanChunkBo.getEndPoint(), elapsed, hasException);
+                    spanEventStatistics.add(spanEvent.getDestinationId(), spanEventType, spanEvent.getEndPoint(), elapsed, hasException);
                 }
+
+                /*
+                 * save information to draw a server map based on statistics
+                 */
+                statisticsHandler.updateSpanEventStatistics(spanChunkBo.getApplicationId(), applicationServiceType, spanChunkBo.getAgentId(), spanChunkBo.getEndPoint(), spanEventStatistics);
             }
         } catch (Exception e) {
             logger.warn("SpanChunk handle error Caused:{}", e.getMessage(), e);
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Collects the span events of a single span (or span chunk) so that each distinct
+ * (destination, service type, endpoint, histogram slot) is counted once instead of once per event.
+ */
+public class SpanEventStatistics {
+
+    private final Map<CallKey, Call> callMap = new HashMap<>();
+
+    private int eventCount;
+
+    public void add(String destinationId, ServiceType serviceType, String endPoint, int elapsed, boolean isError) {
+        Objects.requireNonNull(serviceType, "serviceType must not be null");
+
+        final short slotNumber = ApplicationMapStatisticsUtils.getSlotNumber(serviceType, elapsed, isError);
+        final CallKey callKey = new CallKey(destinationId, serviceType.getCode(), endPoint, slotNumber);
+        Call call = callMap.get(callKey);
+        if (call == null) {
+            // any elapsed/isError pair of the same slot maps to the same column, so the first one is kept.
+            call = new Call(destinationId, serviceType, endPoint, elapsed, isError);
+            callMap.put(callKey, call);
+        }
+        call.count++;
+        eventCount++;
+    }
+
+    public Collection<Call> getCalls() {
+        return callMap.values();
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public boolean isEmpty() {
+        return callMap.isEmpty();
+    }
+
+    public static final class Call {
+        private final String destinationId;
+        private final ServiceType serviceType;
+        private final String endPoint;
+        private final int elapsed;
+        private final boolean isError;
+        private long count;
+
+        private Call(String destinationId, ServiceType serviceType, String endPoint, int elapsed, boolean isError) {
+            this.destinationId = destinationId;
+            this.serviceType = serviceType;
+            this.endPoint = endPoint;
+            this.elapsed = elapsed;
+            this.isError = isError;
+        }
+
+        public String getDestinationId() {
+            return destinationId;
+        }
+
+        public ServiceType getServiceType() {
+            return serviceType;
+        }
+
+        public String getEndPoint() {
+            return endPoint;
+        }
+
+        public int getElapsed() {
+            return elapsed;
+        }
+
+        public boolean isError() {
+            return isError;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return "Call{" +
+                    "destinationId='" + destinationId + '\'' +
+                    ", serviceType=" + serviceType +
+                    ", endPoint='" + endPoint + '\'' +
+                    ", elapsed=" + elapsed +
+                    ", isError=" + isError +
+                    ", count=" + count +
+                    '}';
+        }
+    }
+
+    private static final class CallKey {
+        private final String destinationId;
+        private final short serviceTypeCode;
+        private final String endPoint;
+        private final short slotNumber;
+
+        private CallKey(String destinationId, short serviceTypeCode, String endPoint, short slotNumber) {
+            this.destinationId = destinationId;
+            this.serviceTypeCode = serviceTypeCode;
+            this.endPoint = endPoint;
+            this.slotNumber = slotNumber;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            CallKey callKey = (CallKey) o;
+
+            if (serviceTypeCode != callKey.serviceTypeCode) return false;
+            if (slotNumber != callKey.slotNumber) return false;
+            if (destinationId != null ? !destinationId.equals(callKey.destinationId) : callKey.destinationId != null) return false;
+            return endPoint != null ? endPoint.equals(callKey.endPoint) : callKey.endPoint == null;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = destinationId != null ? destinationId.hashCode() : 0;
+            result = 31 * result + (int) serviceTypeCode;
+            result = 31 * result + (endPoint != null ? endPoint.hashCode() : 0);
+            result = 31 * result + (int) slotNumber;
+            return result;
+        }
+    }
+}
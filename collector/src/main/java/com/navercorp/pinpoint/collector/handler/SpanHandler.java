@@ -82,20 +82,21 @@ public class SpanHandler implements SimpleHandler {
             traceDao.insert(spanBo);
             applicationTraceIndexDao.insert(tSpan);
 
+            // resolve once, shared by all statistics below
+            final ServiceType applicationServiceType = getApplicationServiceType(spanBo);
+            final ServiceType spanServiceType = registry.findServiceType(spanBo.getServiceType());
+
             // insert statistics info for server map
-            insertAcceptorHost(spanBo);
-            insertSpanStat(spanBo);
-            insertSpanEventStat(spanBo);
+            insertAcceptorHost(spanBo, applicationServiceType, spanServiceType);
+            insertSpanStat(spanBo, applicationServiceType, spanServiceType);
+            insertSpanEventStat(spanBo, applicationServiceType);
         } catch (Exception e) {
             logger.warn("Span handle error. Caused:{}. Span:{}",e.getMessage(), tbase, e);
         }
     }
 
 
-    private void insertSpanStat(SpanBo span) {
-        final ServiceType applicationServiceType = getApplicationServiceType(span);
-        final ServiceType spanServiceType = registry.findServiceType(span.getServiceType());
-
+    private void insertSpanStat(SpanBo span, ServiceType applicationServiceType, ServiceType spanServiceType) {
         final boolean isError = span.getErrCode() != 0;
         int bugCheck = 0;
         if (span.getParentSpanId() == -1) {
@@ -153,17 +154,14 @@ public class SpanHandler implements SimpleHandler {
         }
     }
 
-    private void insertSpanEventStat(SpanBo span) {
+    private void insertSpanEventStat(SpanBo span, ServiceType applicationServiceType) {
 
         final List<SpanEventBo> spanEventList = span.getSpanEventBoList();
         if (CollectionUtils.isEmpty(spanEventList)) {
             return;
         }
 
-        final ServiceType applicationServiceType = getApplicationServiceType(span);
-
-        logger.debug("handle spanEvent size:{}", spanEventList.size());
-        // TODO need to batch update later.
+        final SpanEventStatistics spanEventStatistics = new SpanEventStatistics();
         for (SpanEventBo spanEvent : spanEventList) {
             final ServiceType spanEventType = registry.findServiceType(spanEvent.getServiceType());
             if (!spanEventType.isRecordStatistics()) {
@@ -173,19 +171,19 @@ public class SpanHandler implements SimpleHandler {
             // if terminal update statistics
             final int elapsed = spanEvent.getEndElapsed();
             final boolean hasException = spanEvent.hasException();
+            spanEventStatistics.add(spanEvent.getDestinationId(), spanEventType, spanEvent.getEndPoint(), elapsed, hasException);
+        }
 
-            /*
-             * save information to draw a server map based on statistics
-             */
-            // save the information of caller (the spanevent that called span)
-            statisticsHandler.updateCaller(span.getApplicationId(), applicationServiceType, span.getAgentId(), spanEvent.getDestinationId(), spanEventType, spanEvent.getEndPoint(), elapsed, hasException);
-
-            // save the information of callee (the span that spanevent called)
-            statisticsHandler.updateCallee(spanEvent.getDestinationId(), spanEventType, span.getApplicationId(), applicationServiceType, span.getEndPoint(), elapsed, hasException);
+        if (logger.isDebugEnabled()) {
+            logger.debug("handle spanEvent size:{}, statistics event:{}, distinct:{}", spanEventList.size(), spanEventStatistics.getEventCount(), spanEventStatistics.getCalls().size());
         }
+        /*
+         * save information to draw a server map based on statistics
+         */
+        statisticsHandler.updateSpanEventStatistics(span.getApplicationId(), applicationServiceType, span.getAgentId(), span.getEndPoint(), spanEventStatistics);
     }
 
-    private void insertAcceptorHost(SpanBo span) {
+    private void insertAcceptorHost(SpanBo span, ServiceType applicationServiceType, ServiceType spanServiceType) {
         // save host application map
         // acceptor host is set at profiler module only when the span is not the kind of root span
         final String acceptorHost = span.getAcceptorHost();
@@ -193,12 +191,11 @@ public class SpanHandler implements SimpleHandler {
             return;
         }
         final String spanApplicationName = span.getApplicationId();
-        final short applicationServiceTypeCode = getApplicationServiceType(span).getCode();
+        final short applicationServiceTypeCode = applicationServiceType.getCode();
 
         final String parentApplicationName = span.getParentApplicationId();
         final short parentServiceType = span.getParentApplicationServiceType();
 
-        final ServiceType spanServiceType = registry.findServiceType(span.getServiceType());
         if (spanServiceType.isQueue()) {
             hostApplicationMapDao.insert(span.getEndPoint(), spanApplicationName, applicationServiceTypeCode, parentApplicationName, parentServiceType);
         } else {
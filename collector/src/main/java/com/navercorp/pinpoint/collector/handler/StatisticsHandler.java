@@ -77,6 +77,25 @@ public class StatisticsHandler {
         mapStatisticsCalleeDao.update(calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, elapsed, isError);
     }
 
+    /**
+     * Updates the caller and callee statistics of the span events pre-aggregated in {@link SpanEventStatistics},
+     * incrementing each distinct counter once.
+     * @param applicationName
+     * @param applicationServiceType
+     * @param agentId
+     * @param endPoint
+     * @param spanEventStatistics
+     */
+    public void updateSpanEventStatistics(String applicationName, ServiceType applicationServiceType, String agentId, String endPoint, SpanEventStatistics spanEventStatistics) {
+        for (SpanEventStatistics.Call call : spanEventStatistics.getCalls()) {
+            // save the information of caller (the spanevent that called span)
+            mapStatisticsCallerDao.update(applicationName, applicationServiceType, agentId, call.getDestinationId(), call.getServiceType(), call.getEndPoint(), call.getElapsed(), call.isError(), call.getCount());
+
+            // save the information of callee (the span that spanevent called)
+            mapStatisticsCalleeDao.update(call.getDestinationId(), call.getServiceType(), applicationName, applicationServiceType, endPoint, call.getElapsed(), call.isError(), call.getCount());
+        }
+    }
+
     public void updateResponseTime(String applicationName, ServiceType serviceType, String agentId, int elapsed, boolean isError) {
         mapResponseTimeDao.received(applicationName, serviceType, agentId, elapsed, isError);
     }
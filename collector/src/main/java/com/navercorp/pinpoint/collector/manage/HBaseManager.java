@@ -40,6 +40,21 @@ public class HBaseManager extends AbstractCollectorManager implements HBaseManag
         return hBaseAsyncOperation.getOpsRejectedCount();
     }
 
+    @Override
+    public Long getCurrentAsyncOpsCount() {
+        return hBaseAsyncOperation.getCurrentOpsCount();
+    }
+
+    @Override
+    public Long getAsyncOpsFailedCount() {
+        return hBaseAsyncOperation.getOpsFailedCount();
+    }
+
+    @Override
+    public Long getAsyncOpsAverageLatency() {
+        return hBaseAsyncOperation.getOpsAverageLatency();
+    }
+
     @Override
     public Map<String, Long> getCurrentAsyncOpsCountForEachRegionServer() {
         return hBaseAsyncOperation.getCurrentOpsCountForEachRegionServer();
@@ -28,6 +28,12 @@ public interface HBaseManagerMBean {
 
     Long getAsyncOpsRejectedCount();
 
+    Long getCurrentAsyncOpsCount();
+
+    Long getAsyncOpsFailedCount();
+
+    Long getAsyncOpsAverageLatency();
+
     Map<String, Long> getCurrentAsyncOpsCountForEachRegionServer();
 
     Map<String, Long> getAsyncOpsFailedCountForEachRegionServer();
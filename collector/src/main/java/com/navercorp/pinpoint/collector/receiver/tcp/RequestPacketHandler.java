@@ -73,12 +73,11 @@ public class RequestPacketHandler implements PinpointPacketHandler<RequestPacket
         Objects.requireNonNull(packet, "packet must not be null");
         Objects.requireNonNull(pinpointSocket, "pinpointSocket must not be null");
         
-        byte[] payload = packet.getPayload();
-        Objects.requireNonNull(payload, "payload must not be null");
+        Objects.requireNonNull(packet.getPayloadBuffer(), "payload must not be null");
 
         SocketAddress remoteAddress = pinpointSocket.getRemoteAddress();
         try {
-            TBase<?, ?> tBase = SerializationUtils.deserialize(payload, deserializerFactory);
+            TBase<?, ?> tBase = PacketUtils.deserialize(packet, deserializerFactory);
             TBase result = dispatchHandler.dispatchRequestMessage(tBase);
             if (result != null) {
                 byte[] resultBytes = SerializationUtils.serialize(result, serializerFactory);
@@ -89,7 +88,7 @@ public class RequestPacketHandler implements PinpointPacketHandler<RequestPacket
                 logger.warn("packet serialize error. remote:{} cause:{}", remoteAddress, e.getMessage(), e);
             }
             if (isDebug) {
-                logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(payload));
+                logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(packet.getPayload()));
             }
         } catch (Exception e) {
             // there are cases where invalid headers are received
@@ -97,7 +96,7 @@ public class RequestPacketHandler implements PinpointPacketHandler<RequestPacket
                 logger.warn("Unexpected error. remote:{} cause:{}", remoteAddress, e.getMessage(), e);
             }
             if (isDebug) {
-                logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(payload));
+                logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(packet.getPayload()));
             }
         }
     }
@@ -24,7 +24,6 @@ import com.navercorp.pinpoint.thrift.io.DeserializerFactory;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
 import com.navercorp.pinpoint.thrift.io.ThreadLocalHeaderTBaseDeserializerFactory;
-import com.navercorp.pinpoint.thrift.util.SerializationUtils;
 import org.apache.thrift.TBase;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
@@ -59,19 +58,18 @@ public class SendPacketHandler implements PinpointPacketHandler<SendPacket> {
         Objects.requireNonNull(packet, "packet must not be null");
         Objects.requireNonNull(pinpointSocket, "pinpointSocket must not be null");
         
-        byte[] payload = packet.getPayload();
-        Objects.requireNonNull(payload, "payload must not be null");
+        Objects.requireNonNull(packet.getPayloadBuffer(), "payload must not be null");
 
         SocketAddress remoteAddress = pinpointSocket.getRemoteAddress();
         try {
-            TBase<?, ?> tBase = SerializationUtils.deserialize(payload, deserializerFactory);
+            TBase<?, ?> tBase = PacketUtils.deserialize(packet, deserializerFactory);
             dispatchHandler.dispatchSendMessage(tBase);
         } catch (TException e) {
             if (logger.isWarnEnabled()) {
                 logger.warn("packet serialize error. remote:{} cause:{}", remoteAddress, e.getMessage(), e);
             }
             if (isDebug) {
-                logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(payload));
+                logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(packet.getPayload()));
             }
         } catch (Exception e) {
             // there are cases where invalid headers are received
@@ -79,7 +77,7 @@ public class SendPacketHandler implements PinpointPacketHandler<SendPacket> {
                 logger.warn("Unexpected error. remote:{} cause:{}", remoteAddress, e.getMessage(), e);
             }
             if (isDebug) {
-                logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(payload));
+                logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(packet.getPayload()));
             }
         }
     }
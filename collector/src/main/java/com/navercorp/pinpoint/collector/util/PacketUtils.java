@@ -16,7 +16,14 @@
 
 package com.navercorp.pinpoint.collector.util;
 
+import com.navercorp.pinpoint.rpc.packet.BasicPacket;
+import com.navercorp.pinpoint.thrift.io.DeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
+import com.navercorp.pinpoint.thrift.util.SerializationUtils;
 import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.jboss.netty.buffer.ChannelBuffer;
 
 import java.net.DatagramPacket;
 
@@ -40,4 +47,16 @@ public final class PacketUtils {
         }
         return Bytes.toStringBinary(bytes, 0, bytes.length);
     }
+
+    /**
+     * deserializes straight from the received frame so the payload is not copied into a new byte[].
+     */
+    public static TBase<?, ?> deserialize(BasicPacket packet, DeserializerFactory<HeaderTBaseDeserializer> deserializerFactory) throws TException {
+        final ChannelBuffer payloadBuffer = packet.getPayloadBuffer();
+        if (payloadBuffer.hasArray()) {
+            final int offset = payloadBuffer.arrayOffset() + payloadBuffer.readerIndex();
+            return SerializationUtils.deserialize(payloadBuffer.array(), offset, payloadBuffer.readableBytes(), deserializerFactory);
+        }
+        return SerializationUtils.deserialize(packet.getPayload(), deserializerFactory);
+    }
 }
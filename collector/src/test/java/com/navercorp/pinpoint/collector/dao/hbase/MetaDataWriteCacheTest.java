@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.codahale.metrics.MetricRegistry;
+import com.navercorp.pinpoint.collector.config.CollectorConfiguration;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MetaDataWriteCacheTest {
+
+    private static final String AGENT_ID = "agentId";
+    private static final long AGENT_START_TIME = 1000;
+
+    @Test
+    public void suppressDuplicatedWrite() {
+        MetaDataWriteCache cache = newMetaDataWriteCache(100);
+
+        Assert.assertFalse(cache.isWritten(MetaDataWriteCache.Type.API, AGENT_ID, AGENT_START_TIME, 1));
+        cache.markWritten(MetaDataWriteCache.Type.API, AGENT_ID, AGENT_START_TIME, 1);
+
+        Assert.assertTrue(cache.isWritten(MetaDataWriteCache.Type.API, AGENT_ID, AGENT_START_TIME, 1));
+        Assert.assertEquals(1, cache.getSuppressedCount(MetaDataWriteCache.Type.API));
+
+        // same id of other metadata type or other agent start time is a different row
+        Assert.assertFalse(cache.isWritten(MetaDataWriteCache.Type.SQL, AGENT_ID, AGENT_START_TIME, 1));
+        Assert.assertFalse(cache.isWritten(MetaDataWriteCache.Type.API, AGENT_ID, AGENT_START_TIME + 1, 1));
+    }
+
+    @Test
+    public void disabled() {
+        MetaDataWriteCache cache = newMetaDataWriteCache(0);
+
+        cache.markWritten(MetaDataWriteCache.Type.STRING, AGENT_ID, AGENT_START_TIME, 1);
+        Assert.assertFalse(cache.isWritten(MetaDataWriteCache.Type.STRING, AGENT_ID, AGENT_START_TIME, 1));
+        Assert.assertEquals(0, cache.getSuppressedCount(MetaDataWriteCache.Type.STRING));
+    }
+
+    private MetaDataWriteCache newMetaDataWriteCache(int cacheSize) {
+        CollectorConfiguration configuration = new CollectorConfiguration();
+        configuration.setMetaDataWriteCacheSize(cacheSize);
+        return new MetaDataWriteCache(configuration, new MetricRegistry());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class SpanEventStatisticsTest {
+
+    private static final ServiceType DB_TYPE = ServiceType.UNKNOWN_DB_EXECUTE_QUERY;
+
+    @Test
+    public void sameCallIsCountedOnce() {
+        SpanEventStatistics statistics = new SpanEventStatistics();
+        for (int i = 0; i < 300; i++) {
+            statistics.add("testDb", DB_TYPE, "localhost:3306", i % 50, false);
+        }
+
+        Assert.assertEquals(300, statistics.getEventCount());
+        Assert.assertEquals(1, statistics.getCalls().size());
+
+        SpanEventStatistics.Call call = statistics.getCalls().iterator().next();
+        Assert.assertEquals("testDb", call.getDestinationId());
+        Assert.assertEquals(DB_TYPE, call.getServiceType());
+        Assert.assertEquals("localhost:3306", call.getEndPoint());
+        Assert.assertEquals(300, call.getCount());
+    }
+
+    @Test
+    public void distinctCalls() {
+        SpanEventStatistics statistics = new SpanEventStatistics();
+        statistics.add("testDb", DB_TYPE, "localhost:3306", 10, false);
+        statistics.add("testDb", DB_TYPE, "localhost:3306", 20, false);
+        // different histogram slot
+        statistics.add("testDb", DB_TYPE, "localhost:3306", 4000, false);
+        // error slot
+        statistics.add("testDb", DB_TYPE, "localhost:3306", 10, true);
+        // different endpoint
+        statistics.add("testDb", DB_TYPE, "localhost:3307", 10, false);
+        // different destination
+        statistics.add("testDb2", DB_TYPE, "localhost:3306", 10, false);
+        // no endpoint
+        statistics.add("testDb2", DB_TYPE, null, 10, false);
+        statistics.add("testDb2", DB_TYPE, null, 10, false);
+
+        Assert.assertEquals(8, statistics.getEventCount());
+        Assert.assertEquals(6, statistics.getCalls().size());
+
+        Map<String, Long> countMap = new HashMap<>();
+        for (SpanEventStatistics.Call call : statistics.getCalls()) {
+            String key = call.getDestinationId() + "/" + call.getEndPoint() + "/" + call.getElapsed() + "/" + call.isError();
+            countMap.put(key, call.getCount());
+        }
+        Assert.assertEquals(Long.valueOf(2), countMap.get("testDb/localhost:3306/10/false"));
+        Assert.assertEquals(Long.valueOf(1), countMap.get("testDb/localhost:3306/4000/false"));
+        Assert.assertEquals(Long.valueOf(1), countMap.get("testDb/localhost:3306/10/true"));
+        Assert.assertEquals(Long.valueOf(1), countMap.get("testDb/localhost:3307/10/false"));
+        Assert.assertEquals(Long.valueOf(1), countMap.get("testDb2/localhost:3306/10/false"));
+        Assert.assertEquals(Long.valueOf(2), countMap.get("testDb2/null/10/false"));
+    }
+
+    @Test
+    public void empty() {
+        SpanEventStatistics statistics = new SpanEventStatistics();
+        Assert.assertTrue(statistics.isEmpty());
+        Assert.assertEquals(0, statistics.getEventCount());
+    }
+}
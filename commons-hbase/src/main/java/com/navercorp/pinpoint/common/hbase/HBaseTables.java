@@ -36,6 +36,11 @@ public final class HBaseTables {
     public static final byte[] APPLICATION_TRACE_INDEX_CF_TRACE = Bytes.toBytes("I"); // applicationIndex
     public static final int APPLICATION_TRACE_INDEX_ROW_DISTRIBUTE_SIZE = 1; // applicationIndex hash size
 
+    // same row key and cell layout as ApplicationTraceIndex, holding only errored or slow transactions
+    public static final TableName APPLICATION_TRACE_FILTER_INDEX = TableName.valueOf("ApplicationTraceFilterIndex");
+    public static final byte[] APPLICATION_TRACE_FILTER_INDEX_CF_ERROR = Bytes.toBytes("E");
+    public static final byte[] APPLICATION_TRACE_FILTER_INDEX_CF_SLOW = Bytes.toBytes("S");
+
     @Deprecated public static final TableName AGENT_STAT = TableName.valueOf("AgentStat");
     public static final TableName AGENT_STAT_VER2 = TableName.valueOf("AgentStatV2");
 
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.common.hbase;
 
 import com.google.common.collect.Lists;
 import com.navercorp.pinpoint.common.hbase.parallel.ParallelResultScanner;
+import com.navercorp.pinpoint.common.hbase.parallel.ScanTaskConfig;
 import com.navercorp.pinpoint.common.hbase.parallel.ScanTaskException;
 import com.navercorp.pinpoint.common.util.ExecutorFactory;
 import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
@@ -74,6 +75,7 @@ public class HbaseTemplate2 extends HbaseAccessor implements HbaseOperations2, I
     private boolean enableParallelScan = false;
     private int maxThreads = DEFAULT_MAX_THREADS_FOR_PARALLEL_SCANNER;
     private int maxThreadsPerParallelScan = DEFAULT_MAX_THREADS_PER_PARALLEL_SCAN;
+    private long parallelScanBufferSize = ScanTaskConfig.DEFAULT_SCAN_TASK_BUFFER_SIZE;
 
     private HBaseAsyncOperation asyncOperation = DisabledHBaseAsyncOperation.INSTANCE;
 
@@ -96,6 +98,10 @@ public class HbaseTemplate2 extends HbaseAccessor implements HbaseOperations2, I
         this.maxThreadsPerParallelScan = maxThreadsPerParallelScan;
     }
 
+    public void setParallelScanBufferSize(long parallelScanBufferSize) {
+        this.parallelScanBufferSize = parallelScanBufferSize;
+    }
+
     public void setAsyncOperation(HBaseAsyncOperation asyncOperation) {
         if (asyncOperation == null) {
             throw new NullPointerException("asyncOperation");
@@ -667,7 +673,7 @@ public class HbaseTemplate2 extends HbaseAccessor implements HbaseOperations2, I
                 watch = new StopWatch();
                 watch.start();
             }
-            ParallelResultScanner scanner = new ParallelResultScanner(tableName, this, this.executor, scan, rowKeyDistributor, numParallelThreads);
+            ParallelResultScanner scanner = new ParallelResultScanner(tableName, this, this.executor, scan, rowKeyDistributor, numParallelThreads, this.parallelScanBufferSize);
             if (debugEnabled) {
                 logger.debug("ParallelDistributedScanner createTime: {}ms", watch.stop());
                 watch.start();
@@ -677,7 +683,7 @@ public class HbaseTemplate2 extends HbaseAccessor implements HbaseOperations2, I
             } finally {
                 scanner.close();
                 if (debugEnabled) {
-                    logger.debug("ParallelDistributedScanner scanTime: {}ms", watch.stop());
+                    logger.debug("ParallelDistributedScanner scanTime: {}ms, fetchedRows: {}, discardedRows: {}", watch.stop(), scanner.getFetchedRows(), scanner.getDiscardedRows());
                 }
             }
         } catch (Throwable th) {
@@ -42,6 +42,10 @@ public class ParallelResultScanner implements ResultScanner {
     private Result next = null;
 
     public ParallelResultScanner(TableName tableName, HbaseAccessor hbaseAccessor, ExecutorService executor, Scan originalScan, AbstractRowKeyDistributor keyDistributor, int numParallelThreads) throws IOException {
+        this(tableName, hbaseAccessor, executor, originalScan, keyDistributor, numParallelThreads, ScanTaskConfig.DEFAULT_SCAN_TASK_BUFFER_SIZE);
+    }
+
+    public ParallelResultScanner(TableName tableName, HbaseAccessor hbaseAccessor, ExecutorService executor, Scan originalScan, AbstractRowKeyDistributor keyDistributor, int numParallelThreads, long scanTaskBufferSize) throws IOException {
         if (hbaseAccessor == null) {
             throw new NullPointerException("hbaseAccessor must not be null");
         }
@@ -56,7 +60,7 @@ public class ParallelResultScanner implements ResultScanner {
         }
         this.keyDistributor = keyDistributor;
 
-        final ScanTaskConfig scanTaskConfig = new ScanTaskConfig(tableName, hbaseAccessor, keyDistributor, originalScan.getCaching());
+        final ScanTaskConfig scanTaskConfig = new ScanTaskConfig(tableName, hbaseAccessor, keyDistributor, originalScan.getCaching(), scanTaskBufferSize);
         final Scan[] splitScans = splitScans(originalScan);
 
         this.scanTasks = createScanTasks(scanTaskConfig, splitScans, numParallelThreads);
@@ -133,6 +137,8 @@ public class ParallelResultScanner implements ResultScanner {
                     return null;
                 }
                 if (nextResults[i] == null) {
+                    // the task may have failed while we were waiting on it
+                    checkTask(scanTask);
                     continue;
                 }
             }
@@ -178,6 +184,36 @@ public class ParallelResultScanner implements ResultScanner {
         }
     }
 
+    /**
+     * @return number of rows read from hbase by all scan tasks
+     */
+    public long getFetchedRows() {
+        long fetchedRows = 0;
+        for (ScanTask scanTask : this.scanTasks) {
+            fetchedRows += scanTask.getFetchedRows();
+        }
+        return fetchedRows;
+    }
+
+    /**
+     * @return number of rows read from hbase that were never returned by this scanner
+     */
+    public long getDiscardedRows() {
+        long discardedRows = 0;
+        for (ScanTask scanTask : this.scanTasks) {
+            discardedRows += scanTask.getFetchedRows() - scanTask.getConsumedRows();
+        }
+        for (Result nextResult : this.nextResults) {
+            if (nextResult != null) {
+                discardedRows++;
+            }
+        }
+        if (this.next != null) {
+            discardedRows++;
+        }
+        return discardedRows;
+    }
+
     @Override
     public Iterator<Result> iterator() {
         // Identical to HTable.ClientScanner implementation
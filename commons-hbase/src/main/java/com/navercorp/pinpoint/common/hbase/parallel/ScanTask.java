@@ -26,25 +26,40 @@ import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 
 import java.io.IOException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
+ * Scans its share of the distributed scans and hands the results over to the consumer through a buffer bounded
+ * both by row count and by the estimated size of the buffered rows.
+ * Closing the task stops the producer at the next row, or before the scanner is opened if the task has not started yet.
+ *
  * @author HyunGil Jeong
  */
 public class ScanTask implements Runnable {
 
-    private static final Result END_RESULT = new Result();
-
     private final TableName tableName;
     private final TableFactory tableFactory;
     private final AbstractRowKeyDistributor rowKeyDistributor;
 
     private final Scan[] scans;
-    private final BlockingQueue<Result> resultQueue;
+
+    private final int maxQueueSize;
+    private final long maxBufferSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    // guarded by lock
+    private final Queue<Result> resultQueue;
+    private long bufferedBytes = 0;
+    private boolean isProducerDone = false;
+    private long fetchedRows = 0;
+    private long consumedRows = 0;
 
     private volatile Throwable throwable;
-    private volatile boolean isQueueClosed = false;
     private volatile boolean isDone = false;
 
     public ScanTask(ScanTaskConfig scanTaskConfig, Scan... scans) {
@@ -61,32 +76,35 @@ public class ScanTask implements Runnable {
         this.tableFactory = scanTaskConfig.getTableFactory();
         this.rowKeyDistributor = scanTaskConfig.getRowKeyDistributor();
         this.scans = scans;
-        this.resultQueue = new ArrayBlockingQueue<>(scanTaskConfig.getScanTaskQueueSize());
+        this.maxQueueSize = scanTaskConfig.getScanTaskQueueSize();
+        this.maxBufferSize = scanTaskConfig.getScanTaskBufferSize();
+        this.resultQueue = new ArrayDeque<>(this.maxQueueSize);
     }
 
     @Override
     public void run() {
+        if (this.isDone) {
+            // closed before being scheduled, release the executor thread right away
+            finish();
+            return;
+        }
         Table table = null;
         try {
             table = tableFactory.getTable(this.tableName);
             ResultScanner scanner = createResultScanner(table);
             try {
                 for (Result result : scanner) {
-                    this.resultQueue.put(result);
-                    if (this.isDone) {
+                    if (!offer(result)) {
                         break;
                     }
                 }
             } finally {
-                this.isDone = true;
-                this.resultQueue.put(END_RESULT);
                 scanner.close();
             }
         } catch (Throwable th) {
             this.throwable = th;
-            this.resultQueue.clear();
-            this.resultQueue.offer(END_RESULT);
         } finally {
+            finish();
             tableFactory.releaseTable(table);
         }
     }
@@ -104,27 +122,108 @@ public class ScanTask implements Runnable {
         }
     }
 
-    public Result getResult() throws InterruptedException {
-        if (this.isQueueClosed) {
-            return null;
+    /**
+     * @return false if the task has been closed and scanning should stop
+     */
+    private boolean offer(Result result) throws InterruptedException {
+        final long resultSize = Result.getTotalSizeOfCells(result);
+        lock.lockInterruptibly();
+        try {
+            this.fetchedRows++;
+            while (!this.isDone && isFull(resultSize)) {
+                notFull.await();
+            }
+            if (this.isDone) {
+                return false;
+            }
+            this.resultQueue.offer(result);
+            this.bufferedBytes += resultSize;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isFull(long resultSize) {
+        if (this.resultQueue.isEmpty()) {
+            // always let a single row through regardless of its size
+            return false;
+        }
+        return this.resultQueue.size() >= this.maxQueueSize || this.bufferedBytes + resultSize > this.maxBufferSize;
+    }
+
+    private void finish() {
+        lock.lock();
+        try {
+            this.isDone = true;
+            this.isProducerDone = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
         }
-        Result take = this.resultQueue.take();
-        if (take == END_RESULT) {
-            this.isQueueClosed = true;
-            return null;
+    }
+
+    public Result getResult() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (this.resultQueue.isEmpty() && !this.isProducerDone) {
+                notEmpty.await();
+            }
+            final Result result = this.resultQueue.poll();
+            if (result == null) {
+                return null;
+            }
+            this.consumedRows++;
+            this.bufferedBytes -= Result.getTotalSizeOfCells(result);
+            notFull.signal();
+            return result;
+        } finally {
+            lock.unlock();
         }
-        return take;
     }
 
     public void close() {
-        this.isDone = true;
-        // signal threads blocked on resultQueue
-        this.resultQueue.clear();
-        this.resultQueue.add(END_RESULT);
+        lock.lock();
+        try {
+            this.isDone = true;
+            this.isProducerDone = true;
+            this.resultQueue.clear();
+            this.bufferedBytes = 0;
+            // signal threads blocked on resultQueue
+            notFull.signalAll();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
     }
 
     public Throwable getThrowable() {
         return this.throwable;
     }
 
+    /**
+     * @return number of rows read from the underlying scanners
+     */
+    public long getFetchedRows() {
+        lock.lock();
+        try {
+            return this.fetchedRows;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of rows handed over to the consumer
+     */
+    public long getConsumedRows() {
+        lock.lock();
+        try {
+            return this.consumedRows;
+        } finally {
+            lock.unlock();
+        }
+    }
+
 }
@@ -30,6 +30,8 @@ import java.nio.charset.Charset;
  */
 public class ScanTaskConfig {
 
+    public static final long DEFAULT_SCAN_TASK_BUFFER_SIZE = 4 * 1024 * 1024;
+
     private final TableName tableName;
     private final Configuration configuration;
     private final Charset charset;
@@ -37,12 +39,21 @@ public class ScanTaskConfig {
 
     private final AbstractRowKeyDistributor rowKeyDistributor;
     private final int scanTaskQueueSize;
+    private final long scanTaskBufferSize;
 
     public ScanTaskConfig(TableName tableName, HbaseAccessor hbaseAccessor, AbstractRowKeyDistributor rowKeyDistributor, int scanCaching) {
-        this(tableName, hbaseAccessor.getConfiguration(), hbaseAccessor.getCharset(), hbaseAccessor.getTableFactory(), rowKeyDistributor, scanCaching);
+        this(tableName, hbaseAccessor, rowKeyDistributor, scanCaching, DEFAULT_SCAN_TASK_BUFFER_SIZE);
+    }
+
+    public ScanTaskConfig(TableName tableName, HbaseAccessor hbaseAccessor, AbstractRowKeyDistributor rowKeyDistributor, int scanCaching, long scanTaskBufferSize) {
+        this(tableName, hbaseAccessor.getConfiguration(), hbaseAccessor.getCharset(), hbaseAccessor.getTableFactory(), rowKeyDistributor, scanCaching, scanTaskBufferSize);
     }
 
     public ScanTaskConfig(TableName tableName, Configuration configuration, Charset charset, TableFactory tableFactory, AbstractRowKeyDistributor rowKeyDistributor, int scanCaching) {
+        this(tableName, configuration, charset, tableFactory, rowKeyDistributor, scanCaching, DEFAULT_SCAN_TASK_BUFFER_SIZE);
+    }
+
+    public ScanTaskConfig(TableName tableName, Configuration configuration, Charset charset, TableFactory tableFactory, AbstractRowKeyDistributor rowKeyDistributor, int scanCaching, long scanTaskBufferSize) {
         if (tableName == null) {
             throw new NullPointerException("No table specified");
         }
@@ -61,6 +72,11 @@ public class ScanTaskConfig {
                     HConstants.HBASE_CLIENT_SCANNER_CACHING,
                     HConstants.DEFAULT_HBASE_CLIENT_SCANNER_CACHING);
         }
+        if (scanTaskBufferSize > 0) {
+            this.scanTaskBufferSize = scanTaskBufferSize;
+        } else {
+            this.scanTaskBufferSize = DEFAULT_SCAN_TASK_BUFFER_SIZE;
+        }
     }
 
     public TableName getTableName() {
@@ -86,4 +102,11 @@ public class ScanTaskConfig {
     public int getScanTaskQueueSize() {
         return scanTaskQueueSize;
     }
+
+    /**
+     * Upper bound, in bytes, of results a single {@link ScanTask} may prefetch ahead of the consumer.
+     */
+    public long getScanTaskBufferSize() {
+        return scanTaskBufferSize;
+    }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.parallel;
+
+import com.navercorp.pinpoint.common.hbase.HbaseAccessor;
+import com.navercorp.pinpoint.common.hbase.TableFactory;
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import com.sematext.hbase.wd.RowKeyDistributorByOneBytePrefix;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ScanTaskTest {
+
+    private static final TableName TABLE_NAME = TableName.valueOf("test");
+    private static final byte[] FAMILY = Bytes.toBytes("F");
+    private static final byte[] QUALIFIER = Bytes.toBytes("Q");
+
+    private final AbstractRowKeyDistributor rowKeyDistributor = mock(AbstractRowKeyDistributor.class);
+    private final TableFactory tableFactory = mock(TableFactory.class);
+    private final Table table = mock(Table.class);
+    private final ResultScanner resultScanner = mock(ResultScanner.class);
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        executor = Executors.newSingleThreadExecutor();
+        when(tableFactory.getTable(TABLE_NAME)).thenReturn(table);
+        when(table.getScanner(any(Scan.class))).thenReturn(resultScanner);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void producerBlocksAtBufferSize() throws Exception {
+        final List<Result> results = createResults(5);
+        when(resultScanner.iterator()).thenReturn(results.iterator());
+
+        // room for 2 rows by size, the row count limit is not reached
+        final long bufferSize = Result.getTotalSizeOfCells(results.get(0)) * 2;
+        final ScanTask scanTask = new ScanTask(createScanTaskConfig(100, bufferSize), new Scan());
+        executor.execute(scanTask);
+
+        // the 3rd row is fetched but does not fit
+        awaitFetchedRows(scanTask, 3);
+        Thread.sleep(100);
+        Assert.assertEquals(3, scanTask.getFetchedRows());
+
+        Assert.assertSame(results.get(0), scanTask.getResult());
+        awaitFetchedRows(scanTask, 4);
+        Thread.sleep(100);
+        Assert.assertEquals(4, scanTask.getFetchedRows());
+        Assert.assertEquals(1, scanTask.getConsumedRows());
+
+        for (int i = 1; i < results.size(); i++) {
+            Assert.assertSame(results.get(i), scanTask.getResult());
+        }
+        Assert.assertNull(scanTask.getResult());
+        Assert.assertNull(scanTask.getThrowable());
+    }
+
+    @Test
+    public void closeUnblocksProducer() throws Exception {
+        final List<Result> results = createResults(5);
+        when(resultScanner.iterator()).thenReturn(results.iterator());
+
+        // room for 2 rows by count
+        final ScanTask scanTask = new ScanTask(createScanTaskConfig(2, Long.MAX_VALUE), new Scan());
+        executor.execute(scanTask);
+        awaitFetchedRows(scanTask, 3);
+
+        scanTask.close();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(3000, TimeUnit.MILLISECONDS));
+
+        Assert.assertEquals(3, scanTask.getFetchedRows());
+        Assert.assertNull(scanTask.getResult());
+        verify(resultScanner).close();
+        verify(tableFactory).releaseTable(table);
+    }
+
+    @Test
+    public void closeBeforeRun() throws Exception {
+        final ScanTask scanTask = new ScanTask(createScanTaskConfig(2, Long.MAX_VALUE), new Scan());
+        scanTask.close();
+        scanTask.run();
+
+        Assert.assertNull(scanTask.getResult());
+        Assert.assertEquals(0, scanTask.getFetchedRows());
+    }
+
+    @Test
+    public void endOfScan() throws Exception {
+        final List<Result> results = createResults(2);
+        when(resultScanner.iterator()).thenReturn(results.iterator());
+
+        final ScanTask scanTask = new ScanTask(createScanTaskConfig(100, Long.MAX_VALUE), new Scan());
+        executor.execute(scanTask);
+
+        Assert.assertSame(results.get(0), scanTask.getResult());
+        Assert.assertSame(results.get(1), scanTask.getResult());
+        Assert.assertNull(scanTask.getResult());
+        Assert.assertNull(scanTask.getThrowable());
+        Assert.assertEquals(2, scanTask.getConsumedRows());
+    }
+
+    @Test
+    public void scanFailure() throws Exception {
+        final List<Result> results = createResults(1);
+        final RuntimeException failure = new RuntimeException("scan failure");
+        when(resultScanner.iterator()).thenReturn(failingIterator(results, failure));
+
+        final ScanTask scanTask = new ScanTask(createScanTaskConfig(100, Long.MAX_VALUE), new Scan());
+        executor.execute(scanTask);
+
+        Assert.assertSame(results.get(0), scanTask.getResult());
+        Assert.assertNull(scanTask.getResult());
+        Assert.assertSame(failure, scanTask.getThrowable());
+    }
+
+    @Test
+    public void scanFailurePropagatesToScanner() throws Exception {
+        final RuntimeException failure = new RuntimeException("scan failure");
+        when(resultScanner.iterator()).thenReturn(failingIterator(Collections.<Result>emptyList(), failure));
+
+        final HbaseAccessor hbaseAccessor = new HbaseAccessor() {
+        };
+        hbaseAccessor.setTableFactory(tableFactory);
+
+        final Scan scan = new Scan();
+        scan.setCaching(100);
+        scan.setId("test");
+        final AbstractRowKeyDistributor singleBucketDistributor = new RowKeyDistributorByOneBytePrefix((byte) 1);
+        final ParallelResultScanner scanner = new ParallelResultScanner(TABLE_NAME, hbaseAccessor, executor, scan, singleBucketDistributor, 1);
+        try {
+            scanner.next();
+            Assert.fail("expected ScanTaskException");
+        } catch (ScanTaskException e) {
+            Assert.assertSame(failure, e.getCause());
+        } finally {
+            scanner.close();
+        }
+    }
+
+    private ScanTaskConfig createScanTaskConfig(int scanCaching, long bufferSize) {
+        return new ScanTaskConfig(TABLE_NAME, null, null, tableFactory, rowKeyDistributor, scanCaching, bufferSize);
+    }
+
+    private List<Result> createResults(int size) {
+        final List<Result> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final Cell cell = new KeyValue(Bytes.toBytes("row" + i), FAMILY, QUALIFIER, Bytes.toBytes("value" + i));
+            results.add(Result.create(Collections.singletonList(cell)));
+        }
+        return results;
+    }
+
+    private Iterator<Result> failingIterator(List<Result> results, final RuntimeException failure) {
+        final Iterator<Result> iterator = results.iterator();
+        return new Iterator<Result>() {
+            @Override
+            public boolean hasNext() {
+                if (iterator.hasNext()) {
+                    return true;
+                }
+                throw failure;
+            }
+
+            @Override
+            public Result next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private void awaitFetchedRows(ScanTask scanTask, long fetchedRows) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 3000;
+        while (scanTask.getFetchedRows() < fetchedRows) {
+            if (System.currentTimeMillis() > deadline) {
+                Assert.fail("fetchedRows:" + scanTask.getFetchedRows() + " expected:" + fetchedRows);
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.common.server.bo.codec.stat;
 
 import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
 import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.ThreadLocalBufferPool;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
 
 import java.nio.ByteBuffer;
@@ -28,6 +29,8 @@ import java.util.List;
  */
 public class AgentStatEncoder<T extends AgentStatDataPoint> {
 
+    private static final ThreadLocalBufferPool valueBufferPool = new ThreadLocalBufferPool(256);
+
     private final AgentStatCodec<T> codec;
 
     public AgentStatEncoder(AgentStatCodec<T> codec) {
@@ -42,9 +45,13 @@ public class AgentStatEncoder<T extends AgentStatDataPoint> {
     }
 
     public ByteBuffer encodeValue(List<T> agentStatDataPoints) {
-        Buffer valueBuffer = new AutomaticBuffer();
-        valueBuffer.putByte(this.codec.getVersion());
-        codec.encodeValues(valueBuffer, agentStatDataPoints);
-        return valueBuffer.wrapByteBuffer();
+        Buffer valueBuffer = valueBufferPool.acquire();
+        try {
+            valueBuffer.putByte(this.codec.getVersion());
+            codec.encodeValues(valueBuffer, agentStatDataPoints);
+            return valueBuffer.wrapByteBuffer();
+        } finally {
+            valueBufferPool.release(valueBuffer);
+        }
     }
 }
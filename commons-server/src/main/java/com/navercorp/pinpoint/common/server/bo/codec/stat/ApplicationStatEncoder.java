@@ -17,6 +17,7 @@ package com.navercorp.pinpoint.common.server.bo.codec.stat;
 
 import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
 import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.ThreadLocalBufferPool;
 import com.navercorp.pinpoint.common.server.bo.stat.join.JoinStatBo;
 
 import java.nio.ByteBuffer;
@@ -27,6 +28,8 @@ import java.util.List;
  */
 public class ApplicationStatEncoder {
 
+    private static final ThreadLocalBufferPool valueBufferPool = new ThreadLocalBufferPool(256);
+
     private final ApplicationStatCodec codec;
 
     public ApplicationStatEncoder(ApplicationStatCodec codec) {
@@ -41,9 +44,13 @@ public class ApplicationStatEncoder {
     }
 
     public ByteBuffer encodeValue(List<JoinStatBo> JoinStatBoList) {
-        Buffer valueBuffer = new AutomaticBuffer();
-        valueBuffer.putByte(this.codec.getVersion());
-        codec.encodeValues(valueBuffer, JoinStatBoList);
-        return valueBuffer.wrapByteBuffer();
+        Buffer valueBuffer = valueBufferPool.acquire();
+        try {
+            valueBuffer.putByte(this.codec.getVersion());
+            codec.encodeValues(valueBuffer, JoinStatBoList);
+            return valueBuffer.wrapByteBuffer();
+        } finally {
+            valueBufferPool.release(valueBuffer);
+        }
     }
 }
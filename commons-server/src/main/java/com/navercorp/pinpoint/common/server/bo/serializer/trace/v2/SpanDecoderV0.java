@@ -391,6 +391,11 @@ public class SpanDecoderV0 implements SpanDecoder {
         long spanId = buffer.readLong();
         basicSpan.setSpanId(spanId);
 
+        if (!buffer.hasRemaining()) {
+            // simple trace case : the encoder writes nothing after spanId when there is no spanEvent
+            return null;
+        }
+
         int firstSpanEventSequence = buffer.readSVInt();
         if (firstSpanEventSequence == -1) {
 //            buffer.readByte();
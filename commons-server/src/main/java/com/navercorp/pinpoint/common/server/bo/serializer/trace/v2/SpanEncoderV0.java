@@ -1,7 +1,7 @@
 package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2;
 
-import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
 import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.ThreadLocalBufferPool;
 import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
@@ -24,6 +24,8 @@ public class SpanEncoderV0 implements SpanEncoder {
 
     private static final AnnotationTranscoder transcoder = new AnnotationTranscoder();
 
+    private static final ThreadLocalBufferPool bufferPool = new ThreadLocalBufferPool(256);
+
     @Override
     public ByteBuffer encodeSpanQualifier(SpanEncodingContext<SpanBo> encodingContext) {
         final SpanBo spanBo = encodingContext.getValue();
@@ -44,7 +46,15 @@ public class SpanEncoderV0 implements SpanEncoder {
     }
 
     private ByteBuffer encodeQualifier(byte type, String applicationId, String agentId, long agentStartTime, long spanId, SpanEventBo firstEvent) {
-        final Buffer buffer = new AutomaticBuffer(128);
+        final Buffer buffer = bufferPool.acquire();
+        try {
+            return writeQualifier(buffer, type, applicationId, agentId, agentStartTime, spanId, firstEvent);
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    private ByteBuffer writeQualifier(Buffer buffer, byte type, String applicationId, String agentId, long agentStartTime, long spanId, SpanEventBo firstEvent) {
         buffer.putByte(type);
         buffer.putPrefixedString(applicationId);
         buffer.putPrefixedString(agentId);
@@ -86,16 +96,19 @@ public class SpanEncoderV0 implements SpanEncoder {
     public ByteBuffer encodeSpanChunkColumnValue(SpanEncodingContext<SpanChunkBo> encodingContext) {
         final SpanChunkBo spanChunkBo = encodingContext.getValue();
 
-        final Buffer buffer = new AutomaticBuffer(256);
-
-        final byte version = spanChunkBo.getVersion();
-        buffer.putByte(version);
+        final Buffer buffer = bufferPool.acquire();
+        try {
+            final byte version = spanChunkBo.getVersion();
+            buffer.putByte(version);
 
 
-        final List<SpanEventBo> spanEventBoList = spanChunkBo.getSpanEventBoList();
-        writeSpanEventList(buffer, spanEventBoList, encodingContext);
+            final List<SpanEventBo> spanEventBoList = spanChunkBo.getSpanEventBoList();
+            writeSpanEventList(buffer, spanEventBoList, encodingContext);
 
-        return buffer.wrapByteBuffer();
+            return buffer.wrapByteBuffer();
+        } finally {
+            bufferPool.release(buffer);
+        }
     }
 
     private void writeSpanEventList(Buffer buffer, List<SpanEventBo> spanEventBoList, SpanEncodingContext<?> encodingContext) {
@@ -122,8 +135,16 @@ public class SpanEncoderV0 implements SpanEncoder {
 
         final SpanBitFiled bitField = SpanBitFiled.build(span);
 
-        final Buffer buffer = new AutomaticBuffer(256);
+        final Buffer buffer = bufferPool.acquire();
+        try {
+            writeSpan(buffer, span, bitField, encodingContext);
+            return buffer.wrapByteBuffer();
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
 
+    private void writeSpan(Buffer buffer, SpanBo span, SpanBitFiled bitField, SpanEncodingContext<SpanBo> encodingContext) {
         final byte version = span.getRawVersion();
         buffer.putByte(version);
 
@@ -193,8 +214,6 @@ public class SpanEncoderV0 implements SpanEncoder {
 
         final List<SpanEventBo> spanEventBoList = span.getSpanEventBoList();
         writeSpanEventList(buffer, spanEventBoList, encodingContext);
-
-        return buffer.wrapByteBuffer();
     }
 
     public void writeFirstSpanEvent(Buffer buffer, SpanEventBo spanEventBo, SpanEncodingContext<?> encodingContext) {
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Hands out one reusable {@link AutomaticBuffer} per thread so that encoders do not allocate and grow
+ * a fresh buffer for every value they write.
+ * <p>
+ * A buffer must be released by the thread that acquired it. {@link Buffer#getBuffer()} and {@link Buffer#wrapByteBuffer()}
+ * of a pooled buffer always return a copy of exactly the written bytes, so their result stays valid after release.
+ * Nested acquisitions on the same thread receive a plain, non-pooled buffer.
+ */
+public class ThreadLocalBufferPool {
+
+    public static final int DEFAULT_MAX_RETAINED_SIZE = 64 * 1024;
+
+    private final int initialSize;
+    private final int maxRetainedSize;
+
+    private final ThreadLocal<PooledBuffer> localBuffer = new ThreadLocal<PooledBuffer>();
+
+    public ThreadLocalBufferPool(int initialSize) {
+        this(initialSize, DEFAULT_MAX_RETAINED_SIZE);
+    }
+
+    /**
+     * @param initialSize initial capacity of each thread's buffer
+     * @param maxRetainedSize buffers that grew beyond this capacity are dropped on release instead of being kept
+     */
+    public ThreadLocalBufferPool(int initialSize, int maxRetainedSize) {
+        if (initialSize < 0) {
+            throw new IllegalArgumentException("negative initialSize:" + initialSize);
+        }
+        if (maxRetainedSize < initialSize) {
+            throw new IllegalArgumentException("maxRetainedSize must not be less than initialSize");
+        }
+        this.initialSize = initialSize;
+        this.maxRetainedSize = maxRetainedSize;
+    }
+
+    public Buffer acquire() {
+        PooledBuffer buffer = localBuffer.get();
+        if (buffer == null) {
+            buffer = new PooledBuffer(initialSize);
+            localBuffer.set(buffer);
+        }
+        if (buffer.inUse) {
+            return new AutomaticBuffer(initialSize);
+        }
+        buffer.inUse = true;
+        buffer.setOffset(0);
+        return buffer;
+    }
+
+    public void release(Buffer buffer) {
+        if (!(buffer instanceof PooledBuffer)) {
+            return;
+        }
+        final PooledBuffer pooledBuffer = (PooledBuffer) buffer;
+        if (pooledBuffer != localBuffer.get()) {
+            return;
+        }
+        pooledBuffer.inUse = false;
+        if (pooledBuffer.getInternalBuffer().length > maxRetainedSize) {
+            localBuffer.remove();
+        }
+    }
+
+    private static class PooledBuffer extends AutomaticBuffer {
+        private boolean inUse;
+
+        private PooledBuffer(int size) {
+            super(size);
+        }
+
+        @Override
+        public byte[] getBuffer() {
+            // never expose the shared memory, even if it happens to be exactly filled
+            return copyBuffer();
+        }
+
+        @Override
+        public ByteBuffer wrapByteBuffer() {
+            return ByteBuffer.wrap(copyBuffer());
+        }
+    }
+}
@@ -16,9 +16,6 @@
 
 package com.navercorp.pinpoint.common.trace;
 
-import com.navercorp.pinpoint.common.util.apache.IntHashMap;
-import com.navercorp.pinpoint.common.util.apache.IntHashMapUtils;
-
 import java.util.*;
 
 /**
@@ -26,14 +23,17 @@ import java.util.*;
  */
 public class ServiceTypeRegistry {
 
-    private final IntHashMap<ServiceType> codeLookupTable;
+    // indexed by (code - codeOffset). ServiceType codes are shorts, so the table never exceeds 64K entries.
+    private final ServiceType[] codeLookupTable;
+    private final int codeOffset;
 
     private final Map<String, ServiceType> nameLookupTable;
 
     private final Map<String, List<ServiceType>> descLookupTable;
 
     private ServiceTypeRegistry() {
-        this.codeLookupTable = new IntHashMap<ServiceType>();
+        this.codeLookupTable = new ServiceType[0];
+        this.codeOffset = 0;
         this.nameLookupTable = new HashMap<String, ServiceType>();
         this.descLookupTable = new HashMap<String, List<ServiceType>>();
     }
@@ -42,11 +42,31 @@ public class ServiceTypeRegistry {
         if (buildMap == null) {
             throw new NullPointerException("codeLookupTable must not be null");
         }
-        this.codeLookupTable = IntHashMapUtils.copy(buildMap);
+        this.codeOffset = minCode(buildMap.keySet());
+        this.codeLookupTable = buildCodeLookupTable(buildMap, codeOffset);
         this.nameLookupTable = buildNameLookupTable(buildMap.values());
         this.descLookupTable = buildDescLookupTable(buildMap.values());
     }
 
+    private static int minCode(Collection<Integer> codes) {
+        if (codes.isEmpty()) {
+            return 0;
+        }
+        return Collections.min(codes);
+    }
+
+    private static ServiceType[] buildCodeLookupTable(Map<Integer, ServiceType> buildMap, int codeOffset) {
+        if (buildMap.isEmpty()) {
+            return new ServiceType[0];
+        }
+        final int maxCode = Collections.max(buildMap.keySet());
+        final ServiceType[] table = new ServiceType[maxCode - codeOffset + 1];
+        for (Map.Entry<Integer, ServiceType> entry : buildMap.entrySet()) {
+            table[entry.getKey() - codeOffset] = entry.getValue();
+        }
+        return table;
+    }
+
     private Map<String, ServiceType> buildNameLookupTable(Collection<ServiceType> serviceTypes) {
         final Map<String, ServiceType> copy = new HashMap<String, ServiceType>();
 
@@ -60,7 +80,11 @@ public class ServiceTypeRegistry {
     }
 
     public ServiceType findServiceType(short code) {
-        final ServiceType serviceType = this.codeLookupTable.get(code);
+        final int index = code - codeOffset;
+        if (index < 0 || index >= codeLookupTable.length) {
+            return ServiceType.UNDEFINED;
+        }
+        final ServiceType serviceType = codeLookupTable[index];
         if (serviceType == null) {
             return ServiceType.UNDEFINED;
         }
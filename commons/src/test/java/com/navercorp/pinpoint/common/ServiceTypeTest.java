@@ -25,6 +25,8 @@ import org.slf4j.LoggerFactory;
 
 import com.navercorp.pinpoint.common.service.DefaultServiceTypeRegistryService;
 import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.trace.ServiceTypeFactory;
+import com.navercorp.pinpoint.common.trace.ServiceTypeRegistry;
 
 public class ServiceTypeTest {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
@@ -49,6 +51,20 @@ public class ServiceTypeTest {
         }
     }
 
+    @Test
+    public void findServiceType() {
+        ServiceType low = ServiceTypeFactory.of(1005, "LOW_TYPE");
+        ServiceType high = ServiceTypeFactory.of(9900, "HIGH_TYPE");
+        ServiceTypeRegistry.Builder builder = new ServiceTypeRegistry.Builder();
+        builder.addServiceType(low);
+        builder.addServiceType(high);
+        ServiceTypeRegistry registry = builder.build();
 
+        Assert.assertSame(low, registry.findServiceType((short) 1005));
+        Assert.assertSame(high, registry.findServiceType((short) 9900));
+        Assert.assertSame(ServiceType.UNDEFINED, registry.findServiceType((short) 5000));
+        Assert.assertSame(ServiceType.UNDEFINED, registry.findServiceType((short) 1004));
+        Assert.assertSame(ServiceType.UNDEFINED, registry.findServiceType(Short.MAX_VALUE));
+    }
 
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.buffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class ThreadLocalBufferPoolTest {
+
+    @Test
+    public void reuse() {
+        ThreadLocalBufferPool pool = new ThreadLocalBufferPool(16);
+
+        Buffer buffer = pool.acquire();
+        buffer.putInt(1);
+        byte[] first = buffer.getBuffer();
+        pool.release(buffer);
+
+        Buffer reused = pool.acquire();
+        Assert.assertSame(buffer, reused);
+        Assert.assertEquals(0, reused.getOffset());
+        reused.putLong(2);
+        ByteBuffer second = reused.wrapByteBuffer();
+        pool.release(reused);
+
+        Assert.assertEquals(4, first.length);
+        Assert.assertEquals(1, new FixedBuffer(first).readInt());
+        Assert.assertEquals(8, second.remaining());
+        Assert.assertEquals(2, second.getLong());
+    }
+
+    @Test
+    public void nestedAcquire() {
+        ThreadLocalBufferPool pool = new ThreadLocalBufferPool(16);
+
+        Buffer outer = pool.acquire();
+        Buffer inner = pool.acquire();
+        Assert.assertNotSame(outer, inner);
+        inner.putInt(1);
+        pool.release(inner);
+        outer.putInt(2);
+        pool.release(outer);
+
+        Assert.assertSame(outer, pool.acquire());
+    }
+
+    @Test
+    public void dropLargeBuffer() {
+        ThreadLocalBufferPool pool = new ThreadLocalBufferPool(4, 8);
+
+        Buffer buffer = pool.acquire();
+        buffer.putBytes(new byte[32]);
+        pool.release(buffer);
+
+        Assert.assertNotSame(buffer, pool.acquire());
+    }
+}
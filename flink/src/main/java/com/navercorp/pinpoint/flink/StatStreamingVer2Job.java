@@ -21,7 +21,11 @@ package com.navercorp.pinpoint.flink;
 
 import com.navercorp.pinpoint.common.server.bo.stat.join.JoinStatBo;
 import com.navercorp.pinpoint.flink.dao.hbase.StatisticsDao;
+import com.navercorp.pinpoint.flink.function.AgentStatBoFilter;
+import com.navercorp.pinpoint.flink.function.ApplicationStatBoAggregator;
 import com.navercorp.pinpoint.flink.function.ApplicationStatBoWindow;
+import com.navercorp.pinpoint.flink.function.JoinAgentStatBoAggregator;
+import com.navercorp.pinpoint.flink.function.JoinAgentStatBoFunction;
 import com.navercorp.pinpoint.flink.function.Timestamp;
 import com.navercorp.pinpoint.flink.function.ApplicationStatBoFliter;
 import com.navercorp.pinpoint.flink.receiver.TcpSourceFunction;
@@ -67,86 +71,18 @@ public class StatStreamingVer2Job implements Serializable {
             .keyBy(0)
             .window(TumblingEventTimeWindows.of(Time.milliseconds(ApplicationStatBoWindow.WINDOW_SIZE)))
             .allowedLateness(Time.milliseconds(ApplicationStatBoWindow.ALLOWED_LATENESS))
-            .apply(new ApplicationStatBoWindow());
+            .aggregate(new ApplicationStatBoAggregator(), new ApplicationStatBoWindow());
         applicationStatAggregationData.writeUsingOutputFormat(statisticsDao);
 
-        // 1-2. aggregate application stat data
-//        statOperator.filter(new FilterFunction<Tuple3<String, JoinStatBo, Long>>() {
-//            @Override
-//            public boolean filter(Tuple3<String, JoinStatBo, Long> value) throws Exception {
-//                if (value.f1 instanceof JoinApplicationStatBo) {
-//                    logger.info("1-2 application stat aggre window function : " + value.f1);
-//                    return true;
-//                }
-//
-//                return false;
-//            }
-//            })
-//            .assignTimestampsAndWatermarks(new Timestamp())
-//            .keyBy(0)
-//            .window(TumblingEventTimeWindows.of(Time.seconds(120)))
-//            .apply(new WindowFunction<Tuple3<String, JoinStatBo, Long>, Tuple3<String, JoinStatBo, Long>, Tuple, TimeWindow>() {
-//                @Override
-//                public void apply(Tuple tuple, TimeWindow window, Iterable<Tuple3<String, JoinStatBo, Long>> values, Collector<Tuple3<String, JoinStatBo, Long>> out) throws Exception {
-//                    try {
-//                        JoinApplicationStatBo joinApplicationStatBo = join(values);
-//                        logger.info("1-2 application stat aggre window function : " + joinApplicationStatBo);
-//                        out.collect(new Tuple3<>(joinApplicationStatBo.getId(), joinApplicationStatBo, joinApplicationStatBo.getTimestamp()));
-//                    } catch (Exception e) {
-//                        logger.error("window function error", e);
-//                    }
-//                }
-//
-//                private JoinApplicationStatBo join(Iterable<Tuple3<String, JoinStatBo, Long>> values) {
-//                    List<JoinApplicationStatBo> joinApplicaitonStatBoList = new ArrayList<JoinApplicationStatBo>();
-//                    for (Tuple3<String, JoinStatBo, Long> value : values) {
-//                        joinApplicaitonStatBoList.add((JoinApplicationStatBo) value.f1);
-//                    }
-//                    return JoinApplicationStatBo.joinApplicationStatBo(joinApplicaitonStatBoList);
-//
-//                }
-//            }).writeUsingOutputFormat(statisticsDao);
-
-
-        // 2. agrregage agent stat
-//        statOperator.filter(new FilterFunction<Tuple3<String, JoinStatBo, Long>>() {
-//                @Override
-//                public boolean filter(Tuple3<String, JoinStatBo, Long> value) throws Exception {
-//                    if (value.f1 instanceof JoinAgentStatBo) {
-//                        logger.info("2 application stat aggre window function : " + value.f1);
-//                        return true;
-//                    }
-//
-//                    return false;
-//                }
-//            })
-//            .assignTimestampsAndWatermarks(new Timestamp())
-//            .keyBy(0)
-//            .window(TumblingEventTimeWindows.of(Time.seconds(120)))
-//
-//            .apply(new WindowFunction<Tuple3<String, JoinStatBo, Long>, Tuple3<String, JoinStatBo, Long>, Tuple, TimeWindow>() {
-//
-//                @Override
-//                public void apply(Tuple tuple, TimeWindow window, Iterable<Tuple3<String, JoinStatBo, Long>> values, Collector<Tuple3<String, JoinStatBo, Long>> out) throws Exception {
-//                    try {
-//                        JoinAgentStatBo joinAgentStatBo = join(values);
-//                        logger.info("2 agent stat aggre window function : " + joinAgentStatBo);
-//                        out.collect(new Tuple3<>(joinAgentStatBo.getId(), joinAgentStatBo, joinAgentStatBo.getTimestamp()));
-//                    } catch (Exception e) {
-//                        logger.error("window function error", e);
-//                    }
-//                }
-//
-//                private JoinAgentStatBo join(Iterable<Tuple3<String, JoinStatBo, Long>> values) {
-//                    List<JoinAgentStatBo> joinAgentStatBoList =  new ArrayList<JoinAgentStatBo>();
-//                    for (Tuple3<String, JoinStatBo, Long> value : values) {
-//                        joinAgentStatBoList.add((JoinAgentStatBo) value.f1);
-//                    }
-//
-//                    return JoinAgentStatBo.joinAgentStatBo(joinAgentStatBoList);
-//                }
-//            })
-//            .writeUsingOutputFormat(statisticsDao);
+        // 2. aggregate agent stat
+        if (bootstrap.getFlinkConfiguration().isFlinkAgentStatAggregationEnable()) {
+            statOperator.filter(new AgentStatBoFilter())
+                .assignTimestampsAndWatermarks(new Timestamp())
+                .keyBy(0)
+                .window(TumblingEventTimeWindows.of(Time.milliseconds(JoinAgentStatBoFunction.WINDOW_SIZE)))
+                .aggregate(new JoinAgentStatBoAggregator(), new JoinAgentStatBoFunction())
+                .writeUsingOutputFormat(statisticsDao);
+        }
 
         env.execute("Aggregation Stat Data");
     }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.flink.function;
+
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinApplicationStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinStatBo;
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.api.java.tuple.Tuple3;
+
+/**
+ * Joins {@link JoinApplicationStatBo}s of a window as they arrive.
+ *
+ * @see JoinApplicationStatAccumulator
+ */
+public class ApplicationStatBoAggregator implements AggregateFunction<Tuple3<String, JoinStatBo, Long>, JoinApplicationStatAccumulator, JoinApplicationStatBo> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public JoinApplicationStatAccumulator createAccumulator() {
+        return new JoinApplicationStatAccumulator();
+    }
+
+    @Override
+    public void add(Tuple3<String, JoinStatBo, Long> value, JoinApplicationStatAccumulator accumulator) {
+        accumulator.add((JoinApplicationStatBo) value.f1);
+    }
+
+    @Override
+    public JoinApplicationStatBo getResult(JoinApplicationStatAccumulator accumulator) {
+        return accumulator.toJoinApplicationStatBo();
+    }
+
+    @Override
+    public JoinApplicationStatAccumulator merge(JoinApplicationStatAccumulator a, JoinApplicationStatAccumulator b) {
+        a.merge(b);
+        return a;
+    }
+}
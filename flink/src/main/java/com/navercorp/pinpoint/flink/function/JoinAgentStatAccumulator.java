@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.flink.function;
+
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinAgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinCpuLoadBo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental form of {@link JoinAgentStatBo#joinAgentStatBo(List)}.
+ */
+public class JoinAgentStatAccumulator {
+
+    private long timestamp;
+    private final JoinApplicationStatAccumulator.CpuLoadSlice cpuLoad = new JoinApplicationStatAccumulator.CpuLoadSlice();
+
+    public void add(JoinAgentStatBo joinAgentStatBo) {
+        for (JoinCpuLoadBo joinCpuLoadBo : joinAgentStatBo.getJoinCpuLoadBoList()) {
+            if (cpuLoad.isEmpty()) {
+                timestamp = joinCpuLoadBo.getTimestamp();
+            }
+            cpuLoad.add(joinCpuLoadBo);
+        }
+    }
+
+    public void merge(JoinAgentStatAccumulator other) {
+        if (other.cpuLoad.isEmpty()) {
+            return;
+        }
+        if (cpuLoad.isEmpty()) {
+            timestamp = other.timestamp;
+        }
+        cpuLoad.merge(other.cpuLoad);
+    }
+
+    public JoinAgentStatBo toJoinAgentStatBo() {
+        if (cpuLoad.isEmpty()) {
+            return JoinAgentStatBo.EMPTY_JOIN_AGENT_STAT_BO;
+        }
+        final JoinCpuLoadBo joinCpuLoadBo = cpuLoad.toJoinCpuLoadBo(timestamp);
+        final List<JoinCpuLoadBo> joinCpuLoadBoList = new ArrayList<>(1);
+        joinCpuLoadBoList.add(joinCpuLoadBo);
+
+        final JoinAgentStatBo joinAgentStatBo = new JoinAgentStatBo();
+        joinAgentStatBo.setJoinCpuLoadBoList(joinCpuLoadBoList);
+        joinAgentStatBo.setId(joinCpuLoadBo.getId());
+        joinAgentStatBo.setTimestamp(joinCpuLoadBo.getTimestamp());
+        return joinAgentStatBo;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.flink.function;
+
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinAgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinStatBo;
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.api.java.tuple.Tuple3;
+
+/**
+ * Joins {@link JoinAgentStatBo}s of a window as they arrive.
+ *
+ * @see JoinAgentStatAccumulator
+ */
+public class JoinAgentStatBoAggregator implements AggregateFunction<Tuple3<String, JoinStatBo, Long>, JoinAgentStatAccumulator, JoinAgentStatBo> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public JoinAgentStatAccumulator createAccumulator() {
+        return new JoinAgentStatAccumulator();
+    }
+
+    @Override
+    public void add(Tuple3<String, JoinStatBo, Long> value, JoinAgentStatAccumulator accumulator) {
+        accumulator.add((JoinAgentStatBo) value.f1);
+    }
+
+    @Override
+    public JoinAgentStatBo getResult(JoinAgentStatAccumulator accumulator) {
+        return accumulator.toJoinAgentStatBo();
+    }
+
+    @Override
+    public JoinAgentStatAccumulator merge(JoinAgentStatAccumulator a, JoinAgentStatAccumulator b) {
+        a.merge(b);
+        return a;
+    }
+}
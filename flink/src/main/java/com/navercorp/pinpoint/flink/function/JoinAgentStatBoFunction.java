@@ -23,25 +23,22 @@ import org.apache.flink.streaming.api.functions.windowing.WindowFunction;
 import org.apache.flink.streaming.api.windowing.windows.TimeWindow;
 import org.apache.flink.util.Collector;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
+ * Emits the {@link JoinAgentStatBo} pre-aggregated by {@link JoinAgentStatBoAggregator}.
+ *
  * @author minwoo.jung
  */
-public class JoinAgentStatBoFunction implements WindowFunction<Tuple3<String, JoinStatBo, Long>, Tuple3<String, JoinStatBo, Long>, Tuple, TimeWindow> {
-    @Override
-    public void apply(Tuple tuple, TimeWindow window, Iterable<Tuple3<String, JoinStatBo, Long>> values, Collector<Tuple3<String, JoinStatBo, Long>> out) throws Exception {
-        JoinAgentStatBo joinAgentStatBo = join(values);
-        out.collect(new Tuple3<>(joinAgentStatBo.getId(), joinAgentStatBo, joinAgentStatBo.getTimestamp()));
-    }
+public class JoinAgentStatBoFunction implements WindowFunction<JoinAgentStatBo, Tuple3<String, JoinStatBo, Long>, Tuple, TimeWindow> {
 
-    private JoinAgentStatBo join(Iterable<Tuple3<String, JoinStatBo, Long>> values) {
-        List<JoinAgentStatBo> joinAgentStatBoList =  new ArrayList<JoinAgentStatBo>();
-        for (Tuple3<String, JoinStatBo, Long> value : values) {
-            joinAgentStatBoList.add((JoinAgentStatBo) value.f1);
-        }
+    public static final int WINDOW_SIZE = 120000;
 
-        return JoinAgentStatBo.joinAgentStatBo(joinAgentStatBoList);
+    @Override
+    public void apply(Tuple tuple, TimeWindow window, Iterable<JoinAgentStatBo> values, Collector<Tuple3<String, JoinStatBo, Long>> out) throws Exception {
+        for (JoinAgentStatBo joinAgentStatBo : values) {
+            if (joinAgentStatBo == JoinAgentStatBo.EMPTY_JOIN_AGENT_STAT_BO) {
+                continue;
+            }
+            out.collect(new Tuple3<>(joinAgentStatBo.getId(), joinAgentStatBo, joinAgentStatBo.getTimestamp()));
+        }
     }
 }
@@ -0,0 +1,540 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.flink.function;
+
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinActiveTraceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinApplicationStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinCpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDataSourceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDataSourceListBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinMemoryBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinTransactionBo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental form of {@link JoinApplicationStatBo#joinApplicationStatBoByTimeSlice(List)}.
+ * Keeps sum, count and min/max per time slice instead of every {@link JoinApplicationStatBo} of the window,
+ * so the window state is bounded by the number of time slices.
+ */
+public class JoinApplicationStatAccumulator {
+
+    private static final long SHIFT_RANGE = 1000 * 5;
+
+    private String id;
+    private final Map<Long, CpuLoadSlice> cpuLoadSlices = new HashMap<>();
+    private final Map<Long, MemorySlice> memorySlices = new HashMap<>();
+    private final Map<Long, TransactionSlice> transactionSlices = new HashMap<>();
+    private final Map<Long, ActiveTraceSlice> activeTraceSlices = new HashMap<>();
+    private final Map<Long, ResponseTimeSlice> responseTimeSlices = new HashMap<>();
+    private final Map<Long, DataSourceListSlice> dataSourceListSlices = new HashMap<>();
+
+    public boolean isEmpty() {
+        return id == null;
+    }
+
+    public void add(JoinApplicationStatBo joinApplicationStatBo) {
+        if (id == null) {
+            id = joinApplicationStatBo.getId();
+        }
+        for (JoinCpuLoadBo joinCpuLoadBo : joinApplicationStatBo.getJoinCpuLoadBoList()) {
+            cpuLoadSlices.computeIfAbsent(shiftTimestamp(joinCpuLoadBo.getTimestamp()), k -> new CpuLoadSlice()).add(joinCpuLoadBo);
+        }
+        for (JoinMemoryBo joinMemoryBo : joinApplicationStatBo.getJoinMemoryBoList()) {
+            memorySlices.computeIfAbsent(shiftTimestamp(joinMemoryBo.getTimestamp()), k -> new MemorySlice()).add(joinMemoryBo);
+        }
+        for (JoinTransactionBo joinTransactionBo : joinApplicationStatBo.getJoinTransactionBoList()) {
+            transactionSlices.computeIfAbsent(shiftTimestamp(joinTransactionBo.getTimestamp()), k -> new TransactionSlice()).add(joinTransactionBo);
+        }
+        for (JoinActiveTraceBo joinActiveTraceBo : joinApplicationStatBo.getJoinActiveTraceBoList()) {
+            activeTraceSlices.computeIfAbsent(shiftTimestamp(joinActiveTraceBo.getTimestamp()), k -> new ActiveTraceSlice()).add(joinActiveTraceBo);
+        }
+        for (JoinResponseTimeBo joinResponseTimeBo : joinApplicationStatBo.getJoinResponseTimeBoList()) {
+            responseTimeSlices.computeIfAbsent(shiftTimestamp(joinResponseTimeBo.getTimestamp()), k -> new ResponseTimeSlice()).add(joinResponseTimeBo);
+        }
+        for (JoinDataSourceListBo joinDataSourceListBo : joinApplicationStatBo.getJoinDataSourceListBoList()) {
+            dataSourceListSlices.computeIfAbsent(shiftTimestamp(joinDataSourceListBo.getTimestamp()), k -> new DataSourceListSlice()).add(joinDataSourceListBo);
+        }
+    }
+
+    public void merge(JoinApplicationStatAccumulator other) {
+        if (id == null) {
+            id = other.id;
+        }
+        for (Map.Entry<Long, CpuLoadSlice> entry : other.cpuLoadSlices.entrySet()) {
+            cpuLoadSlices.merge(entry.getKey(), entry.getValue(), CpuLoadSlice::merge);
+        }
+        for (Map.Entry<Long, MemorySlice> entry : other.memorySlices.entrySet()) {
+            memorySlices.merge(entry.getKey(), entry.getValue(), MemorySlice::merge);
+        }
+        for (Map.Entry<Long, TransactionSlice> entry : other.transactionSlices.entrySet()) {
+            transactionSlices.merge(entry.getKey(), entry.getValue(), TransactionSlice::merge);
+        }
+        for (Map.Entry<Long, ActiveTraceSlice> entry : other.activeTraceSlices.entrySet()) {
+            activeTraceSlices.merge(entry.getKey(), entry.getValue(), ActiveTraceSlice::merge);
+        }
+        for (Map.Entry<Long, ResponseTimeSlice> entry : other.responseTimeSlices.entrySet()) {
+            responseTimeSlices.merge(entry.getKey(), entry.getValue(), ResponseTimeSlice::merge);
+        }
+        for (Map.Entry<Long, DataSourceListSlice> entry : other.dataSourceListSlices.entrySet()) {
+            dataSourceListSlices.merge(entry.getKey(), entry.getValue(), DataSourceListSlice::merge);
+        }
+    }
+
+    public JoinApplicationStatBo toJoinApplicationStatBo() {
+        if (isEmpty()) {
+            return JoinApplicationStatBo.EMPTY_JOIN_APPLICATION_STAT_BO;
+        }
+
+        final JoinApplicationStatBo joinApplicationStatBo = new JoinApplicationStatBo();
+        joinApplicationStatBo.setId(id);
+
+        final List<JoinCpuLoadBo> joinCpuLoadBoList = new ArrayList<>(cpuLoadSlices.size());
+        for (Map.Entry<Long, CpuLoadSlice> entry : cpuLoadSlices.entrySet()) {
+            joinCpuLoadBoList.add(entry.getValue().toJoinCpuLoadBo(entry.getKey()));
+        }
+        joinApplicationStatBo.setJoinCpuLoadBoList(joinCpuLoadBoList);
+
+        final List<JoinMemoryBo> joinMemoryBoList = new ArrayList<>(memorySlices.size());
+        for (Map.Entry<Long, MemorySlice> entry : memorySlices.entrySet()) {
+            joinMemoryBoList.add(entry.getValue().toJoinMemoryBo(entry.getKey()));
+        }
+        joinApplicationStatBo.setJoinMemoryBoList(joinMemoryBoList);
+
+        final List<JoinTransactionBo> joinTransactionBoList = new ArrayList<>(transactionSlices.size());
+        for (Map.Entry<Long, TransactionSlice> entry : transactionSlices.entrySet()) {
+            joinTransactionBoList.add(entry.getValue().toJoinTransactionBo(entry.getKey()));
+        }
+        joinApplicationStatBo.setJoinTransactionBoList(joinTransactionBoList);
+
+        final List<JoinActiveTraceBo> joinActiveTraceBoList = new ArrayList<>(activeTraceSlices.size());
+        for (Map.Entry<Long, ActiveTraceSlice> entry : activeTraceSlices.entrySet()) {
+            joinActiveTraceBoList.add(entry.getValue().toJoinActiveTraceBo(entry.getKey()));
+        }
+        joinApplicationStatBo.setJoinActiveTraceBoList(joinActiveTraceBoList);
+
+        final List<JoinResponseTimeBo> joinResponseTimeBoList = new ArrayList<>(responseTimeSlices.size());
+        for (Map.Entry<Long, ResponseTimeSlice> entry : responseTimeSlices.entrySet()) {
+            joinResponseTimeBoList.add(entry.getValue().toJoinResponseTimeBo(entry.getKey()));
+        }
+        joinApplicationStatBo.setJoinResponseTimeBoList(joinResponseTimeBoList);
+
+        final List<JoinDataSourceListBo> joinDataSourceListBoList = new ArrayList<>(dataSourceListSlices.size());
+        for (Map.Entry<Long, DataSourceListSlice> entry : dataSourceListSlices.entrySet()) {
+            joinDataSourceListBoList.add(entry.getValue().toJoinDataSourceListBo(entry.getKey()));
+        }
+        joinApplicationStatBo.setJoinDataSourceListBoList(joinDataSourceListBoList);
+
+        joinApplicationStatBo.setTimestamp(extractMinTimestamp());
+        return joinApplicationStatBo;
+    }
+
+    private long extractMinTimestamp() {
+        long minTimestamp = Long.MAX_VALUE;
+        minTimestamp = minKey(cpuLoadSlices, minTimestamp);
+        minTimestamp = minKey(memorySlices, minTimestamp);
+        minTimestamp = minKey(transactionSlices, minTimestamp);
+        minTimestamp = minKey(activeTraceSlices, minTimestamp);
+        minTimestamp = minKey(responseTimeSlices, minTimestamp);
+        minTimestamp = minKey(dataSourceListSlices, minTimestamp);
+        return minTimestamp;
+    }
+
+    private static long minKey(Map<Long, ?> slices, long minTimestamp) {
+        for (Long timestamp : slices.keySet()) {
+            if (timestamp < minTimestamp) {
+                minTimestamp = timestamp;
+            }
+        }
+        return minTimestamp;
+    }
+
+    private static long shiftTimestamp(long timestamp) {
+        return timestamp - (timestamp % SHIFT_RANGE);
+    }
+
+    /**
+     * sum and min/max of a long metric. The first value wins on ties, same as the list based join functions.
+     * Slices merge into an empty slice as if it were not there, so an empty slice is a valid starting point.
+     */
+    static class LongStat {
+        private long sum;
+        private long max;
+        private String maxAgentId;
+        private long min;
+        private String minAgentId;
+
+        void add(boolean first, long value, long max, String maxAgentId, long min, String minAgentId) {
+            this.sum += value;
+            if (first || max > this.max) {
+                this.max = max;
+                this.maxAgentId = maxAgentId;
+            }
+            if (first || min < this.min) {
+                this.min = min;
+                this.minAgentId = minAgentId;
+            }
+        }
+
+        void merge(boolean first, LongStat other) {
+            add(first, other.sum, other.max, other.maxAgentId, other.min, other.minAgentId);
+        }
+    }
+
+    static class DoubleStat {
+        private double sum;
+        private double max;
+        private String maxAgentId;
+        private double min;
+        private String minAgentId;
+
+        void add(boolean first, double value, double max, String maxAgentId, double min, String minAgentId) {
+            this.sum += value;
+            if (first || max > this.max) {
+                this.max = max;
+                this.maxAgentId = maxAgentId;
+            }
+            if (first || min < this.min) {
+                this.min = min;
+                this.minAgentId = minAgentId;
+            }
+        }
+
+        void merge(boolean first, DoubleStat other) {
+            add(first, other.sum, other.max, other.maxAgentId, other.min, other.minAgentId);
+        }
+    }
+
+    static class CpuLoadSlice {
+        private String id;
+        private int count;
+        private final DoubleStat jvmCpuLoad = new DoubleStat();
+        private final DoubleStat systemCpuLoad = new DoubleStat();
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        void add(JoinCpuLoadBo joinCpuLoadBo) {
+            final boolean first = count++ == 0;
+            if (first) {
+                id = joinCpuLoadBo.getId();
+            }
+            jvmCpuLoad.add(first, joinCpuLoadBo.getJvmCpuLoad(), joinCpuLoadBo.getMaxJvmCpuLoad(), joinCpuLoadBo.getMaxJvmCpuAgentId(),
+                    joinCpuLoadBo.getMinJvmCpuLoad(), joinCpuLoadBo.getMinJvmCpuAgentId());
+            systemCpuLoad.add(first, joinCpuLoadBo.getSystemCpuLoad(), joinCpuLoadBo.getMaxSystemCpuLoad(), joinCpuLoadBo.getMaxSysCpuAgentId(),
+                    joinCpuLoadBo.getMinSystemCpuLoad(), joinCpuLoadBo.getMinSysCpuAgentId());
+        }
+
+        CpuLoadSlice merge(CpuLoadSlice other) {
+            if (other.count == 0) {
+                return this;
+            }
+            final boolean first = count == 0;
+            if (first) {
+                id = other.id;
+            }
+            count += other.count;
+            jvmCpuLoad.merge(first, other.jvmCpuLoad);
+            systemCpuLoad.merge(first, other.systemCpuLoad);
+            return this;
+        }
+
+        JoinCpuLoadBo toJoinCpuLoadBo(long timestamp) {
+            final JoinCpuLoadBo joinCpuLoadBo = new JoinCpuLoadBo();
+            joinCpuLoadBo.setId(id);
+            joinCpuLoadBo.setTimestamp(timestamp);
+            joinCpuLoadBo.setJvmCpuLoad(jvmCpuLoad.sum / (double) count);
+            joinCpuLoadBo.setMaxJvmCpuLoad(jvmCpuLoad.max);
+            joinCpuLoadBo.setMaxJvmCpuAgentId(jvmCpuLoad.maxAgentId);
+            joinCpuLoadBo.setMinJvmCpuLoad(jvmCpuLoad.min);
+            joinCpuLoadBo.setMinJvmCpuAgentId(jvmCpuLoad.minAgentId);
+            joinCpuLoadBo.setSystemCpuLoad(systemCpuLoad.sum / (double) count);
+            joinCpuLoadBo.setMaxSystemCpuLoad(systemCpuLoad.max);
+            joinCpuLoadBo.setMaxSysCpuAgentId(systemCpuLoad.maxAgentId);
+            joinCpuLoadBo.setMinSystemCpuLoad(systemCpuLoad.min);
+            joinCpuLoadBo.setMinSysCpuAgentId(systemCpuLoad.minAgentId);
+            return joinCpuLoadBo;
+        }
+    }
+
+    static class MemorySlice {
+        private String id;
+        private int count;
+        private final LongStat heapUsed = new LongStat();
+        private final LongStat nonHeapUsed = new LongStat();
+
+        void add(JoinMemoryBo joinMemoryBo) {
+            final boolean first = count++ == 0;
+            if (first) {
+                id = joinMemoryBo.getId();
+            }
+            heapUsed.add(first, joinMemoryBo.getHeapUsed(), joinMemoryBo.getMaxHeapUsed(), joinMemoryBo.getMaxHeapAgentId(),
+                    joinMemoryBo.getMinHeapUsed(), joinMemoryBo.getMinHeapAgentId());
+            nonHeapUsed.add(first, joinMemoryBo.getNonHeapUsed(), joinMemoryBo.getMaxNonHeapUsed(), joinMemoryBo.getMaxNonHeapAgentId(),
+                    joinMemoryBo.getMinNonHeapUsed(), joinMemoryBo.getMinNonHeapAgentId());
+        }
+
+        MemorySlice merge(MemorySlice other) {
+            if (other.count == 0) {
+                return this;
+            }
+            final boolean first = count == 0;
+            if (first) {
+                id = other.id;
+            }
+            count += other.count;
+            heapUsed.merge(first, other.heapUsed);
+            nonHeapUsed.merge(first, other.nonHeapUsed);
+            return this;
+        }
+
+        JoinMemoryBo toJoinMemoryBo(long timestamp) {
+            final JoinMemoryBo joinMemoryBo = new JoinMemoryBo();
+            joinMemoryBo.setId(id);
+            joinMemoryBo.setTimestamp(timestamp);
+            joinMemoryBo.setHeapUsed(heapUsed.sum / count);
+            joinMemoryBo.setMinHeapUsed(heapUsed.min);
+            joinMemoryBo.setMinHeapAgentId(heapUsed.minAgentId);
+            joinMemoryBo.setMaxHeapUsed(heapUsed.max);
+            joinMemoryBo.setMaxHeapAgentId(heapUsed.maxAgentId);
+            joinMemoryBo.setNonHeapUsed(nonHeapUsed.sum / count);
+            joinMemoryBo.setMinNonHeapUsed(nonHeapUsed.min);
+            joinMemoryBo.setMinNonHeapAgentId(nonHeapUsed.minAgentId);
+            joinMemoryBo.setMaxNonHeapUsed(nonHeapUsed.max);
+            joinMemoryBo.setMaxNonHeapAgentId(nonHeapUsed.maxAgentId);
+            return joinMemoryBo;
+        }
+    }
+
+    static class TransactionSlice {
+        private String id;
+        private long collectInterval;
+        private int count;
+        private final LongStat totalCount = new LongStat();
+
+        void add(JoinTransactionBo joinTransactionBo) {
+            final boolean first = count++ == 0;
+            if (first) {
+                id = joinTransactionBo.getId();
+                collectInterval = joinTransactionBo.getCollectInterval();
+            }
+            totalCount.add(first, joinTransactionBo.getTotalCount(), joinTransactionBo.getMaxTotalCount(), joinTransactionBo.getMaxTotalCountAgentId(),
+                    joinTransactionBo.getMinTotalCount(), joinTransactionBo.getMinTotalCountAgentId());
+        }
+
+        TransactionSlice merge(TransactionSlice other) {
+            if (other.count == 0) {
+                return this;
+            }
+            final boolean first = count == 0;
+            if (first) {
+                id = other.id;
+                collectInterval = other.collectInterval;
+            }
+            count += other.count;
+            totalCount.merge(first, other.totalCount);
+            return this;
+        }
+
+        JoinTransactionBo toJoinTransactionBo(long timestamp) {
+            final JoinTransactionBo joinTransactionBo = new JoinTransactionBo();
+            joinTransactionBo.setId(id);
+            joinTransactionBo.setTimestamp(timestamp);
+            joinTransactionBo.setTotalCount(totalCount.sum / count);
+            joinTransactionBo.setCollectInterval(collectInterval);
+            joinTransactionBo.setMaxTotalCount(totalCount.max);
+            joinTransactionBo.setMaxTotalCountAgentId(totalCount.maxAgentId);
+            joinTransactionBo.setMinTotalCount(totalCount.min);
+            joinTransactionBo.setMinTotalCountAgentId(totalCount.minAgentId);
+            return joinTransactionBo;
+        }
+    }
+
+    static class ActiveTraceSlice {
+        private String id;
+        private int histogramSchemaType;
+        private short version;
+        private int count;
+        private final LongStat totalCount = new LongStat();
+
+        void add(JoinActiveTraceBo joinActiveTraceBo) {
+            final boolean first = count++ == 0;
+            if (first) {
+                id = joinActiveTraceBo.getId();
+                histogramSchemaType = joinActiveTraceBo.getHistogramSchemaType();
+                version = joinActiveTraceBo.getVersion();
+            }
+            totalCount.add(first, joinActiveTraceBo.getTotalCount(), joinActiveTraceBo.getMaxTotalCount(), joinActiveTraceBo.getMaxTotalCountAgentId(),
+                    joinActiveTraceBo.getMinTotalCount(), joinActiveTraceBo.getMinTotalCountAgentId());
+        }
+
+        ActiveTraceSlice merge(ActiveTraceSlice other) {
+            if (other.count == 0) {
+                return this;
+            }
+            final boolean first = count == 0;
+            if (first) {
+                id = other.id;
+                histogramSchemaType = other.histogramSchemaType;
+                version = other.version;
+            }
+            count += other.count;
+            totalCount.merge(first, other.totalCount);
+            return this;
+        }
+
+        JoinActiveTraceBo toJoinActiveTraceBo(long timestamp) {
+            final JoinActiveTraceBo joinActiveTraceBo = new JoinActiveTraceBo();
+            joinActiveTraceBo.setId(id);
+            joinActiveTraceBo.setTimestamp(timestamp);
+            joinActiveTraceBo.setHistogramSchemaType(histogramSchemaType);
+            joinActiveTraceBo.setVersion(version);
+            joinActiveTraceBo.setTotalCount((int) (totalCount.sum / count));
+            joinActiveTraceBo.setMaxTotalCount((int) totalCount.max);
+            joinActiveTraceBo.setMaxTotalCountAgentId(totalCount.maxAgentId);
+            joinActiveTraceBo.setMinTotalCount((int) totalCount.min);
+            joinActiveTraceBo.setMinTotalCountAgentId(totalCount.minAgentId);
+            return joinActiveTraceBo;
+        }
+    }
+
+    static class ResponseTimeSlice {
+        private String id;
+        private int count;
+        private final LongStat avg = new LongStat();
+
+        void add(JoinResponseTimeBo joinResponseTimeBo) {
+            final boolean first = count++ == 0;
+            if (first) {
+                id = joinResponseTimeBo.getId();
+            }
+            avg.add(first, joinResponseTimeBo.getAvg(), joinResponseTimeBo.getMaxAvg(), joinResponseTimeBo.getMaxAvgAgentId(),
+                    joinResponseTimeBo.getMinAvg(), joinResponseTimeBo.getMinAvgAgentId());
+        }
+
+        ResponseTimeSlice merge(ResponseTimeSlice other) {
+            if (other.count == 0) {
+                return this;
+            }
+            final boolean first = count == 0;
+            if (first) {
+                id = other.id;
+            }
+            count += other.count;
+            avg.merge(first, other.avg);
+            return this;
+        }
+
+        JoinResponseTimeBo toJoinResponseTimeBo(long timestamp) {
+            final JoinResponseTimeBo joinResponseTimeBo = new JoinResponseTimeBo();
+            joinResponseTimeBo.setId(id);
+            joinResponseTimeBo.setTimestamp(timestamp);
+            joinResponseTimeBo.setAvg(avg.sum / count);
+            joinResponseTimeBo.setMinAvg(avg.min);
+            joinResponseTimeBo.setMinAvgAgentId(avg.minAgentId);
+            joinResponseTimeBo.setMaxAvg(avg.max);
+            joinResponseTimeBo.setMaxAvgAgentId(avg.maxAgentId);
+            return joinResponseTimeBo;
+        }
+    }
+
+    static class DataSourceListSlice {
+        private String id;
+        private final Map<JoinDataSourceListBo.DataSourceKey, DataSourceSlice> dataSourceSlices = new HashMap<>();
+
+        void add(JoinDataSourceListBo joinDataSourceListBo) {
+            if (id == null) {
+                id = joinDataSourceListBo.getId();
+            }
+            for (JoinDataSourceBo joinDataSourceBo : joinDataSourceListBo.getJoinDataSourceBoList()) {
+                final JoinDataSourceListBo.DataSourceKey dataSourceKey = new JoinDataSourceListBo.DataSourceKey(joinDataSourceBo.getUrl(), joinDataSourceBo.getServiceTypeCode());
+                dataSourceSlices.computeIfAbsent(dataSourceKey, k -> new DataSourceSlice()).add(joinDataSourceBo);
+            }
+        }
+
+        DataSourceListSlice merge(DataSourceListSlice other) {
+            if (id == null) {
+                id = other.id;
+            }
+            for (Map.Entry<JoinDataSourceListBo.DataSourceKey, DataSourceSlice> entry : other.dataSourceSlices.entrySet()) {
+                dataSourceSlices.merge(entry.getKey(), entry.getValue(), DataSourceSlice::merge);
+            }
+            return this;
+        }
+
+        JoinDataSourceListBo toJoinDataSourceListBo(long timestamp) {
+            final List<JoinDataSourceBo> joinDataSourceBoList = new ArrayList<>(dataSourceSlices.size());
+            for (DataSourceSlice dataSourceSlice : dataSourceSlices.values()) {
+                joinDataSourceBoList.add(dataSourceSlice.toJoinDataSourceBo());
+            }
+
+            final JoinDataSourceListBo joinDataSourceListBo = new JoinDataSourceListBo();
+            joinDataSourceListBo.setId(id);
+            joinDataSourceListBo.setTimestamp(timestamp);
+            joinDataSourceListBo.setJoinDataSourceBoList(joinDataSourceBoList);
+            return joinDataSourceListBo;
+        }
+    }
+
+    static class DataSourceSlice {
+        private short serviceTypeCode;
+        private String url;
+        private int count;
+        private final LongStat activeConnectionSize = new LongStat();
+
+        void add(JoinDataSourceBo joinDataSourceBo) {
+            final boolean first = count++ == 0;
+            if (first) {
+                serviceTypeCode = joinDataSourceBo.getServiceTypeCode();
+                url = joinDataSourceBo.getUrl();
+            }
+            activeConnectionSize.add(first, joinDataSourceBo.getAvgActiveConnectionSize(),
+                    joinDataSourceBo.getMaxActiveConnectionSize(), joinDataSourceBo.getMaxActiveConnectionAgentId(),
+                    joinDataSourceBo.getMinActiveConnectionSize(), joinDataSourceBo.getMinActiveConnectionAgentId());
+        }
+
+        DataSourceSlice merge(DataSourceSlice other) {
+            if (other.count == 0) {
+                return this;
+            }
+            final boolean first = count == 0;
+            if (first) {
+                serviceTypeCode = other.serviceTypeCode;
+                url = other.url;
+            }
+            count += other.count;
+            activeConnectionSize.merge(first, other.activeConnectionSize);
+            return this;
+        }
+
+        JoinDataSourceBo toJoinDataSourceBo() {
+            final JoinDataSourceBo joinDataSourceBo = new JoinDataSourceBo();
+            joinDataSourceBo.setServiceTypeCode(serviceTypeCode);
+            joinDataSourceBo.setUrl(url);
+            joinDataSourceBo.setAvgActiveConnectionSize((int) (activeConnectionSize.sum / count));
+            joinDataSourceBo.setMinActiveConnectionSize((int) activeConnectionSize.min);
+            joinDataSourceBo.setMinActiveConnectionAgentId(activeConnectionSize.minAgentId);
+            joinDataSourceBo.setMaxActiveConnectionSize((int) activeConnectionSize.max);
+            joinDataSourceBo.setMaxActiveConnectionAgentId(activeConnectionSize.maxAgentId);
+            return joinDataSourceBo;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.flink.function;
+
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinAgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinCpuLoadBo;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JoinAgentStatAccumulatorTest {
+
+    @Test
+    public void mergeTest() {
+        final long currentTime = 1487149800000L;
+        final JoinAgentStatBo joinAgentStatBo1 = createJoinAgentStatBo(currentTime, 30, 10, 80);
+        final JoinAgentStatBo joinAgentStatBo2 = createJoinAgentStatBo(currentTime + 5000, 50, 20, 90);
+        final JoinAgentStatBo joinAgentStatBo3 = createJoinAgentStatBo(currentTime + 10000, 40, 5, 70);
+
+        final JoinAgentStatAccumulator accumulator1 = new JoinAgentStatAccumulator();
+        accumulator1.add(joinAgentStatBo1);
+        final JoinAgentStatAccumulator accumulator2 = new JoinAgentStatAccumulator();
+        accumulator2.add(joinAgentStatBo2);
+        accumulator2.add(joinAgentStatBo3);
+
+        // merging into an empty accumulator must not leave the empty side's min/max behind
+        final JoinAgentStatAccumulator accumulator = new JoinAgentStatAccumulator();
+        accumulator.merge(accumulator1);
+        accumulator.merge(new JoinAgentStatAccumulator());
+        accumulator.merge(accumulator2);
+
+        final JoinAgentStatBo joinAgentStatBo = accumulator.toJoinAgentStatBo();
+        assertEquals("agent", joinAgentStatBo.getId());
+        assertEquals(currentTime, joinAgentStatBo.getTimestamp());
+
+        final JoinCpuLoadBo joinCpuLoadBo = joinAgentStatBo.getJoinCpuLoadBoList().get(0);
+        assertEquals("agent", joinCpuLoadBo.getId());
+        assertEquals(40, joinCpuLoadBo.getJvmCpuLoad(), 0.001);
+        assertEquals(90, joinCpuLoadBo.getMaxJvmCpuLoad(), 0.001);
+        assertEquals("max_" + (currentTime + 5000), joinCpuLoadBo.getMaxJvmCpuAgentId());
+        assertEquals(5, joinCpuLoadBo.getMinJvmCpuLoad(), 0.001);
+        assertEquals("min_" + (currentTime + 10000), joinCpuLoadBo.getMinJvmCpuAgentId());
+        assertEquals(90, joinCpuLoadBo.getMaxSystemCpuLoad(), 0.001);
+        assertEquals("max_" + (currentTime + 5000), joinCpuLoadBo.getMaxSysCpuAgentId());
+        assertEquals(5, joinCpuLoadBo.getMinSystemCpuLoad(), 0.001);
+        assertEquals("min_" + (currentTime + 10000), joinCpuLoadBo.getMinSysCpuAgentId());
+
+        final List<JoinAgentStatBo> joinAgentStatBoList = new ArrayList<>();
+        joinAgentStatBoList.add(joinAgentStatBo1);
+        joinAgentStatBoList.add(joinAgentStatBo2);
+        joinAgentStatBoList.add(joinAgentStatBo3);
+        assertEquals(JoinAgentStatBo.joinAgentStatBo(joinAgentStatBoList).getJoinCpuLoadBoList(), joinAgentStatBo.getJoinCpuLoadBoList());
+    }
+
+    @Test
+    public void emptyTest() {
+        final JoinAgentStatAccumulator accumulator = new JoinAgentStatAccumulator();
+        accumulator.merge(new JoinAgentStatAccumulator());
+        assertSame(JoinAgentStatBo.EMPTY_JOIN_AGENT_STAT_BO, accumulator.toJoinAgentStatBo());
+    }
+
+    private JoinAgentStatBo createJoinAgentStatBo(long timestamp, double value, double min, double max) {
+        final JoinCpuLoadBo joinCpuLoadBo = new JoinCpuLoadBo("agent", value, max, "max_" + timestamp, min, "min_" + timestamp,
+                value, max, "max_" + timestamp, min, "min_" + timestamp, timestamp);
+        final List<JoinCpuLoadBo> joinCpuLoadBoList = new ArrayList<>();
+        joinCpuLoadBoList.add(joinCpuLoadBo);
+
+        final JoinAgentStatBo joinAgentStatBo = new JoinAgentStatBo();
+        joinAgentStatBo.setId("agent");
+        joinAgentStatBo.setTimestamp(timestamp);
+        joinAgentStatBo.setJoinCpuLoadBoList(joinCpuLoadBoList);
+        return joinAgentStatBo;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.flink.function;
+
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinActiveTraceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinApplicationStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinCpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinMemoryBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinTransactionBo;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JoinApplicationStatAccumulatorTest {
+
+    private static final Comparator<JoinStatBo> TIMESTAMP_COMPARATOR = Comparator.comparingLong(JoinStatBo::getTimestamp);
+
+    @Test
+    public void addTest() {
+        final long currentTime = 1487149800000L;
+        final List<JoinApplicationStatBo> joinApplicationStatBoList = new ArrayList<>();
+        joinApplicationStatBoList.add(createJoinApplicationStatBo("id1", currentTime, 10));
+        joinApplicationStatBoList.add(createJoinApplicationStatBo("id2", currentTime + 1000, -40));
+        joinApplicationStatBoList.add(createJoinApplicationStatBo("id3", currentTime + 2000, 30));
+        joinApplicationStatBoList.add(createJoinApplicationStatBo("id4", currentTime + 3000, 20));
+
+        final JoinApplicationStatAccumulator accumulator = new JoinApplicationStatAccumulator();
+        for (JoinApplicationStatBo joinApplicationStatBo : joinApplicationStatBoList) {
+            accumulator.add(joinApplicationStatBo);
+        }
+
+        assertJoinApplicationStatBo(JoinApplicationStatBo.joinApplicationStatBoByTimeSlice(joinApplicationStatBoList), accumulator.toJoinApplicationStatBo());
+    }
+
+    @Test
+    public void mergeTest() {
+        final long currentTime = 1487149800000L;
+        final List<JoinApplicationStatBo> joinApplicationStatBoList = new ArrayList<>();
+        final JoinApplicationStatAccumulator accumulator1 = new JoinApplicationStatAccumulator();
+        final JoinApplicationStatAccumulator accumulator2 = new JoinApplicationStatAccumulator();
+
+        for (int i = 0; i < 6; i++) {
+            JoinApplicationStatBo joinApplicationStatBo = createJoinApplicationStatBo("id" + i, currentTime + (i * 2500), (i % 3) * 15 - 10);
+            joinApplicationStatBoList.add(joinApplicationStatBo);
+            if (i % 2 == 0) {
+                accumulator1.add(joinApplicationStatBo);
+            } else {
+                accumulator2.add(joinApplicationStatBo);
+            }
+        }
+        accumulator1.merge(accumulator2);
+
+        assertJoinApplicationStatBo(JoinApplicationStatBo.joinApplicationStatBoByTimeSlice(joinApplicationStatBoList), accumulator1.toJoinApplicationStatBo());
+    }
+
+    @Test
+    public void emptyTest() {
+        final JoinApplicationStatAccumulator accumulator = new JoinApplicationStatAccumulator();
+        assertTrue(accumulator.isEmpty());
+        assertSame(JoinApplicationStatBo.EMPTY_JOIN_APPLICATION_STAT_BO, accumulator.toJoinApplicationStatBo());
+    }
+
+    private void assertJoinApplicationStatBo(JoinApplicationStatBo expected, JoinApplicationStatBo actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        assertEquals(sort(expected.getJoinCpuLoadBoList()), sort(actual.getJoinCpuLoadBoList()));
+        assertEquals(sort(expected.getJoinMemoryBoList()), sort(actual.getJoinMemoryBoList()));
+        assertEquals(sort(expected.getJoinTransactionBoList()), sort(actual.getJoinTransactionBoList()));
+        assertEquals(sort(expected.getJoinActiveTraceBoList()), sort(actual.getJoinActiveTraceBoList()));
+        assertEquals(sort(expected.getJoinResponseTimeBoList()), sort(actual.getJoinResponseTimeBoList()));
+    }
+
+    private <T extends JoinStatBo> List<T> sort(List<T> joinStatBoList) {
+        List<T> sortedList = new ArrayList<>(joinStatBoList);
+        Collections.sort(sortedList, TIMESTAMP_COMPARATOR);
+        return sortedList;
+    }
+
+    private JoinApplicationStatBo createJoinApplicationStatBo(String id, long timestamp, int plus) {
+        final JoinApplicationStatBo joinApplicationStatBo = new JoinApplicationStatBo();
+        joinApplicationStatBo.setId("test_app");
+        joinApplicationStatBo.setTimestamp(timestamp);
+
+        final List<JoinCpuLoadBo> joinCpuLoadBoList = new ArrayList<>();
+        final List<JoinMemoryBo> joinMemoryBoList = new ArrayList<>();
+        final List<JoinTransactionBo> joinTransactionBoList = new ArrayList<>();
+        final List<JoinActiveTraceBo> joinActiveTraceBoList = new ArrayList<>();
+        final List<JoinResponseTimeBo> joinResponseTimeBoList = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final long time = timestamp + (i * 5000);
+            final int value = 50 + plus + (i * 7);
+            joinCpuLoadBoList.add(new JoinCpuLoadBo(id, value, value + 20, id + "_max", value - 20, id + "_min", value + 5, value + 30, id + "_max", value - 10, id + "_min", time));
+            joinMemoryBoList.add(new JoinMemoryBo(id, time, value * 100, value * 50, value * 200, id + "_min", id + "_max", value * 10, value * 5, value * 20, id + "_min", id + "_max"));
+            joinTransactionBoList.add(new JoinTransactionBo(id, 5000, value * 3, value, id + "_min", value * 6, id + "_max", time));
+            joinActiveTraceBoList.add(new JoinActiveTraceBo(id, 1, (short) 2, value, value - 10, id + "_min", value + 10, id + "_max", time));
+            joinResponseTimeBoList.add(new JoinResponseTimeBo(id, time, value * 4, value, id + "_min", value * 8, id + "_max"));
+        }
+        joinApplicationStatBo.setJoinCpuLoadBoList(joinCpuLoadBoList);
+        joinApplicationStatBo.setJoinMemoryBoList(joinMemoryBoList);
+        joinApplicationStatBo.setJoinTransactionBoList(joinTransactionBoList);
+        joinApplicationStatBo.setJoinActiveTraceBoList(joinActiveTraceBoList);
+        joinApplicationStatBo.setJoinResponseTimeBoList(joinResponseTimeBoList);
+        return joinApplicationStatBo;
+    }
+}
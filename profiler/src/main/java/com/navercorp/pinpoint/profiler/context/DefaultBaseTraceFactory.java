@@ -33,6 +33,8 @@ import com.navercorp.pinpoint.profiler.context.recorder.RecorderFactory;
 import com.navercorp.pinpoint.profiler.context.recorder.WrappedSpanEventRecorder;
 import com.navercorp.pinpoint.profiler.context.storage.Storage;
 import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
+import com.navercorp.pinpoint.profiler.context.storage.TailSamplingStorageFactory;
+import com.navercorp.pinpoint.profiler.sampler.TailSamplingFlag;
 
 
 /**
@@ -56,10 +58,20 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
 
     private final ActiveTraceRepository activeTraceRepository;
 
+    // nullable
+    private final TailSamplingStorageFactory tailSamplingStorageFactory;
+
 
     public DefaultBaseTraceFactory(TraceRootFactory traceRootFactory, CallStackFactory callStackFactory, StorageFactory storageFactory,
                                    Sampler sampler, IdGenerator idGenerator, AsyncContextFactory asyncContextFactory,
                                    SpanFactory spanFactory, RecorderFactory recorderFactory, ActiveTraceRepository activeTraceRepository) {
+        this(traceRootFactory, callStackFactory, storageFactory, sampler, idGenerator, asyncContextFactory, spanFactory, recorderFactory, activeTraceRepository, null);
+    }
+
+    public DefaultBaseTraceFactory(TraceRootFactory traceRootFactory, CallStackFactory callStackFactory, StorageFactory storageFactory,
+                                   Sampler sampler, IdGenerator idGenerator, AsyncContextFactory asyncContextFactory,
+                                   SpanFactory spanFactory, RecorderFactory recorderFactory, ActiveTraceRepository activeTraceRepository,
+                                   TailSamplingStorageFactory tailSamplingStorageFactory) {
 
         this.traceRootFactory = Assert.requireNonNull(traceRootFactory, "traceRootFactory must not be null");
         this.callStackFactory = Assert.requireNonNull(callStackFactory, "callStackFactory must not be null");
@@ -71,6 +83,7 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
         this.spanFactory = Assert.requireNonNull(spanFactory, "spanFactory must not be null");
         this.recorderFactory = Assert.requireNonNull(recorderFactory, "recorderFactory must not be null");
         this.activeTraceRepository = Assert.requireNonNull(activeTraceRepository, "activeTraceRepository must not be null");
+        this.tailSamplingStorageFactory = tailSamplingStorageFactory;
     }
 
 
@@ -80,6 +93,17 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
         // TODO need to modify how to bind a datasender
         // always set true because the decision of sampling has been  made on previous nodes
         // TODO need to consider as a target to sample in case Trace object has a sampling flag (true) marked on previous node.
+        if (TailSamplingFlag.isPending(traceId.getFlags())) {
+            // rejected by the sampling rate upstream. apply the same tail policy here, or follow the head decision
+            if (isTailSampling()) {
+                return continueTraceObject(traceId, tailSamplingStorageFactory);
+            }
+            return disableSampling();
+        }
+        return continueTraceObject(traceId, storageFactory);
+    }
+
+    private Trace continueTraceObject(TraceId traceId, StorageFactory storageFactory) {
         final TraceRoot traceRoot = traceRootFactory.continueTraceRoot(traceId);
         final Span span = spanFactory.newSpan(traceRoot);
 
@@ -111,23 +135,35 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
         // TODO need to modify how to inject a datasender
         final boolean sampling = sampler.isSampling();
         if (sampling) {
-            final TraceRoot traceRoot = traceRootFactory.newTraceRoot();
-            final Span span = spanFactory.newSpan(traceRoot);
+            return newTraceObject(traceRootFactory.newTraceRoot(), storageFactory);
+        }
+        if (isTailSampling()) {
+            // recorded like a sampled trace, sent only if the tail sampling policy keeps it.
+            // the pending flag tells downstream agents that this transaction is not head sampled
+            return newTraceObject(traceRootFactory.newTraceRoot(TailSamplingFlag.PENDING), tailSamplingStorageFactory);
+        }
+        return newDisableTrace();
+    }
 
-            final Storage storage = storageFactory.createStorage(traceRoot);
-            final CallStack callStack = callStackFactory.newCallStack(traceRoot);
+    private boolean isTailSampling() {
+        return tailSamplingStorageFactory != null && tailSamplingStorageFactory.isAvailable();
+    }
 
-            final TraceId traceId = traceRoot.getTraceId();
-            final SpanRecorder spanRecorder = recorderFactory.newSpanRecorder(span, traceId.isRoot(), sampling);
-            final WrappedSpanEventRecorder wrappedSpanEventRecorder = recorderFactory.newWrappedSpanEventRecorder();
+    private Trace newTraceObject(TraceRoot traceRoot, StorageFactory storageFactory) {
+        final boolean sampling = true;
+        final Span span = spanFactory.newSpan(traceRoot);
 
-            final ActiveTraceHandle handle = registerActiveTrace(traceRoot);
-            final DefaultTrace trace = new DefaultTrace(span, callStack, storage, asyncContextFactory, sampling, spanRecorder, wrappedSpanEventRecorder, handle);
+        final Storage storage = storageFactory.createStorage(traceRoot);
+        final CallStack callStack = callStackFactory.newCallStack(traceRoot);
 
-            return trace;
-        } else {
-            return newDisableTrace();
-        }
+        final TraceId traceId = traceRoot.getTraceId();
+        final SpanRecorder spanRecorder = recorderFactory.newSpanRecorder(span, traceId.isRoot(), sampling);
+        final WrappedSpanEventRecorder wrappedSpanEventRecorder = recorderFactory.newWrappedSpanEventRecorder();
+
+        final ActiveTraceHandle handle = registerActiveTrace(traceRoot);
+        final DefaultTrace trace = new DefaultTrace(span, callStack, storage, asyncContextFactory, sampling, spanRecorder, wrappedSpanEventRecorder, handle);
+
+        return trace;
     }
 
 
@@ -161,6 +197,10 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
     @InterfaceAudience.LimitedPrivate("vert.x")
     @Override
     public Trace continueAsyncTraceObject(final TraceId traceId) {
+        if (TailSamplingFlag.isPending(traceId.getFlags())) {
+            // async entry points are not tail sampled, follow the head decision made upstream
+            return disableSampling();
+        }
 
         final boolean sampling = true;
 
@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.profiler.context;
 import com.navercorp.pinpoint.bootstrap.context.FrameAttachment;
 import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
 
+import com.navercorp.pinpoint.common.annotations.VisibleForTesting;
 import com.navercorp.pinpoint.common.util.StringUtils;
 import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
 import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
@@ -67,12 +68,21 @@ public class SpanEvent extends TSpanEvent implements FrameAttachment {
         this.startTime = System.currentTimeMillis();
     }
 
+    @VisibleForTesting
+    public void markStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
     public long getStartTime() {
         return startTime;
     }
 
     public void markAfterTime() {
-        this.afterTime = System.currentTimeMillis();
+        markAfterTime(System.currentTimeMillis());
+    }
+
+    public void markAfterTime(long afterTime) {
+        this.afterTime = afterTime;
     }
 
     public long getAfterTime() {
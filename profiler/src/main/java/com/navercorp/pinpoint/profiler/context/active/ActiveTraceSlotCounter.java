@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.active;
+
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+import com.navercorp.pinpoint.common.util.Assert;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts active traces by start time so the active trace histogram can be built
+ * without walking every active trace.
+ * Start times are grouped into {@link #SLOT_MILLIS} slots kept in a ring.
+ * When a slot is reused, its previous count moves to {@code overflow}, which is always very slow.
+ * Each slot packs its epoch (startTime / SLOT_MILLIS) and count into one long so it can be updated with a single CAS.
+ */
+class ActiveTraceSlotCounter {
+
+    static final int SLOT_MILLIS = 50;
+    // covers the 5000ms very slow boundary of the normal schema with room to spare
+    private static final int SLOT_SIZE = 128;
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final HistogramSchema histogramSchema;
+    private final AtomicLongArray slots = new AtomicLongArray(SLOT_SIZE);
+    private final AtomicInteger overflow = new AtomicInteger();
+
+    ActiveTraceSlotCounter(HistogramSchema histogramSchema) {
+        this.histogramSchema = Assert.requireNonNull(histogramSchema, "histogramSchema must not be null");
+    }
+
+    void increment(long startTime) {
+        final long epoch = epoch(startTime);
+        final int index = index(epoch);
+        while (true) {
+            final long current = slots.get(index);
+            final long currentEpoch = epochOf(current);
+            if (currentEpoch == epoch) {
+                if (slots.compareAndSet(index, current, current + 1)) {
+                    return;
+                }
+            } else if (currentEpoch < epoch) {
+                if (slots.compareAndSet(index, current, pack(epoch, 1))) {
+                    overflow.addAndGet(countOf(current));
+                    return;
+                }
+            } else {
+                // slot already reused by a newer epoch
+                overflow.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    void decrement(long startTime) {
+        final long epoch = epoch(startTime);
+        final int index = index(epoch);
+        while (true) {
+            final long current = slots.get(index);
+            if (epochOf(current) != epoch || countOf(current) == 0) {
+                overflow.decrementAndGet();
+                return;
+            }
+            if (slots.compareAndSet(index, current, current - 1)) {
+                return;
+            }
+        }
+    }
+
+    DefaultActiveTraceHistogram histogram(long currentTime) {
+        final DefaultActiveTraceHistogram histogram = new DefaultActiveTraceHistogram(histogramSchema);
+        for (int i = 0; i < SLOT_SIZE; i++) {
+            final long slot = slots.get(i);
+            final int count = countOf(slot);
+            if (count == 0) {
+                continue;
+            }
+            // oldest start time in the slot, so a trace is never reported faster than it is
+            final long elapsed = currentTime - (epochOf(slot) * SLOT_MILLIS);
+            final int elapsedTime = (int) Math.min(Math.max(elapsed, 0), Integer.MAX_VALUE);
+            histogram.increment(histogramSchema.findHistogramSlot(elapsedTime, false), count);
+        }
+        final int overflowCount = overflow.get();
+        if (overflowCount > 0) {
+            histogram.increment(histogramSchema.getVerySlowSlot(), overflowCount);
+        }
+        return histogram;
+    }
+
+    private static long epoch(long startTime) {
+        return startTime / SLOT_MILLIS;
+    }
+
+    private static int index(long epoch) {
+        return (int) (epoch % SLOT_SIZE);
+    }
+
+    private static long pack(long epoch, int count) {
+        return (epoch << COUNT_BITS) | count;
+    }
+
+    private static long epochOf(long slot) {
+        return slot >>> COUNT_BITS;
+    }
+
+    private static int countOf(long slot) {
+        return (int) (slot & COUNT_MASK);
+    }
+}
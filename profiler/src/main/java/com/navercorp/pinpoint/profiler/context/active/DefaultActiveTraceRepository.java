@@ -18,9 +18,11 @@ package com.navercorp.pinpoint.profiler.context.active;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
 import com.navercorp.pinpoint.common.trace.BaseHistogramSchema;
 import com.navercorp.pinpoint.common.trace.HistogramSchema;
-import com.navercorp.pinpoint.common.trace.HistogramSlot;
 import com.navercorp.pinpoint.common.util.Assert;
 import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
 import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
@@ -51,6 +53,7 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
 
     private final HistogramSchema histogramSchema = BaseHistogramSchema.NORMAL_SCHEMA;
     private final ActiveTraceHistogram emptyActiveTraceHistogram = new EmptyActiveTraceHistogram(histogramSchema);
+    private final ActiveTraceSlotCounter slotCounter = new ActiveTraceSlotCounter(histogramSchema);
 
     public DefaultActiveTraceRepository(ResponseTimeCollector responseTimeCollector) {
         this(responseTimeCollector, DEFAULT_MAX_ACTIVE_TRACE_SIZE);
@@ -67,10 +70,36 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
         cacheBuilder.initialCapacity(maxActiveTraceSize);
         cacheBuilder.maximumSize(maxActiveTraceSize);
 
-        final Cache<ActiveTraceHandle, ActiveTrace> localCache = cacheBuilder.build();
+        final Cache<ActiveTraceHandle, ActiveTrace> localCache = cacheBuilder.removalListener(new SlotCounterRemovalListener()).build();
         return localCache.asMap();
     }
 
+    // explicit removal is counted in remove(), evicted or replaced traces are counted here
+    private class SlotCounterRemovalListener implements RemovalListener<ActiveTraceHandle, ActiveTrace> {
+        @Override
+        public void onRemoval(RemovalNotification<ActiveTraceHandle, ActiveTrace> notification) {
+            if (notification.getCause() == RemovalCause.EXPLICIT) {
+                return;
+            }
+            final ActiveTrace activeTrace = notification.getValue();
+            if (activeTrace != null) {
+                decrementSlotCounter(activeTrace.getStartTime());
+            }
+        }
+    }
+
+    private void incrementSlotCounter(long startTime) {
+        if (isStarted(startTime)) {
+            slotCounter.increment(startTime);
+        }
+    }
+
+    private void decrementSlotCounter(long startTime) {
+        if (isStarted(startTime)) {
+            slotCounter.decrement(startTime);
+        }
+    }
+
 
     private void remove(ActiveTraceHandle key, long purgeTime) {
         if (isDebug) {
@@ -78,6 +107,7 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
         }
         final ActiveTrace activeTrace = this.activeTraceInfoMap.remove(key);
         if (activeTrace != null) {
+            decrementSlotCounter(activeTrace.getStartTime());
             final long responseTime = purgeTime - activeTrace.getStartTime();
             responseTimeCollector.add(responseTime);
         }
@@ -110,6 +140,7 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
 
         final long id = activeTrace.getId();
         final ActiveTraceHandle handle = new DefaultActiveTraceHandle(id);
+        incrementSlotCounter(activeTrace.getStartTime());
         final ActiveTrace old = this.activeTraceInfoMap.put(handle, activeTrace);
         if (old != null) {
             if (logger.isWarnEnabled()) {
@@ -175,21 +206,8 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
         if (this.activeTraceInfoMap.isEmpty()) {
             return emptyActiveTraceHistogram;
         }
-        final Collection<ActiveTrace> activeTraceCollection = this.activeTraceInfoMap.values();
-
-
-        final DefaultActiveTraceHistogram histogram = new DefaultActiveTraceHistogram(histogramSchema);
-        for (ActiveTrace activeTraceInfo : activeTraceCollection) {
-            final long startTime = activeTraceInfo.getStartTime();
-            if (!isStarted(startTime)) {
-                continue;
-            }
-            final int elapsedTime = (int) (currentTime - startTime);
-            final HistogramSlot slot = histogramSchema.findHistogramSlot(elapsedTime, false);
-            histogram.increment(slot);
-        }
-
-        return histogram;
+        // maintained on register/remove, no need to walk the active traces
+        return slotCounter.histogram(currentTime);
     }
 
     private boolean isStarted(long startTime) {
@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.profiler.context.id;
 
 import com.google.inject.Inject;
+import com.navercorp.pinpoint.bootstrap.context.SpanId;
 import com.navercorp.pinpoint.bootstrap.context.TraceId;
 import com.navercorp.pinpoint.common.util.TransactionId;
 import com.navercorp.pinpoint.common.util.TransactionIdUtils;
@@ -48,6 +49,12 @@ public class DefaultTraceIdFactory implements TraceIdFactory {
         return traceId;
     }
 
+    @Override
+    public TraceId newTraceId(long localTransactionId, short flags) {
+        final TraceId traceId = new DefaultTraceId(agentId, agentStartTime, localTransactionId, SpanId.NULL, SpanId.newSpanId(), flags);
+        return traceId;
+    }
+
     public TraceId continueTraceId(String transactionId, long parentSpanId, long spanId, short flags) {
         if (transactionId == null) {
             throw new NullPointerException("transactionId must not be null");
@@ -37,6 +37,7 @@ import com.navercorp.pinpoint.profiler.instrument.InstrumentEngine;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.monitor.AgentStatMonitor;
 import com.navercorp.pinpoint.profiler.monitor.DeadlockMonitor;
+import com.navercorp.pinpoint.profiler.monitor.StackSamplingMonitor;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
 import com.navercorp.pinpoint.rpc.client.PinpointClientFactory;
@@ -56,6 +57,7 @@ public class DefaultApplicationContext implements ApplicationContext {
     private final ProfilerConfig profilerConfig;
 
     private final DeadlockMonitor deadlockMonitor;
+    private final StackSamplingMonitor stackSamplingMonitor;
     private final AgentInfoSender agentInfoSender;
     private final AgentStatMonitor agentStatMonitor;
 
@@ -143,6 +145,7 @@ public class DefaultApplicationContext implements ApplicationContext {
 
 
         this.deadlockMonitor = injector.getInstance(DeadlockMonitor.class);
+        this.stackSamplingMonitor = injector.getInstance(StackSamplingMonitor.class);
         this.agentInfoSender = injector.getInstance(AgentInfoSender.class);
         this.agentStatMonitor = injector.getInstance(AgentStatMonitor.class);
         /*
@@ -231,6 +234,7 @@ public class DefaultApplicationContext implements ApplicationContext {
     @Override
     public void start() {
         this.deadlockMonitor.start();
+        this.stackSamplingMonitor.start();
         this.agentInfoSender.start();
         this.agentStatMonitor.start();
     }
@@ -240,6 +244,7 @@ public class DefaultApplicationContext implements ApplicationContext {
         this.agentInfoSender.stop();
         this.agentStatMonitor.stop();
         this.deadlockMonitor.stop();
+        this.stackSamplingMonitor.stop();
 
         // Need to process stop
         this.spanDataSender.stop();
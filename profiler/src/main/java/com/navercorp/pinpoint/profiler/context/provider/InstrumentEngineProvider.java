@@ -79,8 +79,8 @@ public class InstrumentEngineProvider implements Provider<InstrumentEngine> {
     public InstrumentEngine get() {
         final String instrumentEngine = profilerConfig.getProfileInstrumentEngine().toUpperCase();
         if (DefaultProfilerConfig.INSTRUMENT_ENGINE_ASM.equals(instrumentEngine)) {
-            logger.info("ASM InstrumentEngine.");
-            return new ASMEngine(instrumentation, objectBinderFactory, interceptorRegistryBinder, apiMetaDataServiceProvider, agentOption.getBootstrapJarPaths());
+            logger.info("ASM InstrumentEngine. interceptorFieldEnable:{}", profilerConfig.isInstrumentInterceptorFieldEnable());
+            return new ASMEngine(instrumentation, objectBinderFactory, interceptorRegistryBinder, apiMetaDataServiceProvider, agentOption.getBootstrapJarPaths(), profilerConfig.isInstrumentInterceptorFieldEnable());
 
         } else if (DefaultProfilerConfig.INSTRUMENT_ENGINE_JAVASSIST.equals(instrumentEngine)) {
             logger.info("JAVASSIST InstrumentEngine.");
@@ -19,15 +19,21 @@ package com.navercorp.pinpoint.profiler.context.provider;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.context.module.AgentId;
 import com.navercorp.pinpoint.profiler.context.module.SpanStatClientFactory;
+import com.navercorp.pinpoint.profiler.sender.CollectorHashRing;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
+import com.navercorp.pinpoint.profiler.sender.TcpFollowingSocketAddressProvider;
+import com.navercorp.pinpoint.profiler.sender.TcpRemoteAddressTracker;
 import com.navercorp.pinpoint.profiler.sender.UdpDataSenderFactory;
 import com.navercorp.pinpoint.rpc.client.PinpointClientFactory;
+import com.navercorp.pinpoint.rpc.client.SocketAddressProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 
 /**
  * @author Taejin Koo
@@ -39,8 +45,10 @@ public class SpanDataSenderProvider  implements Provider<DataSender> {
     private static final String UDP_EXECUTOR_NAME = "Pinpoint-UdpSpanDataExecutor";
 
     private final Provider<PinpointClientFactory> clientFactoryProvider;
+    private final TcpRemoteAddressTracker tcpRemoteAddressTracker;
 
     private final String ip;
+    private final List<String> candidates;
     private final int port;
     private final int writeQueueSize;
     private final int timeout;
@@ -49,17 +57,26 @@ public class SpanDataSenderProvider  implements Provider<DataSender> {
     private final String transportType;
 
     @Inject
-    public SpanDataSenderProvider(ProfilerConfig profilerConfig, @SpanStatClientFactory Provider<PinpointClientFactory> clientFactoryProvider) {
+    public SpanDataSenderProvider(ProfilerConfig profilerConfig, @AgentId String agentId, @SpanStatClientFactory Provider<PinpointClientFactory> clientFactoryProvider,
+                                  TcpRemoteAddressTracker tcpRemoteAddressTracker) {
         if (profilerConfig == null) {
             throw new NullPointerException("profilerConfig must not be null");
         }
         if (clientFactoryProvider == null) {
             throw new NullPointerException("clientFactoryProvider must not be null");
         }
+        if (tcpRemoteAddressTracker == null) {
+            throw new NullPointerException("tcpRemoteAddressTracker must not be null");
+        }
 
         this.clientFactoryProvider = clientFactoryProvider;
+        this.tcpRemoteAddressTracker = tcpRemoteAddressTracker;
 
         this.ip = profilerConfig.getCollectorSpanServerIp();
+        this.candidates = CollectorHashRing.resolveCandidates(ip, agentId);
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("collector ip must not be empty");
+        }
         this.port = profilerConfig.getCollectorSpanServerPort();
         this.writeQueueSize = profilerConfig.getSpanDataSenderWriteQueueSize();
         this.timeout = profilerConfig.getSpanDataSenderSocketTimeout();
@@ -76,18 +93,29 @@ public class SpanDataSenderProvider  implements Provider<DataSender> {
             }
 
             PinpointClientFactory pinpointClientFactory = clientFactoryProvider.get();
-            InetSocketAddress address = new InetSocketAddress(ip, port);
-            return new TcpDataSender("SpanDataSender", address, pinpointClientFactory);
+            return new TcpDataSender("SpanDataSender", CollectorHashRing.toAddressList(candidates, port), pinpointClientFactory);
         } else {
-            UdpDataSenderFactory factory = new UdpDataSenderFactory(ip, port, UDP_EXECUTOR_NAME, writeQueueSize, timeout, sendBufferSize);
+            return newUdpDataSender();
+        }
+    }
+
+    private DataSender newUdpDataSender() {
+        if (candidates.size() == 1) {
+            UdpDataSenderFactory factory = new UdpDataSenderFactory(candidates.get(0), port, UDP_EXECUTOR_NAME, writeQueueSize, timeout, sendBufferSize);
             return factory.create(ioType);
         }
+        // udp has no failure signal of its own, so it moves with the agent's tcp connection
+        List<InetSocketAddress> addressList = CollectorHashRing.toAddressList(candidates, port);
+        SocketAddressProvider socketAddressProvider = new TcpFollowingSocketAddressProvider(tcpRemoteAddressTracker, addressList);
+        UdpDataSenderFactory factory = new UdpDataSenderFactory(socketAddressProvider, UDP_EXECUTOR_NAME, writeQueueSize, timeout, sendBufferSize);
+        return factory.create(ioType);
     }
 
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("SpanDataSenderProvider{");
         sb.append("ip='").append(ip).append('\'');
+        sb.append(", candidates=").append(candidates);
         sb.append(", port=").append(port);
         sb.append(", writeQueueSize=").append(writeQueueSize);
         sb.append(", timeout=").append(timeout);
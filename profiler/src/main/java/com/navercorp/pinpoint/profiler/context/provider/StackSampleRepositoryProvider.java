@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.monitor.stacksample.DefaultStackSampleRepository;
+import com.navercorp.pinpoint.profiler.monitor.stacksample.EmptyStackSampleRepository;
+import com.navercorp.pinpoint.profiler.monitor.stacksample.StackSampleRepository;
+
+public class StackSampleRepositoryProvider implements Provider<StackSampleRepository> {
+
+    private static final int MAX_NODE_SIZE = 1024;
+
+    private final ProfilerConfig profilerConfig;
+
+    @Inject
+    public StackSampleRepositoryProvider(ProfilerConfig profilerConfig) {
+        this.profilerConfig = Assert.requireNonNull(profilerConfig, "profilerConfig must not be null");
+    }
+
+    @Override
+    public StackSampleRepository get() {
+        if (profilerConfig.isStackSamplingMonitorEnable()) {
+            return new DefaultStackSampleRepository(MAX_NODE_SIZE);
+        }
+        return EmptyStackSampleRepository.INSTANCE;
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.monitor.DefaultStackSamplingMonitor;
+import com.navercorp.pinpoint.profiler.monitor.DisabledStackSamplingMonitor;
+import com.navercorp.pinpoint.profiler.monitor.StackSamplingMonitor;
+import com.navercorp.pinpoint.profiler.monitor.stacksample.StackSampleRepository;
+
+public class StackSamplingMonitorProvider implements Provider<StackSamplingMonitor> {
+
+    private final ProfilerConfig profilerConfig;
+    private final ActiveTraceRepository activeTraceRepository;
+    private final StackSampleRepository stackSampleRepository;
+
+    @Inject
+    public StackSamplingMonitorProvider(ProfilerConfig profilerConfig, ActiveTraceRepository activeTraceRepository, StackSampleRepository stackSampleRepository) {
+        this.profilerConfig = Assert.requireNonNull(profilerConfig, "profilerConfig must not be null");
+        this.activeTraceRepository = Assert.requireNonNull(activeTraceRepository, "activeTraceRepository must not be null");
+        this.stackSampleRepository = Assert.requireNonNull(stackSampleRepository, "stackSampleRepository must not be null");
+    }
+
+    @Override
+    public StackSamplingMonitor get() {
+        if (profilerConfig.isStackSamplingMonitorEnable()) {
+            return new DefaultStackSamplingMonitor(activeTraceRepository, stackSampleRepository,
+                    profilerConfig.getStackSamplingMonitorInterval(), profilerConfig.getStackSamplingMonitorThreshold(),
+                    profilerConfig.getStackSamplingMonitorMaxDepth(), profilerConfig.getStackSamplingMonitorCpuBudget());
+        } else {
+            return new DisabledStackSamplingMonitor();
+        }
+    }
+
+}
@@ -23,10 +23,13 @@ import com.navercorp.pinpoint.profiler.context.SpanChunkFactory;
 import com.navercorp.pinpoint.profiler.context.SpanPostProcessor;
 import com.navercorp.pinpoint.profiler.context.module.SpanDataSender;
 import com.navercorp.pinpoint.profiler.context.storage.BufferedStorageFactory;
+import com.navercorp.pinpoint.profiler.context.storage.SpanEventSummaryStorageFactory;
 import com.navercorp.pinpoint.profiler.context.storage.SpanStorageFactory;
+import com.navercorp.pinpoint.profiler.context.storage.StackSampleStorageFactory;
 import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
 import com.navercorp.pinpoint.profiler.context.storage.TraceLogDelegateStorage;
 import com.navercorp.pinpoint.profiler.context.storage.TraceLogDelegateStorageFactory;
+import com.navercorp.pinpoint.profiler.monitor.stacksample.StackSampleRepository;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,13 +39,18 @@ import org.slf4j.LoggerFactory;
  */
 public class StorageFactoryProvider implements Provider<StorageFactory> {
 
+    // keeps a stack sample annotation well within a span chunk
+    private static final int MAX_STACK_SAMPLE_LENGTH = 1024 * 8;
+
     private final ProfilerConfig profilerConfig;
     private final DataSender spanDataSender;
     private final SpanPostProcessor spanPostProcessor;
     private final SpanChunkFactory spanChunkFactory;
+    private final StackSampleRepository stackSampleRepository;
 
     @Inject
-    public StorageFactoryProvider(ProfilerConfig profilerConfig, @SpanDataSender DataSender spanDataSender, SpanPostProcessor spanPostProcessor, SpanChunkFactory spanChunkFactory) {
+    public StorageFactoryProvider(ProfilerConfig profilerConfig, @SpanDataSender DataSender spanDataSender, SpanPostProcessor spanPostProcessor, SpanChunkFactory spanChunkFactory,
+                                  StackSampleRepository stackSampleRepository) {
         if (profilerConfig == null) {
             throw new NullPointerException("profilerConfig must not be null");
         }
@@ -52,16 +60,26 @@ public class StorageFactoryProvider implements Provider<StorageFactory> {
         if (spanChunkFactory == null) {
             throw new NullPointerException("spanChunkFactory must not be null");
         }
+        if (stackSampleRepository == null) {
+            throw new NullPointerException("stackSampleRepository must not be null");
+        }
 
         this.profilerConfig = profilerConfig;
         this.spanDataSender = spanDataSender;
         this.spanPostProcessor = spanPostProcessor;
         this.spanChunkFactory = spanChunkFactory;
+        this.stackSampleRepository = stackSampleRepository;
     }
 
     @Override
     public StorageFactory get() {
         StorageFactory storageFactory = newStorageFactory();
+        if (profilerConfig.isSpanEventSummaryEnable()) {
+            storageFactory = new SpanEventSummaryStorageFactory(storageFactory, profilerConfig.getSpanEventSummaryThreshold());
+        }
+        if (profilerConfig.isStackSamplingMonitorEnable()) {
+            storageFactory = new StackSampleStorageFactory(storageFactory, stackSampleRepository, MAX_STACK_SAMPLE_LENGTH);
+        }
         if (isTraceLogEnabled()) {
             storageFactory = new TraceLogDelegateStorageFactory(storageFactory);
         }
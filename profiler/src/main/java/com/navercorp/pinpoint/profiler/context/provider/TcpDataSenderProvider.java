@@ -19,38 +19,57 @@ package com.navercorp.pinpoint.profiler.context.provider;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.context.module.AgentId;
 import com.navercorp.pinpoint.profiler.context.module.DefaultClientFactory;
+import com.navercorp.pinpoint.profiler.sender.CollectorHashRing;
 import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
 import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
+import com.navercorp.pinpoint.profiler.sender.TcpRemoteAddressTracker;
 import com.navercorp.pinpoint.rpc.client.PinpointClientFactory;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 
 /**
  * @author Woonduk Kang(emeroad)
  */
 public class TcpDataSenderProvider implements Provider<EnhancedDataSender> {
     private final ProfilerConfig profilerConfig;
+    private final String agentId;
     private final Provider<PinpointClientFactory> clientFactoryProvider;
+    private final TcpRemoteAddressTracker tcpRemoteAddressTracker;
 
     @Inject
-    public TcpDataSenderProvider(ProfilerConfig profilerConfig, @DefaultClientFactory Provider<PinpointClientFactory> clientFactoryProvider) {
+    public TcpDataSenderProvider(ProfilerConfig profilerConfig, @AgentId String agentId, @DefaultClientFactory Provider<PinpointClientFactory> clientFactoryProvider,
+                                 TcpRemoteAddressTracker tcpRemoteAddressTracker) {
         if (profilerConfig == null) {
             throw new NullPointerException("profilerConfig must not be null");
         }
         if (clientFactoryProvider == null) {
             throw new NullPointerException("clientFactoryProvider must not be null");
         }
+        if (tcpRemoteAddressTracker == null) {
+            throw new NullPointerException("tcpRemoteAddressTracker must not be null");
+        }
 
         this.profilerConfig = profilerConfig;
+        this.agentId = agentId;
         this.clientFactoryProvider = clientFactoryProvider;
-
+        this.tcpRemoteAddressTracker = tcpRemoteAddressTracker;
     }
 
     @Override
     public EnhancedDataSender get() {
         PinpointClientFactory clientFactory = clientFactoryProvider.get();
-        InetSocketAddress address = new InetSocketAddress(profilerConfig.getCollectorTcpServerIp(), profilerConfig.getCollectorTcpServerPort());
-        return new TcpDataSender("Default", address, clientFactory);
+        List<String> candidates = CollectorHashRing.resolveCandidates(profilerConfig.getCollectorTcpServerIp(), agentId);
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("collector tcp ip must not be empty");
+        }
+        List<InetSocketAddress> addressList = CollectorHashRing.toAddressList(candidates, profilerConfig.getCollectorTcpServerPort());
+        TcpDataSender tcpDataSender = new TcpDataSender("Default", addressList, clientFactory);
+        // udp span and stat senders follow this connection to whichever collector it fails over to
+        tcpDataSender.addReconnectEventListener(tcpRemoteAddressTracker);
+        tcpRemoteAddressTracker.update(tcpDataSender.getRemoteAddress());
+        return tcpDataSender;
     }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.profiler.context.Annotation;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+
+/**
+ * Once a trace has stored more than <i>threshold</i> span events, collapses runs of consecutive leaf calls
+ * to the same api at the same depth and destination into the first event of the run.
+ * The collapsed event spans the whole run and carries a {@link AnnotationKey#CALL_SUMMARY} annotation.
+ * <p>
+ * Span events are stored in completion order, so a call directly following the previous stored event in
+ * sequence is a leaf sibling of it. The last event is held back until it can no longer absorb a following call.
+ *
+ * @see SpanEventSummaryStorageFactory
+ */
+public class SpanEventSummaryStorage implements Storage {
+
+    private final Storage delegate;
+    private final int threshold;
+
+    private int storedCount;
+
+    private SpanEvent pending;
+    private short pendingLastSequence;
+    private int summaryCount;
+    private long summaryTotalElapsed;
+    private long summaryMinElapsed;
+    private long summaryMaxElapsed;
+
+    public SpanEventSummaryStorage(Storage delegate, int threshold) {
+        if (delegate == null) {
+            throw new NullPointerException("delegate must not be null");
+        }
+        this.delegate = delegate;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void store(SpanEvent spanEvent) {
+        if (pending != null && isSummarizable(spanEvent)) {
+            merge(spanEvent);
+            return;
+        }
+        storePending();
+        if (storedCount < threshold) {
+            storedCount++;
+            this.delegate.store(spanEvent);
+            return;
+        }
+        if (isCandidate(spanEvent)) {
+            hold(spanEvent);
+        } else {
+            storedCount++;
+            this.delegate.store(spanEvent);
+        }
+    }
+
+    private boolean isCandidate(SpanEvent spanEvent) {
+        // keep errors and async boundaries as they are
+        return !spanEvent.isSetExceptionInfo() && spanEvent.getAsyncIdObject() == null;
+    }
+
+    private boolean isSummarizable(SpanEvent spanEvent) {
+        if (!isCandidate(spanEvent)) {
+            return false;
+        }
+        if (spanEvent.getSequence() != (short) (pendingLastSequence + 1)) {
+            return false;
+        }
+        if (spanEvent.getDepth() != pending.getDepth()) {
+            return false;
+        }
+        if (spanEvent.getApiId() != pending.getApiId()) {
+            return false;
+        }
+        if (spanEvent.getServiceType() != pending.getServiceType()) {
+            return false;
+        }
+        return equals(spanEvent.getDestinationId(), pending.getDestinationId());
+    }
+
+    private static boolean equals(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private void hold(SpanEvent spanEvent) {
+        this.pending = spanEvent;
+        this.pendingLastSequence = spanEvent.getSequence();
+        final long elapsed = getElapsed(spanEvent);
+        this.summaryCount = 1;
+        this.summaryTotalElapsed = elapsed;
+        this.summaryMinElapsed = elapsed;
+        this.summaryMaxElapsed = elapsed;
+    }
+
+    private void merge(SpanEvent spanEvent) {
+        final long elapsed = getElapsed(spanEvent);
+        this.pendingLastSequence = spanEvent.getSequence();
+        this.summaryCount++;
+        this.summaryTotalElapsed += elapsed;
+        this.summaryMinElapsed = Math.min(summaryMinElapsed, elapsed);
+        this.summaryMaxElapsed = Math.max(summaryMaxElapsed, elapsed);
+        this.pending.markAfterTime(Math.max(pending.getAfterTime(), spanEvent.getAfterTime()));
+    }
+
+    private long getElapsed(SpanEvent spanEvent) {
+        return spanEvent.getAfterTime() - spanEvent.getStartTime();
+    }
+
+    private void storePending() {
+        final SpanEvent spanEvent = this.pending;
+        if (spanEvent == null) {
+            return;
+        }
+        this.pending = null;
+        if (summaryCount > 1) {
+            final String summary = "count=" + summaryCount + ", total=" + summaryTotalElapsed + "ms, min=" + summaryMinElapsed + "ms, max=" + summaryMaxElapsed + "ms";
+            spanEvent.addAnnotation(new Annotation(AnnotationKey.CALL_SUMMARY.getCode(), summary));
+        }
+        storedCount++;
+        this.delegate.store(spanEvent);
+    }
+
+    @Override
+    public void store(Span span) {
+        storePending();
+        this.delegate.store(span);
+    }
+
+    @Override
+    public void flush() {
+        storePending();
+        this.delegate.flush();
+    }
+
+    @Override
+    public void close() {
+        storePending();
+        this.delegate.close();
+    }
+}
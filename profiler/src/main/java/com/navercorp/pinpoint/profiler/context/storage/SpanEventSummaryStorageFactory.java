@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+
+/**
+ * Decorates storages so that giant traces collapse repeated calls instead of shipping every span event.
+ */
+public class SpanEventSummaryStorageFactory implements StorageFactory {
+
+    private final StorageFactory delegate;
+    private final int threshold;
+
+    public SpanEventSummaryStorageFactory(StorageFactory delegate, int threshold) {
+        if (delegate == null) {
+            throw new NullPointerException("delegate must not be null");
+        }
+        this.delegate = delegate;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public Storage createStorage(TraceRoot traceRoot) {
+        final Storage storage = delegate.createStorage(traceRoot);
+        return new SpanEventSummaryStorage(storage, threshold);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.profiler.context.Annotation;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.monitor.stacksample.StackSampleRepository;
+import com.navercorp.pinpoint.profiler.monitor.stacksample.StackSampleTree;
+
+/**
+ * @see StackSampleStorageFactory
+ */
+public class StackSampleStorage implements Storage {
+
+    private final Storage delegate;
+    private final TraceRoot traceRoot;
+    private final StackSampleRepository stackSampleRepository;
+    private final int maxLength;
+
+    public StackSampleStorage(Storage delegate, TraceRoot traceRoot, StackSampleRepository stackSampleRepository, int maxLength) {
+        if (delegate == null) {
+            throw new NullPointerException("delegate must not be null");
+        }
+        if (traceRoot == null) {
+            throw new NullPointerException("traceRoot must not be null");
+        }
+        if (stackSampleRepository == null) {
+            throw new NullPointerException("stackSampleRepository must not be null");
+        }
+        this.delegate = delegate;
+        this.traceRoot = traceRoot;
+        this.stackSampleRepository = stackSampleRepository;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public void store(SpanEvent spanEvent) {
+        this.delegate.store(spanEvent);
+    }
+
+    @Override
+    public void store(Span span) {
+        final StackSampleTree stackSampleTree = stackSampleRepository.remove(traceRoot.getLocalTransactionId());
+        if (stackSampleTree != null) {
+            final String collapsedStack = stackSampleTree.toCollapsedString(maxLength);
+            if (!collapsedStack.isEmpty()) {
+                span.addAnnotation(new Annotation(AnnotationKey.STACK_SAMPLE.getCode(), collapsedStack));
+            }
+        }
+        this.delegate.store(span);
+    }
+
+    @Override
+    public void flush() {
+        this.delegate.flush();
+    }
+
+    @Override
+    public void close() {
+        // async child traces share the traceRoot, leftover samples are evicted by the repository
+        this.delegate.close();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.monitor.stacksample.StackSampleRepository;
+
+/**
+ * Decorates storages so that finished spans carry the stack samples of their transaction.
+ */
+public class StackSampleStorageFactory implements StorageFactory {
+
+    private final StorageFactory delegate;
+    private final StackSampleRepository stackSampleRepository;
+    private final int maxLength;
+
+    public StackSampleStorageFactory(StorageFactory delegate, StackSampleRepository stackSampleRepository, int maxLength) {
+        if (delegate == null) {
+            throw new NullPointerException("delegate must not be null");
+        }
+        if (stackSampleRepository == null) {
+            throw new NullPointerException("stackSampleRepository must not be null");
+        }
+        this.delegate = delegate;
+        this.stackSampleRepository = stackSampleRepository;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public Storage createStorage(TraceRoot traceRoot) {
+        final Storage storage = delegate.createStorage(traceRoot);
+        return new StackSampleStorage(storage, traceRoot, stackSampleRepository, maxLength);
+    }
+}
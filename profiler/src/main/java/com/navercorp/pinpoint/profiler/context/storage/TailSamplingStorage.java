@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.id.Shared;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the span events of a tail-sampled transaction until the root span is stored,
+ * then either replays them to the regular storage or discards them.
+ * A transaction that starts async work is kept right away, since its async children are stored independently.
+ * A transaction that exceeds its share of the buffer is discarded.
+ */
+public class TailSamplingStorage implements Storage {
+
+    private static final Logger logger = LoggerFactory.getLogger(TailSamplingStorage.class);
+    private static final boolean isDebug = logger.isDebugEnabled();
+
+    private static final int SERVER_ERROR_STATUS_CODE = 500;
+
+    private final TraceRoot traceRoot;
+    private final TailSamplingStorageFactory tailSamplingStorageFactory;
+
+    private List<SpanEvent> buffer;
+    private Storage delegate;
+    private boolean dropped = false;
+
+    public TailSamplingStorage(TraceRoot traceRoot, TailSamplingStorageFactory tailSamplingStorageFactory) {
+        this.traceRoot = Assert.requireNonNull(traceRoot, "traceRoot must not be null");
+        this.tailSamplingStorageFactory = Assert.requireNonNull(tailSamplingStorageFactory, "tailSamplingStorageFactory must not be null");
+        this.buffer = new ArrayList<SpanEvent>();
+    }
+
+    @Override
+    public void store(SpanEvent spanEvent) {
+        if (delegate != null) {
+            delegate.store(spanEvent);
+            return;
+        }
+        if (dropped) {
+            return;
+        }
+        if (spanEvent.isSetNextAsyncId()) {
+            keep();
+            delegate.store(spanEvent);
+            return;
+        }
+        if (buffer.size() >= tailSamplingStorageFactory.getMaxEventsPerTrace() || !tailSamplingStorageFactory.reserve()) {
+            if (isDebug) {
+                logger.debug("[TailSamplingStorage] buffer full, drop {}", traceRoot);
+            }
+            drop();
+            return;
+        }
+        buffer.add(spanEvent);
+    }
+
+    @Override
+    public void store(Span span) {
+        if (delegate == null && !dropped) {
+            final boolean keep = tailSamplingStorageFactory.getTailSamplingPolicy().isKeep(span.getElapsed(), isError());
+            if (keep) {
+                keep();
+            } else {
+                drop();
+            }
+        }
+        if (delegate != null) {
+            delegate.store(span);
+        }
+    }
+
+    private boolean isError() {
+        final Shared shared = traceRoot.getShared();
+        return shared.getErrorCode() != 0 || shared.getStatusCode() >= SERVER_ERROR_STATUS_CODE;
+    }
+
+    private void keep() {
+        final List<SpanEvent> copy = this.buffer;
+        this.buffer = null;
+        this.delegate = tailSamplingStorageFactory.createDelegateStorage(traceRoot);
+        for (SpanEvent spanEvent : copy) {
+            delegate.store(spanEvent);
+        }
+        tailSamplingStorageFactory.release(copy.size());
+        if (isDebug) {
+            logger.debug("[TailSamplingStorage] keep {}, events:{}", traceRoot, copy.size());
+        }
+    }
+
+    private void drop() {
+        final List<SpanEvent> copy = this.buffer;
+        this.buffer = null;
+        this.dropped = true;
+        tailSamplingStorageFactory.release(copy.size());
+    }
+
+    @Override
+    public void flush() {
+        // undecided events stay buffered until the root span is stored
+        if (delegate != null) {
+            delegate.flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (delegate == null && !dropped) {
+            drop();
+        }
+        if (delegate != null) {
+            delegate.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TailSamplingStorage{" +
+                "traceRoot=" + traceRoot +
+                ", delegate=" + delegate +
+                ", dropped=" + dropped +
+                '}';
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.sampler.TailSamplingPolicy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates {@link TailSamplingStorage} for transactions rejected by the sampling rate.
+ * Span events held by all undecided transactions share a single budget of {@code bufferSize} events.
+ */
+public class TailSamplingStorageFactory implements StorageFactory {
+
+    private final StorageFactory storageFactory;
+    private final TailSamplingPolicy tailSamplingPolicy;
+    private final int bufferSize;
+    private final int maxEventsPerTrace;
+
+    private final AtomicInteger bufferedEvents = new AtomicInteger();
+
+    public TailSamplingStorageFactory(StorageFactory storageFactory, TailSamplingPolicy tailSamplingPolicy, int bufferSize, int maxEventsPerTrace) {
+        this.storageFactory = Assert.requireNonNull(storageFactory, "storageFactory must not be null");
+        this.tailSamplingPolicy = Assert.requireNonNull(tailSamplingPolicy, "tailSamplingPolicy must not be null");
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive:" + bufferSize);
+        }
+        if (maxEventsPerTrace <= 0) {
+            throw new IllegalArgumentException("maxEventsPerTrace must be positive:" + maxEventsPerTrace);
+        }
+        this.bufferSize = bufferSize;
+        this.maxEventsPerTrace = maxEventsPerTrace;
+    }
+
+    /**
+     * @return false when the shared buffer is full and new transactions should not be tail sampled
+     */
+    public boolean isAvailable() {
+        return bufferedEvents.get() < bufferSize;
+    }
+
+    @Override
+    public Storage createStorage(TraceRoot traceRoot) {
+        return new TailSamplingStorage(traceRoot, this);
+    }
+
+    Storage createDelegateStorage(TraceRoot traceRoot) {
+        return storageFactory.createStorage(traceRoot);
+    }
+
+    TailSamplingPolicy getTailSamplingPolicy() {
+        return tailSamplingPolicy;
+    }
+
+    int getMaxEventsPerTrace() {
+        return maxEventsPerTrace;
+    }
+
+    boolean reserve() {
+        while (true) {
+            final int current = bufferedEvents.get();
+            if (current >= bufferSize) {
+                return false;
+            }
+            if (bufferedEvents.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(int count) {
+        if (count > 0) {
+            bufferedEvents.addAndGet(-count);
+        }
+    }
+
+    int getBufferedEvents() {
+        return bufferedEvents.get();
+    }
+
+    @Override
+    public String toString() {
+        return "TailSamplingStorageFactory{" +
+                "storageFactory=" + storageFactory +
+                ", tailSamplingPolicy=" + tailSamplingPolicy +
+                ", bufferSize=" + bufferSize +
+                ", maxEventsPerTrace=" + maxEventsPerTrace +
+                '}';
+    }
+}
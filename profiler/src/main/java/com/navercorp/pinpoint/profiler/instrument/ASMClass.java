@@ -63,6 +63,7 @@ public class ASMClass implements InstrumentClass {
     private final ClassLoader classLoader;
 
     private final ASMClassNodeAdapter classNode;
+    private final boolean interceptorFieldEnable;
     private boolean modified = false;
     private String name;
 
@@ -71,6 +72,10 @@ public class ASMClass implements InstrumentClass {
     }
 
     public ASMClass(ObjectBinderFactory objectBinderFactory, final InstrumentContext pluginContext, final InterceptorRegistryBinder interceptorRegistryBinder, ApiMetaDataService apiMetaDataService, final ClassLoader classLoader, final ASMClassNodeAdapter classNode) {
+        this(objectBinderFactory, pluginContext, interceptorRegistryBinder, apiMetaDataService, classLoader, classNode, false);
+    }
+
+    public ASMClass(ObjectBinderFactory objectBinderFactory, final InstrumentContext pluginContext, final InterceptorRegistryBinder interceptorRegistryBinder, ApiMetaDataService apiMetaDataService, final ClassLoader classLoader, final ASMClassNodeAdapter classNode, final boolean interceptorFieldEnable) {
         if (objectBinderFactory == null) {
             throw new NullPointerException("objectBinderFactory must not be null");
         }
@@ -88,6 +93,7 @@ public class ASMClass implements InstrumentClass {
         this.apiMetaDataService = apiMetaDataService;
         this.classLoader = classLoader;
         this.classNode = classNode;
+        this.interceptorFieldEnable = interceptorFieldEnable;
         // for performance.
         this.name = classNode.getName();
     }
@@ -96,6 +102,14 @@ public class ASMClass implements InstrumentClass {
         return this.classLoader;
     }
 
+    // returns the name of the static field holding the interceptor, or null if the interceptor should be looked up from InterceptorRegistry.
+    String bindInterceptorField(final int interceptorId) {
+        if (!this.interceptorFieldEnable || isInterface()) {
+            return null;
+        }
+        return this.classNode.addInterceptorField(interceptorId);
+    }
+
     @Override
     public boolean isInterceptable() {
         return !isInterface() && !isAnnotation() && !isModified();
@@ -16,6 +16,8 @@
 package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
+import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorRegistry;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
@@ -28,6 +30,8 @@ import org.objectweb.asm.tree.FieldNode;
 import org.objectweb.asm.tree.InnerClassNode;
 import org.objectweb.asm.tree.InsnList;
 import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.MethodNode;
 import org.objectweb.asm.tree.VarInsnNode;
 
@@ -42,6 +46,8 @@ import java.util.List;
  */
 public class ASMClassNodeAdapter {
 
+    static final String INTERCEPTOR_FIELD_PREFIX = "_$PINPOINT$_interceptor";
+
     public static ASMClassNodeAdapter get(final InstrumentContext pluginContext, final ClassLoader classLoader, final String classInternalName) {
         return get(pluginContext, classLoader, classInternalName, false);
     }
@@ -281,6 +287,54 @@ public class ASMClassNodeAdapter {
         return new ASMFieldNodeAdapter(fieldNode);
     }
 
+    /**
+     * Adds a private static final field holding the interceptor, initialized from InterceptorRegistry
+     * at the start of the static initializer.
+     *
+     * @return name of the field
+     */
+    public String addInterceptorField(final int interceptorId) {
+        final String fieldName = INTERCEPTOR_FIELD_PREFIX + interceptorId;
+        final String fieldDesc = Type.getDescriptor(Interceptor.class);
+        if (this.classNode.fields == null) {
+            this.classNode.fields = new ArrayList<FieldNode>();
+        }
+        for (FieldNode fieldNode : this.classNode.fields) {
+            if (fieldName.equals(fieldNode.name)) {
+                return fieldName;
+            }
+        }
+        final FieldNode fieldNode = new FieldNode(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC, fieldName, fieldDesc, null, null);
+        this.classNode.fields.add(fieldNode);
+
+        final InsnList instructions = new InsnList();
+        instructions.add(new LdcInsnNode(interceptorId));
+        instructions.add(new MethodInsnNode(Opcodes.INVOKESTATIC, Type.getInternalName(InterceptorRegistry.class), "getInterceptor", "(I)" + fieldDesc, false));
+        instructions.add(new FieldInsnNode(Opcodes.PUTSTATIC, this.classNode.name, fieldName, fieldDesc));
+        getOrAddStaticInitializer().instructions.insert(instructions);
+
+        return fieldName;
+    }
+
+    private MethodNode getOrAddStaticInitializer() {
+        if (this.classNode.methods == null) {
+            this.classNode.methods = new ArrayList<MethodNode>();
+        }
+        for (MethodNode methodNode : this.classNode.methods) {
+            if ("<clinit>".equals(methodNode.name)) {
+                return methodNode;
+            }
+        }
+
+        final MethodNode methodNode = new MethodNode(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+        if (methodNode.instructions == null) {
+            methodNode.instructions = new InsnList();
+        }
+        methodNode.instructions.add(new InsnNode(Opcodes.RETURN));
+        this.classNode.methods.add(methodNode);
+        return methodNode;
+    }
+
     public ASMMethodNodeAdapter addDelegatorMethod(final ASMMethodNodeAdapter superMethodNode) {
         if (superMethodNode == null) {
             throw new IllegalArgumentException("super method annotation must not be null.");
@@ -43,9 +43,13 @@ public class ASMEngine implements InstrumentEngine {
     private final ObjectBinderFactory objectBinderFactory;
     private final InterceptorRegistryBinder interceptorRegistryBinder;
     private final Provider<ApiMetaDataService> apiMetaDataService;
-
+    private final boolean interceptorFieldEnable;
 
     public ASMEngine(Instrumentation instrumentation, ObjectBinderFactory objectBinderFactory, final InterceptorRegistryBinder interceptorRegistryBinder, Provider<ApiMetaDataService> apiMetaDataService, final List<String> bootStrapJars) {
+        this(instrumentation, objectBinderFactory, interceptorRegistryBinder, apiMetaDataService, bootStrapJars, false);
+    }
+
+    public ASMEngine(Instrumentation instrumentation, ObjectBinderFactory objectBinderFactory, final InterceptorRegistryBinder interceptorRegistryBinder, Provider<ApiMetaDataService> apiMetaDataService, final List<String> bootStrapJars, final boolean interceptorFieldEnable) {
         if (instrumentation == null) {
             throw new NullPointerException("instrumentation must not be null");
         }
@@ -63,7 +67,7 @@ public class ASMEngine implements InstrumentEngine {
         this.objectBinderFactory = objectBinderFactory;
         this.interceptorRegistryBinder = interceptorRegistryBinder;
         this.apiMetaDataService = apiMetaDataService;
-
+        this.interceptorFieldEnable = interceptorFieldEnable;
     }
 
     @Override
@@ -79,7 +83,7 @@ public class ASMEngine implements InstrumentEngine {
                     return null;
                 }
                 ApiMetaDataService apiMetaDataService = this.apiMetaDataService.get();
-                return new ASMClass(objectBinderFactory, instrumentContext, interceptorRegistryBinder, apiMetaDataService, classLoader, classNode);
+                return new ASMClass(objectBinderFactory, instrumentContext, interceptorRegistryBinder, apiMetaDataService, classLoader, classNode, interceptorFieldEnable);
             }
 
             // Use ASM tree api.
@@ -88,7 +92,8 @@ public class ASMEngine implements InstrumentEngine {
             classReader.accept(classNode, 0);
 
             ApiMetaDataService apiMetaDataService = this.apiMetaDataService.get();
-            return new ASMClass(objectBinderFactory, instrumentContext, interceptorRegistryBinder, apiMetaDataService, classLoader, classNode);
+            final ASMClassNodeAdapter classNodeAdapter = new ASMClassNodeAdapter(instrumentContext, classLoader, classNode);
+            return new ASMClass(objectBinderFactory, instrumentContext, interceptorRegistryBinder, apiMetaDataService, classLoader, classNodeAdapter, interceptorFieldEnable);
         } catch (Exception e) {
             throw new NotFoundInstrumentException(e);
         }
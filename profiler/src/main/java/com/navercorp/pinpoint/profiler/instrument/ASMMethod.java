@@ -258,6 +258,11 @@ public class ASMMethod implements InstrumentMethod {
             return;
         }
 
+        if (!this.methodNode.isStaticInitializer()) {
+            // the static initializer runs before the field is assigned.
+            this.methodNode.setInterceptorField(this.declaringClass.bindInterceptorField(interceptorId));
+        }
+
         int apiId = -1;
         if (interceptorDefinition.getInterceptorType() == InterceptorType.API_ID_AWARE) {
             apiId = this.apiMetaDataService.cacheApi(this.descriptor);
@@ -60,6 +60,15 @@ public class ASMMethodNodeAdapter {
         return this.declaringClassInternalName;
     }
 
+    public boolean isStaticInitializer() {
+        return this.methodNode.name.equals("<clinit>");
+    }
+
+    // load the interceptor from the static field instead of InterceptorRegistry.
+    public void setInterceptorField(final String interceptorFieldName) {
+        this.methodVariables.setInterceptorFieldName(interceptorFieldName);
+    }
+
     // find interceptor local variable.
     public boolean hasInterceptor() {
         return this.methodVariables.hasInterceptor();
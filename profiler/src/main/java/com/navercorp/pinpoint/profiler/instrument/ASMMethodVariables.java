@@ -24,6 +24,7 @@ import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.commons.Method;
 import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
 import org.objectweb.asm.tree.InsnList;
 import org.objectweb.asm.tree.InsnNode;
 import org.objectweb.asm.tree.IntInsnNode;
@@ -75,6 +76,9 @@ public class ASMMethodVariables {
 
     private int nextLocals;
 
+    // static field of the declaring class holding the interceptor. null to look it up from InterceptorRegistry.
+    private String interceptorFieldName;
+
     private int interceptorVarIndex;
     private int arg0VarIndex;
     private int arg1VarIndex;
@@ -207,6 +211,10 @@ public class ASMMethodVariables {
         }
     }
 
+    public void setInterceptorFieldName(final String interceptorFieldName) {
+        this.interceptorFieldName = interceptorFieldName;
+    }
+
     public boolean initInterceptorLocalVariables(final InsnList instructions, final int interceptorId, final InterceptorDefinition interceptorDefinition, final int apiId) {
         if (this.initializedInterceptorLocalVariables) {
             return false;
@@ -297,8 +305,12 @@ public class ASMMethodVariables {
     private void initInterceptorVar(final InsnList instructions, final int interceptorId) {
         assertInitializedInterceptorLocalVariables();
         this.interceptorVarIndex = addInterceptorLocalVariable("_$PINPOINT$_interceptor", "Lcom/navercorp/pinpoint/bootstrap/interceptor/Interceptor;");
-        push(instructions, interceptorId);
-        instructions.add(new MethodInsnNode(Opcodes.INVOKESTATIC, Type.getInternalName(InterceptorRegistry.class), "getInterceptor", "(I)" + Type.getDescriptor(Interceptor.class), false));
+        if (this.interceptorFieldName != null) {
+            instructions.add(new FieldInsnNode(Opcodes.GETSTATIC, this.declaringClassInternalName, this.interceptorFieldName, Type.getDescriptor(Interceptor.class)));
+        } else {
+            push(instructions, interceptorId);
+            instructions.add(new MethodInsnNode(Opcodes.INVOKESTATIC, Type.getInternalName(InterceptorRegistry.class), "getInterceptor", "(I)" + Type.getDescriptor(Interceptor.class), false));
+        }
         storeVar(instructions, this.interceptorVarIndex);
         this.resultVarIndex = addInterceptorLocalVariable("_$PINPOINT$_result", "Ljava/lang/Object;");
         loadNull(instructions);
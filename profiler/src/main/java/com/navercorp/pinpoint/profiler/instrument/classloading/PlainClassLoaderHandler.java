@@ -35,6 +35,7 @@ import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -68,6 +69,9 @@ public class PlainClassLoaderHandler implements ClassInjector {
 
     private final PluginConfig pluginConfig;
 
+    // parsed classes of the plugin jar, shared by every target classLoader. immutable once built
+    private volatile Map<String, SimpleClassMetadata> classMetadataMap;
+
     public PlainClassLoaderHandler(PluginConfig pluginConfig) {
         if (pluginConfig == null) {
             throw new NullPointerException("pluginConfig must not be null");
@@ -226,9 +230,7 @@ public class PlainClassLoaderHandler implements ClassInjector {
             logger.debug("define Jar:{}", pluginConfig.getPluginJar());
         }
 
-        List<FileBinary> fileBinaryList = readJar();
-
-        Map<String, SimpleClassMetadata> classEntryMap = parse(fileBinaryList);
+        final Map<String, SimpleClassMetadata> classEntryMap = getClassMetadataMap();
 
         for (Map.Entry<String, SimpleClassMetadata> entry : classEntryMap.entrySet()) {
 
@@ -239,6 +241,35 @@ public class PlainClassLoaderHandler implements ClassInjector {
         }
     }
 
+    private Map<String, SimpleClassMetadata> getClassMetadataMap() {
+        final Map<String, SimpleClassMetadata> cached = this.classMetadataMap;
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (this) {
+            if (this.classMetadataMap == null) {
+                this.classMetadataMap = readClassMetadataMap();
+            }
+            return this.classMetadataMap;
+        }
+    }
+
+    private Map<String, SimpleClassMetadata> readClassMetadataMap() {
+        final long startTime = System.currentTimeMillis();
+
+        final List<FileBinary> fileBinaryList = readJar();
+        final Map<String, SimpleClassMetadata> parseMap = parse(fileBinaryList);
+
+        if (logger.isInfoEnabled()) {
+            long readBytes = 0;
+            for (FileBinary fileBinary : fileBinaryList) {
+                readBytes += fileBinary.getFileBinary().length;
+            }
+            logger.info("read plugin jar:{} classes:{} bytes:{} elapsed:{}ms", pluginConfig.getPluginJarURLExternalForm(), parseMap.size(), readBytes, System.currentTimeMillis() - startTime);
+        }
+        return Collections.unmodifiableMap(parseMap);
+    }
+
     private List<FileBinary> readJar() {
         try {
             return pluginJarReader.read(ExtensionFilter.CLASS_FILTER);
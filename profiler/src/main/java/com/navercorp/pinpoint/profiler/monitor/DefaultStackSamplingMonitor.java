@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.monitor.stacksample.StackSampleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class DefaultStackSamplingMonitor implements StackSamplingMonitor {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final StackSamplingMonitorTask stackSamplingMonitorTask;
+    private final Thread stackSamplingMonitorThread;
+
+    public DefaultStackSamplingMonitor(ActiveTraceRepository activeTraceRepository, StackSampleRepository stackSampleRepository,
+                                       long intervalMillis, long thresholdMillis, int maxDepth, int cpuBudget) {
+        Assert.requireNonNull(activeTraceRepository, "activeTraceRepository must not be null");
+        Assert.requireNonNull(stackSampleRepository, "stackSampleRepository must not be null");
+
+        this.stackSamplingMonitorTask = new StackSamplingMonitorTask(activeTraceRepository, stackSampleRepository, intervalMillis, thresholdMillis, maxDepth, cpuBudget);
+        this.stackSamplingMonitorThread = new Thread(stackSamplingMonitorTask, "Pinpoint-stack-sampling-monitor");
+        this.stackSamplingMonitorThread.setDaemon(true);
+    }
+
+    @Override
+    public void start() {
+        stackSamplingMonitorThread.start();
+        logger.info("DefaultStackSamplingMonitor started");
+    }
+
+    @Override
+    public void stop() {
+        stackSamplingMonitorTask.stop();
+        stackSamplingMonitorThread.interrupt();
+        logger.info("DefaultStackSamplingMonitor stopped");
+    }
+
+}
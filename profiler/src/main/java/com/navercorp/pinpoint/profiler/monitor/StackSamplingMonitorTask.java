@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor;
+
+import com.navercorp.pinpoint.common.util.ThreadMXBeanUtils;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.stacksample.StackSampleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ThreadInfo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Samples the stacks of slow sampled transactions with a single batched {@link java.lang.management.ThreadMXBean} call per round.
+ * The wait between rounds is stretched so that the sampling cost stays within {@code cpuBudget} percent of a core.
+ */
+public class StackSamplingMonitorTask implements Runnable {
+
+    private static final long NOT_TRACE_THREAD = -1;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ActiveTraceRepository activeTraceRepository;
+    private final StackSampleRepository stackSampleRepository;
+
+    private final long intervalMillis;
+    private final long thresholdMillis;
+    private final int maxDepth;
+    private final int cpuBudget;
+
+    private final AtomicBoolean stop = new AtomicBoolean(false);
+
+    public StackSamplingMonitorTask(ActiveTraceRepository activeTraceRepository, StackSampleRepository stackSampleRepository,
+                                    long intervalMillis, long thresholdMillis, int maxDepth, int cpuBudget) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("intervalMillis must be greater than 0");
+        }
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("maxDepth must be greater than 0");
+        }
+        if (cpuBudget <= 0 || cpuBudget > 100) {
+            throw new IllegalArgumentException("cpuBudget must be between 1 and 100");
+        }
+        this.activeTraceRepository = activeTraceRepository;
+        this.stackSampleRepository = stackSampleRepository;
+        this.intervalMillis = intervalMillis;
+        this.thresholdMillis = thresholdMillis;
+        this.maxDepth = maxDepth;
+        this.cpuBudget = cpuBudget;
+    }
+
+    @Override
+    public void run() {
+        while (!stop.get()) {
+            final long startTime = System.nanoTime();
+            try {
+                doTask();
+            } catch (Exception e) {
+                logger.warn("StackSamplingMonitorTask error. caused:{}", e.getMessage(), e);
+            }
+            final long elapsedNanos = System.nanoTime() - startTime;
+            waitNextTask(nextWaitTime(elapsedNanos));
+        }
+        logger.info("StackSamplingMonitorTask stop completed");
+    }
+
+    int doTask() {
+        final List<ActiveTraceSnapshot> snapshotList = activeTraceRepository.snapshot();
+        if (snapshotList.isEmpty()) {
+            return 0;
+        }
+
+        final List<ActiveTraceSnapshot> slowTraceList = filterSlowTrace(snapshotList, System.currentTimeMillis());
+        if (slowTraceList.isEmpty()) {
+            return 0;
+        }
+
+        final long[] threadIds = new long[slowTraceList.size()];
+        for (int i = 0; i < threadIds.length; i++) {
+            threadIds[i] = slowTraceList.get(i).getThreadId();
+        }
+
+        final ThreadInfo[] threadInfos = ThreadMXBeanUtils.findThread(threadIds, maxDepth);
+        int sampleCount = 0;
+        for (int i = 0; i < threadInfos.length; i++) {
+            final ThreadInfo threadInfo = threadInfos[i];
+            // thread already terminated
+            if (threadInfo == null) {
+                continue;
+            }
+            final ActiveTraceSnapshot snapshot = slowTraceList.get(i);
+            stackSampleRepository.addSample(snapshot.getLocalTransactionId(), threadInfo.getStackTrace());
+            sampleCount++;
+        }
+        return sampleCount;
+    }
+
+    private List<ActiveTraceSnapshot> filterSlowTrace(List<ActiveTraceSnapshot> snapshotList, long currentTime) {
+        final List<ActiveTraceSnapshot> result = new ArrayList<ActiveTraceSnapshot>();
+        for (ActiveTraceSnapshot snapshot : snapshotList) {
+            // only sampled traces have a span to attach the samples to
+            if (!snapshot.isSampled()) {
+                continue;
+            }
+            if (snapshot.getThreadId() == NOT_TRACE_THREAD) {
+                continue;
+            }
+            if (currentTime - snapshot.getStartTime() < thresholdMillis) {
+                continue;
+            }
+            result.add(snapshot);
+        }
+        return result;
+    }
+
+    long nextWaitTime(long taskElapsedNanos) {
+        final long budgetWaitNanos = (taskElapsedNanos * 100 / cpuBudget) - taskElapsedNanos;
+        final long budgetWaitMillis = TimeUnit.NANOSECONDS.toMillis(budgetWaitNanos);
+        return Math.max(intervalMillis, budgetWaitMillis);
+    }
+
+    private void waitNextTask(long waitMillis) {
+        if (!Thread.interrupted()) {
+            try {
+                Thread.sleep(waitMillis);
+            } catch (InterruptedException ignore) {
+                // It only exhaust time to wait using interrupt.
+                // The end of the job is confirmed by using the stop field.
+            }
+        }
+    }
+
+    void stop() {
+        if (stop.compareAndSet(false, true)) {
+            logger.info("StackSamplingMonitorTask stop started");
+        } else {
+            logger.info("StackSamplingMonitorTask already stopped");
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.stacksample;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Stack samples indexed by local transaction id.
+ */
+public class DefaultStackSampleRepository implements StackSampleRepository {
+
+    // memory leak defense threshold
+    private static final int DEFAULT_MAX_TRACE_SIZE = 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final boolean isDebug = logger.isDebugEnabled();
+
+    // oom safe cache
+    private final ConcurrentMap<Long, StackSampleTree> stackSampleMap;
+
+    private final int maxNodeSize;
+
+    public DefaultStackSampleRepository(int maxNodeSize) {
+        this(maxNodeSize, DEFAULT_MAX_TRACE_SIZE);
+    }
+
+    public DefaultStackSampleRepository(int maxNodeSize, int maxTraceSize) {
+        if (maxNodeSize <= 0) {
+            throw new IllegalArgumentException("maxNodeSize must be greater than 0");
+        }
+        this.maxNodeSize = maxNodeSize;
+        this.stackSampleMap = createCache(maxTraceSize);
+    }
+
+    private ConcurrentMap<Long, StackSampleTree> createCache(int maxTraceSize) {
+        final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
+        cacheBuilder.concurrencyLevel(4);
+        cacheBuilder.maximumSize(maxTraceSize);
+
+        final Cache<Long, StackSampleTree> localCache = cacheBuilder.build();
+        return localCache.asMap();
+    }
+
+    @Override
+    public void addSample(long localTransactionId, StackTraceElement[] stackTrace) {
+        final Long key = localTransactionId;
+        StackSampleTree stackSampleTree = this.stackSampleMap.get(key);
+        if (stackSampleTree == null) {
+            final StackSampleTree newStackSampleTree = new StackSampleTree(maxNodeSize);
+            final StackSampleTree old = this.stackSampleMap.putIfAbsent(key, newStackSampleTree);
+            if (old != null) {
+                stackSampleTree = old;
+            } else {
+                stackSampleTree = newStackSampleTree;
+            }
+        }
+        stackSampleTree.addSample(stackTrace);
+    }
+
+    @Override
+    public StackSampleTree remove(long localTransactionId) {
+        if (this.stackSampleMap.isEmpty()) {
+            return null;
+        }
+        final StackSampleTree stackSampleTree = this.stackSampleMap.remove(localTransactionId);
+        if (isDebug) {
+            if (stackSampleTree != null) {
+                logger.debug("remove StackSampleTree localTransactionId:{} {}", localTransactionId, stackSampleTree);
+            }
+        }
+        return stackSampleTree;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.stacksample;
+
+/**
+ * Used when stack sampling is disabled.
+ */
+public class EmptyStackSampleRepository implements StackSampleRepository {
+
+    public static final StackSampleRepository INSTANCE = new EmptyStackSampleRepository();
+
+    @Override
+    public void addSample(long localTransactionId, StackTraceElement[] stackTrace) {
+    }
+
+    @Override
+    public StackSampleTree remove(long localTransactionId) {
+        return null;
+    }
+}
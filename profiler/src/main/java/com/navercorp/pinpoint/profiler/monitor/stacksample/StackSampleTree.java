@@ -0,0 +1,148 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.stacksample;
+
+import com.navercorp.pinpoint.common.util.ArrayUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Call tree merged from the stack samples of a single transaction.
+ * Rendered in the collapsed stack format ("frame;frame;frame count") understood by flame graph tools.
+ */
+public class StackSampleTree {
+
+    private static final char FRAME_SEPARATOR = ';';
+    private static final char LINE_SEPARATOR = '\n';
+
+    private final int maxNodeSize;
+
+    private final Node root = new Node();
+    private int nodeSize = 0;
+    private int sampleCount = 0;
+
+    public StackSampleTree(int maxNodeSize) {
+        if (maxNodeSize <= 0) {
+            throw new IllegalArgumentException("maxNodeSize must be greater than 0");
+        }
+        this.maxNodeSize = maxNodeSize;
+    }
+
+    public synchronized void addSample(StackTraceElement[] stackTrace) {
+        if (ArrayUtils.isEmpty(stackTrace)) {
+            return;
+        }
+
+        Node current = root;
+        // the outermost frame comes last
+        for (int i = stackTrace.length - 1; i >= 0; i--) {
+            final String frame = toFrame(stackTrace[i]);
+            Node child = current.getChild(frame);
+            if (child == null) {
+                if (nodeSize >= maxNodeSize) {
+                    // keep the sample, truncated at the deepest known frame
+                    break;
+                }
+                child = current.addChild(frame);
+                nodeSize++;
+            }
+            current = child;
+        }
+        current.count++;
+        sampleCount++;
+    }
+
+    private String toFrame(StackTraceElement element) {
+        return element.getClassName() + '.' + element.getMethodName();
+    }
+
+    public synchronized int getSampleCount() {
+        return sampleCount;
+    }
+
+    public synchronized int getNodeSize() {
+        return nodeSize;
+    }
+
+    public synchronized String toCollapsedString(int maxLength) {
+        final StringBuilder buffer = new StringBuilder(64);
+        final StringBuilder path = new StringBuilder(64);
+        for (Map.Entry<String, Node> entry : root.getChildren().entrySet()) {
+            appendCollapsed(buffer, path, entry.getKey(), entry.getValue(), maxLength);
+        }
+        return buffer.toString();
+    }
+
+    private void appendCollapsed(StringBuilder buffer, StringBuilder path, String frame, Node node, int maxLength) {
+        final int pathLength = path.length();
+        if (pathLength != 0) {
+            path.append(FRAME_SEPARATOR);
+        }
+        path.append(frame);
+
+        if (node.count > 0) {
+            final int lineLength = path.length() + 1 + 10 + 1;
+            if (buffer.length() + lineLength <= maxLength) {
+                buffer.append(path).append(' ').append(node.count).append(LINE_SEPARATOR);
+            }
+        }
+        for (Map.Entry<String, Node> entry : node.getChildren().entrySet()) {
+            appendCollapsed(buffer, path, entry.getKey(), entry.getValue(), maxLength);
+        }
+
+        path.setLength(pathLength);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "StackSampleTree{" +
+                "sampleCount=" + sampleCount +
+                ", nodeSize=" + nodeSize +
+                ", maxNodeSize=" + maxNodeSize +
+                '}';
+    }
+
+    private static class Node {
+        private Map<String, Node> children;
+        private int count;
+
+        private Node getChild(String frame) {
+            if (children == null) {
+                return null;
+            }
+            return children.get(frame);
+        }
+
+        private Node addChild(String frame) {
+            if (children == null) {
+                children = new HashMap<String, Node>(4);
+            }
+            final Node child = new Node();
+            children.put(frame, child);
+            return child;
+        }
+
+        private Map<String, Node> getChildren() {
+            if (children == null) {
+                return Collections.emptyMap();
+            }
+            return children;
+        }
+    }
+}
@@ -156,9 +156,10 @@ public class ActiveThreadCountService implements ProfilerRequestCommandService,
 
             try {
                 TCmdActiveThreadCountRes activeThreadCountResponse = getActiveThreadCountResponse();
-                for (ServerStreamChannel serverStreamChannel : streamChannelRepository) {
-                    byte[] payload = SerializationUtils.serialize(activeThreadCountResponse, CommandSerializer.SERIALIZER_FACTORY, null);
-                    if (payload != null) {
+                // every stream receives the same payload
+                byte[] payload = SerializationUtils.serialize(activeThreadCountResponse, CommandSerializer.SERIALIZER_FACTORY, null);
+                if (payload != null) {
+                    for (ServerStreamChannel serverStreamChannel : streamChannelRepository) {
                         serverStreamChannel.sendData(payload);
                     }
                 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+/**
+ * Trace id flag of a transaction that the sampling rate rejected and that is recorded only for tail sampling.
+ * It is carried downstream by the existing Pinpoint-Flags header, so callees know the keep decision is still pending
+ * and must not treat the transaction as head sampled.
+ */
+public final class TailSamplingFlag {
+
+    public static final short PENDING = 0x0001;
+
+    private TailSamplingFlag() {
+    }
+
+    public static boolean isPending(short flags) {
+        return (flags & PENDING) != 0;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Decides whether a tail-sampled transaction is kept once its elapsed time and error state are known.
+ * A transaction is kept if it failed, took at least {@code slowThreshold} ms,
+ * or is slower than {@code slowPercentile} of recently decided transactions.
+ * The percentile is estimated with power-of-two buckets whose counts are halved periodically,
+ * so it follows recent traffic rather than the whole agent lifetime.
+ */
+public class TailSamplingPolicy {
+
+    private static final int BUCKET_SIZE = 32;
+    private static final int MIN_PERCENTILE_SAMPLES = 100;
+    private static final int DECAY_INTERVAL = 4096;
+
+    private final int slowThreshold;
+    private final int slowPercentile;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_SIZE);
+    private final AtomicInteger recordCount = new AtomicInteger();
+
+    public TailSamplingPolicy(int slowThreshold, int slowPercentile) {
+        if (slowThreshold < 0) {
+            throw new IllegalArgumentException("negative slowThreshold:" + slowThreshold);
+        }
+        if (slowPercentile < 0 || slowPercentile > 100) {
+            throw new IllegalArgumentException("invalid slowPercentile:" + slowPercentile);
+        }
+        this.slowThreshold = slowThreshold;
+        this.slowPercentile = slowPercentile;
+    }
+
+    public boolean isKeep(int elapsed, boolean error) {
+        final boolean slow = isSlow(elapsed);
+        record(elapsed);
+        return error || slow;
+    }
+
+    private boolean isSlow(int elapsed) {
+        if (slowThreshold > 0 && elapsed >= slowThreshold) {
+            return true;
+        }
+        if (slowPercentile > 0 && slowPercentile < 100) {
+            final int percentileBucket = percentileBucket();
+            return percentileBucket != -1 && bucketIndex(elapsed) > percentileBucket;
+        }
+        return false;
+    }
+
+    int percentileBucket() {
+        long total = 0;
+        final long[] snapshot = new long[BUCKET_SIZE];
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total < MIN_PERCENTILE_SAMPLES) {
+            return -1;
+        }
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            cumulative += snapshot[i];
+            if (cumulative * 100 >= total * slowPercentile) {
+                return i;
+            }
+        }
+        return BUCKET_SIZE - 1;
+    }
+
+    private void record(int elapsed) {
+        buckets.incrementAndGet(bucketIndex(elapsed));
+        if (recordCount.incrementAndGet() % DECAY_INTERVAL == 0) {
+            // lossy under contention, which is fine for an estimate
+            for (int i = 0; i < BUCKET_SIZE; i++) {
+                buckets.set(i, buckets.get(i) >>> 1);
+            }
+        }
+    }
+
+    static int bucketIndex(int elapsed) {
+        if (elapsed <= 0) {
+            return 0;
+        }
+        return Math.min(BUCKET_SIZE - (Integer.numberOfLeadingZeros(elapsed)), BUCKET_SIZE - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "TailSamplingPolicy{" +
+                "slowThreshold=" + slowThreshold +
+                ", slowPercentile=" + slowPercentile +
+                '}';
+    }
+}
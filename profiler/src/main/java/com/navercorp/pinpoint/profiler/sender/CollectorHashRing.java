@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.common.Charsets;
+
+import java.net.InetSocketAddress;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring over collector hosts.
+ * <p>
+ * Every agent maps to the same collector for as long as the host list does not change, so the span and stat
+ * data of an agent are aggregated by a single collector. Adding or removing a collector only moves the agents
+ * mapped to it. A host may be weighted as <i>host*weight</i>, which scales its share of virtual nodes.
+ */
+public class CollectorHashRing {
+
+    public static final int DEFAULT_VIRTUAL_NODE_SIZE = 160;
+
+    private static final char HOST_SEPARATOR = ',';
+    private static final char WEIGHT_SEPARATOR = '*';
+
+    private final TreeMap<Long, String> ring = new TreeMap<Long, String>();
+    private final int hostSize;
+
+    public CollectorHashRing(List<String> hosts) {
+        this(hosts, DEFAULT_VIRTUAL_NODE_SIZE);
+    }
+
+    public CollectorHashRing(List<String> hosts, int virtualNodeSize) {
+        if (hosts == null) {
+            throw new NullPointerException("hosts must not be null");
+        }
+        if (hosts.isEmpty()) {
+            throw new IllegalArgumentException("hosts must not be empty");
+        }
+        if (virtualNodeSize <= 0) {
+            throw new IllegalArgumentException("virtualNodeSize must greater than zero.");
+        }
+        final Set<String> distinctHosts = new LinkedHashSet<String>();
+        for (String host : hosts) {
+            final int weightIndex = host.indexOf(WEIGHT_SEPARATOR);
+            final String hostName = toHostName(host);
+            final int weight = weightIndex == -1 ? 1 : parseWeight(host.substring(weightIndex + 1).trim());
+            if (!distinctHosts.add(hostName)) {
+                throw new IllegalArgumentException("duplicated host:" + hostName);
+            }
+            final int nodeSize = virtualNodeSize * weight;
+            for (int i = 0; i < nodeSize; i++) {
+                ring.put(hash(hostName + "#" + i), hostName);
+            }
+        }
+        this.hostSize = distinctHosts.size();
+    }
+
+    private static int parseWeight(String weight) {
+        final int value;
+        try {
+            value = Integer.parseInt(weight);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid weight:" + weight);
+        }
+        if (value <= 0) {
+            throw new IllegalArgumentException("weight must greater than zero. weight:" + weight);
+        }
+        return value;
+    }
+
+    private static String toHostName(String host) {
+        final int weightIndex = host.indexOf(WEIGHT_SEPARATOR);
+        if (weightIndex == -1) {
+            return host;
+        }
+        return host.substring(0, weightIndex).trim();
+    }
+
+    /**
+     * Parses a comma separated host list such as <i>collector1,collector2*2</i>.
+     */
+    public static List<String> parseHosts(String hosts) {
+        if (hosts == null) {
+            return Collections.emptyList();
+        }
+        final List<String> result = new ArrayList<String>();
+        int start = 0;
+        while (start <= hosts.length()) {
+            int end = hosts.indexOf(HOST_SEPARATOR, start);
+            if (end == -1) {
+                end = hosts.length();
+            }
+            final String host = hosts.substring(start, end).trim();
+            if (host.length() > 0) {
+                result.add(host);
+            }
+            start = end + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Parses a comma separated host list and drops the weights, e.g. <i>collector1,collector2*2</i> to
+     * <i>[collector1, collector2]</i>.
+     */
+    public static List<String> parseHostNames(String hosts) {
+        final List<String> hostList = parseHosts(hosts);
+        final List<String> result = new ArrayList<String>(hostList.size());
+        for (String host : hostList) {
+            result.add(toHostName(host));
+        }
+        return result;
+    }
+
+    /**
+     * Resolves the collector hosts an agent should connect to, in preference order.
+     *
+     * @param hosts comma separated host list
+     * @param key routing key, usually the agent id
+     */
+    public static List<String> resolveCandidates(String hosts, String key) {
+        final List<String> hostList = parseHosts(hosts);
+        if (hostList.size() <= 1) {
+            return parseHostNames(hosts);
+        }
+        return new CollectorHashRing(hostList).getCandidates(key);
+    }
+
+    public static List<InetSocketAddress> toAddressList(List<String> hosts, int port) {
+        final List<InetSocketAddress> addressList = new ArrayList<InetSocketAddress>(hosts.size());
+        for (String host : hosts) {
+            addressList.add(new InetSocketAddress(host, port));
+        }
+        return addressList;
+    }
+
+    /**
+     * @return the hosts in the order the given key should try them, the preferred host first
+     */
+    public List<String> getCandidates(String key) {
+        final Set<String> candidates = new LinkedHashSet<String>(hostSize);
+        final SortedMap<Long, String> tail = ring.tailMap(hash(key));
+        addCandidates(candidates, tail);
+        if (candidates.size() < hostSize) {
+            addCandidates(candidates, ring);
+        }
+        return new ArrayList<String>(candidates);
+    }
+
+    private void addCandidates(Set<String> candidates, SortedMap<Long, String> nodes) {
+        for (Map.Entry<Long, String> entry : nodes.entrySet()) {
+            candidates.add(entry.getValue());
+            if (candidates.size() == hostSize) {
+                return;
+            }
+        }
+    }
+
+    public String getPrimary(String key) {
+        final Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        if (entry == null) {
+            return ring.firstEntry().getValue();
+        }
+        return entry.getValue();
+    }
+
+    private static long hash(String key) {
+        final byte[] digest = md5(key);
+        return ((long) (digest[3] & 0xFF) << 24)
+                | ((long) (digest[2] & 0xFF) << 16)
+                | ((long) (digest[1] & 0xFF) << 8)
+                | (digest[0] & 0xFF);
+    }
+
+    private static byte[] md5(String key) {
+        try {
+            final MessageDigest md5 = MessageDigest.getInstance("MD5");
+            return md5.digest(key.getBytes(Charsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not supported", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CollectorHashRing{hostSize=" + hostSize + ", virtualNodes=" + ring.size() + '}';
+    }
+}
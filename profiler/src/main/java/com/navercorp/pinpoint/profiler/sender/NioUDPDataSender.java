@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.rpc.PinpointSocketException;
 import com.navercorp.pinpoint.rpc.buffer.ByteBufferFactory;
 import com.navercorp.pinpoint.rpc.buffer.ByteBufferFactoryLocator;
 import com.navercorp.pinpoint.rpc.buffer.ByteBufferType;
+import com.navercorp.pinpoint.rpc.client.SocketAddressProvider;
 import com.navercorp.pinpoint.thrift.io.ByteBufferOutputStream;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer2;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory2;
@@ -55,14 +56,28 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
 
     private volatile boolean closed = false;
 
+    // null if the remote address never changes
+    private final SocketAddressProvider socketAddressProvider;
+    // Caution. not thread safe
+    private InetSocketAddress remoteAddress;
+    private InetSocketAddress unresolvedRemoteAddress;
+
     public NioUDPDataSender(String host, int port, String threadName, int queueSize) {
         this(host, port, threadName, queueSize, SOCKET_TIMEOUT, SEND_BUFFER_SIZE);
     }
 
     public NioUDPDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize) {
-        if (host == null ) {
-            throw new NullPointerException("host must not be null");
-        }
+        this(UdpDataSender.newSocketAddress(host, port), null, threadName, queueSize, timeout, sendBufferSize);
+    }
+
+    /**
+     * The remote address is resolved again before every send, so the sender moves when the provider changes its answer.
+     */
+    public NioUDPDataSender(SocketAddressProvider socketAddressProvider, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(UdpDataSender.resolve(socketAddressProvider), socketAddressProvider, threadName, queueSize, timeout, sendBufferSize);
+    }
+
+    private NioUDPDataSender(InetSocketAddress remoteAddress, SocketAddressProvider socketAddressProvider, String threadName, int queueSize, int timeout, int sendBufferSize) {
         if (threadName == null) {
             throw new NullPointerException("threadName must not be null");
         }
@@ -77,8 +92,10 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
         }
 
         // TODO If fail to create socket, stop agent start
-        logger.info("NioUDPDataSender initialized. host={}, port={}", host, port);
-        this.datagramChannel = createChannel(host, port, timeout, sendBufferSize);
+        logger.info("NioUDPDataSender initialized. remote={}", remoteAddress);
+        this.datagramChannel = createChannel(remoteAddress, timeout, sendBufferSize);
+        this.remoteAddress = remoteAddress;
+        this.socketAddressProvider = socketAddressProvider;
 
         HeaderTBaseSerializerFactory2 serializerFactory = new HeaderTBaseSerializerFactory2();
         this.serializer = serializerFactory.createSerializer();
@@ -90,7 +107,7 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
         this.executor = createAsyncQueueingExecutor(queueSize, threadName);
     }
 
-    private DatagramChannel createChannel(String host, int port, int timeout, int sendBufferSize) {
+    private DatagramChannel createChannel(InetSocketAddress serverAddress, int timeout, int sendBufferSize) {
         DatagramChannel datagramChannel = null;
         DatagramSocket socket = null;
         try {
@@ -106,7 +123,6 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
                 }
             }
 
-            InetSocketAddress serverAddress = new InetSocketAddress(host, port);
             datagramChannel.connect(serverAddress);
 
             return datagramChannel;
@@ -145,10 +161,36 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
         }
     }
 
+    private void checkRemoteAddress() {
+        if (socketAddressProvider == null) {
+            return;
+        }
+        final InetSocketAddress newRemoteAddress = socketAddressProvider.resolve();
+        if (newRemoteAddress == null || newRemoteAddress.equals(remoteAddress)) {
+            return;
+        }
+        if (newRemoteAddress.isUnresolved()) {
+            if (!newRemoteAddress.equals(unresolvedRemoteAddress)) {
+                logger.warn("NioUDPDataSender remote change skipped. unresolved address:{}", newRemoteAddress);
+                this.unresolvedRemoteAddress = newRemoteAddress;
+            }
+            return;
+        }
+        try {
+            datagramChannel.disconnect();
+            datagramChannel.connect(newRemoteAddress);
+            logger.info("NioUDPDataSender remote changed. {} -> {}", remoteAddress, newRemoteAddress);
+            this.remoteAddress = newRemoteAddress;
+        } catch (IOException e) {
+            logger.warn("NioUDPDataSender remote change fail. {} -> {}", remoteAddress, newRemoteAddress, e);
+        }
+    }
+
     protected void sendPacket(Object message) {
         if (closed) {
             throw new PinpointSocketException("NioUDPDataSender already closed.");
         }
+        checkRemoteAddress();
 
         if (message instanceof TBase) {
             byteBufferOutputStream.clear();
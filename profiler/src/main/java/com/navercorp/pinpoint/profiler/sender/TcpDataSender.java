@@ -17,8 +17,10 @@
 package com.navercorp.pinpoint.profiler.sender;
 
 
+import com.navercorp.pinpoint.rpc.DefaultFuture;
 import com.navercorp.pinpoint.rpc.Future;
 import com.navercorp.pinpoint.rpc.FutureListener;
+import com.navercorp.pinpoint.rpc.PinpointSocketException;
 import com.navercorp.pinpoint.rpc.ResponseMessage;
 import com.navercorp.pinpoint.rpc.client.PinpointClient;
 import com.navercorp.pinpoint.rpc.client.PinpointClientFactory;
@@ -40,9 +42,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author emeroad
@@ -51,6 +61,12 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class TcpDataSender extends AbstractDataSender implements EnhancedDataSender {
 
+    // max number of requests waiting for a response. Requests are pipelined up to this window.
+    public static final int DEFAULT_REQUEST_WINDOW_SIZE = 256;
+    // max number of requests parked while the window is full. Requests beyond this are failed and go to the retry queue.
+    private static final int PARKED_REQUEST_CAPACITY = 1024 * 5;
+    private static final long RETRY_DELAY_MILLIS = 1000 * 10;
+
     private final Logger logger;
     static {
         // preClassLoad
@@ -69,6 +85,16 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
 
     private final RetryQueue retryQueue = new RetryQueue();
 
+    private final int requestWindowSize;
+    private final Semaphore requestWindow;
+    private final Queue<ParkedRequest> parkedRequestQueue = new ConcurrentLinkedQueue<ParkedRequest>();
+    // ConcurrentLinkedQueue.size() is O(n)
+    private final AtomicInteger parkedRequestCount = new AtomicInteger();
+    private final AtomicLong rejectedRequestCount = new AtomicLong();
+    // serializes drainParkedRequest(). A failed future notifies its listener synchronously, so draining must not recurse.
+    private final AtomicInteger drainWorkCount = new AtomicInteger();
+    private final PinpointClientReconnectEventListener retryOnReconnectListener;
+
     private AsyncQueueingExecutor<Object> executor;
 
     public TcpDataSender(InetSocketAddress address, PinpointClientFactory clientFactory) {
@@ -84,8 +110,23 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
     }
 
     public TcpDataSender(String name, InetSocketAddress address, PinpointClientFactory clientFactory, HeaderTBaseSerializer serializer) {
-        if (address == null) {
-            throw new NullPointerException("address must not be null");
+        this(name, address, clientFactory, serializer, DEFAULT_REQUEST_WINDOW_SIZE);
+    }
+
+    public TcpDataSender(String name, InetSocketAddress address, PinpointClientFactory clientFactory, HeaderTBaseSerializer serializer, int requestWindowSize) {
+        this(name, toAddressList(address), clientFactory, serializer, requestWindowSize);
+    }
+
+    public TcpDataSender(String name, List<InetSocketAddress> addressList, PinpointClientFactory clientFactory) {
+        this(name, addressList, clientFactory, HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer(), DEFAULT_REQUEST_WINDOW_SIZE);
+    }
+
+    public TcpDataSender(String name, List<InetSocketAddress> addressList, PinpointClientFactory clientFactory, HeaderTBaseSerializer serializer, int requestWindowSize) {
+        if (addressList == null) {
+            throw new NullPointerException("addressList must not be null");
+        }
+        if (addressList.isEmpty()) {
+            throw new IllegalArgumentException("addressList must not be empty");
         }
         if (clientFactory == null) {
             throw new NullPointerException("clientFactory must not be null");
@@ -93,6 +134,9 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
         if (serializer == null) {
             throw new NullPointerException("serializer must not be null");
         }
+        if (requestWindowSize <= 0) {
+            throw new IllegalArgumentException("requestWindowSize must greater than zero.");
+        }
 
         String executorName = "Pinpoint-TcpDataSender-Executor";
         if (name != null) {
@@ -102,13 +146,34 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
             logger = LoggerFactory.getLogger(this.getClass());
         }
 
-        PinpointClient client = ClientFactoryUtils.createPinpointClient(address, clientFactory);
+        PinpointClient client = ClientFactoryUtils.createPinpointClient(addressList, clientFactory);
 
         this.client = client;
         this.serializer = serializer;
         this.timer = createTimer(name);
         writeFailFutureListener = new WriteFailFutureListener(logger, "io write fail.", "host", -1);
         this.executor = createAsyncQueueingExecutor(1024 * 5, executorName);
+        this.requestWindowSize = requestWindowSize;
+        this.requestWindow = new Semaphore(requestWindowSize);
+
+        // flush pending retries as soon as the connection is back instead of waiting for the retry delay.
+        this.retryOnReconnectListener = new PinpointClientReconnectEventListener() {
+            @Override
+            public void reconnectPerformed(PinpointClient client) {
+                if (retryQueue.size() > 0) {
+                    logger.info("reconnected. flush retry queue size:{}", retryQueue.size());
+                    scheduleRetry(0, false);
+                }
+            }
+        };
+        this.client.addPinpointClientReconnectEventListener(retryOnReconnectListener);
+    }
+
+    private static List<InetSocketAddress> toAddressList(InetSocketAddress address) {
+        if (address == null) {
+            throw new NullPointerException("address must not be null");
+        }
+        return Collections.singletonList(address);
     }
 
     private Timer createTimer(String name) {
@@ -148,6 +213,25 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
         return client.isConnected();
     }
 
+    /**
+     * @return the collector address of the current connection, or null while not connected
+     */
+    public SocketAddress getRemoteAddress() {
+        return client.getRemoteAddress();
+    }
+
+    public int getInFlightRequestCount() {
+        return requestWindowSize - requestWindow.availablePermits();
+    }
+
+    public int getParkedRequestCount() {
+        return parkedRequestCount.get();
+    }
+
+    public long getRejectedRequestCount() {
+        return rejectedRequestCount.get();
+    }
+
     @Override
     public boolean addReconnectEventListener(PinpointClientReconnectEventListener eventListener) {
         return this.client.addPinpointClientReconnectEventListener(eventListener);
@@ -161,6 +245,12 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
     @Override
     public void stop() {
         executor.stop();
+        client.removePinpointClientReconnectEventListener(retryOnReconnectListener);
+        final int parkedCount = parkedRequestCount.get();
+        final long rejectedCount = rejectedRequestCount.get();
+        if (parkedCount > 0 || rejectedCount > 0) {
+            logger.info("request window parked:{} rejected:{}", parkedCount, rejectedCount);
+        }
 
         Set<Timeout> stop = timer.stop();
         if (!stop.isEmpty()) {
@@ -282,6 +372,12 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
     private void retryRequest(RetryMessage retryMessage) {
         retryQueue.add(retryMessage);
         if (fireTimeout()) {
+            scheduleRetry(RETRY_DELAY_MILLIS, true);
+        }
+    }
+
+    private void scheduleRetry(long delayMillis, final boolean fireComplete) {
+        try {
             timer.newTimeout(new TimerTask() {
                 @Override
                 public void run(Timeout timeout) throws Exception {
@@ -289,20 +385,82 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
                         RetryMessage retryMessage = retryQueue.get();
                         if (retryMessage == null) {
                             // Maybe concurrency issue. But ignore it because it's unlikely.
-                            fireComplete();
+                            if (fireComplete) {
+                                fireComplete();
+                            }
                             return;
                         }
                         int fail = retryMessage.fail();
                         doRequest(retryMessage);
                     }
                 }
-            }, 1000 * 10, TimeUnit.MILLISECONDS);
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException e) {
+            // timer has been stopped
+            logger.debug("retry schedule fail. Caused:{}", e.getMessage());
         }
     }
 
-    private void doRequest(final byte[] requestPacket, FutureListener futureListener) {
-        final Future<ResponseMessage> response = this.client.request(requestPacket);
-        response.setListener(futureListener);
+    // Never blocks. The request is parked and sent by whichever thread finds a free slot in the window first:
+    // the caller itself, or the thread completing an in-flight response.
+    private void doRequest(final byte[] requestPacket, final FutureListener futureListener) {
+        if (parkedRequestCount.incrementAndGet() > PARKED_REQUEST_CAPACITY) {
+            parkedRequestCount.decrementAndGet();
+            rejectedRequestCount.incrementAndGet();
+            notifyFailure(futureListener, new PinpointSocketException("request window full"));
+            return;
+        }
+        parkedRequestQueue.offer(new ParkedRequest(requestPacket, futureListener));
+        drainParkedRequest();
+    }
+
+    private void drainParkedRequest() {
+        if (drainWorkCount.getAndIncrement() != 0) {
+            // the thread already draining will run another pass.
+            return;
+        }
+        do {
+            while (!parkedRequestQueue.isEmpty()) {
+                if (!requestWindow.tryAcquire()) {
+                    // an in-flight request will drain the queue when its response arrives.
+                    break;
+                }
+                final ParkedRequest parkedRequest = parkedRequestQueue.poll();
+                if (parkedRequest == null) {
+                    requestWindow.release();
+                    break;
+                }
+                parkedRequestCount.decrementAndGet();
+                sendParkedRequest(parkedRequest);
+            }
+        } while (drainWorkCount.decrementAndGet() != 0);
+    }
+
+    private void sendParkedRequest(final ParkedRequest parkedRequest) {
+        final FutureListener futureListener = parkedRequest.getFutureListener();
+        final Future<ResponseMessage> response;
+        try {
+            response = this.client.request(parkedRequest.getRequestPacket());
+        } catch (RuntimeException e) {
+            requestWindow.release();
+            logger.warn("request fail. Caused:{}", e.getMessage(), e);
+            notifyFailure(futureListener, e);
+            return;
+        }
+        response.setListener(new FutureListener<ResponseMessage>() {
+            @Override
+            public void onComplete(Future<ResponseMessage> future) {
+                requestWindow.release();
+                drainParkedRequest();
+                futureListener.onComplete(future);
+            }
+        });
+    }
+
+    private void notifyFailure(FutureListener futureListener, Throwable cause) {
+        final DefaultFuture<ResponseMessage> failure = new DefaultFuture<ResponseMessage>();
+        failure.setFailure(cause);
+        futureListener.onComplete(failure);
     }
 
     private boolean fireTimeout() {
@@ -318,4 +476,22 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
         fireState.compareAndSet(true, false);
     }
 
+    private static class ParkedRequest {
+        private final byte[] requestPacket;
+        private final FutureListener futureListener;
+
+        private ParkedRequest(byte[] requestPacket, FutureListener futureListener) {
+            this.requestPacket = requestPacket;
+            this.futureListener = futureListener;
+        }
+
+        private byte[] getRequestPacket() {
+            return requestPacket;
+        }
+
+        private FutureListener getFutureListener() {
+            return futureListener;
+        }
+    }
+
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.rpc.client.SocketAddressProvider;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Picks the address of the collector host the agent's tcp connection currently uses.
+ * Falls back to the first address until the tcp connection is attached to one of them.
+ * <p>
+ * Caution. not thread safe. Each udp sender resolves from its own send thread.
+ */
+public class TcpFollowingSocketAddressProvider implements SocketAddressProvider {
+
+    private final TcpRemoteAddressTracker tcpRemoteAddressTracker;
+    private final List<InetSocketAddress> addressList;
+
+    private SocketAddress lastTcpRemoteAddress;
+    private InetSocketAddress lastAddress;
+
+    public TcpFollowingSocketAddressProvider(TcpRemoteAddressTracker tcpRemoteAddressTracker, List<InetSocketAddress> addressList) {
+        if (tcpRemoteAddressTracker == null) {
+            throw new NullPointerException("tcpRemoteAddressTracker must not be null");
+        }
+        if (addressList == null) {
+            throw new NullPointerException("addressList must not be null");
+        }
+        if (addressList.isEmpty()) {
+            throw new IllegalArgumentException("addressList must not be empty");
+        }
+        this.tcpRemoteAddressTracker = tcpRemoteAddressTracker;
+        this.addressList = new ArrayList<InetSocketAddress>(addressList);
+        this.lastAddress = this.addressList.get(0);
+    }
+
+    @Override
+    public InetSocketAddress resolve() {
+        final SocketAddress tcpRemoteAddress = tcpRemoteAddressTracker.getRemoteAddress();
+        if (tcpRemoteAddress != lastTcpRemoteAddress) {
+            this.lastTcpRemoteAddress = tcpRemoteAddress;
+            final InetSocketAddress sameHostAddress = findSameHost(tcpRemoteAddress);
+            if (sameHostAddress != null) {
+                this.lastAddress = sameHostAddress;
+            }
+        }
+        return lastAddress;
+    }
+
+    private InetSocketAddress findSameHost(SocketAddress tcpRemoteAddress) {
+        if (!(tcpRemoteAddress instanceof InetSocketAddress)) {
+            return null;
+        }
+        final InetSocketAddress tcpAddress = (InetSocketAddress) tcpRemoteAddress;
+        for (InetSocketAddress address : addressList) {
+            if (isSameHost(address, tcpAddress)) {
+                return address;
+            }
+        }
+        return null;
+    }
+
+    private boolean isSameHost(InetSocketAddress address1, InetSocketAddress address2) {
+        final InetAddress inetAddress1 = address1.getAddress();
+        final InetAddress inetAddress2 = address2.getAddress();
+        if (inetAddress1 != null && inetAddress2 != null) {
+            return inetAddress1.equals(inetAddress2);
+        }
+        // unresolved
+        return address1.getHostName().equals(address2.getHostName());
+    }
+
+    @Override
+    public String toString() {
+        return "TcpFollowingSocketAddressProvider{addressList=" + addressList + '}';
+    }
+}
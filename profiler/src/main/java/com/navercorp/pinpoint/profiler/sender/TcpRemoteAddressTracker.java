@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.rpc.client.PinpointClient;
+import com.navercorp.pinpoint.rpc.client.PinpointClientReconnectEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.SocketAddress;
+
+/**
+ * Remembers which collector the agent's tcp connection is attached to.
+ * <p>
+ * The tcp client moves to the next collector candidate when its collector goes away. Udp senders look the
+ * current address up here so span and stat data follow it instead of staying on a dead collector.
+ */
+public class TcpRemoteAddressTracker implements PinpointClientReconnectEventListener {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private volatile SocketAddress remoteAddress;
+
+    public void update(SocketAddress remoteAddress) {
+        if (remoteAddress == null) {
+            // not connected yet. keep the last known collector
+            return;
+        }
+        if (!remoteAddress.equals(this.remoteAddress)) {
+            logger.info("tcp remote address changed. {} -> {}", this.remoteAddress, remoteAddress);
+            this.remoteAddress = remoteAddress;
+        }
+    }
+
+    public SocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    @Override
+    public void reconnectPerformed(PinpointClient client) {
+        update(client.getRemoteAddress());
+    }
+}
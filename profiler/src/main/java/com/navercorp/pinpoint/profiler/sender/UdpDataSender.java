@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.profiler.sender;
 
+import com.navercorp.pinpoint.rpc.client.SocketAddressProvider;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
 import org.apache.thrift.TBase;
@@ -52,14 +53,28 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
 
     private final AsyncQueueingExecutor<Object> executor;
 
+    // null if the remote address never changes
+    private final SocketAddressProvider socketAddressProvider;
+    // Caution. not thread safe
+    private InetSocketAddress remoteAddress;
+    private InetSocketAddress unresolvedRemoteAddress;
+
     public UdpDataSender(String host, int port, String threadName, int queueSize) {
         this(host, port, threadName, queueSize, SOCKET_TIMEOUT, SEND_BUFFER_SIZE);
     }
 
     public UdpDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize) {
-        if (host == null ) {
-            throw new NullPointerException("host must not be null");
-        }
+        this(newSocketAddress(host, port), null, threadName, queueSize, timeout, sendBufferSize);
+    }
+
+    /**
+     * The remote address is resolved again before every send, so the sender moves when the provider changes its answer.
+     */
+    public UdpDataSender(SocketAddressProvider socketAddressProvider, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(resolve(socketAddressProvider), socketAddressProvider, threadName, queueSize, timeout, sendBufferSize);
+    }
+
+    private UdpDataSender(InetSocketAddress remoteAddress, SocketAddressProvider socketAddressProvider, String threadName, int queueSize, int timeout, int sendBufferSize) {
         if (threadName == null) {
             throw new NullPointerException("threadName must not be null");
         }
@@ -74,12 +89,28 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
         }
 
         // TODO If fail to create socket, stop agent start
-        logger.info("UdpDataSender initialized. host={}, port={}", host, port);
-        this.udpSocket = createSocket(host, port, timeout, sendBufferSize);
+        logger.info("UdpDataSender initialized. remote={}", remoteAddress);
+        this.udpSocket = createSocket(remoteAddress, timeout, sendBufferSize);
+        this.remoteAddress = remoteAddress;
+        this.socketAddressProvider = socketAddressProvider;
 
         this.executor = createAsyncQueueingExecutor(queueSize, threadName);
     }
 
+    static InetSocketAddress newSocketAddress(String host, int port) {
+        if (host == null) {
+            throw new NullPointerException("host must not be null");
+        }
+        return new InetSocketAddress(host, port);
+    }
+
+    static InetSocketAddress resolve(SocketAddressProvider socketAddressProvider) {
+        if (socketAddressProvider == null) {
+            throw new NullPointerException("socketAddressProvider must not be null");
+        }
+        return socketAddressProvider.resolve();
+    }
+
     @Override
     public boolean send(TBase<?, ?> data) {
         return executor.execute(data);
@@ -90,7 +121,7 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
         executor.stop();
     }
 
-    private DatagramSocket createSocket(String host, int port, int timeout, int sendBufferSize) {
+    private DatagramSocket createSocket(InetSocketAddress serverAddress, int timeout, int sendBufferSize) {
         try {
             final DatagramSocket datagramSocket = new DatagramSocket();
 
@@ -103,7 +134,6 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
                 }
             }
 
-            final InetSocketAddress serverAddress = new InetSocketAddress(host, port);
             datagramSocket.connect(serverAddress);
             return datagramSocket;
         } catch (SocketException e) {
@@ -111,7 +141,35 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
         }
     }
 
+    private void checkRemoteAddress() {
+        if (socketAddressProvider == null) {
+            return;
+        }
+        final InetSocketAddress newRemoteAddress = socketAddressProvider.resolve();
+        if (newRemoteAddress == null || newRemoteAddress.equals(remoteAddress)) {
+            return;
+        }
+        if (newRemoteAddress.isUnresolved()) {
+            if (!newRemoteAddress.equals(unresolvedRemoteAddress)) {
+                logger.warn("UdpDataSender remote change skipped. unresolved address:{}", newRemoteAddress);
+                this.unresolvedRemoteAddress = newRemoteAddress;
+            }
+            return;
+        }
+        try {
+            udpSocket.disconnect();
+            udpSocket.connect(newRemoteAddress);
+            // DatagramSocket.send() stamped the previous address on reusePacket
+            reusePacket.setSocketAddress(newRemoteAddress);
+            logger.info("UdpDataSender remote changed. {} -> {}", remoteAddress, newRemoteAddress);
+            this.remoteAddress = newRemoteAddress;
+        } catch (SocketException e) {
+            logger.warn("UdpDataSender remote change fail. {} -> {}", remoteAddress, newRemoteAddress, e);
+        }
+    }
+
     protected void sendPacket(Object message) {
+        checkRemoteAddress();
         if (message instanceof TBase) {
             final TBase dto = (TBase) message;
             // do not copy bytes because it's single threaded
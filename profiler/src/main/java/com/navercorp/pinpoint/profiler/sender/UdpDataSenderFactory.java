@@ -17,6 +17,8 @@
 
 package com.navercorp.pinpoint.profiler.sender;
 
+import com.navercorp.pinpoint.rpc.client.SocketAddressProvider;
+
 /**
  * @author Taejin Koo
  */
@@ -26,14 +28,24 @@ public final class UdpDataSenderFactory {
 
     private final String host;
     private final int port;
+    private final SocketAddressProvider socketAddressProvider;
     private final String threadName;
     private final int queueSize;
     private final int timeout;
     private final int sendBufferSize;
 
     public UdpDataSenderFactory(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(host, port, null, threadName, queueSize, timeout, sendBufferSize);
+    }
+
+    public UdpDataSenderFactory(SocketAddressProvider socketAddressProvider, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(null, -1, socketAddressProvider, threadName, queueSize, timeout, sendBufferSize);
+    }
+
+    private UdpDataSenderFactory(String host, int port, SocketAddressProvider socketAddressProvider, String threadName, int queueSize, int timeout, int sendBufferSize) {
         this.host = host;
         this.port = port;
+        this.socketAddressProvider = socketAddressProvider;
         this.threadName = threadName;
         this.queueSize = queueSize;
         this.timeout = timeout;
@@ -46,8 +58,14 @@ public final class UdpDataSenderFactory {
 
     public DataSender create(UdpDataSenderType type) {
         if (type == UdpDataSenderType.NIO) {
+            if (socketAddressProvider != null) {
+                return new NioUDPDataSender(socketAddressProvider, threadName, queueSize, timeout, sendBufferSize);
+            }
             return new NioUDPDataSender(host, port, threadName, queueSize, timeout, sendBufferSize);
         } else if (type == UdpDataSenderType.OIO) {
+            if (socketAddressProvider != null) {
+                return new UdpDataSender(socketAddressProvider, threadName, queueSize, timeout, sendBufferSize);
+            }
             return new UdpDataSender(host, port, threadName, queueSize, timeout, sendBufferSize);
         } else {
             throw new IllegalArgumentException("Unknown type.");
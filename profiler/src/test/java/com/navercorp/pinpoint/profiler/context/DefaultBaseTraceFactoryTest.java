@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceHandle;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.id.AtomicIdGenerator;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceIdFactory;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceRootFactory;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTransactionIdEncoder;
+import com.navercorp.pinpoint.profiler.context.id.IdGenerator;
+import com.navercorp.pinpoint.profiler.context.id.TraceIdFactory;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.context.recorder.DefaultRecorderFactory;
+import com.navercorp.pinpoint.profiler.context.recorder.RecorderFactory;
+import com.navercorp.pinpoint.profiler.context.storage.Storage;
+import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
+import com.navercorp.pinpoint.profiler.context.storage.TailSamplingStorageFactory;
+import com.navercorp.pinpoint.profiler.metadata.SqlMetaDataService;
+import com.navercorp.pinpoint.profiler.metadata.StringMetaDataService;
+import com.navercorp.pinpoint.profiler.sampler.TailSamplingFlag;
+import com.navercorp.pinpoint.profiler.sampler.TailSamplingPolicy;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DefaultBaseTraceFactoryTest {
+
+    private final String agentId = "agentId";
+    private final long agentStartTime = System.currentTimeMillis();
+
+    private final IdGenerator idGenerator = new AtomicIdGenerator();
+    private final TraceIdFactory traceIdFactory = new DefaultTraceIdFactory(agentId, agentStartTime);
+
+    @Test
+    public void tailSampledTrace_propagatesPendingFlag() {
+        BaseTraceFactory baseTraceFactory = newBaseTraceFactory(false, true);
+
+        Trace trace = baseTraceFactory.newTraceObject();
+        Assert.assertTrue(trace.canSampled());
+
+        // plugins write nextId.getFlags() to the Pinpoint-Flags header
+        TraceId nextId = trace.getTraceId().getNextTraceId();
+        Assert.assertTrue(TailSamplingFlag.isPending(nextId.getFlags()));
+    }
+
+    @Test
+    public void headSampledTrace_notPending() {
+        BaseTraceFactory baseTraceFactory = newBaseTraceFactory(true, true);
+
+        Trace trace = baseTraceFactory.newTraceObject();
+        Assert.assertTrue(trace.canSampled());
+
+        TraceId nextId = trace.getTraceId().getNextTraceId();
+        Assert.assertFalse(TailSamplingFlag.isPending(nextId.getFlags()));
+    }
+
+    @Test
+    public void continuePendingTrace_tailSamplingDisabled() {
+        BaseTraceFactory baseTraceFactory = newBaseTraceFactory(true, false);
+
+        Trace trace = baseTraceFactory.continueTraceObject(newPendingTraceId());
+        Assert.assertFalse(trace.canSampled());
+    }
+
+    @Test
+    public void continuePendingTrace_tailSamplingEnabled() {
+        BaseTraceFactory baseTraceFactory = newBaseTraceFactory(true, true);
+
+        Trace trace = baseTraceFactory.continueTraceObject(newPendingTraceId());
+        Assert.assertTrue(trace.canSampled());
+
+        TraceId nextId = trace.getTraceId().getNextTraceId();
+        Assert.assertTrue(TailSamplingFlag.isPending(nextId.getFlags()));
+    }
+
+    @Test
+    public void continueSampledTrace() {
+        BaseTraceFactory baseTraceFactory = newBaseTraceFactory(false, false);
+
+        TraceId traceId = traceIdFactory.continueTraceId("agentId^1^1", 1, 2, (short) 0);
+        Trace trace = baseTraceFactory.continueTraceObject(traceId);
+        Assert.assertTrue(trace.canSampled());
+    }
+
+    private TraceId newPendingTraceId() {
+        return traceIdFactory.continueTraceId("agentId^1^1", 1, 2, TailSamplingFlag.PENDING);
+    }
+
+    private BaseTraceFactory newBaseTraceFactory(boolean headSampling, boolean tailSampling) {
+        DefaultTraceRootFactory traceRootFactory = new DefaultTraceRootFactory(agentId, traceIdFactory, idGenerator);
+        CallStackFactory callStackFactory = new CallStackFactoryV1(64);
+
+        StorageFactory storageFactory = mock(StorageFactory.class);
+        when(storageFactory.createStorage(any(TraceRoot.class))).thenReturn(mock(Storage.class));
+        TailSamplingStorageFactory tailSamplingStorageFactory = null;
+        if (tailSampling) {
+            tailSamplingStorageFactory = new TailSamplingStorageFactory(storageFactory, new TailSamplingPolicy(1000, 0), 100, 10);
+        }
+
+        Sampler sampler = mock(Sampler.class);
+        when(sampler.isSampling()).thenReturn(headSampling);
+
+        final AsyncContextFactory asyncContextFactory = mock(AsyncContextFactory.class);
+        SpanFactory spanFactory = new DefaultSpanFactory("applicationName", agentId, agentStartTime, ServiceType.STAND_ALONE,
+                new DefaultTransactionIdEncoder(agentId, agentStartTime));
+        Provider<AsyncContextFactory> asyncContextFactoryProvider = new Provider<AsyncContextFactory>() {
+            @Override
+            public AsyncContextFactory get() {
+                return asyncContextFactory;
+            }
+        };
+        RecorderFactory recorderFactory = new DefaultRecorderFactory(asyncContextFactoryProvider,
+                mock(StringMetaDataService.class), mock(SqlMetaDataService.class));
+
+        ActiveTraceRepository activeTraceRepository = mock(ActiveTraceRepository.class);
+        when(activeTraceRepository.register(any(TraceRoot.class))).thenReturn(ActiveTraceHandle.EMPTY_HANDLE);
+        when(activeTraceRepository.register(anyLong(), anyLong(), anyLong())).thenReturn(ActiveTraceHandle.EMPTY_HANDLE);
+
+        return new DefaultBaseTraceFactory(traceRootFactory, callStackFactory, storageFactory, sampler, idGenerator,
+                asyncContextFactory, spanFactory, recorderFactory, activeTraceRepository, tailSamplingStorageFactory);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.active;
+
+import com.navercorp.pinpoint.common.trace.BaseHistogramSchema;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ActiveTraceSlotCounterTest {
+
+    private final long currentTime = 1000000L;
+
+    @Test
+    public void histogram() {
+        ActiveTraceSlotCounter counter = new ActiveTraceSlotCounter(BaseHistogramSchema.NORMAL_SCHEMA);
+        counter.increment(currentTime - 100);
+        counter.increment(currentTime - 2000);
+        counter.increment(currentTime - 2000);
+        counter.increment(currentTime - 4000);
+        counter.increment(currentTime - 60000);
+
+        DefaultActiveTraceHistogram histogram = counter.histogram(currentTime);
+        Assert.assertEquals(1, histogram.getFastCount());
+        Assert.assertEquals(2, histogram.getNormalCount());
+        Assert.assertEquals(1, histogram.getSlowCount());
+        Assert.assertEquals(1, histogram.getVerySlowCount());
+
+        counter.decrement(currentTime - 2000);
+        counter.decrement(currentTime - 60000);
+        histogram = counter.histogram(currentTime);
+        Assert.assertEquals(1, histogram.getNormalCount());
+        Assert.assertEquals(0, histogram.getVerySlowCount());
+    }
+
+    @Test
+    public void histogram_slotReused() {
+        ActiveTraceSlotCounter counter = new ActiveTraceSlotCounter(BaseHistogramSchema.NORMAL_SCHEMA);
+        final long oldStartTime = currentTime - 128 * ActiveTraceSlotCounter.SLOT_MILLIS;
+        counter.increment(oldStartTime);
+        // same slot, newer epoch
+        counter.increment(currentTime);
+
+        DefaultActiveTraceHistogram histogram = counter.histogram(currentTime);
+        Assert.assertEquals(1, histogram.getFastCount());
+        Assert.assertEquals(1, histogram.getVerySlowCount());
+
+        counter.decrement(oldStartTime);
+        histogram = counter.histogram(currentTime);
+        Assert.assertEquals(1, histogram.getFastCount());
+        Assert.assertEquals(0, histogram.getVerySlowCount());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceRoot;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SpanEventSummaryStorageTest {
+
+    private final TraceRoot traceRoot = new DefaultTraceRoot(new DefaultTraceId("agentId", 0, 100), "agentId", 0, 100);
+
+    @Test
+    public void collapseRepeatedCalls() {
+        RecordingStorage recordingStorage = new RecordingStorage();
+        SpanEventSummaryStorage storage = new SpanEventSummaryStorage(recordingStorage, 1);
+
+        storage.store(newSpanEvent(0, 1, 10, 0, 100));
+        for (int i = 1; i <= 5; i++) {
+            storage.store(newSpanEvent(i, 2, 20, i * 10, i * 10 + i));
+        }
+        storage.store(newSpanEvent(6, 2, 30, 70, 80));
+        storage.store(new Span(traceRoot));
+
+        Assert.assertEquals(3, recordingStorage.spanEvents.size());
+        Assert.assertTrue(recordingStorage.spanStored);
+
+        SpanEvent summary = recordingStorage.spanEvents.get(1);
+        Assert.assertEquals(1, summary.getSequence());
+        Assert.assertEquals(10, summary.getStartTime());
+        Assert.assertEquals(55, summary.getAfterTime());
+        Assert.assertEquals("count=5, total=15ms, min=1ms, max=5ms", getCallSummary(summary));
+
+        Assert.assertNull(getCallSummary(recordingStorage.spanEvents.get(2)));
+    }
+
+    @Test
+    public void belowThreshold() {
+        RecordingStorage recordingStorage = new RecordingStorage();
+        SpanEventSummaryStorage storage = new SpanEventSummaryStorage(recordingStorage, 10);
+
+        for (int i = 0; i < 5; i++) {
+            storage.store(newSpanEvent(i, 2, 20, i * 10, i * 10 + 1));
+        }
+        storage.flush();
+
+        Assert.assertEquals(5, recordingStorage.spanEvents.size());
+    }
+
+    @Test
+    public void keepParentCalls() {
+        RecordingStorage recordingStorage = new RecordingStorage();
+        SpanEventSummaryStorage storage = new SpanEventSummaryStorage(recordingStorage, 0);
+
+        // parent(seq 1) -> child(seq 2), parent(seq 3) -> child(seq 4), stored in completion order
+        storage.store(newSpanEvent(2, 3, 40, 1, 2));
+        storage.store(newSpanEvent(1, 2, 20, 0, 3));
+        storage.store(newSpanEvent(4, 3, 40, 4, 5));
+        storage.store(newSpanEvent(3, 2, 20, 4, 6));
+        storage.flush();
+
+        Assert.assertEquals(4, recordingStorage.spanEvents.size());
+    }
+
+    private SpanEvent newSpanEvent(int sequence, int depth, int apiId, long startTime, long afterTime) {
+        SpanEvent spanEvent = new SpanEvent(traceRoot);
+        spanEvent.setSequence((short) sequence);
+        spanEvent.setDepth(depth);
+        spanEvent.setApiId(apiId);
+        spanEvent.setServiceType((short) 1010);
+        spanEvent.markStartTime(startTime);
+        spanEvent.markAfterTime(afterTime);
+        return spanEvent;
+    }
+
+    private String getCallSummary(SpanEvent spanEvent) {
+        if (spanEvent.getAnnotations() == null) {
+            return null;
+        }
+        for (TAnnotation annotation : spanEvent.getAnnotations()) {
+            if (annotation.getKey() == AnnotationKey.CALL_SUMMARY.getCode()) {
+                return annotation.getValue().getStringValue();
+            }
+        }
+        return null;
+    }
+
+    private static class RecordingStorage implements Storage {
+        private final List<SpanEvent> spanEvents = new ArrayList<SpanEvent>();
+        private boolean spanStored;
+
+        @Override
+        public void store(SpanEvent spanEvent) {
+            spanEvents.add(spanEvent);
+        }
+
+        @Override
+        public void store(Span span) {
+            spanStored = true;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanChunkFactory;
+import com.navercorp.pinpoint.profiler.context.SpanChunkFactoryV1;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SpanPostProcessorV1;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceRoot;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTransactionIdEncoder;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.sampler.TailSamplingPolicy;
+import com.navercorp.pinpoint.profiler.sender.CountingDataSender;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TailSamplingStorageTest {
+
+    private final String agentId = "agentId";
+    private final long agentStartTime = System.currentTimeMillis();
+
+    private final SpanChunkFactory spanChunkFactory = new SpanChunkFactoryV1("applicationName", agentId, agentStartTime, ServiceType.STAND_ALONE,
+            new DefaultTransactionIdEncoder(agentId, agentStartTime));
+    private final CountingDataSender countingDataSender = new CountingDataSender();
+    private final StorageFactory storageFactory = new BufferedStorageFactory(100, countingDataSender, new SpanPostProcessorV1(), spanChunkFactory);
+
+    private TailSamplingStorageFactory tailSamplingStorageFactory;
+
+    @Before
+    public void before() {
+        countingDataSender.stop();
+        tailSamplingStorageFactory = new TailSamplingStorageFactory(storageFactory, new TailSamplingPolicy(1000, 0), 3, 2);
+    }
+
+    private TraceRoot newTraceRoot(long transactionId) {
+        TraceId traceId = new DefaultTraceId(agentId, agentStartTime, transactionId);
+        return new DefaultTraceRoot(traceId, agentId, agentStartTime, transactionId);
+    }
+
+    @Test
+    public void drop_fastTransaction() {
+        TraceRoot traceRoot = newTraceRoot(1);
+        Storage storage = tailSamplingStorageFactory.createStorage(traceRoot);
+        storage.store(new SpanEvent(traceRoot));
+        Assert.assertEquals(1, tailSamplingStorageFactory.getBufferedEvents());
+
+        Span span = new Span(traceRoot);
+        span.setElapsed(10);
+        storage.store(span);
+        storage.close();
+
+        Assert.assertEquals(0, countingDataSender.getTotalCount());
+        Assert.assertEquals(0, tailSamplingStorageFactory.getBufferedEvents());
+    }
+
+    @Test
+    public void keep_slowTransaction() {
+        TraceRoot traceRoot = newTraceRoot(2);
+        Storage storage = tailSamplingStorageFactory.createStorage(traceRoot);
+        storage.store(new SpanEvent(traceRoot));
+
+        Span span = new Span(traceRoot);
+        span.setElapsed(1000);
+        storage.store(span);
+        storage.close();
+
+        Assert.assertEquals(1, countingDataSender.getSpanCounter());
+        Assert.assertEquals(0, tailSamplingStorageFactory.getBufferedEvents());
+    }
+
+    @Test
+    public void keep_errorTransaction() {
+        TraceRoot traceRoot = newTraceRoot(3);
+        Storage storage = tailSamplingStorageFactory.createStorage(traceRoot);
+        traceRoot.getShared().maskErrorCode(1);
+
+        storage.store(new Span(traceRoot));
+
+        Assert.assertEquals(1, countingDataSender.getSpanCounter());
+    }
+
+    @Test
+    public void drop_bufferFull() {
+        TraceRoot traceRoot = newTraceRoot(4);
+        Storage storage = tailSamplingStorageFactory.createStorage(traceRoot);
+        storage.store(new SpanEvent(traceRoot));
+        storage.store(new SpanEvent(traceRoot));
+        // exceeds maxEventsPerTrace
+        storage.store(new SpanEvent(traceRoot));
+        Assert.assertEquals(0, tailSamplingStorageFactory.getBufferedEvents());
+
+        traceRoot.getShared().maskErrorCode(1);
+        storage.store(new Span(traceRoot));
+
+        Assert.assertEquals(0, countingDataSender.getTotalCount());
+    }
+
+    @Test
+    public void keep_asyncTransaction() {
+        TraceRoot traceRoot = newTraceRoot(5);
+        Storage storage = tailSamplingStorageFactory.createStorage(traceRoot);
+        storage.store(new SpanEvent(traceRoot));
+        SpanEvent asyncEvent = new SpanEvent(traceRoot);
+        asyncEvent.setNextAsyncId(1);
+        storage.store(asyncEvent);
+
+        storage.store(new Span(traceRoot));
+
+        Assert.assertEquals(1, countingDataSender.getSpanCounter());
+        Assert.assertEquals(0, tailSamplingStorageFactory.getBufferedEvents());
+    }
+}
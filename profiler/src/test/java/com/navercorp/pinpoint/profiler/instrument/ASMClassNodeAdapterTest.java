@@ -17,6 +17,9 @@ package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
 import com.navercorp.pinpoint.bootstrap.instrument.aspect.Aspect;
+import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
+import com.navercorp.pinpoint.profiler.util.TestInterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
 import org.junit.Assert;
 import org.junit.Before;
@@ -27,12 +30,16 @@ import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
 
 import java.io.InputStream;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
@@ -214,6 +221,39 @@ public class ASMClassNodeAdapterTest {
         System.out.println(result);
     }
 
+    @Test
+    public void addInterceptorField() throws Exception {
+        final InterceptorRegistryBinder interceptorRegistryBinder = new TestInterceptorRegistryBinder();
+        interceptorRegistryBinder.bind();
+        try {
+            final Interceptor interceptor = new Interceptor() {
+            };
+            final int interceptorId = interceptorRegistryBinder.getInterceptorRegistryAdaptor().addInterceptor(interceptor);
+
+            final String targetClassName = "com.navercorp.pinpoint.profiler.instrument.mock.BaseClass";
+            final ASMClassNodeLoader.TestClassLoader classLoader = ASMClassNodeLoader.getClassLoader();
+            classLoader.setTargetClassName(targetClassName);
+            classLoader.setCallbackHandler(new ASMClassNodeLoader.CallbackHandler() {
+                @Override
+                public void handle(ClassNode classNode) {
+                    ASMClassNodeAdapter classNodeAdapter = new ASMClassNodeAdapter(pluginContext, null, classNode);
+                    String fieldName = classNodeAdapter.addInterceptorField(interceptorId);
+                    // only once.
+                    assertEquals(fieldName, classNodeAdapter.addInterceptorField(interceptorId));
+                }
+            });
+            Class<?> clazz = classLoader.loadClass(targetClassName);
+
+            Field field = clazz.getDeclaredField(ASMClassNodeAdapter.INTERCEPTOR_FIELD_PREFIX + interceptorId);
+            assertTrue(Modifier.isStatic(field.getModifiers()));
+            assertTrue(Modifier.isFinal(field.getModifiers()));
+            field.setAccessible(true);
+            assertSame(interceptor, field.get(null));
+        } finally {
+            interceptorRegistryBinder.unbind();
+        }
+    }
+
     @Test
     public void hasAnnotation() throws Exception {
         ASMClassNodeAdapter classNodeAdapter = ASMClassNodeAdapter.get(pluginContext, ASMClassNodeLoader.getClassLoader(), "com/navercorp/pinpoint/profiler/instrument/mock/AnnotationClass");
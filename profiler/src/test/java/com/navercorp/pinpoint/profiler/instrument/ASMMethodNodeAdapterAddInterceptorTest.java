@@ -50,6 +50,7 @@ import static org.junit.Assert.fail;
 public class ASMMethodNodeAdapterAddInterceptorTest {
     private final static InterceptorRegistryBinder interceptorRegistryBinder = new TestInterceptorRegistryBinder();
     private ASMClassNodeLoader.TestClassLoader classLoader;
+    private boolean interceptorField;
 
     @BeforeClass
     public static void beforeClass() {
@@ -64,6 +65,7 @@ public class ASMMethodNodeAdapterAddInterceptorTest {
     @Before
     public void before() {
         this.classLoader = ASMClassNodeLoader.getClassLoader();
+        this.interceptorField = false;
     }
 
     @Test
@@ -90,6 +92,20 @@ public class ASMMethodNodeAdapterAddInterceptorTest {
         addInterceptor(interceptorId, BasicInterceptor.class);
     }
 
+    @Test
+    public void addArgsArrayInterceptorField() throws Exception {
+        this.interceptorField = true;
+        int interceptorId = interceptorRegistryBinder.getInterceptorRegistryAdaptor().addInterceptor(new ArgsArrayInterceptor());
+        addInterceptor(interceptorId, ArgsArrayInterceptor.class);
+    }
+
+    @Test
+    public void addBasicInterceptorField() throws Exception {
+        this.interceptorField = true;
+        int interceptorId = interceptorRegistryBinder.getInterceptorRegistryAdaptor().addInterceptor(new BasicInterceptor());
+        addInterceptor(interceptorId, BasicInterceptor.class);
+    }
+
     @Ignore
     @Test
     public void addExceptionInterceptor() throws Exception {
@@ -483,6 +499,11 @@ public class ASMMethodNodeAdapterAddInterceptorTest {
             classLoader.setCallbackHandler(new ASMClassNodeLoader.CallbackHandler() {
                 @Override
                 public void handle(ClassNode classNode) {
+                    String interceptorFieldName = null;
+                    if (interceptorField) {
+                        interceptorFieldName = new ASMClassNodeAdapter(null, null, classNode).addInterceptorField(interceptorId);
+                    }
+
                     List<MethodNode> methodNodes = classNode.methods;
                     for (MethodNode methodNode : methodNodes) {
                         if (methodNode.name.equals("<clinit>")) {
@@ -493,6 +514,7 @@ public class ASMMethodNodeAdapterAddInterceptorTest {
                         if (methodNodeAdapter.isAbstract() || methodNodeAdapter.isNative()) {
                             continue;
                         }
+                        methodNodeAdapter.setInterceptorField(interceptorFieldName);
                         methodNodeAdapter.addBeforeInterceptor(interceptorId, interceptorDefinition, 99);
                         methodNodeAdapter.addAfterInterceptor(interceptorId, interceptorDefinition, 99);
                     }
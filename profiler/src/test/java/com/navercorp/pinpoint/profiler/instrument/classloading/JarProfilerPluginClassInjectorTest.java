@@ -67,6 +67,25 @@ public class JarProfilerPluginClassInjectorTest {
 
     }
 
+    @Test
+    public void testInjectClass_multipleClassLoader() throws Exception {
+        final URL sampleJar = getSampleJar("org.slf4j.impl.Log4jLoggerAdapter");
+
+        final PluginPackageFilter pluginPackageFilter = new PluginPackageFilter(Arrays.asList(LOG4_IMPL));
+        PluginConfig pluginConfig = new PluginConfig(sampleJar, pluginPackageFilter);
+
+        // the plugin jar is parsed once and defined in each classLoader
+        PlainClassLoaderHandler injector = new PlainClassLoaderHandler(pluginConfig);
+        final ClassLoader classLoader1 = createContextTypeMatchClassLoader(new URL[]{sampleJar});
+        final ClassLoader classLoader2 = createContextTypeMatchClassLoader(new URL[]{sampleJar});
+        final Class<?> loggerClass1 = injector.injectClass(classLoader1, logger.getClass().getName());
+        final Class<?> loggerClass2 = injector.injectClass(classLoader2, logger.getClass().getName());
+
+        Assert.assertEquals(loggerClass1.getName(), loggerClass2.getName());
+        Assert.assertNotSame(loggerClass1, loggerClass2);
+        Assert.assertSame(loggerClass1, injector.injectClass(classLoader1, logger.getClass().getName()));
+    }
+
     private ClassLoader createContextTypeMatchClassLoader(URL[] urlArray) throws ClassNotFoundException, NoSuchMethodException, InstantiationException, IllegalAccessException, java.lang.reflect.InvocationTargetException {
         final ClassLoader classLoader = this.getClass().getClassLoader();
         final Class<ClassLoader> aClass = (Class<ClassLoader>) classLoader.loadClass(CONTEXT_TYPE_MATCH_CLASS_LOADER);
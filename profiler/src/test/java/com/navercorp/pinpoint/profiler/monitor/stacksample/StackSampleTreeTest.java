@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.stacksample;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StackSampleTreeTest {
+
+    @Test
+    public void addSample() {
+        StackSampleTree tree = new StackSampleTree(100);
+        tree.addSample(stack("a", "b", "c"));
+        tree.addSample(stack("a", "b", "c"));
+        tree.addSample(stack("a", "b"));
+
+        Assert.assertEquals(3, tree.getSampleCount());
+        Assert.assertEquals(3, tree.getNodeSize());
+
+        String collapsed = tree.toCollapsedString(1024);
+        Assert.assertEquals("Test.a;Test.b 1\nTest.a;Test.b;Test.c 2\n", collapsed);
+    }
+
+    @Test
+    public void addSample_maxNodeSize() {
+        StackSampleTree tree = new StackSampleTree(2);
+        tree.addSample(stack("a", "b", "c"));
+
+        Assert.assertEquals(1, tree.getSampleCount());
+        Assert.assertEquals(2, tree.getNodeSize());
+        Assert.assertEquals("Test.a;Test.b 1\n", tree.toCollapsedString(1024));
+    }
+
+    @Test
+    public void toCollapsedString_maxLength() {
+        StackSampleTree tree = new StackSampleTree(100);
+        tree.addSample(stack("a", "b", "c"));
+
+        Assert.assertEquals("", tree.toCollapsedString(10));
+    }
+
+    @Test
+    public void addSample_empty() {
+        StackSampleTree tree = new StackSampleTree(100);
+        tree.addSample(new StackTraceElement[0]);
+
+        Assert.assertEquals(0, tree.getSampleCount());
+        Assert.assertEquals("", tree.toCollapsedString(1024));
+    }
+
+    /**
+     * @param frames outermost frame first
+     */
+    private StackTraceElement[] stack(String... frames) {
+        StackTraceElement[] stackTrace = new StackTraceElement[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            stackTrace[frames.length - 1 - i] = new StackTraceElement("Test", frames[i], "Test.java", i);
+        }
+        return stackTrace;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CollectorHashRingTest {
+
+    @Test
+    public void parseHosts() {
+        List<String> hosts = CollectorHashRing.parseHosts(" collector1, collector2 ,,collector3*2 ");
+        Assert.assertEquals(Arrays.asList("collector1", "collector2", "collector3*2"), hosts);
+    }
+
+    @Test
+    public void singleHost() {
+        List<String> candidates = CollectorHashRing.resolveCandidates("127.0.0.1", "agent");
+        Assert.assertEquals(Arrays.asList("127.0.0.1"), candidates);
+    }
+
+    @Test
+    public void singleWeightedHost() {
+        List<String> candidates = CollectorHashRing.resolveCandidates("collector1*2", "agent");
+        Assert.assertEquals(Arrays.asList("collector1"), candidates);
+    }
+
+    @Test
+    public void parseHostNames() {
+        List<String> hosts = CollectorHashRing.parseHostNames("collector1, collector2 * 2");
+        Assert.assertEquals(Arrays.asList("collector1", "collector2"), hosts);
+    }
+
+    @Test
+    public void candidates() {
+        CollectorHashRing ring = new CollectorHashRing(Arrays.asList("collector1", "collector2", "collector3"));
+        List<String> candidates = ring.getCandidates("agent");
+
+        Assert.assertEquals(3, candidates.size());
+        Assert.assertEquals(ring.getPrimary("agent"), candidates.get(0));
+        Assert.assertEquals(candidates, ring.getCandidates("agent"));
+    }
+
+    @Test
+    public void removeHost() {
+        List<String> hosts = Arrays.asList("collector1", "collector2", "collector3", "collector4");
+        CollectorHashRing ring = new CollectorHashRing(hosts);
+        CollectorHashRing shrunkRing = new CollectorHashRing(hosts.subList(0, 3));
+
+        for (int i = 0; i < 1000; i++) {
+            String agentId = "agent-" + i;
+            String primary = ring.getPrimary(agentId);
+            if (!"collector4".equals(primary)) {
+                Assert.assertEquals(primary, shrunkRing.getPrimary(agentId));
+            } else {
+                // agents of the removed host move to the next candidate
+                Assert.assertEquals(ring.getCandidates(agentId).get(1), shrunkRing.getPrimary(agentId));
+            }
+        }
+    }
+
+    @Test
+    public void weight() {
+        CollectorHashRing ring = new CollectorHashRing(Arrays.asList("collector1", "collector2*3"));
+        Map<String, Integer> counts = new HashMap<String, Integer>();
+        for (int i = 0; i < 10000; i++) {
+            String primary = ring.getPrimary("agent-" + i);
+            Integer count = counts.get(primary);
+            counts.put(primary, count == null ? 1 : count + 1);
+        }
+        Assert.assertTrue(counts.get("collector2") > counts.get("collector1") * 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicatedHost() {
+        new CollectorHashRing(Arrays.asList("collector1", "collector1"));
+    }
+}
@@ -16,7 +16,10 @@
 
 package com.navercorp.pinpoint.profiler.sender;
 
+import com.navercorp.pinpoint.rpc.Future;
+import com.navercorp.pinpoint.rpc.FutureListener;
 import com.navercorp.pinpoint.rpc.PinpointSocket;
+import com.navercorp.pinpoint.rpc.ResponseMessage;
 import com.navercorp.pinpoint.rpc.client.DefaultPinpointClientFactory;
 import com.navercorp.pinpoint.rpc.client.PinpointClientFactory;
 import com.navercorp.pinpoint.rpc.packet.HandshakeResponseCode;
@@ -28,6 +31,7 @@ import com.navercorp.pinpoint.rpc.server.PinpointServer;
 import com.navercorp.pinpoint.rpc.server.PinpointServerAcceptor;
 import com.navercorp.pinpoint.rpc.server.ServerMessageListener;
 import com.navercorp.pinpoint.thrift.dto.TApiMetaData;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -39,7 +43,9 @@ import org.springframework.util.SocketUtils;
 import java.net.InetSocketAddress;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -54,6 +60,8 @@ public class TcpDataSenderTest {
 
     private PinpointServerAcceptor serverAcceptor;
     private CountDownLatch sendLatch;
+    private final BlockingQueue<RequestPacket> requestQueue = new LinkedBlockingQueue<RequestPacket>();
+    private volatile PinpointSocket requestSocket;
 
     @Before
     public void serverStart() {
@@ -71,6 +79,8 @@ public class TcpDataSenderTest {
             @Override
             public void handleRequest(RequestPacket requestPacket, PinpointSocket pinpointSocket) {
                 logger.debug("handleRequest packet:{}, remote:{}", requestPacket, pinpointSocket.getRemoteAddress());
+                requestSocket = pinpointSocket;
+                requestQueue.add(requestPacket);
             }
 
             @Override
@@ -117,6 +127,57 @@ public class TcpDataSenderTest {
         }
     }
     
+    @Test
+    public void requestWindow() throws InterruptedException {
+        final int requestCount = 5;
+        final CountDownLatch responseLatch = new CountDownLatch(requestCount);
+
+        PinpointClientFactory clientFactory = createPinpointClientFactory();
+
+        InetSocketAddress address = new InetSocketAddress(HOST, PORT);
+        TcpDataSender sender = new TcpDataSender("test", Collections.singletonList(address), clientFactory, HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer(), 2);
+        try {
+            for (int i = 0; i < requestCount; i++) {
+                sender.request(new TApiMetaData("test", System.currentTimeMillis(), i, "TestApi"), new FutureListener<ResponseMessage>() {
+                    @Override
+                    public void onComplete(Future<ResponseMessage> future) {
+                        if (future.isSuccess()) {
+                            responseLatch.countDown();
+                        }
+                    }
+                });
+            }
+
+            // only the window is sent until the server responds.
+            RequestPacket first = requestQueue.poll(3000, TimeUnit.MILLISECONDS);
+            RequestPacket second = requestQueue.poll(3000, TimeUnit.MILLISECONDS);
+            Assert.assertNotNull(first);
+            Assert.assertNotNull(second);
+            Assert.assertNull(requestQueue.poll(300, TimeUnit.MILLISECONDS));
+            Assert.assertEquals(2, sender.getInFlightRequestCount());
+            Assert.assertEquals(3, sender.getParkedRequestCount());
+
+            // each response frees a slot for a parked request.
+            requestSocket.response(first, new byte[0]);
+            requestSocket.response(second, new byte[0]);
+            for (int i = 2; i < requestCount; i++) {
+                RequestPacket next = requestQueue.poll(3000, TimeUnit.MILLISECONDS);
+                Assert.assertNotNull(next);
+                requestSocket.response(next, new byte[0]);
+            }
+
+            Assert.assertTrue(responseLatch.await(3000, TimeUnit.MILLISECONDS));
+            Assert.assertEquals(0, sender.getInFlightRequestCount());
+            Assert.assertEquals(0, sender.getParkedRequestCount());
+        } finally {
+            sender.stop();
+
+            if (clientFactory != null) {
+                clientFactory.release();
+            }
+        }
+    }
+
     private PinpointClientFactory createPinpointClientFactory() {
         PinpointClientFactory clientFactory = new DefaultPinpointClientFactory();
         clientFactory.setTimeoutMillis(1000 * 5);
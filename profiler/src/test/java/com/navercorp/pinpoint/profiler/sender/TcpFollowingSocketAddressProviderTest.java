@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+
+public class TcpFollowingSocketAddressProviderTest {
+
+    private final InetSocketAddress udp1 = new InetSocketAddress("127.0.0.1", 9995);
+    private final InetSocketAddress udp2 = new InetSocketAddress("127.0.0.2", 9995);
+    private final List<InetSocketAddress> udpAddressList = Arrays.asList(udp1, udp2);
+
+    @Test
+    public void resolve_notConnected() {
+        TcpRemoteAddressTracker tracker = new TcpRemoteAddressTracker();
+        TcpFollowingSocketAddressProvider provider = new TcpFollowingSocketAddressProvider(tracker, udpAddressList);
+
+        Assert.assertEquals(udp1, provider.resolve());
+    }
+
+    @Test
+    public void resolve_followTcpHost() {
+        TcpRemoteAddressTracker tracker = new TcpRemoteAddressTracker();
+        TcpFollowingSocketAddressProvider provider = new TcpFollowingSocketAddressProvider(tracker, udpAddressList);
+
+        tracker.update(new InetSocketAddress("127.0.0.2", 9994));
+        Assert.assertEquals(udp2, provider.resolve());
+
+        tracker.update(new InetSocketAddress("127.0.0.1", 9994));
+        Assert.assertEquals(udp1, provider.resolve());
+    }
+
+    @Test
+    public void resolve_keepLastAddress() {
+        TcpRemoteAddressTracker tracker = new TcpRemoteAddressTracker();
+        TcpFollowingSocketAddressProvider provider = new TcpFollowingSocketAddressProvider(tracker, udpAddressList);
+
+        tracker.update(new InetSocketAddress("127.0.0.2", 9994));
+        Assert.assertEquals(udp2, provider.resolve());
+
+        // disconnected
+        tracker.update(null);
+        Assert.assertEquals(udp2, provider.resolve());
+
+        // tcp collector which is not a udp candidate
+        tracker.update(new InetSocketAddress("127.0.0.3", 9994));
+        Assert.assertEquals(udp2, provider.resolve());
+    }
+}
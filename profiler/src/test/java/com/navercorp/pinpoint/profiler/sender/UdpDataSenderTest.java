@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.profiler.sender;
 
 import com.navercorp.pinpoint.profiler.logging.Slf4jLoggerBinderInitializer;
 import com.navercorp.pinpoint.profiler.sender.UdpDataSender;
+import com.navercorp.pinpoint.rpc.client.SocketAddressProvider;
 import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
 
 import org.junit.Assert;
@@ -29,6 +30,10 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.springframework.util.SocketUtils;
 
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -83,6 +88,45 @@ public class UdpDataSenderTest {
 //        Assert.assertFalse("success", noLimit);
 //    }
 
+    @Test
+    public void sendToChangedRemoteAddress() throws Exception {
+        DatagramSocket receiver1 = new DatagramSocket(new InetSocketAddress("127.0.0.1", 0));
+        DatagramSocket receiver2 = new DatagramSocket(new InetSocketAddress("127.0.0.1", 0));
+        receiver1.setSoTimeout(3000);
+        receiver2.setSoTimeout(3000);
+
+        final InetSocketAddress[] remoteAddress = {(InetSocketAddress) receiver1.getLocalSocketAddress()};
+        SocketAddressProvider socketAddressProvider = new SocketAddressProvider() {
+            @Override
+            public InetSocketAddress resolve() {
+                return remoteAddress[0];
+            }
+        };
+        UdpDataSender sender = new UdpDataSender(socketAddressProvider, "test", 128, 1000, 1024*64*100);
+        try {
+            sender.send(new TAgentInfo());
+            Assert.assertTrue(receive(receiver1));
+
+            remoteAddress[0] = (InetSocketAddress) receiver2.getLocalSocketAddress();
+            sender.send(new TAgentInfo());
+            Assert.assertTrue(receive(receiver2));
+        } finally {
+            sender.stop();
+            receiver1.close();
+            receiver2.close();
+        }
+    }
+
+    private boolean receive(DatagramSocket receiver) throws Exception {
+        DatagramPacket packet = new DatagramPacket(new byte[UdpDataSender.UDP_MAX_PACKET_LENGTH], UdpDataSender.UDP_MAX_PACKET_LENGTH);
+        try {
+            receiver.receive(packet);
+            return true;
+        } catch (SocketTimeoutException e) {
+            return false;
+        }
+    }
+
     @Test
     public void sendExceedData() throws InterruptedException {
         String random = RandomStringUtils.randomAlphabetic(UdpDataSender.UDP_MAX_PACKET_LENGTH + 100);
@@ -229,6 +229,23 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
         return pinpointClient;
     }
 
+    /**
+     * Connects to the next address of the provider. Reconnects after a disconnection also move on to the next address.
+     */
+    public PinpointClient connect(SocketAddressProvider socketAddressProvider) throws PinpointSocketException {
+        if (socketAddressProvider == null) {
+            throw new NullPointerException("socketAddressProvider must not be null");
+        }
+        InetSocketAddress connectAddress = socketAddressProvider.resolve();
+        ChannelFuture connectFuture = bootstrap.connect(connectAddress);
+        PinpointClientHandler pinpointClientHandler = getSocketHandler(connectFuture, connectAddress);
+        pinpointClientHandler.setSocketAddressProvider(socketAddressProvider);
+
+        PinpointClient pinpointClient = new DefaultPinpointClient(pinpointClientHandler);
+        traceSocket(pinpointClient);
+        return pinpointClient;
+    }
+
     /*
         trace mechanism is needed in case of calling close without closing socket
         it is okay to make that later because this is a exceptional case.
@@ -248,6 +265,12 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
         return pinpointClient;
     }
 
+    public PinpointClient scheduledConnect(SocketAddressProvider socketAddressProvider) {
+        PinpointClient pinpointClient = new DefaultPinpointClient(new ReconnectStateClientHandler());
+        reconnect(pinpointClient, socketAddressProvider);
+        return pinpointClient;
+    }
+
     PinpointClientHandler getSocketHandler(ChannelFuture channelConnectFuture, SocketAddress address) {
         if (address == null) {
             throw new NullPointerException("address");
@@ -308,7 +331,18 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
     }
 
     void reconnect(final PinpointClient pinpointClient, final SocketAddress socketAddress) {
-        DefaultPinpointClientFactory.ConnectEvent connectEvent = new DefaultPinpointClientFactory.ConnectEvent(pinpointClient, socketAddress);
+        if (socketAddress == null) {
+            throw new NullPointerException("socketAddress must not be null");
+        }
+        DefaultPinpointClientFactory.ConnectEvent connectEvent = new DefaultPinpointClientFactory.ConnectEvent(pinpointClient, socketAddress, null);
+        timer.newTimeout(connectEvent, reconnectDelay, TimeUnit.MILLISECONDS);
+    }
+
+    void reconnect(final PinpointClient pinpointClient, final SocketAddressProvider socketAddressProvider) {
+        if (socketAddressProvider == null) {
+            throw new NullPointerException("socketAddressProvider must not be null");
+        }
+        DefaultPinpointClientFactory.ConnectEvent connectEvent = new DefaultPinpointClientFactory.ConnectEvent(pinpointClient, null, socketAddressProvider);
         timer.newTimeout(connectEvent, reconnectDelay, TimeUnit.MILLISECONDS);
     }
 
@@ -316,18 +350,26 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
 
         private final Logger logger = LoggerFactory.getLogger(getClass());
         private final PinpointClient pinpointClient;
-        private final SocketAddress socketAddress;
+        // either a fixed address or a provider asked for the next address on every attempt
+        private final SocketAddress fixedSocketAddress;
+        private final SocketAddressProvider socketAddressProvider;
 
-        private ConnectEvent(PinpointClient pinpointClient, SocketAddress socketAddress) {
+        private ConnectEvent(PinpointClient pinpointClient, SocketAddress fixedSocketAddress, SocketAddressProvider socketAddressProvider) {
             if (pinpointClient == null) {
                 throw new NullPointerException("pinpointClient must not be null");
             }
-            if (socketAddress == null) {
-                throw new NullPointerException("socketAddress must not be null");
-            }
 
             this.pinpointClient = pinpointClient;
-            this.socketAddress = socketAddress;
+            this.fixedSocketAddress = fixedSocketAddress;
+            this.socketAddressProvider = socketAddressProvider;
+        }
+
+        private void retry() {
+            if (socketAddressProvider != null) {
+                reconnect(pinpointClient, socketAddressProvider);
+            } else {
+                reconnect(pinpointClient, fixedSocketAddress);
+            }
         }
 
         @Override
@@ -342,11 +384,13 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
                 return;
             }
 
+            final SocketAddress socketAddress = socketAddressProvider != null ? socketAddressProvider.resolve() : fixedSocketAddress;
             logger.warn("try reconnect. connectAddress:{}", socketAddress);
             final ChannelFuture channelFuture = reconnect(socketAddress);
             Channel channel = channelFuture.getChannel();
             final PinpointClientHandler pinpointClientHandler = getSocketHandler(channel);
             pinpointClientHandler.setConnectSocketAddress(socketAddress);
+            pinpointClientHandler.setSocketAddressProvider(socketAddressProvider);
             pinpointClientHandler.setPinpointClient(pinpointClient);
 
             channelFuture.addListener(new ChannelFutureListener() {
@@ -366,7 +410,7 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
                                 logger.warn("reconnect fail. {} Caused:{}", socketAddress, cause.getMessage());
                             }
                           */
-                            reconnect(pinpointClient, socketAddress);
+                            retry();
                         } else {
                             logger.info("pinpointClient is closed. stop reconnect.");
                         }
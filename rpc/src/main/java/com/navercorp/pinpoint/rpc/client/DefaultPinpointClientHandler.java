@@ -71,6 +71,7 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
 
     private final DefaultPinpointClientFactory clientFactory;
     private SocketAddress connectSocketAddress;
+    private SocketAddressProvider socketAddressProvider;
     private volatile PinpointClient pinpointClient;
 
     private final MessageListener messageListener;
@@ -137,6 +138,11 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
         this.connectSocketAddress = connectSocketAddress;
     }
 
+    @Override
+    public void setSocketAddressProvider(SocketAddressProvider socketAddressProvider) {
+        this.socketAddressProvider = socketAddressProvider;
+    }
+
     @Override
     public void channelOpen(ChannelHandlerContext ctx, ChannelStateEvent e) throws Exception {
         Channel channel = e.getChannel();
@@ -577,7 +583,11 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
             }
 
             if (needReconnect) {
-                clientFactory.reconnect(this.pinpointClient, this.connectSocketAddress);
+                if (socketAddressProvider != null) {
+                    clientFactory.reconnect(this.pinpointClient, socketAddressProvider);
+                } else {
+                    clientFactory.reconnect(this.pinpointClient, this.connectSocketAddress);
+                }
             }
         } finally {
             closeResources();
@@ -62,11 +62,15 @@ public interface PinpointClientFactory {
 
     PinpointClient connect(InetSocketAddress connectAddress) throws PinpointSocketException;
 
+    PinpointClient connect(SocketAddressProvider socketAddressProvider) throws PinpointSocketException;
+
 
     PinpointClient scheduledConnect(String host, int port);
 
     PinpointClient scheduledConnect(InetSocketAddress connectAddress);
 
+    PinpointClient scheduledConnect(SocketAddressProvider socketAddressProvider);
+
 
     ChannelFuture reconnect(final SocketAddress remoteAddress);
 
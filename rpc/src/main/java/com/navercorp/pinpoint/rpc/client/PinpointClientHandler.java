@@ -32,6 +32,8 @@ public interface PinpointClientHandler {
 
     void setConnectSocketAddress(SocketAddress address);
 
+    void setSocketAddressProvider(SocketAddressProvider socketAddressProvider);
+
     void initReconnect();
 
     ConnectFuture getConnectFuture();
@@ -44,6 +44,10 @@ public class ReconnectStateClientHandler implements PinpointClientHandler {
     public void setConnectSocketAddress(SocketAddress connectSocketAddress) {
     }
 
+    @Override
+    public void setSocketAddressProvider(SocketAddressProvider socketAddressProvider) {
+    }
+
     @Override
     public void initReconnect() {
         //To change body of implemented methods use File | Settings | File Templates.
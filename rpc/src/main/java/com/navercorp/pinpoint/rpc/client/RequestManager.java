@@ -21,6 +21,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.util.Timeout;
@@ -46,7 +47,13 @@ public class RequestManager {
 
     private final AtomicInteger requestId = new AtomicInteger(1);
 
-    private final ConcurrentMap<Integer, DefaultFuture<ResponseMessage>> requestMap = new ConcurrentHashMap<Integer, DefaultFuture<ResponseMessage>>();
+    private final ConcurrentMap<Integer, RequestFuture> requestMap = new ConcurrentHashMap<Integer, RequestFuture>();
+
+    // per connection statistics
+    private final AtomicLong responseCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong totalResponseTime = new AtomicLong();
+    private volatile long maxResponseTime;
     // Have to move Timer into factory?
     private final Timer timer;
     private final long defaultTimeoutMillis;
@@ -71,6 +78,7 @@ public class RequestManager {
                 DefaultFuture<ResponseMessage> future = removeMessageFuture(requestId);
                 if (future != null) {
                     // removed perfectly.
+                    failureCount.incrementAndGet();
                     return true;
                 }
                 return false;
@@ -99,13 +107,14 @@ public class RequestManager {
 
     public void messageReceived(ResponsePacket responsePacket, String objectUniqName) {
         final int requestId = responsePacket.getRequestId();
-        final DefaultFuture<ResponseMessage> future = removeMessageFuture(requestId);
+        final RequestFuture future = this.requestMap.remove(requestId);
         if (future == null) {
             logger.warn("future not found:{}, objectUniqName:{}", responsePacket, objectUniqName);
             return;
         } else {
             logger.debug("responsePacket arrived packet:{}, objectUniqName:{}", responsePacket, objectUniqName);
         }
+        recordResponseTime(future);
 
         ResponseMessage response = new ResponseMessage();
         response.setMessage(responsePacket.getPayload());
@@ -114,23 +123,64 @@ public class RequestManager {
 
     public void messageReceived(ResponsePacket responsePacket, PinpointServer pinpointServer) {
         final int requestId = responsePacket.getRequestId();
-        final DefaultFuture<ResponseMessage> future = removeMessageFuture(requestId);
+        final RequestFuture future = this.requestMap.remove(requestId);
         if (future == null) {
             logger.warn("future not found:{}, pinpointServer:{}", responsePacket, pinpointServer);
             return;
         } else {
             logger.debug("responsePacket arrived packet:{}, pinpointServer:{}", responsePacket, pinpointServer);
         }
+        recordResponseTime(future);
 
         ResponseMessage response = new ResponseMessage();
         response.setMessage(responsePacket.getPayload());
         future.setResult(response);
     }
 
+    private void recordResponseTime(RequestFuture future) {
+        final long responseTime = System.currentTimeMillis() - future.getRequestTime();
+        this.responseCount.incrementAndGet();
+        this.totalResponseTime.addAndGet(responseTime);
+        // not exact under contention, good enough for monitoring
+        if (responseTime > this.maxResponseTime) {
+            this.maxResponseTime = responseTime;
+        }
+    }
+
     public DefaultFuture<ResponseMessage> removeMessageFuture(int requestId) {
         return this.requestMap.remove(requestId);
     }
 
+    /**
+     * @return number of requests waiting for a response (the in-flight window of this connection)
+     */
+    public int getPendingRequestCount() {
+        return this.requestMap.size();
+    }
+
+    public long getResponseCount() {
+        return this.responseCount.get();
+    }
+
+    /**
+     * @return number of requests that failed by timeout, write failure or close
+     */
+    public long getFailureCount() {
+        return this.failureCount.get();
+    }
+
+    public long getAverageResponseTime() {
+        final long responseCount = this.responseCount.get();
+        if (responseCount == 0) {
+            return 0;
+        }
+        return this.totalResponseTime.get() / responseCount;
+    }
+
+    public long getMaxResponseTime() {
+        return this.maxResponseTime;
+    }
+
     public void messageReceived(RequestPacket requestPacket, Channel channel) {
         logger.error("unexpectedMessage received:{} address:{}", requestPacket, channel.getRemoteAddress());
     }
@@ -144,7 +194,7 @@ public class RequestManager {
         final int requestId = getNextRequestId();
         requestPacket.setRequestId(requestId);
 
-        final ChannelWriteFailListenableFuture<ResponseMessage> future = new ChannelWriteFailListenableFuture<ResponseMessage>(timeoutMillis);
+        final RequestFuture future = new RequestFuture(timeoutMillis);
 
         final DefaultFuture old = this.requestMap.put(requestId, future);
         if (old != null) {
@@ -174,7 +224,7 @@ public class RequestManager {
 //            }
 //        }
         int requestFailCount = 0;
-        for (Map.Entry<Integer, DefaultFuture<ResponseMessage>> entry : requestMap.entrySet()) {
+        for (Map.Entry<Integer, RequestFuture> entry : requestMap.entrySet()) {
             if(entry.getValue().setFailure(closed)) {
                 requestFailCount++;
             }
@@ -183,7 +233,23 @@ public class RequestManager {
         if (requestFailCount > 0) {
             logger.info("requestManager failCount:{}", requestFailCount);
         }
+        if (logger.isInfoEnabled() && (responseCount.get() > 0 || failureCount.get() > 0)) {
+            logger.info("requestManager statistics. responseCount:{}, failureCount:{}, avgResponseTime:{}ms, maxResponseTime:{}ms",
+                    getResponseCount(), getFailureCount(), getAverageResponseTime(), getMaxResponseTime());
+        }
+    }
 
+    private static class RequestFuture extends ChannelWriteFailListenableFuture<ResponseMessage> {
+
+        private final long requestTime = System.currentTimeMillis();
+
+        private RequestFuture(long timeoutMillis) {
+            super(timeoutMillis);
+        }
+
+        private long getRequestTime() {
+            return requestTime;
+        }
     }
 
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.rpc.client;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Returns the given addresses in order, starting over after the last one.
+ */
+public class RoundRobinSocketAddressProvider implements SocketAddressProvider {
+
+    private final List<InetSocketAddress> addressList;
+    private final AtomicInteger index = new AtomicInteger();
+
+    public RoundRobinSocketAddressProvider(List<InetSocketAddress> addressList) {
+        if (addressList == null) {
+            throw new NullPointerException("addressList must not be null");
+        }
+        if (addressList.isEmpty()) {
+            throw new IllegalArgumentException("addressList must not be empty");
+        }
+        this.addressList = new ArrayList<InetSocketAddress>(addressList);
+    }
+
+    @Override
+    public InetSocketAddress resolve() {
+        final int next = index.getAndIncrement() & Integer.MAX_VALUE;
+        return addressList.get(next % addressList.size());
+    }
+
+    @Override
+    public String toString() {
+        return "RoundRobinSocketAddressProvider{addressList=" + addressList + '}';
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.rpc.packet;
 
+import org.jboss.netty.buffer.ChannelBuffer;
+
 /**
  * @author emeroad
  */
@@ -23,6 +25,9 @@ public abstract class BasicPacket implements Packet {
 
     protected byte[] payload;
 
+    // slice of the received frame. the byte[] payload is materialized only when asked for.
+    private ChannelBuffer payloadBuffer;
+
     protected BasicPacket() {
     }
 
@@ -33,12 +38,46 @@ public abstract class BasicPacket implements Packet {
         this.payload = payload;
     }
 
+    public BasicPacket(ChannelBuffer payloadBuffer) {
+        if (payloadBuffer == null) {
+            throw new NullPointerException("payloadBuffer");
+        }
+        this.payloadBuffer = payloadBuffer;
+    }
+
     public byte[] getPayload() {
+        if (payload == null && payloadBuffer != null) {
+            payload = PayloadPacket.toByteArray(payloadBuffer);
+        }
         return payload;
     }
 
     public void setPayload(byte[] payload) {
         this.payload = payload;
+        this.payloadBuffer = null;
+    }
+
+    /**
+     * returns the payload without copying it out of the received frame when possible.
+     */
+    public ChannelBuffer getPayloadBuffer() {
+        if (payloadBuffer != null) {
+            return payloadBuffer.duplicate();
+        }
+        if (payload == null) {
+            return null;
+        }
+        return PayloadPacket.wrapPayload(payload);
+    }
+
+    protected int getPayloadLength() {
+        if (payloadBuffer != null) {
+            return payloadBuffer.readableBytes();
+        }
+        if (payload == null) {
+            return -1;
+        }
+        return payload.length;
     }
 
 }
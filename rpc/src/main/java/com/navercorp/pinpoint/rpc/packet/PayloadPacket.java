@@ -49,6 +49,48 @@ public class PayloadPacket {
         return buffer.readBytes(payloadLength);
     }
 
+    /**
+     * same as {@link #readPayload(ChannelBuffer)} but returns a slice of the frame instead of a copy.
+     * safe with netty 3 since received buffers are never reused after they have been handed to the decoder.
+     */
+    public static ChannelBuffer readPayloadSlice(ChannelBuffer buffer) {
+        if (buffer.readableBytes() < 4) {
+            buffer.resetReaderIndex();
+            return null;
+        }
+
+        final int payloadLength = buffer.readInt();
+        if (payloadLength <= 0) {
+            return EMPTY_BUFFER;
+        }
+
+        if (buffer.readableBytes() < payloadLength) {
+            buffer.resetReaderIndex();
+            return null;
+        }
+        return buffer.readSlice(payloadLength);
+    }
+
+    public static ChannelBuffer wrapPayload(byte[] payload) {
+        if (payload.length == 0) {
+            return EMPTY_BUFFER;
+        }
+        return ChannelBuffers.wrappedBuffer(payload);
+    }
+
+    public static byte[] toByteArray(ChannelBuffer payload) {
+        final int length = payload.readableBytes();
+        if (payload.hasArray()) {
+            final byte[] array = payload.array();
+            if (payload.arrayOffset() == 0 && payload.readerIndex() == 0 && array.length == length) {
+                return array;
+            }
+        }
+        final byte[] bytes = new byte[length];
+        payload.getBytes(payload.readerIndex(), bytes);
+        return bytes;
+    }
+
 
     public static ChannelBuffer appendPayload(final ChannelBuffer header, final byte[] payload) {
         if (payload == null) {
@@ -38,6 +38,11 @@ public class RequestPacket extends BasicPacket {
         this.requestId = requestId;
     }
 
+    public RequestPacket(int requestId, ChannelBuffer payloadBuffer) {
+        super(payloadBuffer);
+        this.requestId = requestId;
+    }
+
     public int getRequestId() {
         return requestId;
     }
@@ -59,7 +64,7 @@ public class RequestPacket extends BasicPacket {
         header.writeInt(requestId);
 
 
-        return PayloadPacket.appendPayload(header, payload);
+        return PayloadPacket.appendPayload(header, getPayload());
 
     }
 
@@ -73,13 +78,11 @@ public class RequestPacket extends BasicPacket {
         }
 
         final int messageId = buffer.readInt();
-        final ChannelBuffer payload = PayloadPacket.readPayload(buffer);
+        final ChannelBuffer payload = PayloadPacket.readPayloadSlice(buffer);
         if (payload == null) {
             return null;
         }
-        final RequestPacket requestPacket = new RequestPacket(payload.array());
-        requestPacket.setRequestId(messageId);
-        return requestPacket;
+        return new RequestPacket(messageId, payload);
     }
 
     @Override
@@ -88,10 +91,11 @@ public class RequestPacket extends BasicPacket {
         sb.append("RequestPacket");
         sb.append("{requestId=").append(requestId);
         sb.append(", ");
-        if (payload == null) {
+        final int payloadLength = getPayloadLength();
+        if (payloadLength == -1) {
             sb.append("payload=null");
         } else {
-            sb.append("payloadLength=").append(payload.length);
+            sb.append("payloadLength=").append(payloadLength);
         }
         sb.append('}');
         return sb.toString();
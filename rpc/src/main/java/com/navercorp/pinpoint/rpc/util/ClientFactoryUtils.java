@@ -19,10 +19,13 @@ package com.navercorp.pinpoint.rpc.util;
 import com.navercorp.pinpoint.rpc.PinpointSocketException;
 import com.navercorp.pinpoint.rpc.client.PinpointClient;
 import com.navercorp.pinpoint.rpc.client.PinpointClientFactory;
+import com.navercorp.pinpoint.rpc.client.RoundRobinSocketAddressProvider;
+import com.navercorp.pinpoint.rpc.client.SocketAddressProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 
 /**
  * @author Taejin Koo
@@ -53,4 +56,30 @@ public final class ClientFactoryUtils {
         return pinpointClient;
     }
 
+    /**
+     * Connects to the first reachable address. If none of them is reachable, keeps reconnecting in the background.
+     * Every reconnect, in the background or after a disconnection, moves on to the next address of the list.
+     */
+    public static PinpointClient createPinpointClient(List<InetSocketAddress> connectAddressList, PinpointClientFactory clientFactory) {
+        if (connectAddressList == null || connectAddressList.isEmpty()) {
+            throw new IllegalArgumentException("connectAddressList must not be empty");
+        }
+        if (connectAddressList.size() == 1) {
+            return createPinpointClient(connectAddressList.get(0), clientFactory);
+        }
+        final SocketAddressProvider socketAddressProvider = new RoundRobinSocketAddressProvider(connectAddressList);
+        for (int i = 0; i < connectAddressList.size(); i++) {
+            try {
+                PinpointClient pinpointClient = clientFactory.connect(socketAddressProvider);
+                LOGGER.info("tcp connect success. remote:{}", pinpointClient.getRemoteAddress());
+                return pinpointClient;
+            } catch (PinpointSocketException e) {
+                LOGGER.warn("tcp connect fail. remote:{} try next candidate", connectAddressList.get(i));
+            }
+        }
+        // all candidates failed, so the provider is back at the first one.
+        LOGGER.warn("change background tcp connect mode remote:{} ", connectAddressList);
+        return clientFactory.scheduledConnect(socketAddressProvider);
+    }
+
 }
@@ -33,6 +33,8 @@ import org.springframework.util.SocketUtils;
 import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 
@@ -107,6 +109,34 @@ public class ReconnectTest {
         Assert.assertTrue(reconnectPerformed.get());
     }
     
+    @Test
+    public void reconnectToNextAddress() throws IOException, InterruptedException {
+        int nextBindPort = SocketUtils.findAvailableTcpPort(bindPort + 1);
+        PinpointServerAcceptor serverAcceptor = PinpointRPCTestUtils.createPinpointServerFactory(bindPort, SimpleServerMessageListener.DUPLEX_ECHO_INSTANCE);
+        PinpointServerAcceptor nextServerAcceptor = PinpointRPCTestUtils.createPinpointServerFactory(nextBindPort, SimpleServerMessageListener.DUPLEX_ECHO_INSTANCE);
+
+        InetSocketAddress address = new InetSocketAddress("localhost", bindPort);
+        InetSocketAddress nextAddress = new InetSocketAddress("localhost", nextBindPort);
+        try {
+            PinpointClient client = clientFactory.connect(new RoundRobinSocketAddressProvider(Arrays.asList(address, nextAddress)));
+            Assert.assertEquals(address, client.getRemoteAddress());
+
+            PinpointRPCTestUtils.close(serverAcceptor);
+            logger.debug("server.close");
+            assertClientDisconnected(client);
+            assertClientConnected(client);
+            Assert.assertEquals(nextAddress, client.getRemoteAddress());
+
+            byte[] randomByte = TestByteUtils.createRandomByte(10);
+            byte[] response = PinpointRPCTestUtils.request(client, randomByte);
+            Assert.assertArrayEquals(randomByte, response);
+
+            PinpointRPCTestUtils.close(client);
+        } finally {
+            PinpointRPCTestUtils.close(nextServerAcceptor);
+        }
+    }
+
     // it takes very long time. 
     // @Test
     @Ignore
@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.rpc.Future;
 import com.navercorp.pinpoint.rpc.TestAwaitTaskUtils;
 import com.navercorp.pinpoint.rpc.TestAwaitUtils;
 import com.navercorp.pinpoint.rpc.packet.RequestPacket;
+import com.navercorp.pinpoint.rpc.packet.ResponsePacket;
 import org.jboss.netty.util.HashedWheelTimer;
 import org.junit.Assert;
 import org.junit.Test;
@@ -80,6 +81,31 @@ public class RequestManagerTest {
 
     }
 
+    @Test
+    public void testStatistics() throws Exception {
+        HashedWheelTimer timer = getTimer();
+        RequestManager requestManager = new RequestManager(timer, 3000);
+        try {
+            RequestPacket packet1 = new RequestPacket(new byte[0]);
+            Future future1 = requestManager.register(packet1, 2000);
+            RequestPacket packet2 = new RequestPacket(new byte[0]);
+            DefaultFuture future2 = requestManager.register(packet2, 2000);
+            Assert.assertEquals(2, requestManager.getPendingRequestCount());
+
+            requestManager.messageReceived(new ResponsePacket(packet1.getRequestId(), new byte[0]), "test");
+            Assert.assertTrue(future1.isSuccess());
+            future2.setFailure(new RuntimeException());
+
+            Assert.assertEquals(0, requestManager.getPendingRequestCount());
+            Assert.assertEquals(1, requestManager.getResponseCount());
+            Assert.assertEquals(1, requestManager.getFailureCount());
+            Assert.assertTrue(requestManager.getMaxResponseTime() >= requestManager.getAverageResponseTime());
+        } finally {
+            requestManager.close();
+            timer.stop();
+        }
+    }
+
     private HashedWheelTimer getTimer() {
         return new HashedWheelTimer(10, TimeUnit.MICROSECONDS);
     }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.rpc.packet;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SendPacketTest {
+
+    @Test
+    public void testReadBuffer() throws Exception {
+        byte[] payload1 = new byte[] {1, 2, 3, 4};
+        byte[] payload2 = new byte[] {5, 6, 7};
+
+        ChannelBuffer frame = ChannelBuffers.dynamicBuffer();
+        frame.writeBytes(new SendPacket(payload1).toBuffer());
+        frame.writeBytes(new SendPacket(payload2).toBuffer());
+
+        SendPacket packet1 = readSendPacket(frame);
+        SendPacket packet2 = readSendPacket(frame);
+        Assert.assertFalse(frame.readable());
+
+        // decoded payloads are views of the received frame
+        Assert.assertSame(frame.array(), packet1.getPayloadBuffer().array());
+        Assert.assertSame(frame.array(), packet2.getPayloadBuffer().array());
+
+        Assert.assertArrayEquals(payload1, packet1.getPayload());
+        Assert.assertArrayEquals(payload2, packet2.getPayload());
+        Assert.assertEquals("SendPacket{payloadLength=4}", packet1.toString());
+    }
+
+    @Test
+    public void testIncompleteFrame() throws Exception {
+        ChannelBuffer buffer = new SendPacket(new byte[] {1, 2, 3, 4}).toBuffer();
+        ChannelBuffer frame = ChannelBuffers.copiedBuffer(buffer.slice(0, buffer.readableBytes() - 1));
+
+        frame.markReaderIndex();
+        Assert.assertEquals(PacketType.APPLICATION_SEND, frame.readShort());
+        Assert.assertNull(SendPacket.readBuffer(PacketType.APPLICATION_SEND, frame));
+        Assert.assertEquals(0, frame.readerIndex());
+    }
+
+    @Test
+    public void testPayloadBuffer() throws Exception {
+        byte[] payload = new byte[] {1, 2, 3};
+        SendPacket packet = new SendPacket(payload);
+        Assert.assertSame(payload, packet.getPayload());
+
+        ChannelBuffer payloadBuffer = packet.getPayloadBuffer();
+        Assert.assertEquals(3, payloadBuffer.readableBytes());
+        Assert.assertSame(payload, payloadBuffer.array());
+    }
+
+    @Test
+    public void testRequestPacket() throws Exception {
+        byte[] payload = new byte[] {9, 8, 7};
+        ChannelBuffer frame = new RequestPacket(10, payload).toBuffer();
+
+        Assert.assertEquals(PacketType.APPLICATION_REQUEST, frame.readShort());
+        RequestPacket requestPacket = RequestPacket.readBuffer(PacketType.APPLICATION_REQUEST, frame);
+        Assert.assertEquals(10, requestPacket.getRequestId());
+        Assert.assertArrayEquals(payload, requestPacket.getPayload());
+    }
+
+    private SendPacket readSendPacket(ChannelBuffer frame) {
+        frame.markReaderIndex();
+        Assert.assertEquals(PacketType.APPLICATION_SEND, frame.readShort());
+        return (SendPacket) SendPacket.readBuffer(PacketType.APPLICATION_SEND, frame);
+    }
+}
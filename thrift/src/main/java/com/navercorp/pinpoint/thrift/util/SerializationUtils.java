@@ -83,6 +83,13 @@ public final class SerializationUtils {
         return deserializer.deserialize(objectData);
     }
 
+    public static TBase deserialize(byte[] objectData, int offset, int length, DeserializerFactory<HeaderTBaseDeserializer> factory) throws TException {
+        assertNotNull(objectData, "TBase may note be null.");
+        assertNotNull(factory, "DeserializerFactory may note be null.");
+
+        return factory.createDeserializer().deserialize(objectData, offset, length);
+    }
+
     public static TBase deserialize(byte[] objectData, DeserializerFactory<HeaderTBaseDeserializer> factory, TBase defaultValue) {
         try {
             return deserialize(objectData, factory);
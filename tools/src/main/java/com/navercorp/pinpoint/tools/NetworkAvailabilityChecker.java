@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.tools;
 
 import com.navercorp.pinpoint.bootstrap.config.DefaultProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.sender.CollectorHashRing;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
 import com.navercorp.pinpoint.thrift.io.NetworkAvailabilityCheckPacket;
@@ -30,6 +31,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * 
@@ -75,29 +77,36 @@ public class NetworkAvailabilityChecker {
         }
     }
 
+    // the collector ip may be a comma separated list of weighted hosts. Every host is checked.
     private static void checkUDPStat(ProfilerConfig profilerConfig) throws Exception {
-        String ip = profilerConfig.getCollectorStatServerIp();
+        List<String> ipList = CollectorHashRing.parseHostNames(profilerConfig.getCollectorStatServerIp());
         int port = profilerConfig.getCollectorStatServerPort();
 
-        NetworkChecker checker = new UDPChecker("UDP-STAT", ip, port);
-        checker.check(getNetworkCheckPayload(), getNetworkCheckResponsePayload());
+        for (String ip : ipList) {
+            NetworkChecker checker = new UDPChecker("UDP-STAT", ip, port);
+            checker.check(getNetworkCheckPayload(), getNetworkCheckResponsePayload());
+        }
     }
 
 
     private static void checkUDPSpan(ProfilerConfig profilerConfig) throws Exception {
-        String ip = profilerConfig.getCollectorSpanServerIp();
+        List<String> ipList = CollectorHashRing.parseHostNames(profilerConfig.getCollectorSpanServerIp());
         int port = profilerConfig.getCollectorSpanServerPort();
 
-        NetworkChecker checker = new UDPChecker("UDP-SPAN", ip, port);
-        checker.check(getNetworkCheckPayload(), getNetworkCheckResponsePayload());
+        for (String ip : ipList) {
+            NetworkChecker checker = new UDPChecker("UDP-SPAN", ip, port);
+            checker.check(getNetworkCheckPayload(), getNetworkCheckResponsePayload());
+        }
     }
 
     private static void checkTCP(ProfilerConfig profilerConfig) throws Exception {
-        String ip = profilerConfig.getCollectorTcpServerIp();
+        List<String> ipList = CollectorHashRing.parseHostNames(profilerConfig.getCollectorTcpServerIp());
         int port = profilerConfig.getCollectorTcpServerPort();
 
-        NetworkChecker checker = new TCPChecker("TCP", ip, port);
-        checker.check();
+        for (String ip : ipList) {
+            NetworkChecker checker = new TCPChecker("TCP", ip, port);
+            checker.check();
+        }
     }
 
     private static byte[] getNetworkCheckPayload() throws TException {
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.controller;
+
+import com.navercorp.pinpoint.web.service.stat.AgentStatChartListService;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.util.TimeWindowSampler;
+import com.navercorp.pinpoint.web.util.TimeWindowSlotCentricSampler;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.navercorp.pinpoint.web.vo.stat.chart.StatChart;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Returns the inspector charts of an agent in one request instead of one request per stat type.
+ */
+@Controller
+@RequestMapping("/getAgentStat/charts")
+public class AgentStatChartListController {
+
+    private final AgentStatChartListService agentStatChartListService;
+
+    @Autowired
+    public AgentStatChartListController(AgentStatChartListService agentStatChartListService) {
+        this.agentStatChartListService = agentStatChartListService;
+    }
+
+    @PreAuthorize("hasPermission(new com.navercorp.pinpoint.web.vo.AgentParam(#agentId, #to), 'agentParam', 'inspector')")
+    @RequestMapping(method = RequestMethod.GET)
+    @ResponseBody
+    public Map<String, List<StatChart>> getAgentStatChartList(
+            @RequestParam("agentId") String agentId,
+            @RequestParam("from") long from,
+            @RequestParam("to") long to,
+            @RequestParam(value = "statNames", required = false) List<String> statNames) {
+        TimeWindowSampler sampler = new TimeWindowSlotCentricSampler();
+        TimeWindow timeWindow = new TimeWindow(new Range(from, to), sampler);
+        return agentStatChartListService.selectAgentChartList(agentId, timeWindow, getStatNames(statNames));
+    }
+
+    @PreAuthorize("hasPermission(new com.navercorp.pinpoint.web.vo.AgentParam(#agentId, #to), 'agentParam', 'inspector')")
+    @RequestMapping(method = RequestMethod.GET, params = {"interval"})
+    @ResponseBody
+    public Map<String, List<StatChart>> getAgentStatChartList(
+            @RequestParam("agentId") String agentId,
+            @RequestParam("from") long from,
+            @RequestParam("to") long to,
+            @RequestParam("interval") Integer interval,
+            @RequestParam(value = "statNames", required = false) List<String> statNames) {
+        final int minSamplingInterval = 5;
+        final long intervalMs = interval < minSamplingInterval ? minSamplingInterval * 1000L : interval * 1000L;
+        TimeWindowSampler sampler = new TimeWindowSampler() {
+            @Override
+            public long getWindowSize(Range range) {
+                return intervalMs;
+            }
+        };
+        TimeWindow timeWindow = new TimeWindow(new Range(from, to), sampler);
+        return agentStatChartListService.selectAgentChartList(agentId, timeWindow, getStatNames(statNames));
+    }
+
+    private Collection<String> getStatNames(List<String> statNames) {
+        if (statNames == null || statNames.isEmpty()) {
+            return agentStatChartListService.getStatNames();
+        }
+        return statNames;
+    }
+}
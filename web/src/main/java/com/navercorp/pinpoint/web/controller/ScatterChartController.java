@@ -30,21 +30,26 @@ import com.navercorp.pinpoint.web.view.ServerTime;
 import com.navercorp.pinpoint.web.view.TransactionMetaDataViewModel;
 import com.navercorp.pinpoint.web.vo.LimitedScanResult;
 import com.navercorp.pinpoint.web.vo.Range;
+import com.navercorp.pinpoint.web.vo.TraceIndexType;
 import com.navercorp.pinpoint.web.vo.TransactionMetadataQuery;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StopWatch;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.servlet.ModelAndView;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -134,6 +139,7 @@ public class ScatterChartController {
      * @param to
      * @param limit           max number of data return. if the requested data exceed this limit, we need additional calls to
      *                        fetch the rest of the data
+     * @param indexTypeText   ALL(default), ERROR or SLOW. ERROR and SLOW read the collector's filter index table
      * @return
      */
     @RequestMapping(value = "/getScatterData", method = RequestMethod.GET)
@@ -146,6 +152,7 @@ public class ScatterChartController {
             @RequestParam("limit") int limit,
             @RequestParam(value = "backwardDirection", required = false, defaultValue = "true") boolean backwardDirection,
             @RequestParam(value = "filter", required = false) String filterText,
+            @RequestParam(value = "indexType", required = false) String indexTypeText,
             @RequestParam(value = "_callback", required = false) String jsonpCallback,
             @RequestParam(value = "v", required = false, defaultValue = "1") int version) {
         if (xGroupUnit <= 0) {
@@ -156,19 +163,20 @@ public class ScatterChartController {
         }
 
         limit = LimitUtils.checkRange(limit);
+        final TraceIndexType indexType = TraceIndexType.parse(indexTypeText);
 
         StopWatch watch = new StopWatch();
         watch.start("getScatterData");
 
         // TODO range check verification exception occurs. "from" is bigger than "to"
         final Range range = Range.createUncheckedRange(from, to);
-        logger.debug("fetch scatter data. RANGE={}, X-Group-Unit:{}, Y-Group-Unit:{}, LIMIT={}, BACKWARD_DIRECTION:{}, FILTER:{}", range, xGroupUnit, yGroupUnit, limit, backwardDirection, filterText);
+        logger.debug("fetch scatter data. RANGE={}, X-Group-Unit:{}, Y-Group-Unit:{}, LIMIT={}, BACKWARD_DIRECTION:{}, FILTER:{}, INDEX_TYPE:{}", range, xGroupUnit, yGroupUnit, limit, backwardDirection, filterText, indexType);
 
         ModelAndView mv = null;
         if (StringUtils.isEmpty(filterText)) {
-            mv = selectScatterData(applicationName, range, xGroupUnit, Math.max(yGroupUnit, 1), limit, backwardDirection, version);
+            mv = selectScatterData(applicationName, range, xGroupUnit, Math.max(yGroupUnit, 1), limit, backwardDirection, indexType, version);
         } else {
-            mv = selectFilterScatterData(applicationName, range, xGroupUnit, Math.max(yGroupUnit, 1), limit, backwardDirection, filterText, version);
+            mv = selectFilterScatterData(applicationName, range, xGroupUnit, Math.max(yGroupUnit, 1), limit, backwardDirection, indexType, filterText, version);
         }
 
         if (jsonpCallback == null) {
@@ -184,10 +192,10 @@ public class ScatterChartController {
         return mv;
     }
 
-    private ModelAndView selectScatterData(String applicationName, Range range, int xGroupUnit, int yGroupUnit, int limit, boolean backwardDirection, int version) {
+    private ModelAndView selectScatterData(String applicationName, Range range, int xGroupUnit, int yGroupUnit, int limit, boolean backwardDirection, TraceIndexType indexType, int version) {
         ModelAndView mv = null;
         if (version == 1) {
-            final ScatterData scatterData = scatter.selectScatterData(applicationName, range, xGroupUnit, yGroupUnit, limit, backwardDirection);
+            final ScatterData scatterData = scatter.selectScatterData(applicationName, range, xGroupUnit, yGroupUnit, limit, backwardDirection, indexType);
             boolean requestComplete = scatterData.getDotSize() < limit;
 
             mv = createScatterDataV1(scatterData, requestComplete);
@@ -201,8 +209,8 @@ public class ScatterChartController {
         return mv;
     }
 
-    private ModelAndView selectFilterScatterData(String applicationName, Range range, int xGroupUnit, int yGroupUnit, int limit, boolean backwardDirection, String filterText, int version) {
-        final LimitedScanResult<List<TransactionId>> limitedScanResult = flow.selectTraceIdsFromApplicationTraceIndex(applicationName, range, limit, backwardDirection);
+    private ModelAndView selectFilterScatterData(String applicationName, Range range, int xGroupUnit, int yGroupUnit, int limit, boolean backwardDirection, TraceIndexType indexType, String filterText, int version) {
+        final LimitedScanResult<List<TransactionId>> limitedScanResult = flow.selectTraceIdsFromApplicationTraceIndex(applicationName, range, limit, backwardDirection, indexType);
 
         final List<TransactionId> transactionIdList = limitedScanResult.getScanData();
         logger.trace("submitted transactionId count={}", transactionIdList.size());
@@ -243,4 +251,21 @@ public class ScatterChartController {
         return mv;
     }
 
+    /**
+     * invalid request parameters(unknown indexType, negative group unit, ...) are client errors, not server failures
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ModelAndView handleIllegalArgumentException(IllegalArgumentException exception) {
+        logger.info("Invalid scatter chart request. message:{}", exception.getMessage());
+
+        Map<String, Object> exceptionMap = new HashMap<>();
+        exceptionMap.put("message", exception.getMessage());
+
+        ModelAndView mv = new ModelAndView();
+        mv.addObject("exception", exceptionMap);
+        mv.setViewName("jsonView");
+        return mv;
+    }
+
 }
@@ -33,4 +33,11 @@ public interface AgentInfoDao {
     AgentInfo getAgentInfo(String agentId, long timestamp);
 
     List<AgentInfo> getAgentInfos(List<String> agentIds, long timestamp);
+
+    /**
+     * Returns, for each given agent info, the latest agent info of the same agent started between the given agent
+     * info's start time and <tt>timestamp</tt>, considering only rows written at or after <tt>updatedSince</tt>.
+     * The result is in the same order as <tt>agentInfos</tt> and holds <tt>null</tt> where no such row exists.
+     */
+    List<AgentInfo> getUpdatedAgentInfos(List<AgentInfo> agentInfos, long updatedSince, long timestamp);
 }
@@ -20,6 +20,7 @@ import com.navercorp.pinpoint.web.vo.AgentInfo;
 import com.navercorp.pinpoint.web.vo.AgentStatus;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * @author HyunGil Jeong
@@ -32,4 +33,11 @@ public interface AgentLifeCycleDao {
 
     void populateAgentStatuses(Collection<AgentInfo> agentInfos, long timestamp);
 
+    /**
+     * Returns, for each given agent info, the most recent status before <tt>timestamp</tt>, considering only
+     * life cycle events written at or after <tt>updatedSince</tt>.
+     * The result is in the same order as <tt>agentInfos</tt> and holds <tt>null</tt> where no such event exists.
+     */
+    List<AgentStatus> getUpdatedAgentStatuses(List<AgentInfo> agentInfos, long updatedSince, long timestamp);
+
 }
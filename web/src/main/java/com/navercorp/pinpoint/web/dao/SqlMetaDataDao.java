@@ -17,12 +17,17 @@
 package com.navercorp.pinpoint.web.dao;
 
 import com.navercorp.pinpoint.common.server.bo.SqlMetaDataBo;
+import com.navercorp.pinpoint.web.vo.MetaDataKey;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author emeroad
  */
 public interface SqlMetaDataDao {
     List<SqlMetaDataBo> getSqlMetaData(String agentId, long time, int sqlId);
+
+    Map<MetaDataKey, List<SqlMetaDataBo>> getSqlMetaData(Collection<MetaDataKey> keys);
 }
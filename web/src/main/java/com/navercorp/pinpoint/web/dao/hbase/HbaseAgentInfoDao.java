@@ -30,6 +30,7 @@ import org.apache.hadoop.hbase.util.Bytes;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -118,6 +119,38 @@ public class HbaseAgentInfoDao implements AgentInfoDao {
         return this.hbaseOperations2.findParallel(HBaseTables.AGENTINFO, scans, agentInfoResultsExtractor);
     }
 
+    @Override
+    public List<AgentInfo> getUpdatedAgentInfos(List<AgentInfo> agentInfos, long updatedSince, long timestamp) {
+        if (CollectionUtils.isEmpty(agentInfos)) {
+            return Collections.emptyList();
+        }
+
+        List<Scan> scans = new ArrayList<>(agentInfos.size());
+        for (AgentInfo agentInfo : agentInfos) {
+            scans.add(createUpdatedScan(agentInfo, updatedSince, timestamp));
+        }
+
+        return this.hbaseOperations2.findParallel(HBaseTables.AGENTINFO, scans, agentInfoResultsExtractor);
+    }
+
+    private Scan createUpdatedScan(AgentInfo agentInfo, long updatedSince, long currentTime) {
+        Scan scan = createScan(agentInfo.getAgentId(), currentTime);
+
+        // startTimestamp is stored in reverse order, stop right after the given agent info's row
+        byte[] agentIdBytes = Bytes.toBytes(agentInfo.getAgentId());
+        long stopTime = TimeUtils.reverseTimeMillis(agentInfo.getStartTimestamp() - 1);
+        byte[] endKeyBytes = RowKeyUtils.concatFixedByteAndLong(agentIdBytes, HBaseTables.AGENT_NAME_MAX_LEN, stopTime);
+        scan.setStopRow(endKeyBytes);
+
+        // lets hbase skip store files holding only older rows
+        try {
+            scan.setTimeRange(updatedSince, Long.MAX_VALUE);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("invalid updatedSince:" + updatedSince, e);
+        }
+        return scan;
+    }
+
     private Scan createScan(String agentId, long currentTime) {
         Scan scan = new Scan();
 
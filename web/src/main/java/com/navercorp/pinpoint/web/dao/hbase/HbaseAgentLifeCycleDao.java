@@ -16,8 +16,10 @@
 
 package com.navercorp.pinpoint.web.dao.hbase;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import com.navercorp.pinpoint.common.server.util.AgentLifeCycleState;
@@ -110,6 +112,34 @@ public class HbaseAgentLifeCycleDao implements AgentLifeCycleDao {
         }
     }
 
+    @Override
+    public List<AgentStatus> getUpdatedAgentStatuses(List<AgentInfo> agentInfos, long updatedSince, long timestamp) {
+        if (CollectionUtils.isEmpty(agentInfos)) {
+            return Collections.emptyList();
+        }
+        Assert.isTrue(timestamp >= 0, "timestamp must not be less than 0");
+        List<Scan> scans = new ArrayList<>(agentInfos.size());
+        for (AgentInfo agentInfo : agentInfos) {
+            // startTimestamp is stored in reverse order
+            final long toTimestamp = agentInfo.getStartTimestamp();
+            final long fromTimestamp = toTimestamp - 1;
+            Scan scan = createScan(agentInfo.getAgentId(), fromTimestamp, toTimestamp);
+            // event rows are ordered by event identifier, not by time. let hbase skip the rows written before
+            try {
+                scan.setTimeRange(updatedSince, Long.MAX_VALUE);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("invalid updatedSince:" + updatedSince, e);
+            }
+            scans.add(scan);
+        }
+        List<AgentLifeCycleBo> agentLifeCycles = this.hbaseOperations2.findParallel(HBaseTables.AGENT_LIFECYCLE, scans, new MostRecentAgentLifeCycleResultsExtractor(this.agentLifeCycleMapper, timestamp));
+        List<AgentStatus> agentStatuses = new ArrayList<>(agentLifeCycles.size());
+        for (AgentLifeCycleBo agentLifeCycle : agentLifeCycles) {
+            agentStatuses.add(agentLifeCycle == null ? null : new AgentStatus(agentLifeCycle));
+        }
+        return agentStatuses;
+    }
+
     private Scan createScan(String agentId, long fromTimestamp, long toTimestamp) {
         byte[] agentIdBytes = Bytes.toBytes(agentId);
         long reverseFromTimestamp = TimeUtils.reverseTimeMillis(fromTimestamp);
@@ -16,13 +16,17 @@
 
 package com.navercorp.pinpoint.web.dao.hbase;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 
 import org.apache.hadoop.hbase.client.Get;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 
@@ -31,6 +35,7 @@ import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.web.dao.ApiMetaDataDao;
+import com.navercorp.pinpoint.web.vo.MetaDataKey;
 
 /**
  * @author emeroad
@@ -39,7 +44,8 @@ import com.navercorp.pinpoint.web.dao.ApiMetaDataDao;
 @Repository
 public class HbaseApiMetaDataDao implements ApiMetaDataDao {
     static final String SPEL_KEY = "#agentId.toString() + '.' + #time.toString() + '.' + #apiId.toString()";
-    
+    static final String CACHE_NAME = "apiMetaData";
+
     @Autowired
     private HbaseOperations2 hbaseOperations2;
 
@@ -51,8 +57,11 @@ public class HbaseApiMetaDataDao implements ApiMetaDataDao {
     @Qualifier("metadataRowKeyDistributor")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
     @Override
-    @Cacheable(value="apiMetaData", key=SPEL_KEY)
+    @Cacheable(value=CACHE_NAME, key=SPEL_KEY, unless="#result.isEmpty()")
     public List<ApiMetaDataBo> getApiMetaData(String agentId, long time, int apiId) {
         if (agentId == null) {
             throw new NullPointerException("agentId must not be null");
@@ -65,6 +74,20 @@ public class HbaseApiMetaDataDao implements ApiMetaDataDao {
         return hbaseOperations2.get(HBaseTables.API_METADATA, get, apiMetaDataMapper);
     }
 
+    @Override
+    public Map<MetaDataKey, List<ApiMetaDataBo>> getApiMetaData(Collection<MetaDataKey> keys) {
+        MetaDataBatchReader<ApiMetaDataBo> reader = new MetaDataBatchReader<>(hbaseOperations2, HBaseTables.API_METADATA, HBaseTables.API_METADATA_CF_API,
+                apiMetaDataMapper, rowKeyDistributorByHashPrefix, getCache());
+        return reader.get(keys);
+    }
+
+    private Cache getCache() {
+        if (cacheManager == null) {
+            return null;
+        }
+        return cacheManager.getCache(CACHE_NAME);
+    }
+
     private byte[] getDistributedKey(byte[] rowKey) {
         return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey);
     }
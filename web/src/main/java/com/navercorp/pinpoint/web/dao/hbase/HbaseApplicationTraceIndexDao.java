@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.web.dao.hbase;
 import com.navercorp.pinpoint.common.PinpointConstants;
 import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
 import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.hbase.HBaseAdminTemplate;
 import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.LimitEventHandler;
@@ -37,10 +38,12 @@ import com.navercorp.pinpoint.web.vo.LimitedScanResult;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.ResponseTimeRange;
 import com.navercorp.pinpoint.web.vo.SelectedScatterArea;
+import com.navercorp.pinpoint.web.vo.TraceIndexType;
 import com.navercorp.pinpoint.web.vo.scatter.Dot;
 import com.sematext.hbase.wd.AbstractRowKeyDistributor;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.Scan;
@@ -57,6 +60,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
+import javax.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -86,14 +90,33 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
     @Qualifier("applicationTraceIndexDistributor")
     private AbstractRowKeyDistributor traceIdRowKeyDistributor;
 
+    @Autowired
+    private HBaseAdminTemplate adminTemplate;
+
     private int scanCacheSize = 256;
 
+    private boolean filterIndexTableExists;
+
     public void setScanCacheSize(int scanCacheSize) {
         this.scanCacheSize = scanCacheSize;
     }
 
+    @PostConstruct
+    public void checkFilterIndexTable() {
+        final TableName filterIndexTableName = HBaseTables.APPLICATION_TRACE_FILTER_INDEX;
+        this.filterIndexTableExists = adminTemplate.tableExists(filterIndexTableName);
+        if (!filterIndexTableExists) {
+            logger.warn("{} table does not exist, ERROR and SLOW index scans fall back to {}", filterIndexTableName, HBaseTables.APPLICATION_TRACE_INDEX);
+        }
+    }
+
     @Override
     public LimitedScanResult<List<TransactionId>> scanTraceIndex(final String applicationName, Range range, int limit, boolean scanBackward) {
+        return scanTraceIndex(applicationName, range, limit, scanBackward, TraceIndexType.ALL);
+    }
+
+    @Override
+    public LimitedScanResult<List<TransactionId>> scanTraceIndex(final String applicationName, Range range, int limit, boolean scanBackward, TraceIndexType indexType) {
         if (applicationName == null) {
             throw new NullPointerException("applicationName must not be null");
         }
@@ -103,12 +126,16 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
         if (limit < 0) {
             throw new IllegalArgumentException("negative limit:" + limit);
         }
-        logger.debug("scanTraceIndex");
-        Scan scan = createScan(applicationName, range, scanBackward);
+        if (indexType == null) {
+            throw new NullPointerException("indexType must not be null");
+        }
+        indexType = resolveIndexType(indexType);
+        logger.debug("scanTraceIndex indexType:{}", indexType);
+        Scan scan = createScan(applicationName, range, scanBackward, indexType);
 
         final LimitedScanResult<List<TransactionId>> limitedScanResult = new LimitedScanResult<>();
         LastRowAccessor lastRowAccessor = new LastRowAccessor();
-        List<List<TransactionId>> traceIndexList = hbaseOperations2.findParallel(HBaseTables.APPLICATION_TRACE_INDEX,
+        List<List<TransactionId>> traceIndexList = hbaseOperations2.findParallel(getTableName(indexType),
                 scan, traceIdRowKeyDistributor, limit, traceIndexMapper, lastRowAccessor, APPLICATION_TRACE_INDEX_NUM_PARTITIONS);
 
         List<TransactionId> transactionIdSum = new ArrayList<>(128);
@@ -135,6 +162,11 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
 
     @Override
     public LimitedScanResult<List<TransactionId>> scanTraceIndex(final String applicationName, SelectedScatterArea area, int limit) {
+        return scanTraceIndex(applicationName, area, limit, TraceIndexType.ALL);
+    }
+
+    @Override
+    public LimitedScanResult<List<TransactionId>> scanTraceIndex(final String applicationName, SelectedScatterArea area, int limit, TraceIndexType indexType) {
         if (applicationName == null) {
             throw new NullPointerException("applicationName must not be null");
         }
@@ -144,12 +176,16 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
         if (limit < 0) {
             throw new IllegalArgumentException("negative limit:" + limit);
         }
-        logger.debug("scanTraceIndex");
-        Scan scan = createScan(applicationName, area.getTimeRange());
+        if (indexType == null) {
+            throw new NullPointerException("indexType must not be null");
+        }
+        indexType = resolveIndexType(indexType);
+        logger.debug("scanTraceIndex indexType:{}", indexType);
+        Scan scan = createScan(applicationName, area.getTimeRange(), true, indexType);
 
         final LimitedScanResult<List<TransactionId>> limitedScanResult = new LimitedScanResult<>();
         LastRowAccessor lastRowAccessor = new LastRowAccessor();
-        List<List<TransactionId>> traceIndexList = hbaseOperations2.findParallel(HBaseTables.APPLICATION_TRACE_INDEX,
+        List<List<TransactionId>> traceIndexList = hbaseOperations2.findParallel(getTableName(indexType),
                 scan, traceIdRowKeyDistributor, limit, traceIndexMapper, lastRowAccessor, APPLICATION_TRACE_INDEX_NUM_PARTITIONS);
 
         List<TransactionId> transactionIdSum = new ArrayList<>(128);
@@ -214,11 +250,33 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
         }
     }
 
-    private Scan createScan(String applicationName, Range range) {
-        return createScan(applicationName, range, true);
+    private TraceIndexType resolveIndexType(TraceIndexType indexType) {
+        if (indexType != TraceIndexType.ALL && !filterIndexTableExists) {
+            logger.debug("{} table does not exist, fall back to ALL index", HBaseTables.APPLICATION_TRACE_FILTER_INDEX);
+            return TraceIndexType.ALL;
+        }
+        return indexType;
     }
 
-    private Scan createScan(String applicationName, Range range, boolean scanBackward) {
+    private TableName getTableName(TraceIndexType indexType) {
+        if (indexType == TraceIndexType.ALL) {
+            return HBaseTables.APPLICATION_TRACE_INDEX;
+        }
+        return HBaseTables.APPLICATION_TRACE_FILTER_INDEX;
+    }
+
+    private byte[] getFamily(TraceIndexType indexType) {
+        switch (indexType) {
+            case ERROR:
+                return HBaseTables.APPLICATION_TRACE_FILTER_INDEX_CF_ERROR;
+            case SLOW:
+                return HBaseTables.APPLICATION_TRACE_FILTER_INDEX_CF_SLOW;
+            default:
+                return HBaseTables.APPLICATION_TRACE_INDEX_CF_TRACE;
+        }
+    }
+
+    private Scan createScan(String applicationName, Range range, boolean scanBackward, TraceIndexType indexType) {
         Scan scan = new Scan();
         scan.setCaching(this.scanCacheSize);
 
@@ -236,7 +294,7 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
             scan.setStopRow(traceIndexEndKey);
         }
 
-        scan.addFamily(HBaseTables.APPLICATION_TRACE_INDEX_CF_TRACE);
+        scan.addFamily(getFamily(indexType));
         scan.setId("ApplicationTraceIndexScan");
 
         // toString() method of Scan converts a message to json format so it is slow for the first time.
@@ -249,6 +307,11 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
      */
     @Override
     public List<Dot> scanTraceScatter(String applicationName, SelectedScatterArea area, TransactionId offsetTransactionId, int offsetTransactionElapsed, int limit) {
+        return scanTraceScatter(applicationName, area, offsetTransactionId, offsetTransactionElapsed, limit, TraceIndexType.ALL);
+    }
+
+    @Override
+    public List<Dot> scanTraceScatter(String applicationName, SelectedScatterArea area, TransactionId offsetTransactionId, int offsetTransactionElapsed, int limit, TraceIndexType indexType) {
         if (applicationName == null) {
             throw new NullPointerException("applicationName must not be null");
         }
@@ -258,8 +321,12 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
         if (limit < 0) {
             throw new IllegalArgumentException("negative limit:" + limit);
         }
-        logger.debug("scanTraceScatter");
-        Scan scan = createScan(applicationName, area.getTimeRange());
+        if (indexType == null) {
+            throw new NullPointerException("indexType must not be null");
+        }
+        indexType = resolveIndexType(indexType);
+        logger.debug("scanTraceScatter indexType:{}", indexType);
+        Scan scan = createScan(applicationName, area.getTimeRange(), true, indexType);
 
         // method 1
         // not used yet. instead, use another row mapper (testing)
@@ -269,7 +336,7 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
         ResponseTimeRange responseTimeRange = area.getResponseTimeRange();
         TraceIndexScatterMapper2 mapper = new TraceIndexScatterMapper2(responseTimeRange.getFrom(), responseTimeRange.getTo());
 
-        List<List<Dot>> dotListList = hbaseOperations2.findParallel(HBaseTables.APPLICATION_TRACE_INDEX, scan, traceIdRowKeyDistributor, limit, mapper, APPLICATION_TRACE_INDEX_NUM_PARTITIONS);
+        List<List<Dot>> dotListList = hbaseOperations2.findParallel(getTableName(indexType), scan, traceIdRowKeyDistributor, limit, mapper, APPLICATION_TRACE_INDEX_NUM_PARTITIONS);
 
         List<Dot> result = new ArrayList<>();
         for(List<Dot> dotList : dotListList) {
@@ -281,6 +348,11 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
 
     @Override
     public ScatterData scanTraceScatterData(String applicationName, Range range, int xGroupUnit, int yGroupUnit, int limit, boolean scanBackward) {
+        return scanTraceScatterData(applicationName, range, xGroupUnit, yGroupUnit, limit, scanBackward, TraceIndexType.ALL);
+    }
+
+    @Override
+    public ScatterData scanTraceScatterData(String applicationName, Range range, int xGroupUnit, int yGroupUnit, int limit, boolean scanBackward, TraceIndexType indexType) {
         if (applicationName == null) {
             throw new NullPointerException("applicationName must not be null");
         }
@@ -290,11 +362,15 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
         if (limit < 0) {
             throw new IllegalArgumentException("negative limit:" + limit);
         }
-        logger.debug("scanTraceScatterDataMadeOfDotGroup");
-        Scan scan = createScan(applicationName, range, scanBackward);
+        if (indexType == null) {
+            throw new NullPointerException("indexType must not be null");
+        }
+        indexType = resolveIndexType(indexType);
+        logger.debug("scanTraceScatterDataMadeOfDotGroup indexType:{}", indexType);
+        Scan scan = createScan(applicationName, range, scanBackward, indexType);
 
         TraceIndexScatterMapper3 mapper = new TraceIndexScatterMapper3(range.getFrom(), range.getTo(), xGroupUnit, yGroupUnit);
-        List<ScatterData> dotGroupList = hbaseOperations2.findParallel(HBaseTables.APPLICATION_TRACE_INDEX, scan, traceIdRowKeyDistributor, limit, mapper, APPLICATION_TRACE_INDEX_NUM_PARTITIONS);
+        List<ScatterData> dotGroupList = hbaseOperations2.findParallel(getTableName(indexType), scan, traceIdRowKeyDistributor, limit, mapper, APPLICATION_TRACE_INDEX_NUM_PARTITIONS);
 
         if (CollectionUtils.isEmpty(dotGroupList)) {
             return new ScatterData(range.getFrom(), range.getTo(), xGroupUnit, yGroupUnit);
@@ -16,18 +16,24 @@
 
 package com.navercorp.pinpoint.web.dao.hbase;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 
 import org.apache.hadoop.hbase.client.Get;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 
 import com.navercorp.pinpoint.common.server.bo.SqlMetaDataBo;
 import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.web.dao.SqlMetaDataDao;
+import com.navercorp.pinpoint.web.vo.MetaDataKey;
 
 /**
  * @author emeroad
@@ -35,6 +41,8 @@ import com.navercorp.pinpoint.web.dao.SqlMetaDataDao;
  */
 //@Repository
 public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
+    static final String SPEL_KEY = "#agentId.toString() + '.' + #time.toString() + '.' + #sqlId.toString()";
+    static final String CACHE_NAME = "sqlMetaData";
 
     @Autowired
     private HbaseOperations2 hbaseOperations2;
@@ -47,7 +55,11 @@ public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
 //    @Qualifier("metadataRowKeyDistributor2")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
     @Override
+    @Cacheable(value=CACHE_NAME, key=SPEL_KEY, unless="#result.isEmpty()")
     public List<SqlMetaDataBo> getSqlMetaData(String agentId, long time, int sqlId) {
         if (agentId == null) {
             throw new NullPointerException("agentId must not be null");
@@ -62,6 +74,20 @@ public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
         return hbaseOperations2.get(HBaseTables.SQL_METADATA_VER2, get, sqlMetaDataMapper);
     }
 
+    @Override
+    public Map<MetaDataKey, List<SqlMetaDataBo>> getSqlMetaData(Collection<MetaDataKey> keys) {
+        MetaDataBatchReader<SqlMetaDataBo> reader = new MetaDataBatchReader<>(hbaseOperations2, HBaseTables.SQL_METADATA_VER2, HBaseTables.SQL_METADATA_VER2_CF_SQL,
+                sqlMetaDataMapper, rowKeyDistributorByHashPrefix, getCache());
+        return reader.get(keys);
+    }
+
+    private Cache getCache() {
+        if (cacheManager == null) {
+            return null;
+        }
+        return cacheManager.getCache(CACHE_NAME);
+    }
+
     private byte[] getDistributedKey(byte[] rowKey) {
         return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey);
     }
@@ -21,20 +21,28 @@ import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.web.dao.StringMetaDataDao;
+import com.navercorp.pinpoint.web.vo.MetaDataKey;
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 
 import org.apache.hadoop.hbase.client.Get;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author emeroad
  */
 @Repository
 public class HbaseStringMetaDataDao implements StringMetaDataDao {
+    static final String SPEL_KEY = "#agentId.toString() + '.' + #time.toString() + '.' + #stringId.toString()";
+    static final String CACHE_NAME = "stringMetaData";
 
     @Autowired
     private HbaseOperations2 hbaseOperations2;
@@ -47,7 +55,11 @@ public class HbaseStringMetaDataDao implements StringMetaDataDao {
     @Qualifier("metadataRowKeyDistributor")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
     @Override
+    @Cacheable(value=CACHE_NAME, key=SPEL_KEY, unless="#result.isEmpty()")
     public List<StringMetaDataBo> getStringMetaData(String agentId, long time, int stringId) {
         if (agentId == null) {
             throw new NullPointerException("agentId must not be null");
@@ -62,6 +74,20 @@ public class HbaseStringMetaDataDao implements StringMetaDataDao {
         return hbaseOperations2.get(HBaseTables.STRING_METADATA, get, stringMetaDataMapper);
     }
 
+    @Override
+    public Map<MetaDataKey, List<StringMetaDataBo>> getStringMetaData(Collection<MetaDataKey> keys) {
+        MetaDataBatchReader<StringMetaDataBo> reader = new MetaDataBatchReader<>(hbaseOperations2, HBaseTables.STRING_METADATA, HBaseTables.STRING_METADATA_CF_STR,
+                stringMetaDataMapper, rowKeyDistributorByHashPrefix, getCache());
+        return reader.get(keys);
+    }
+
+    private Cache getCache() {
+        if (cacheManager == null) {
+            return null;
+        }
+        return cacheManager.getCache(CACHE_NAME);
+    }
+
     private byte[] getDistributedKey(byte[] rowKey) {
         return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey);
     }
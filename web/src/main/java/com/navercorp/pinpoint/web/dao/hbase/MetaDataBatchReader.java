@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.server.util.RowKeyUtils;
+import com.navercorp.pinpoint.web.vo.MetaDataKey;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves metadata rows through the dao cache, fetching every miss with a single multi-get.
+ * <p>
+ * Metadata rows never change once written, so found rows are cached as is. Empty results are not cached
+ * because the agent may still be sending the metadata.
+ */
+class MetaDataBatchReader<T> {
+
+    private final HbaseOperations2 hbaseOperations2;
+    private final TableName tableName;
+    private final byte[] family;
+    private final RowMapper<List<T>> mapper;
+    private final RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
+    private final Cache cache;
+
+    MetaDataBatchReader(HbaseOperations2 hbaseOperations2, TableName tableName, byte[] family, RowMapper<List<T>> mapper,
+                        RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix, Cache cache) {
+        if (hbaseOperations2 == null) {
+            throw new NullPointerException("hbaseOperations2 must not be null");
+        }
+        if (tableName == null) {
+            throw new NullPointerException("tableName must not be null");
+        }
+        if (family == null) {
+            throw new NullPointerException("family must not be null");
+        }
+        if (mapper == null) {
+            throw new NullPointerException("mapper must not be null");
+        }
+        if (rowKeyDistributorByHashPrefix == null) {
+            throw new NullPointerException("rowKeyDistributorByHashPrefix must not be null");
+        }
+        this.hbaseOperations2 = hbaseOperations2;
+        this.tableName = tableName;
+        this.family = family;
+        this.mapper = mapper;
+        this.rowKeyDistributorByHashPrefix = rowKeyDistributorByHashPrefix;
+        // null if caching is not configured
+        this.cache = cache;
+    }
+
+    Map<MetaDataKey, List<T>> get(Collection<MetaDataKey> keys) {
+        if (keys == null) {
+            throw new NullPointerException("keys must not be null");
+        }
+        final Map<MetaDataKey, List<T>> result = new HashMap<>(keys.size());
+        final List<MetaDataKey> missKeys = new ArrayList<>();
+        for (MetaDataKey key : keys) {
+            if (result.containsKey(key)) {
+                continue;
+            }
+            final List<T> cached = getCached(key);
+            if (cached != null) {
+                result.put(key, cached);
+            } else {
+                // reserve the slot so duplicated keys are fetched once
+                result.put(key, null);
+                missKeys.add(key);
+            }
+        }
+        if (missKeys.isEmpty()) {
+            return result;
+        }
+
+        final List<Get> getList = new ArrayList<>(missKeys.size());
+        for (MetaDataKey key : missKeys) {
+            final byte[] rowKey = RowKeyUtils.getMetaInfoRowKey(key.getAgentId(), key.getAgentStartTime(), key.getId());
+            final Get get = new Get(rowKeyDistributorByHashPrefix.getDistributedKey(rowKey));
+            get.addFamily(family);
+            getList.add(get);
+        }
+        // results are returned in the order of the gets
+        final List<List<T>> fetchedList = hbaseOperations2.get(tableName, getList, mapper);
+        for (int i = 0; i < missKeys.size(); i++) {
+            final MetaDataKey key = missKeys.get(i);
+            final List<T> fetched = fetchedList.get(i);
+            result.put(key, fetched);
+            putCache(key, fetched);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> getCached(MetaDataKey key) {
+        if (cache == null) {
+            return null;
+        }
+        final Cache.ValueWrapper valueWrapper = cache.get(key.toCacheKey());
+        if (valueWrapper == null) {
+            return null;
+        }
+        return (List<T>) valueWrapper.get();
+    }
+
+    private void putCache(MetaDataKey key, List<T> value) {
+        if (cache == null || value == null || value.isEmpty()) {
+            return;
+        }
+        cache.put(key.toCacheKey(), value);
+    }
+}
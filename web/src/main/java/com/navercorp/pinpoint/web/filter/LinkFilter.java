@@ -18,7 +18,11 @@ package com.navercorp.pinpoint.web.filter;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
@@ -62,6 +66,8 @@ public class LinkFilter implements Filter {
     private final FilterType filterType;
 
     private final List<RpcHint> rpcHintList;
+    // spanEventServiceTypeCode -> addresses of rpcHintList
+    private final Map<Integer, Set<String>> rpcHintIndex;
 
     private final ServiceTypeRegistryService serviceTypeRegistryService;
     private final AnnotationKeyRegistryService annotationKeyRegistryService;
@@ -123,6 +129,7 @@ public class LinkFilter implements Filter {
         logger.info("filterType:{}", filterType);
 
         this.rpcHintList = this.filterHint.getRpcHintList(toApplicationName);
+        this.rpcHintIndex = createRpcHintIndex(rpcHintList);
 
         // TODO fix : fromSpan base rpccall filter
         this.acceptURLFilter = createAcceptUrlFilter(filterDescriptor);
@@ -130,6 +137,21 @@ public class LinkFilter implements Filter {
         logger.info("acceptURLFilter:{}", acceptURLFilter);
     }
 
+    private Map<Integer, Set<String>> createRpcHintIndex(List<RpcHint> rpcHintList) {
+        final Map<Integer, Set<String>> rpcHintIndex = new HashMap<>();
+        for (RpcHint rpcHint : rpcHintList) {
+            for (RpcType rpcType : rpcHint.getRpcTypeList()) {
+                Set<String> addressSet = rpcHintIndex.get(rpcType.getSpanEventServiceTypeCode());
+                if (addressSet == null) {
+                    addressSet = new HashSet<>();
+                    rpcHintIndex.put(rpcType.getSpanEventServiceTypeCode(), addressSet);
+                }
+                addressSet.add(rpcType.getAddress());
+            }
+        }
+        return rpcHintIndex;
+    }
+
     private URLPatternFilter createAcceptUrlFilter(FilterDescriptor filterDescriptor) {
         if (StringUtils.isEmpty(filterDescriptor.getUrlPattern())) {
             return new BypassURLPatternFilter();
@@ -408,7 +430,7 @@ public class LinkFilter implements Filter {
                 continue;
             }
             for (SpanEventBo event : eventBoList) {
-                if (filterByRpcHints(rpcHintList, event)) {
+                if (filterByRpcHints(event)) {
                     return true;
                 }
             }
@@ -416,7 +438,12 @@ public class LinkFilter implements Filter {
         return false;
     }
 
-    private boolean filterByRpcHints(List<RpcHint> rpcHintList, SpanEventBo event) {
+    private boolean filterByRpcHints(SpanEventBo event) {
+        final Set<String> addressSet = rpcHintIndex.get((int) event.getServiceType());
+        if (addressSet == null || !addressSet.contains(event.getDestinationId())) {
+            // fast skip. no RpcType matches this event
+            return false;
+        }
         final ServiceType eventServiceType = serviceTypeRegistryService.findServiceType(event.getServiceType());
         if (!eventServiceType.isRecordStatistics()) {
             return false;
@@ -426,14 +453,8 @@ public class LinkFilter implements Filter {
             // There are also cases where multiple applications receiving the same request from the caller node
             // but not all of them have agents installed. RpcHint is used for such cases as acceptUrlFilter will
             // reject these transactions.
-            for (RpcHint rpcHint : rpcHintList) {
-                for (RpcType rpcType : rpcHint.getRpcTypeList()) {
-                    if (rpcType.isMatched(event.getDestinationId(), eventServiceType.getCode())) {
-                        if (checkResponseCondition(event.getEndElapsed(), event.hasException())) {
-                            return true;
-                        }
-                    }
-                }
+            if (checkResponseCondition(event.getEndElapsed(), event.hasException())) {
+                return true;
             }
         }
         return false;
@@ -445,19 +466,33 @@ public class LinkFilter implements Filter {
 
     private boolean wasToWasExactMatch(List<SpanBo> fromSpanList, List<SpanBo> toSpanList) {
         // from -> to compare SpanId & pSpanId filter
+        // index from spanIds so that each to span is checked once instead of against every from span
+        final Set<Long> fromSpanIdSet = new HashSet<>(fromSpanList.size() * 2);
         for (SpanBo fromSpanBo : fromSpanList) {
-            for (SpanBo toSpanBo : toSpanList) {
-                if (fromSpanBo == toSpanBo) {
-                    // skip same object;
-                    continue;
-                }
-                if (fromSpanBo.getSpanId() == toSpanBo.getParentSpanId()) {
-                    final int elapsed = toSpanBo.getElapsed();
-                    final boolean error = isError(toSpanBo);
-                    if (checkResponseCondition(elapsed, error)) {
-                        return true;
-                    }
-                }
+            fromSpanIdSet.add(fromSpanBo.getSpanId());
+        }
+        for (SpanBo toSpanBo : toSpanList) {
+            final long parentSpanId = toSpanBo.getParentSpanId();
+            if (!fromSpanIdSet.contains(parentSpanId)) {
+                continue;
+            }
+            if (toSpanBo.getSpanId() == parentSpanId && !containsOtherSpan(fromSpanList, toSpanBo, parentSpanId)) {
+                // skip same object;
+                continue;
+            }
+            final int elapsed = toSpanBo.getElapsed();
+            final boolean error = isError(toSpanBo);
+            if (checkResponseCondition(elapsed, error)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean containsOtherSpan(List<SpanBo> spanList, SpanBo exclude, long spanId) {
+        for (SpanBo spanBo : spanList) {
+            if (spanBo != exclude && spanBo.getSpanId() == spanId) {
+                return true;
             }
         }
         return false;
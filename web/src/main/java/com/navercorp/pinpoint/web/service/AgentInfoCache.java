@@ -0,0 +1,270 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.navercorp.pinpoint.web.dao.AgentInfoDao;
+import com.navercorp.pinpoint.web.dao.AgentLifeCycleDao;
+import com.navercorp.pinpoint.web.vo.AgentInfo;
+import com.navercorp.pinpoint.web.vo.AgentStatus;
+import org.apache.commons.collections.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the latest {@link AgentInfo} and its {@link AgentStatus} per agent so that listing the agents of an
+ * application does not require an AgentInfo scan and an AgentLifeCycle scan for every agent on every request.
+ * <p>
+ * An entry fetched at <i>fetchTimestamp</i> answers a query at <i>timestamp</i> as is when the cached start/event
+ * timestamps are not after <i>timestamp</i> and <i>timestamp</i> is no later than <i>fetchTimestamp + refreshInterval</i>.
+ * Past the refresh interval, only the AgentInfo and AgentLifeCycle rows written since the entry was fetched are
+ * read, and the entry is replaced with the refreshed one. Agents without a usable entry are read in full.
+ * <p>
+ * Rows are told apart by their hbase write time, so the collector, hbase and web clocks are assumed to agree.
+ */
+@Component
+public class AgentInfoCache {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final AgentInfoDao agentInfoDao;
+
+    private final AgentLifeCycleDao agentLifeCycleDao;
+
+    private final boolean enable;
+
+    private final long refreshIntervalMillis;
+
+    private final ConcurrentMap<String, CachedAgentInfo> cache;
+
+    @Autowired
+    public AgentInfoCache(AgentInfoDao agentInfoDao, AgentLifeCycleDao agentLifeCycleDao,
+                          @Value("#{pinpointWebProps['web.agentinfo.cache.enable'] ?: true}") boolean enable,
+                          @Value("#{pinpointWebProps['web.agentinfo.cache.refreshInterval'] ?: 5000}") long refreshIntervalMillis,
+                          @Value("#{pinpointWebProps['web.agentinfo.cache.expireAfterWrite.minutes'] ?: 10}") long expireAfterWriteMinutes,
+                          @Value("#{pinpointWebProps['web.agentinfo.cache.maximumSize'] ?: 100000}") long maximumSize) {
+        if (agentInfoDao == null) {
+            throw new NullPointerException("agentInfoDao must not be null");
+        }
+        if (agentLifeCycleDao == null) {
+            throw new NullPointerException("agentLifeCycleDao must not be null");
+        }
+        this.agentInfoDao = agentInfoDao;
+        this.agentLifeCycleDao = agentLifeCycleDao;
+        this.enable = enable;
+        this.refreshIntervalMillis = Math.max(0, refreshIntervalMillis);
+        Cache<String, CachedAgentInfo> cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(expireAfterWriteMinutes, TimeUnit.MINUTES)
+                .maximumSize(maximumSize)
+                .build();
+        this.cache = cache.asMap();
+        logger.info("AgentInfoCache enable:{}, refreshInterval:{}ms, expireAfterWrite:{}min, maximumSize:{}", enable, refreshIntervalMillis, expireAfterWriteMinutes, maximumSize);
+    }
+
+    /**
+     * Returns the agent info, with its status populated, of each agent at the given timestamp.
+     * Agents without agent info at the given timestamp are omitted.
+     */
+    public List<AgentInfo> getAgentInfos(List<String> agentIds, long timestamp) {
+        if (CollectionUtils.isEmpty(agentIds)) {
+            return Collections.emptyList();
+        }
+        if (!enable) {
+            return selectAgentInfos(agentIds, timestamp);
+        }
+
+        // taken before reading so that rows written during the read are read again on the next refresh
+        final long updatedSince = Math.min(timestamp, System.currentTimeMillis());
+
+        final List<AgentInfo> agentInfos = new ArrayList<>(agentIds.size());
+        final List<CachedAgentInfo> staleAgentInfos = new ArrayList<>();
+        final List<String> missedAgentIds = new ArrayList<>();
+        for (String agentId : agentIds) {
+            CachedAgentInfo cachedAgentInfo = cache.get(agentId);
+            if (cachedAgentInfo == null || !cachedAgentInfo.isValid(timestamp)) {
+                missedAgentIds.add(agentId);
+            } else if (cachedAgentInfo.isStale(timestamp, refreshIntervalMillis)) {
+                staleAgentInfos.add(cachedAgentInfo);
+            } else {
+                agentInfos.add(cachedAgentInfo.copyAgentInfo());
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("agentInfo cache hit:{}, stale:{}, miss:{}", agentInfos.size(), staleAgentInfos.size(), missedAgentIds.size());
+        }
+
+        if (!staleAgentInfos.isEmpty()) {
+            final List<AgentInfo> refreshedAgentInfos = refreshAgentInfos(staleAgentInfos, timestamp);
+            putAll(refreshedAgentInfos, timestamp, updatedSince, agentInfos);
+        }
+        if (!missedAgentIds.isEmpty()) {
+            final List<AgentInfo> selectedAgentInfos = selectAgentInfos(missedAgentIds, timestamp);
+            putAll(selectedAgentInfos, timestamp, updatedSince, agentInfos);
+        }
+        return agentInfos;
+    }
+
+    private void putAll(List<AgentInfo> fetchedAgentInfos, long timestamp, long updatedSince, List<AgentInfo> result) {
+        for (AgentInfo agentInfo : fetchedAgentInfos) {
+            CachedAgentInfo cachedAgentInfo = new CachedAgentInfo(agentInfo, timestamp, updatedSince);
+            putIfNewer(agentInfo.getAgentId(), cachedAgentInfo);
+            result.add(cachedAgentInfo.copyAgentInfo());
+        }
+    }
+
+    private List<AgentInfo> refreshAgentInfos(List<CachedAgentInfo> staleAgentInfos, long timestamp) {
+        long updatedSince = Long.MAX_VALUE;
+        final List<AgentInfo> cachedAgentInfos = new ArrayList<>(staleAgentInfos.size());
+        for (CachedAgentInfo staleAgentInfo : staleAgentInfos) {
+            updatedSince = Math.min(updatedSince, staleAgentInfo.updatedSince);
+            cachedAgentInfos.add(staleAgentInfo.copyAgentInfo());
+        }
+        final List<AgentInfo> updatedAgentInfos = this.agentInfoDao.getUpdatedAgentInfos(cachedAgentInfos, updatedSince, timestamp);
+
+        final List<AgentInfo> restartedAgentInfos = new ArrayList<>();
+        final List<AgentInfo> runningAgentInfos = new ArrayList<>();
+        for (int i = 0; i < cachedAgentInfos.size(); i++) {
+            final AgentInfo cachedAgentInfo = cachedAgentInfos.get(i);
+            final AgentInfo updatedAgentInfo = updatedAgentInfos.get(i);
+            if (updatedAgentInfo == null) {
+                runningAgentInfos.add(cachedAgentInfo);
+            } else if (updatedAgentInfo.getStartTimestamp() != cachedAgentInfo.getStartTimestamp()) {
+                restartedAgentInfos.add(updatedAgentInfo);
+            } else {
+                // agent info sent again by the same agent
+                updatedAgentInfo.setStatus(cachedAgentInfo.getStatus());
+                runningAgentInfos.add(updatedAgentInfo);
+            }
+        }
+
+        if (!restartedAgentInfos.isEmpty()) {
+            // life cycle events of a new agent may have been written before updatedSince
+            this.agentLifeCycleDao.populateAgentStatuses(restartedAgentInfos, timestamp);
+        }
+        if (!runningAgentInfos.isEmpty()) {
+            final List<AgentStatus> updatedAgentStatuses = this.agentLifeCycleDao.getUpdatedAgentStatuses(runningAgentInfos, updatedSince, timestamp);
+            for (int i = 0; i < runningAgentInfos.size(); i++) {
+                final AgentInfo agentInfo = runningAgentInfos.get(i);
+                final AgentStatus updatedAgentStatus = updatedAgentStatuses.get(i);
+                if (isNewer(updatedAgentStatus, agentInfo.getStatus())) {
+                    agentInfo.setStatus(updatedAgentStatus);
+                }
+            }
+        }
+
+        final List<AgentInfo> refreshedAgentInfos = new ArrayList<>(cachedAgentInfos.size());
+        refreshedAgentInfos.addAll(restartedAgentInfos);
+        refreshedAgentInfos.addAll(runningAgentInfos);
+        return refreshedAgentInfos;
+    }
+
+    private boolean isNewer(AgentStatus agentStatus, AgentStatus cachedAgentStatus) {
+        if (agentStatus == null) {
+            return false;
+        }
+        return cachedAgentStatus == null || agentStatus.getEventTimestamp() >= cachedAgentStatus.getEventTimestamp();
+    }
+
+    private List<AgentInfo> selectAgentInfos(List<String> agentIds, long timestamp) {
+        final List<AgentInfo> agentInfos = this.agentInfoDao.getAgentInfos(agentIds, timestamp);
+        this.agentLifeCycleDao.populateAgentStatuses(agentInfos, timestamp);
+        final List<AgentInfo> result = new ArrayList<>(agentInfos.size());
+        for (AgentInfo agentInfo : agentInfos) {
+            if (agentInfo != null) {
+                result.add(agentInfo);
+            }
+        }
+        return result;
+    }
+
+    private void putIfNewer(String agentId, CachedAgentInfo cachedAgentInfo) {
+        final CachedAgentInfo previous = cache.putIfAbsent(agentId, cachedAgentInfo);
+        if (previous != null && previous.fetchTimestamp < cachedAgentInfo.fetchTimestamp) {
+            // a concurrent update may win, in which case a later miss simply refreshes again
+            cache.replace(agentId, previous, cachedAgentInfo);
+        }
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    private static class CachedAgentInfo {
+        private final AgentInfo agentInfo;
+        private final long fetchTimestamp;
+        // rows written from this time on may not be reflected yet
+        private final long updatedSince;
+
+        private CachedAgentInfo(AgentInfo agentInfo, long fetchTimestamp, long updatedSince) {
+            this.agentInfo = copy(agentInfo);
+            this.fetchTimestamp = fetchTimestamp;
+            this.updatedSince = updatedSince;
+        }
+
+        private boolean isStale(long timestamp, long refreshIntervalMillis) {
+            return timestamp > fetchTimestamp + refreshIntervalMillis;
+        }
+
+        private boolean isValid(long timestamp) {
+            if (agentInfo.getStartTimestamp() > timestamp) {
+                return false;
+            }
+            final AgentStatus status = agentInfo.getStatus();
+            // life cycle events are looked up with eventTimestamp < timestamp
+            return status == null || status.getEventTimestamp() < timestamp;
+        }
+
+        private AgentInfo copyAgentInfo() {
+            return copy(agentInfo);
+        }
+
+        private static AgentInfo copy(AgentInfo source) {
+            final AgentInfo agentInfo = new AgentInfo();
+            agentInfo.setApplicationName(source.getApplicationName());
+            agentInfo.setAgentId(source.getAgentId());
+            agentInfo.setStartTimestamp(source.getStartTimestamp());
+            agentInfo.setHostName(source.getHostName());
+            agentInfo.setIp(source.getIp());
+            agentInfo.setPorts(source.getPorts());
+            agentInfo.setServiceTypeCode(source.getServiceTypeCode());
+            agentInfo.setPid(source.getPid());
+            agentInfo.setVmVersion(source.getVmVersion());
+            agentInfo.setAgentVersion(source.getAgentVersion());
+            agentInfo.setServerMetaData(source.getServerMetaData());
+            agentInfo.setJvmInfo(source.getJvmInfo());
+            agentInfo.setInitialStartTimestamp(source.getInitialStartTimestamp());
+            final AgentStatus sourceStatus = source.getStatus();
+            if (sourceStatus != null) {
+                final AgentStatus status = new AgentStatus(sourceStatus.getAgentId());
+                status.setEventTimestamp(sourceStatus.getEventTimestamp());
+                status.setState(sourceStatus.getState());
+                agentInfo.setStatus(status);
+            }
+            return agentInfo;
+        }
+    }
+}
@@ -86,6 +86,9 @@ public class AgentInfoServiceImpl implements AgentInfoService {
     @Autowired
     private AgentDownloadInfoDao agentDownloadInfoDao;
 
+    @Autowired
+    private AgentInfoCache agentInfoCache;
+
     @Override
     public ApplicationAgentList getApplicationAgentList(ApplicationAgentList.Key key) {
         return this.getApplicationAgentList(key, System.currentTimeMillis());
@@ -128,19 +131,16 @@ public class AgentInfoServiceImpl implements AgentInfoService {
         // value= list fo agentinfo
         SortedMap<String, List<AgentInfo>> result = new TreeMap<>();
 
-        List<AgentInfo> agentInfos = this.agentInfoDao.getAgentInfos(agentIdList, timestamp);
-        this.agentLifeCycleDao.populateAgentStatuses(agentInfos, timestamp);
+        List<AgentInfo> agentInfos = this.agentInfoCache.getAgentInfos(agentIdList, timestamp);
         for (AgentInfo agentInfo : agentInfos) {
-            if (agentInfo != null) {
-                String hostname = applicationAgentListKey.getKey(agentInfo);
-
-                if (result.containsKey(hostname)) {
-                    result.get(hostname).add(agentInfo);
-                } else {
-                    List<AgentInfo> list = new ArrayList<>();
-                    list.add(agentInfo);
-                    result.put(hostname, list);
-                }
+            String hostname = applicationAgentListKey.getKey(agentInfo);
+
+            if (result.containsKey(hostname)) {
+                result.get(hostname).add(agentInfo);
+            } else {
+                List<AgentInfo> list = new ArrayList<>();
+                list.add(agentInfo);
+                result.put(hostname, list);
             }
         }
 
@@ -193,9 +193,19 @@ public class AgentInfoServiceImpl implements AgentInfoService {
 
     @Override
     public Set<AgentInfo> getAgentsByApplicationName(String applicationName, long timestamp) {
-        Set<AgentInfo> agentInfos = this.getAgentsByApplicationNameWithoutStatus(applicationName, timestamp);
-        this.agentLifeCycleDao.populateAgentStatuses(agentInfos, timestamp);
-        return agentInfos;
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName must not be null");
+        }
+        if (timestamp < 0) {
+            throw new IllegalArgumentException("timestamp must not be less than 0");
+        }
+
+        List<String> agentIds = this.applicationIndexDao.selectAgentIds(applicationName);
+        List<AgentInfo> agentInfos = this.agentInfoCache.getAgentInfos(agentIds, timestamp);
+        if (CollectionUtils.isEmpty(agentInfos)) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(agentInfos);
     }
 
     @Override
@@ -52,6 +52,7 @@ import com.navercorp.pinpoint.web.vo.LoadFactor;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.ResponseHistogramBuilder;
 import com.navercorp.pinpoint.web.vo.SelectedScatterArea;
+import com.navercorp.pinpoint.web.vo.TraceIndexType;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -67,6 +68,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * @author netspider
@@ -78,6 +80,8 @@ public class FilteredMapServiceImpl implements FilteredMapService {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    private static final int PARALLEL_FILTER_THRESHOLD = 1000;
+
     @Autowired
     private AgentInfoService agentInfoService;
 
@@ -109,6 +113,11 @@ public class FilteredMapServiceImpl implements FilteredMapService {
 
     @Override
     public LimitedScanResult<List<TransactionId>> selectTraceIdsFromApplicationTraceIndex(String applicationName, Range range, int limit, boolean backwardDirection) {
+        return selectTraceIdsFromApplicationTraceIndex(applicationName, range, limit, backwardDirection, TraceIndexType.ALL);
+    }
+
+    @Override
+    public LimitedScanResult<List<TransactionId>> selectTraceIdsFromApplicationTraceIndex(String applicationName, Range range, int limit, boolean backwardDirection, TraceIndexType indexType) {
         if (applicationName == null) {
             throw new NullPointerException("applicationName must not be null");
         }
@@ -116,14 +125,19 @@ public class FilteredMapServiceImpl implements FilteredMapService {
             throw new NullPointerException("range must not be null");
         }
         if (logger.isTraceEnabled()) {
-            logger.trace("scan(selectTraceIdsFromApplicationTraceIndex) {}, {}", applicationName, range);
+            logger.trace("scan(selectTraceIdsFromApplicationTraceIndex) {}, {}, {}", applicationName, range, indexType);
         }
 
-        return this.applicationTraceIndexDao.scanTraceIndex(applicationName, range, limit, backwardDirection);
+        return this.applicationTraceIndexDao.scanTraceIndex(applicationName, range, limit, backwardDirection, indexType);
     }
 
     @Override
     public LimitedScanResult<List<TransactionId>> selectTraceIdsFromApplicationTraceIndex(String applicationName, SelectedScatterArea area, int limit) {
+        return selectTraceIdsFromApplicationTraceIndex(applicationName, area, limit, TraceIndexType.ALL);
+    }
+
+    @Override
+    public LimitedScanResult<List<TransactionId>> selectTraceIdsFromApplicationTraceIndex(String applicationName, SelectedScatterArea area, int limit, TraceIndexType indexType) {
         if (applicationName == null) {
             throw new NullPointerException("applicationName must not be null");
         }
@@ -131,10 +145,10 @@ public class FilteredMapServiceImpl implements FilteredMapService {
             throw new NullPointerException("area must not be null");
         }
         if (logger.isTraceEnabled()) {
-            logger.trace("scan(selectTraceIdsFromApplicationTraceIndex) {}, {}", applicationName, area);
+            logger.trace("scan(selectTraceIdsFromApplicationTraceIndex) {}, {}, {}", applicationName, area, indexType);
         }
 
-        return this.applicationTraceIndexDao.scanTraceIndex(applicationName, area, limit);
+        return this.applicationTraceIndexDao.scanTraceIndex(applicationName, area, limit, indexType);
     }
 
     @Override
@@ -190,15 +204,19 @@ public class FilteredMapServiceImpl implements FilteredMapService {
 
     private List<SpanBo> filterList(List<List<SpanBo>> transactionList, Filter filter) {
         final List<SpanBo> filteredResult = new ArrayList<>();
-        for (List<SpanBo> transaction : transactionList) {
-            if (filter.include(transaction)) {
-                filteredResult.addAll(transaction);
-            }
+        for (List<SpanBo> transaction : filterList2(transactionList, filter)) {
+            filteredResult.addAll(transaction);
         }
         return filteredResult;
     }
 
     private List<List<SpanBo>> filterList2(List<List<SpanBo>> transactionList, Filter filter) {
+        if (transactionList.size() >= PARALLEL_FILTER_THRESHOLD) {
+            // filters are stateless, so transactions can be evaluated concurrently. encounter order is kept
+            return transactionList.parallelStream()
+                    .filter(filter::include)
+                    .collect(Collectors.toList());
+        }
         final List<List<SpanBo>> filteredResult = new ArrayList<>();
         for (List<SpanBo> transaction : transactionList) {
             if (filter.include(transaction)) {
@@ -24,6 +24,7 @@ import com.navercorp.pinpoint.web.filter.Filter;
 import com.navercorp.pinpoint.web.scatter.ScatterData;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.SelectedScatterArea;
+import com.navercorp.pinpoint.web.vo.TraceIndexType;
 import com.navercorp.pinpoint.web.vo.TransactionMetadataQuery;
 import com.navercorp.pinpoint.web.vo.scatter.Dot;
 import org.slf4j.Logger;
@@ -53,13 +54,18 @@ public class ScatterChartServiceImpl implements ScatterChartService {
 
     @Override
     public List<Dot> selectScatterData(String applicationName, SelectedScatterArea area, TransactionId offsetTransactionId, int offsetTransactionElapsed, int limit) {
+        return selectScatterData(applicationName, area, offsetTransactionId, offsetTransactionElapsed, limit, TraceIndexType.ALL);
+    }
+
+    @Override
+    public List<Dot> selectScatterData(String applicationName, SelectedScatterArea area, TransactionId offsetTransactionId, int offsetTransactionElapsed, int limit, TraceIndexType indexType) {
         if (applicationName == null) {
             throw new NullPointerException("applicationName must not be null");
         }
         if (area == null) {
             throw new NullPointerException("area must not be null");
         }
-        return applicationTraceIndexDao.scanTraceScatter(applicationName, area, offsetTransactionId, offsetTransactionElapsed, limit);
+        return applicationTraceIndexDao.scanTraceScatter(applicationName, area, offsetTransactionId, offsetTransactionElapsed, limit, indexType);
     }
 
     @Override
@@ -138,13 +144,18 @@ public class ScatterChartServiceImpl implements ScatterChartService {
 
     @Override
     public ScatterData selectScatterData(String applicationName, Range range, int xGroupUnit, int yGroupUnit, int limit, boolean backwardDirection) {
+        return selectScatterData(applicationName, range, xGroupUnit, yGroupUnit, limit, backwardDirection, TraceIndexType.ALL);
+    }
+
+    @Override
+    public ScatterData selectScatterData(String applicationName, Range range, int xGroupUnit, int yGroupUnit, int limit, boolean backwardDirection, TraceIndexType indexType) {
         if (applicationName == null) {
             throw new NullPointerException("applicationName must not be null");
         }
         if (range == null) {
             throw new NullPointerException("range must not be null");
         }
-        return applicationTraceIndexDao.scanTraceScatterData(applicationName, range, xGroupUnit, yGroupUnit, limit, backwardDirection);
+        return applicationTraceIndexDao.scanTraceScatterData(applicationName, range, xGroupUnit, yGroupUnit, limit, backwardDirection, indexType);
     }
 
     @Override
@@ -17,7 +17,10 @@
 package com.navercorp.pinpoint.web.service;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
 import com.navercorp.pinpoint.common.server.bo.ApiMetaDataBo;
@@ -43,6 +46,7 @@ import com.navercorp.pinpoint.web.dao.StringMetaDataDao;
 import com.navercorp.pinpoint.web.dao.TraceDao;
 import com.navercorp.pinpoint.web.security.MetaDataFilter;
 import com.navercorp.pinpoint.web.security.MetaDataFilter.MetaData;
+import com.navercorp.pinpoint.web.vo.MetaDataKey;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -99,16 +103,75 @@ public class SpanServiceImpl implements SpanService {
         final CallTreeIterator callTreeIterator = result.getCallTree();
         final List<SpanAlign> values = callTreeIterator.values();
         
-        transitionDynamicApiId(values);
-        transitionSqlId(values);
-        transitionCachedString(values);
-        transitionException(values);
+        // resolve all metadata of the transaction with one multi-get per table instead of a get per id
+        final Map<MetaDataKey, List<ApiMetaDataBo>> apiMetaDataMap = apiMetaDataDao.getApiMetaData(collectApiMetaDataKey(values));
+        final Map<MetaDataKey, List<SqlMetaDataBo>> sqlMetaDataMap = sqlMetaDataDao.getSqlMetaData(collectSqlMetaDataKey(values));
+        final Map<MetaDataKey, List<StringMetaDataBo>> stringMetaDataMap = stringMetaDataDao.getStringMetaData(collectStringMetaDataKey(values));
+
+        transitionDynamicApiId(values, apiMetaDataMap);
+        transitionSqlId(values, sqlMetaDataMap);
+        transitionCachedString(values, stringMetaDataMap);
+        transitionException(values, stringMetaDataMap);
         // TODO need to at least show the row data when root span is not found. 
         return result;
     }
 
 
 
+    private Set<MetaDataKey> collectApiMetaDataKey(List<SpanAlign> spans) {
+        final Set<MetaDataKey> keys = new LinkedHashSet<>();
+        for (SpanAlign spanAlign : spans) {
+            final int apiId = spanAlign.getApiId();
+            if (apiId == 0) {
+                // annotation base api
+                continue;
+            }
+            keys.add(new MetaDataKey(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), apiId));
+        }
+        return keys;
+    }
+
+    private Set<MetaDataKey> collectSqlMetaDataKey(List<SpanAlign> spans) {
+        final Set<MetaDataKey> keys = new LinkedHashSet<>();
+        for (SpanAlign spanAlign : spans) {
+            final List<AnnotationBo> annotationBoList = spanAlign.getAnnotationBoList();
+            if (annotationBoList == null) {
+                continue;
+            }
+            final AnnotationBo sqlIdAnnotation = findAnnotation(annotationBoList, AnnotationKey.SQL_ID.getCode());
+            if (sqlIdAnnotation == null) {
+                continue;
+            }
+            if (metaDataFilter != null && metaDataFilter.filter(spanAlign, MetaData.SQL)) {
+                continue;
+            }
+            final IntStringStringValue sqlValue = (IntStringStringValue) sqlIdAnnotation.getValue();
+            keys.add(new MetaDataKey(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), sqlValue.getIntValue()));
+        }
+        return keys;
+    }
+
+    private Set<MetaDataKey> collectStringMetaDataKey(List<SpanAlign> spans) {
+        final Set<MetaDataKey> keys = new LinkedHashSet<>();
+        for (SpanAlign spanAlign : spans) {
+            final List<AnnotationBo> annotationBoList = spanAlign.getAnnotationBoList();
+            if (annotationBoList != null) {
+                for (AnnotationBo annotationBo : findCachedStringAnnotation(annotationBoList)) {
+                    final int stringMetaDataId = (Integer) annotationBo.getValue();
+                    keys.add(new MetaDataKey(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), stringMetaDataId));
+                }
+            }
+            if (spanAlign.hasException()) {
+                keys.add(new MetaDataKey(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), spanAlign.getExceptionId()));
+            }
+        }
+        return keys;
+    }
+
+    private <T> List<T> getPrefetched(Map<MetaDataKey, List<T>> metaDataMap, String agentId, long agentStartTime, int id) {
+        return metaDataMap.get(new MetaDataKey(agentId, agentStartTime, id));
+    }
+
     private void transitionAnnotation(List<SpanAlign> spans, AnnotationReplacementCallback annotationReplacementCallback) {
         for (SpanAlign spanAlign : spans) {
             List<AnnotationBo> annotationBoList = spanAlign.getAnnotationBoList();
@@ -120,7 +183,7 @@ public class SpanServiceImpl implements SpanService {
         }
     }
 
-    private void transitionSqlId(final List<SpanAlign> spans) {
+    private void transitionSqlId(final List<SpanAlign> spans, final Map<MetaDataKey, List<SqlMetaDataBo>> sqlMetaDataMap) {
         this.transitionAnnotation(spans, new AnnotationReplacementCallback() {
             @Override
             public void replacement(SpanAlign spanAlign, List<AnnotationBo> annotationBoList) {
@@ -138,7 +201,10 @@ public class SpanServiceImpl implements SpanService {
                 final IntStringStringValue sqlValue = (IntStringStringValue) sqlIdAnnotation.getValue();
                 final int sqlId = sqlValue.getIntValue();
                 final String sqlParam = sqlValue.getStringValue1();
-                final List<SqlMetaDataBo> sqlMetaDataList = sqlMetaDataDao.getSqlMetaData(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), sqlId);
+                List<SqlMetaDataBo> sqlMetaDataList = getPrefetched(sqlMetaDataMap, spanAlign.getAgentId(), spanAlign.getAgentStartTime(), sqlId);
+                if (sqlMetaDataList == null) {
+                    sqlMetaDataList = sqlMetaDataDao.getSqlMetaData(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), sqlId);
+                }
                 final int size = sqlMetaDataList.size();
                 if (size == 0) {
                     AnnotationBo api = new AnnotationBo();
@@ -231,7 +297,7 @@ public class SpanServiceImpl implements SpanService {
     }
 
 
-    private void transitionDynamicApiId(List<SpanAlign> spans) {
+    private void transitionDynamicApiId(List<SpanAlign> spans, final Map<MetaDataKey, List<ApiMetaDataBo>> apiMetaDataMap) {
         this.transitionAnnotation(spans, new AnnotationReplacementCallback() {
             @Override
             public void replacement(SpanAlign spanAlign, List<AnnotationBo> annotationBoList) {
@@ -255,7 +321,10 @@ public class SpanServiceImpl implements SpanService {
                 }
 
                 // may be able to get a more accurate data using agentIdentifier.
-                List<ApiMetaDataBo> apiMetaDataList = apiMetaDataDao.getApiMetaData(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), apiId);
+                List<ApiMetaDataBo> apiMetaDataList = getPrefetched(apiMetaDataMap, spanAlign.getAgentId(), spanAlign.getAgentStartTime(), apiId);
+                if (apiMetaDataList == null) {
+                    apiMetaDataList = apiMetaDataDao.getApiMetaData(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), apiId);
+                }
                 int size = apiMetaDataList.size();
                 if (size == 0) {
                     AnnotationBo api = new AnnotationBo();
@@ -295,7 +364,7 @@ public class SpanServiceImpl implements SpanService {
         });
     }
 
-    private void transitionCachedString(List<SpanAlign> spans) {
+    private void transitionCachedString(List<SpanAlign> spans, final Map<MetaDataKey, List<StringMetaDataBo>> stringMetaDataMap) {
         this.transitionAnnotation(spans, new AnnotationReplacementCallback() {
             @Override
             public void replacement(SpanAlign spanAlign, List<AnnotationBo> annotationBoList) {
@@ -307,7 +376,10 @@ public class SpanServiceImpl implements SpanService {
                 for (AnnotationBo annotationBo : cachedStringAnnotation) {
                     final int cachedArgsKey = annotationBo.getKey();
                     int stringMetaDataId = (Integer) annotationBo.getValue();
-                    List<StringMetaDataBo> stringMetaList = stringMetaDataDao.getStringMetaData(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), stringMetaDataId);
+                    List<StringMetaDataBo> stringMetaList = getPrefetched(stringMetaDataMap, spanAlign.getAgentId(), spanAlign.getAgentStartTime(), stringMetaDataId);
+                    if (stringMetaList == null) {
+                        stringMetaList = stringMetaDataDao.getStringMetaData(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), stringMetaDataId);
+                    }
                     int size = stringMetaList.size();
                     if (size == 0) {
                         logger.warn("StringMetaData not Found {}/{}/{}", spanAlign.getAgentId(), stringMetaDataId, spanAlign.getAgentStartTime());
@@ -343,18 +415,21 @@ public class SpanServiceImpl implements SpanService {
         return findAnnotationBoList;
     }
 
-    private void transitionException(List<SpanAlign> spanAlignList) {
+    private void transitionException(List<SpanAlign> spanAlignList, Map<MetaDataKey, List<StringMetaDataBo>> stringMetaDataMap) {
         for (SpanAlign spanAlign : spanAlignList) {
             if (spanAlign.hasException()) {
-                StringMetaDataBo stringMetaData = selectStringMetaData(spanAlign.getAgentId(), spanAlign.getExceptionId(), spanAlign.getAgentStartTime());
+                StringMetaDataBo stringMetaData = selectStringMetaData(stringMetaDataMap, spanAlign.getAgentId(), spanAlign.getExceptionId(), spanAlign.getAgentStartTime());
                 spanAlign.setExceptionClass(stringMetaData.getStringValue());
             }
         }
 
     }
 
-    private StringMetaDataBo selectStringMetaData(String agentId, int cacheId, long agentStartTime) {
-        final List<StringMetaDataBo> metaDataList = stringMetaDataDao.getStringMetaData(agentId, agentStartTime, cacheId);
+    private StringMetaDataBo selectStringMetaData(Map<MetaDataKey, List<StringMetaDataBo>> stringMetaDataMap, String agentId, int cacheId, long agentStartTime) {
+        List<StringMetaDataBo> metaDataList = getPrefetched(stringMetaDataMap, agentId, agentStartTime, cacheId);
+        if (metaDataList == null) {
+            metaDataList = stringMetaDataDao.getStringMetaData(agentId, agentStartTime, cacheId);
+        }
         if (CollectionUtils.isEmpty(metaDataList)) {
             logger.warn("StringMetaData not Found agent:{}, cacheId{}, agentStartTime:{}", agentId, cacheId, agentStartTime);
             StringMetaDataBo stringMetaDataBo = new StringMetaDataBo(agentId, agentStartTime, cacheId);
@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.web.service.map;
 
 import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.web.security.ServerMapDataFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,13 +41,21 @@ public class ApplicationsMapCreatorFactory {
 
     private final ExecutorService executorService;
 
+    private final int queryMaxConcurrency;
+
+    public ApplicationsMapCreatorFactory(String mode, int threadCount) {
+        this(mode, threadCount, threadCount);
+    }
+
     @Autowired
     public ApplicationsMapCreatorFactory(
             @Value("#{pinpointWebProps['web.servermap.creator.mode'] ?: 'serial'}") String mode,
-            @Value("#{pinpointWebProps['web.servermap.creator.parallel.maxthreads'] ?: '16'}") int threadCount) {
+            @Value("#{pinpointWebProps['web.servermap.creator.parallel.maxthreads'] ?: '16'}") int threadCount,
+            @Value("#{pinpointWebProps['web.servermap.creator.incremental.query.maxconcurrency'] ?: '8'}") int queryMaxConcurrency) {
         logger.info("ApplicationsMapCreatorFactory mode : {}", mode);
         this.mode = mode;
-        if (this.mode.equalsIgnoreCase("parallel")) {
+        this.queryMaxConcurrency = queryMaxConcurrency;
+        if (this.mode.equalsIgnoreCase("parallel") || isIncremental()) {
             this.executorService = Executors.newFixedThreadPool(threadCount, new PinpointThreadFactory("Pinpoint-parallel-link-selector", true));
         } else {
             this.executorService = null;
@@ -54,12 +63,24 @@ public class ApplicationsMapCreatorFactory {
     }
 
     public ApplicationsMapCreator create(ApplicationMapCreator applicationMapCreator) {
-        if (mode.equalsIgnoreCase("parallel")) {
+        if (mode.equalsIgnoreCase("parallel") || isIncremental()) {
             return new ParallelApplicationsMapCreator(applicationMapCreator, executorService);
         }
         return new SerialApplicationsMapCreator(applicationMapCreator);
     }
 
+    /**
+     * incremental mode expands bidirectional searches with {@link IncrementalLinkSelector}.
+     * Unidirectional searches fall back to the parallel creator.
+     */
+    public boolean isIncremental() {
+        return mode.equalsIgnoreCase("incremental");
+    }
+
+    public LinkSelector createIncrementalLinkSelector(ApplicationMapCreator applicationMapCreator, VirtualLinkHandler virtualLinkHandler, ServerMapDataFilter serverMapDataFilter) {
+        return new IncrementalLinkSelector(applicationMapCreator, executorService, queryMaxConcurrency, virtualLinkHandler, serverMapDataFilter);
+    }
+
     @PreDestroy
     public void preDestroy() {
         if (executorService != null) {
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service.map;
+
+import com.google.common.collect.Sets;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataDuplexMap;
+import com.navercorp.pinpoint.web.security.ServerMapDataFilter;
+import com.navercorp.pinpoint.web.service.SearchDepth;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.Range;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bidirectional link search that expands each application as soon as its caller/callee data arrives
+ * instead of waiting for the whole depth to finish.
+ * <p>
+ * The level of an application is the shortest distance from the source applications found so far.
+ * If a shorter path shows up after an application was expanded, it is expanded again at the lower level.
+ * {@link LinkVisitChecker} keeps caller/callee data from being fetched twice, so this only fetches the direction that
+ * the deeper level had skipped, and passes the neighbours already found on to the next level.
+ * The result is the same as {@link BidirectionalLinkSelector}.
+ * <p>
+ * Queries share one executor. Each query runs at most {@code maxConcurrency} lookups at a time.
+ *
+ * @see ApplicationsMapCreatorFactory
+ */
+public class IncrementalLinkSelector implements LinkSelector {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ApplicationMapCreator applicationMapCreator;
+
+    private final ExecutorService executorService;
+
+    private final int maxConcurrency;
+
+    private final VirtualLinkHandler virtualLinkHandler;
+
+    private final ServerMapDataFilter serverMapDataFilter;
+
+    IncrementalLinkSelector(
+            ApplicationMapCreator applicationMapCreator,
+            ExecutorService executorService,
+            int maxConcurrency,
+            VirtualLinkHandler virtualLinkHandler,
+            ServerMapDataFilter serverMapDataFilter) {
+        if (applicationMapCreator == null) {
+            throw new NullPointerException("applicationMapCreator must not be null");
+        }
+        if (executorService == null) {
+            throw new NullPointerException("executorService must not be null");
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than 0");
+        }
+        if (virtualLinkHandler == null) {
+            throw new NullPointerException("virtualLinkHandler must not be null");
+        }
+        this.applicationMapCreator = applicationMapCreator;
+        this.executorService = executorService;
+        this.maxConcurrency = maxConcurrency;
+        this.virtualLinkHandler = virtualLinkHandler;
+        this.serverMapDataFilter = serverMapDataFilter;
+    }
+
+    @Override
+    public LinkDataDuplexMap select(List<Application> sourceApplications, Range range, int callerSearchDepth, int calleeSearchDepth) {
+        logger.debug("Creating link data map for {}", sourceApplications);
+        final LinkVisitChecker linkVisitChecker = new LinkVisitChecker();
+        final Search search = new Search(range, callerSearchDepth, calleeSearchDepth, linkVisitChecker);
+        try {
+            search.start(sourceApplications).join();
+        } catch (Exception e) {
+            logger.error("Error selecting link", e);
+            return new LinkDataDuplexMap();
+        }
+        LinkDataDuplexMap linkDataDuplexMap = new LinkDataDuplexMap();
+        for (LinkDataDuplexMap searchResult : search.searchResults) {
+            linkDataDuplexMap.addLinkDataDuplexMap(searchResult);
+        }
+        logger.info("incremental search end. nodes:{}, lookups:{}", search.levels.size(), search.searchResults.size());
+        return virtualLinkHandler.processVirtualLinks(linkDataDuplexMap, linkVisitChecker, range);
+    }
+
+    private boolean isFiltered(Application application) {
+        if (serverMapDataFilter == null) {
+            return false;
+        }
+        return serverMapDataFilter.filter(application);
+    }
+
+    private static class Expansion {
+        private final Application application;
+        private final int level;
+
+        private Expansion(Application application, int level) {
+            this.application = application;
+            this.level = level;
+        }
+    }
+
+    private class Search {
+
+        private final Range range;
+        private final LinkVisitChecker linkVisitChecker;
+        private final SearchDepth[] callerDepths;
+        private final SearchDepth[] calleeDepths;
+
+        private final ConcurrentMap<Application, Integer> levels = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Application, Set<Application>> nextApplications = new ConcurrentHashMap<>();
+        private final Queue<LinkDataDuplexMap> searchResults = new ConcurrentLinkedQueue<>();
+
+        private final Queue<Expansion> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger running = new AtomicInteger();
+        // pending + running, plus one while the source applications are being scheduled
+        private final AtomicInteger outstanding = new AtomicInteger(1);
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Search(Range range, int callerSearchDepth, int calleeSearchDepth, LinkVisitChecker linkVisitChecker) {
+            this.range = range;
+            this.linkVisitChecker = linkVisitChecker;
+            // nothing is searched at a level where both directions overflow
+            final int maxLevel = Math.max(callerSearchDepth, calleeSearchDepth);
+            this.callerDepths = newSearchDepths(callerSearchDepth, maxLevel);
+            this.calleeDepths = newSearchDepths(calleeSearchDepth, maxLevel);
+        }
+
+        private SearchDepth[] newSearchDepths(int limit, int size) {
+            final SearchDepth[] searchDepths = new SearchDepth[size];
+            SearchDepth searchDepth = new SearchDepth(limit);
+            for (int i = 0; i < size; i++) {
+                searchDepths[i] = searchDepth;
+                searchDepth = searchDepth.nextDepth();
+            }
+            return searchDepths;
+        }
+
+        private CompletableFuture<Void> start(List<Application> sourceApplications) {
+            for (Application sourceApplication : sourceApplications) {
+                schedule(sourceApplication, 0);
+            }
+            finish();
+            return done;
+        }
+
+        private void schedule(Application application, int level) {
+            if (level >= callerDepths.length) {
+                return;
+            }
+            if (isFiltered(application)) {
+                return;
+            }
+            if (!lowerLevel(application, level)) {
+                return;
+            }
+            outstanding.incrementAndGet();
+            pending.offer(new Expansion(application, level));
+            drain();
+        }
+
+        private boolean lowerLevel(Application application, int level) {
+            while (true) {
+                final Integer current = levels.putIfAbsent(application, level);
+                if (current == null) {
+                    return true;
+                }
+                if (current <= level) {
+                    return false;
+                }
+                if (levels.replace(application, current, level)) {
+                    logger.debug("shorter path found. application:{}, level:{} -> {}", application, current, level);
+                    return true;
+                }
+            }
+        }
+
+        private void drain() {
+            while (!pending.isEmpty()) {
+                final int current = running.get();
+                if (current >= maxConcurrency) {
+                    return;
+                }
+                if (!running.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                final Expansion expansion = pending.poll();
+                if (expansion == null) {
+                    running.decrementAndGet();
+                    continue;
+                }
+                try {
+                    executorService.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                expand(expansion);
+                            } catch (Exception e) {
+                                logger.error("Error selecting link for {}", expansion.application, e);
+                            } finally {
+                                running.decrementAndGet();
+                                finish();
+                            }
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    running.decrementAndGet();
+                    done.completeExceptionally(e);
+                    return;
+                }
+            }
+        }
+
+        private void finish() {
+            if (outstanding.decrementAndGet() == 0) {
+                done.complete(null);
+            } else {
+                drain();
+            }
+        }
+
+        private void expand(Expansion expansion) {
+            final Application application = expansion.application;
+            final int level = expansion.level;
+            final LinkSelectContext linkSelectContext = new LinkSelectContext(range, callerDepths[level], calleeDepths[level], linkVisitChecker);
+            final LinkDataDuplexMap searchResult = applicationMapCreator.createMap(application, linkSelectContext);
+            searchResults.add(searchResult);
+
+            final Set<Application> found = getNextApplications(application);
+            found.addAll(linkSelectContext.getNextApplications());
+            // read the level after publishing the neighbours so that a concurrent lower level expansion sees them
+            final int nextLevel = levels.get(application) + 1;
+            for (Application nextApplication : found) {
+                schedule(nextApplication, nextLevel);
+            }
+        }
+
+        private Set<Application> getNextApplications(Application application) {
+            final Set<Application> found = nextApplications.get(application);
+            if (found != null) {
+                return found;
+            }
+            final Set<Application> newFound = Sets.newConcurrentHashSet();
+            final Set<Application> exist = nextApplications.putIfAbsent(application, newFound);
+            if (exist != null) {
+                return exist;
+            }
+            return newFound;
+        }
+    }
+}
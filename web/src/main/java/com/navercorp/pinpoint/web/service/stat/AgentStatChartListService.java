@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service.stat;
+
+import com.navercorp.pinpoint.common.util.ExecutorFactory;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.vo.stat.chart.StatChart;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selects several agent stat charts of one agent in a single call, querying each stat type concurrently.
+ * Stat types are keyed by the same names used in the /getAgentStat/{name} urls.
+ * The query pool has a bounded queue. A request that does not fit is rejected as a whole.
+ */
+@Service
+public class AgentStatChartListService {
+
+    private final Map<String, AgentStatChartService> chartServices;
+
+    private final ExecutorService executorService;
+
+    @Autowired
+    public AgentStatChartListService(JvmGcChartService jvmGcChartService, JvmGcDetailedChartService jvmGcDetailedChartService,
+                                     CpuLoadChartService cpuLoadChartService, TransactionChartService transactionChartService,
+                                     ActiveTraceChartService activeTraceChartService, DataSourceChartService dataSourceChartService,
+                                     ResponseTimeChartService responseTimeChartService, DeadlockChartService deadlockChartService,
+                                     @Value("#{pinpointWebProps['web.agentstat.chart.parallel.maxthreads'] ?: 16}") int maxThreads,
+                                     @Value("#{pinpointWebProps['web.agentstat.chart.parallel.queuesize'] ?: 1024}") int queueSize) {
+        Map<String, AgentStatChartService> chartServices = new LinkedHashMap<>();
+        chartServices.put("jvmGc", jvmGcChartService);
+        chartServices.put("jvmGcDetailed", jvmGcDetailedChartService);
+        chartServices.put("cpuLoad", cpuLoadChartService);
+        chartServices.put("transaction", transactionChartService);
+        chartServices.put("activeTrace", activeTraceChartService);
+        chartServices.put("dataSource", dataSourceChartService);
+        chartServices.put("responseTime", responseTimeChartService);
+        chartServices.put("deadlock", deadlockChartService);
+        this.chartServices = chartServices;
+        this.executorService = ExecutorFactory.newFixedThreadPool(maxThreads, queueSize, "Pinpoint-agent-stat-chart", true);
+    }
+
+    public Collection<String> getStatNames() {
+        return chartServices.keySet();
+    }
+
+    public Map<String, List<StatChart>> selectAgentChartList(String agentId, TimeWindow timeWindow, Collection<String> statNames) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        if (timeWindow == null) {
+            throw new NullPointerException("timeWindow must not be null");
+        }
+        if (statNames == null) {
+            throw new NullPointerException("statNames must not be null");
+        }
+
+        final Map<String, CompletableFuture<List<StatChart>>> futures = new LinkedHashMap<>();
+        for (String statName : statNames) {
+            final AgentStatChartService chartService = chartServices.get(statName);
+            if (chartService == null) {
+                throw new IllegalArgumentException("unknown statName:" + statName);
+            }
+            if (futures.containsKey(statName)) {
+                continue;
+            }
+            final CompletableFuture<List<StatChart>> future;
+            try {
+                future = CompletableFuture.supplyAsync(() -> chartService.selectAgentChartList(agentId, timeWindow), executorService);
+            } catch (RejectedExecutionException e) {
+                cancel(futures.values());
+                throw e;
+            }
+            futures.put(statName, future);
+        }
+
+        final Map<String, List<StatChart>> result = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, CompletableFuture<List<StatChart>>> entry : futures.entrySet()) {
+                result.put(entry.getKey(), entry.getValue().join());
+            }
+        } catch (CompletionException e) {
+            cancel(futures.values());
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+        return result;
+    }
+
+    private void cancel(Collection<CompletableFuture<List<StatChart>>> futures) {
+        for (CompletableFuture<List<StatChart>> future : futures) {
+            future.cancel(false);
+        }
+    }
+
+    @PreDestroy
+    public void preDestroy() {
+        executorService.shutdown();
+        try {
+            executorService.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
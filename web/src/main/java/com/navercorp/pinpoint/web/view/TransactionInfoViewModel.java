@@ -15,9 +15,9 @@
  */
 package com.navercorp.pinpoint.web.view;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -139,42 +139,58 @@ public class TransactionInfoViewModel {
         return index;
     }
 
+    /**
+     * CallStack rows are created one at a time while the response is being written,
+     * so large transactions do not hold a second copy of every record in memory.
+     */
     @JsonProperty("callStack")
-    public List<CallStack> getCallStack() {
-
-        List<CallStack> list = new ArrayList<CallStack>();
-        boolean first = true;
-        long barRatio = 0;
-        for(Record record : recordSet.getRecordList()) {
-            if(first) {
-                if(record.isMethod()) {
-                    long begin = record.getBegin();
-                    long end = record.getBegin() + record.getElapsed();
-                    if(end  - begin > 0) {
-                        barRatio = 100 / (end - begin);
+    public Iterable<CallStack> getCallStack() {
+        final List<Record> recordList = recordSet.getRecordList();
+        final long barRatio = getBarRatio(recordList);
+        return new Iterable<CallStack>() {
+            @Override
+            public Iterator<CallStack> iterator() {
+                final Iterator<Record> records = recordList.iterator();
+                return new Iterator<CallStack>() {
+                    @Override
+                    public boolean hasNext() {
+                        return records.hasNext();
+                    }
+
+                    @Override
+                    public CallStack next() {
+                        return new CallStack(records.next(), barRatio);
                     }
-                }
-                first = false;
-            }
-            list.add(new CallStack(record, barRatio));
-        }
 
-        return list;
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
     }
 
-    @JsonProperty("applicationMapData")
-    public Map<String, List<Object>> getApplicationMapData() {
-        Map<String, List<Object>> result = new HashMap<String, List<Object>>();
-        List<Object> nodeDataArray = new ArrayList<Object>();
-        for(Node node : nodes) {
-            nodeDataArray.add(node);
+    private long getBarRatio(List<Record> recordList) {
+        if (recordList.isEmpty()) {
+            return 0;
         }
-        result.put("nodeDataArray", nodeDataArray);
-        List<Object> linkDataArray = new ArrayList<Object>();
-        for(Link link : links) {
-            linkDataArray.add(link);
+        final Record record = recordList.get(0);
+        if (record.isMethod()) {
+            long begin = record.getBegin();
+            long end = record.getBegin() + record.getElapsed();
+            if (end - begin > 0) {
+                return 100 / (end - begin);
+            }
         }
-        result.put("linkDataArray", linkDataArray);
+        return 0;
+    }
+
+    @JsonProperty("applicationMapData")
+    public Map<String, Collection<?>> getApplicationMapData() {
+        Map<String, Collection<?>> result = new HashMap<String, Collection<?>>();
+        result.put("nodeDataArray", nodes);
+        result.put("linkDataArray", links);
 
         return result;
     }
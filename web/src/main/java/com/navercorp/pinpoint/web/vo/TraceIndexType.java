@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.vo;
+
+/**
+ * Selects which application trace index is scanned.
+ * ERROR and SLOW read the ApplicationTraceFilterIndex table written by the collector
+ * when collector.applicationTraceFilterIndex.enable is set.
+ */
+public enum TraceIndexType {
+    ALL,
+    ERROR,
+    SLOW;
+
+    public static TraceIndexType parse(String name) {
+        if (name == null || name.isEmpty()) {
+            return ALL;
+        }
+        for (TraceIndexType type : values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("unknown TraceIndexType:" + name);
+    }
+}
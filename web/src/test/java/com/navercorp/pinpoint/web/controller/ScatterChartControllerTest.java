@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.controller;
+
+import com.navercorp.pinpoint.web.scatter.ScatterData;
+import com.navercorp.pinpoint.web.service.FilteredMapService;
+import com.navercorp.pinpoint.web.service.ScatterChartService;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.navercorp.pinpoint.web.vo.TraceIndexType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class ScatterChartControllerTest {
+
+    @Mock
+    private ScatterChartService scatter;
+
+    @Mock
+    private FilteredMapService flow;
+
+    @InjectMocks
+    private ScatterChartController controller = new ScatterChartController();
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void indexTypeIsPassedToService() {
+        when(scatter.selectScatterData(anyString(), any(Range.class), anyInt(), anyInt(), anyInt(), anyBoolean(), any(TraceIndexType.class)))
+                .thenReturn(new ScatterData(1000L, 2000L, 10, 10));
+
+        controller.getScatterData("test-app", 1000L, 2000L, 10, 10, 100, true, null, "error", null, 1);
+
+        verify(scatter).selectScatterData(eq("test-app"), any(Range.class), eq(10), eq(10), eq(100), eq(true), eq(TraceIndexType.ERROR));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownIndexType() {
+        try {
+            controller.getScatterData("test-app", 1000L, 2000L, 10, 10, 100, true, null, "fast", null, 1);
+        } finally {
+            verifyZeroInteractions(scatter, flow);
+        }
+    }
+
+    @Test
+    public void illegalArgumentIsBadRequest() throws Exception {
+        Method handler = ScatterChartController.class.getMethod("handleIllegalArgumentException", IllegalArgumentException.class);
+        ResponseStatus responseStatus = handler.getAnnotation(ResponseStatus.class);
+        Assert.assertEquals(HttpStatus.BAD_REQUEST, responseStatus.value());
+
+        ModelAndView mv = controller.handleIllegalArgumentException(new IllegalArgumentException("unknown TraceIndexType:fast"));
+        Assert.assertEquals("jsonView", mv.getViewName());
+        Map<?, ?> exception = (Map<?, ?>) mv.getModel().get("exception");
+        Assert.assertEquals("unknown TraceIndexType:fast", exception.get("message"));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.HBaseAdminTemplate;
+import com.navercorp.pinpoint.common.hbase.HBaseTables;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.LimitEventHandler;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.util.TransactionId;
+import com.navercorp.pinpoint.web.vo.SelectedScatterArea;
+import com.navercorp.pinpoint.web.vo.TraceIndexType;
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Scan;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HbaseApplicationTraceIndexDaoTest {
+
+    private static final String APPLICATION_NAME = "test-app";
+
+    private final SelectedScatterArea area = new SelectedScatterArea(1000L, 2000L, 0, 3000);
+
+    @Mock
+    private HbaseOperations2 hbaseOperations2;
+
+    @Mock
+    private HBaseAdminTemplate adminTemplate;
+
+    @Mock
+    private RowMapper<List<TransactionId>> traceIndexMapper;
+
+    @Mock
+    private AbstractRowKeyDistributor traceIdRowKeyDistributor;
+
+    @InjectMocks
+    private HbaseApplicationTraceIndexDao applicationTraceIndexDao = new HbaseApplicationTraceIndexDao();
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(hbaseOperations2.findParallel(any(TableName.class), any(Scan.class), any(AbstractRowKeyDistributor.class), anyInt(), any(RowMapper.class), any(LimitEventHandler.class), anyInt()))
+                .thenReturn(Collections.emptyList());
+        when(hbaseOperations2.findParallel(any(TableName.class), any(Scan.class), any(AbstractRowKeyDistributor.class), anyInt(), any(RowMapper.class), anyInt()))
+                .thenReturn(Collections.emptyList());
+    }
+
+    @Test
+    public void selectedAreaScanReadsFilterIndex() {
+        when(adminTemplate.tableExists(HBaseTables.APPLICATION_TRACE_FILTER_INDEX)).thenReturn(true);
+        applicationTraceIndexDao.checkFilterIndexTable();
+
+        applicationTraceIndexDao.scanTraceIndex(APPLICATION_NAME, area, 10, TraceIndexType.ERROR);
+
+        ArgumentCaptor<Scan> scanCaptor = ArgumentCaptor.forClass(Scan.class);
+        verify(hbaseOperations2).findParallel(eq(HBaseTables.APPLICATION_TRACE_FILTER_INDEX), scanCaptor.capture(), any(AbstractRowKeyDistributor.class), eq(10), any(RowMapper.class), any(LimitEventHandler.class), anyInt());
+        assertFamily(HBaseTables.APPLICATION_TRACE_FILTER_INDEX_CF_ERROR, scanCaptor.getValue());
+    }
+
+    @Test
+    public void selectedAreaScatterReadsFilterIndex() {
+        when(adminTemplate.tableExists(HBaseTables.APPLICATION_TRACE_FILTER_INDEX)).thenReturn(true);
+        applicationTraceIndexDao.checkFilterIndexTable();
+
+        applicationTraceIndexDao.scanTraceScatter(APPLICATION_NAME, area, null, -1, 10, TraceIndexType.SLOW);
+
+        ArgumentCaptor<Scan> scanCaptor = ArgumentCaptor.forClass(Scan.class);
+        verify(hbaseOperations2).findParallel(eq(HBaseTables.APPLICATION_TRACE_FILTER_INDEX), scanCaptor.capture(), any(AbstractRowKeyDistributor.class), eq(10), any(RowMapper.class), anyInt());
+        assertFamily(HBaseTables.APPLICATION_TRACE_FILTER_INDEX_CF_SLOW, scanCaptor.getValue());
+    }
+
+    @Test
+    public void selectedAreaScanReadsFullIndexByDefault() {
+        when(adminTemplate.tableExists(HBaseTables.APPLICATION_TRACE_FILTER_INDEX)).thenReturn(true);
+        applicationTraceIndexDao.checkFilterIndexTable();
+
+        applicationTraceIndexDao.scanTraceIndex(APPLICATION_NAME, area, 10);
+
+        ArgumentCaptor<Scan> scanCaptor = ArgumentCaptor.forClass(Scan.class);
+        verify(hbaseOperations2).findParallel(eq(HBaseTables.APPLICATION_TRACE_INDEX), scanCaptor.capture(), any(AbstractRowKeyDistributor.class), eq(10), any(RowMapper.class), any(LimitEventHandler.class), anyInt());
+        assertFamily(HBaseTables.APPLICATION_TRACE_INDEX_CF_TRACE, scanCaptor.getValue());
+    }
+
+    @Test
+    public void fallbackToFullIndexWhenFilterIndexTableIsMissing() {
+        when(adminTemplate.tableExists(HBaseTables.APPLICATION_TRACE_FILTER_INDEX)).thenReturn(false);
+        applicationTraceIndexDao.checkFilterIndexTable();
+
+        applicationTraceIndexDao.scanTraceIndex(APPLICATION_NAME, area, 10, TraceIndexType.ERROR);
+
+        ArgumentCaptor<Scan> scanCaptor = ArgumentCaptor.forClass(Scan.class);
+        verify(hbaseOperations2).findParallel(eq(HBaseTables.APPLICATION_TRACE_INDEX), scanCaptor.capture(), any(AbstractRowKeyDistributor.class), eq(10), any(RowMapper.class), any(LimitEventHandler.class), anyInt());
+        assertFamily(HBaseTables.APPLICATION_TRACE_INDEX_CF_TRACE, scanCaptor.getValue());
+    }
+
+    private void assertFamily(byte[] expectedFamily, Scan scan) {
+        byte[][] families = scan.getFamilies();
+        Assert.assertEquals(1, families.length);
+        Assert.assertArrayEquals(expectedFamily, families[0]);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.HBaseTables;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.server.bo.StringMetaDataBo;
+import com.navercorp.pinpoint.web.vo.MetaDataKey;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MetaDataBatchReaderTest {
+
+    private static final String AGENT_ID = "agentId";
+    private static final long AGENT_START_TIME = 1000;
+
+    private HbaseOperations2 hbaseOperations2;
+    private RowMapper<List<StringMetaDataBo>> mapper;
+    private RowKeyDistributorByHashPrefix rowKeyDistributor;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        hbaseOperations2 = mock(HbaseOperations2.class);
+        mapper = mock(RowMapper.class);
+        rowKeyDistributor = new RowKeyDistributorByHashPrefix(new RowKeyDistributorByHashPrefix.OneByteSimpleHash(8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void missesAreFetchedWithOneMultiGet() {
+        List<StringMetaDataBo> found = Collections.singletonList(newStringMetaDataBo(1, "found"));
+        List<StringMetaDataBo> notFound = Collections.emptyList();
+        when(hbaseOperations2.get(any(TableName.class), anyListOf(Get.class), any(RowMapper.class))).thenReturn(Arrays.asList(found, notFound));
+
+        Cache cache = new ConcurrentMapCache("stringMetaData");
+        MetaDataBatchReader<StringMetaDataBo> reader = newReader(cache);
+
+        MetaDataKey foundKey = new MetaDataKey(AGENT_ID, AGENT_START_TIME, 1);
+        MetaDataKey notFoundKey = new MetaDataKey(AGENT_ID, AGENT_START_TIME, 2);
+        Map<MetaDataKey, List<StringMetaDataBo>> result = reader.get(Arrays.asList(foundKey, notFoundKey, foundKey));
+
+        Assert.assertEquals(found, result.get(foundKey));
+        Assert.assertEquals(notFound, result.get(notFoundKey));
+
+        ArgumentCaptor<List> getListCaptor = ArgumentCaptor.forClass(List.class);
+        verify(hbaseOperations2, times(1)).get(any(TableName.class), getListCaptor.capture(), any(RowMapper.class));
+        Assert.assertEquals(2, getListCaptor.getValue().size());
+
+        // only the found row is cached
+        Assert.assertNotNull(cache.get(foundKey.toCacheKey()));
+        Assert.assertNull(cache.get(notFoundKey.toCacheKey()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void cachedRowsAreNotFetched() {
+        List<StringMetaDataBo> cached = Collections.singletonList(newStringMetaDataBo(1, "cached"));
+        MetaDataKey key = new MetaDataKey(AGENT_ID, AGENT_START_TIME, 1);
+        Cache cache = new ConcurrentMapCache("stringMetaData");
+        cache.put(key.toCacheKey(), cached);
+
+        MetaDataBatchReader<StringMetaDataBo> reader = newReader(cache);
+        Map<MetaDataKey, List<StringMetaDataBo>> result = reader.get(Collections.singletonList(key));
+
+        Assert.assertEquals(cached, result.get(key));
+        verify(hbaseOperations2, times(0)).get(any(TableName.class), anyListOf(Get.class), any(RowMapper.class));
+    }
+
+    @Test
+    public void cacheKey() {
+        // must match HbaseApiMetaDataDao.SPEL_KEY
+        Assert.assertEquals("foo.1.2", new MetaDataKey("foo", 1, 2).toCacheKey());
+    }
+
+    private MetaDataBatchReader<StringMetaDataBo> newReader(Cache cache) {
+        return new MetaDataBatchReader<>(hbaseOperations2, HBaseTables.STRING_METADATA, HBaseTables.STRING_METADATA_CF_STR, mapper, rowKeyDistributor, cache);
+    }
+
+    private StringMetaDataBo newStringMetaDataBo(int stringId, String value) {
+        StringMetaDataBo stringMetaDataBo = new StringMetaDataBo(AGENT_ID, AGENT_START_TIME, stringId);
+        stringMetaDataBo.setStringValue(value);
+        return stringMetaDataBo;
+    }
+}
@@ -271,6 +271,42 @@ public class LinkFilterTest {
         Assert.assertTrue(linkFilter.include(Arrays.asList(user_appA, appA_appB)));
     }
 
+    @Test
+    public void wasToWasFilter_sameApplication() {
+        final ServiceType tomcat = serviceTypeRegistryService.findServiceTypeByName(TOMCAT_TYPE_NAME);
+
+        FilterDescriptor descriptor = new FilterDescriptor();
+        descriptor.setFromApplicationName("APP_A");
+        descriptor.setFromServiceType(tomcat.getName());
+        descriptor.setToApplicationName("APP_A");
+        descriptor.setToServiceType(tomcat.getName());
+
+        FilterHint hint = new FilterHint(Collections.emptyList());
+
+        LinkFilter linkFilter = new LinkFilter(descriptor, hint, serviceTypeRegistryService, annotationKeyRegistryService);
+
+        // Reject - a span is not a caller of itself
+        SpanBo user_appA = new SpanBo();
+        user_appA.setSpanId(1);
+        user_appA.setParentSpanId(1);
+        user_appA.setApplicationId("APP_A");
+        user_appA.setApplicationServiceType(tomcat.getCode());
+        Assert.assertFalse(linkFilter.include(Collections.singletonList(user_appA)));
+
+        // Accept - appA calls appA
+        SpanBo root_appA = new SpanBo();
+        root_appA.setSpanId(1);
+        root_appA.setParentSpanId(-1);
+        root_appA.setApplicationId("APP_A");
+        root_appA.setApplicationServiceType(tomcat.getCode());
+        SpanBo appA_appA = new SpanBo();
+        appA_appA.setSpanId(2);
+        appA_appA.setParentSpanId(1);
+        appA_appA.setApplicationId("APP_A");
+        appA_appA.setApplicationServiceType(tomcat.getCode());
+        Assert.assertTrue(linkFilter.include(Arrays.asList(root_appA, appA_appA)));
+    }
+
     @Test
     public void wasToWasFilter_noMatch() {
         final ServiceType tomcat = serviceTypeRegistryService.findServiceTypeByName(TOMCAT_TYPE_NAME);
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.web.dao.AgentInfoDao;
+import com.navercorp.pinpoint.web.dao.AgentLifeCycleDao;
+import com.navercorp.pinpoint.common.server.util.AgentLifeCycleState;
+import com.navercorp.pinpoint.web.vo.AgentInfo;
+import com.navercorp.pinpoint.web.vo.AgentStatus;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AgentInfoCacheTest {
+
+    private static final String AGENT_ID = "agentId";
+    private static final long AGENT_START_TIMESTAMP = 1000;
+    private static final long REFRESH_INTERVAL = 5000;
+
+    private AgentInfoDao agentInfoDao;
+    private AgentLifeCycleDao agentLifeCycleDao;
+
+    @Before
+    public void setUp() {
+        agentInfoDao = mock(AgentInfoDao.class);
+        agentLifeCycleDao = mock(AgentLifeCycleDao.class);
+
+        AgentInfo agentInfo = new AgentInfo();
+        agentInfo.setAgentId(AGENT_ID);
+        agentInfo.setStartTimestamp(AGENT_START_TIMESTAMP);
+        when(agentInfoDao.getAgentInfos(anyListOf(String.class), anyLong())).thenReturn(Collections.singletonList(agentInfo));
+    }
+
+    @Test
+    public void cachedWithinRefreshInterval() {
+        AgentInfoCache agentInfoCache = new AgentInfoCache(agentInfoDao, agentLifeCycleDao, true, REFRESH_INTERVAL, 10, 1000);
+        List<String> agentIds = Collections.singletonList(AGENT_ID);
+
+        List<AgentInfo> first = agentInfoCache.getAgentInfos(agentIds, 10000);
+        List<AgentInfo> second = agentInfoCache.getAgentInfos(agentIds, 10000 + REFRESH_INTERVAL);
+        List<AgentInfo> third = agentInfoCache.getAgentInfos(agentIds, AGENT_START_TIMESTAMP);
+
+        verify(agentInfoDao, times(1)).getAgentInfos(anyListOf(String.class), anyLong());
+        Assert.assertEquals(AGENT_ID, second.get(0).getAgentId());
+        Assert.assertEquals(AGENT_START_TIMESTAMP, third.get(0).getStartTimestamp());
+        // callers may modify the returned agent info
+        Assert.assertNotSame(first.get(0), second.get(0));
+    }
+
+    @Test
+    public void refreshAfterRefreshInterval() {
+        AgentInfoCache agentInfoCache = new AgentInfoCache(agentInfoDao, agentLifeCycleDao, true, REFRESH_INTERVAL, 10, 1000);
+        List<String> agentIds = Collections.singletonList(AGENT_ID);
+
+        when(agentInfoDao.getUpdatedAgentInfos(anyListOf(AgentInfo.class), anyLong(), anyLong())).thenReturn(Collections.<AgentInfo>singletonList(null));
+        when(agentLifeCycleDao.getUpdatedAgentStatuses(anyListOf(AgentInfo.class), anyLong(), anyLong())).thenReturn(Collections.<AgentStatus>singletonList(null));
+
+        agentInfoCache.getAgentInfos(agentIds, 10000);
+        List<AgentInfo> refreshed = agentInfoCache.getAgentInfos(agentIds, 10000 + REFRESH_INTERVAL + 1);
+
+        // only the rows written since the first read
+        verify(agentInfoDao, times(1)).getAgentInfos(anyListOf(String.class), anyLong());
+        verify(agentInfoDao).getUpdatedAgentInfos(anyListOf(AgentInfo.class), eq(10000L), eq(10000 + REFRESH_INTERVAL + 1));
+        verify(agentLifeCycleDao).getUpdatedAgentStatuses(anyListOf(AgentInfo.class), eq(10000L), eq(10000 + REFRESH_INTERVAL + 1));
+        Assert.assertEquals(AGENT_START_TIMESTAMP, refreshed.get(0).getStartTimestamp());
+
+        // the refreshed entry is reused again
+        agentInfoCache.getAgentInfos(agentIds, 10000 + REFRESH_INTERVAL * 2);
+        verify(agentInfoDao, times(1)).getUpdatedAgentInfos(anyListOf(AgentInfo.class), anyLong(), anyLong());
+    }
+
+    @Test
+    public void refreshAgentStatus() {
+        AgentInfoCache agentInfoCache = new AgentInfoCache(agentInfoDao, agentLifeCycleDao, true, REFRESH_INTERVAL, 10, 1000);
+        List<String> agentIds = Collections.singletonList(AGENT_ID);
+        AgentStatus shutdown = new AgentStatus(AGENT_ID);
+        shutdown.setEventTimestamp(12000);
+        shutdown.setState(AgentLifeCycleState.SHUTDOWN);
+        when(agentInfoDao.getUpdatedAgentInfos(anyListOf(AgentInfo.class), anyLong(), anyLong())).thenReturn(Collections.<AgentInfo>singletonList(null));
+        when(agentLifeCycleDao.getUpdatedAgentStatuses(anyListOf(AgentInfo.class), anyLong(), anyLong())).thenReturn(Collections.singletonList(shutdown));
+
+        agentInfoCache.getAgentInfos(agentIds, 10000);
+        List<AgentInfo> refreshed = agentInfoCache.getAgentInfos(agentIds, 20000);
+
+        Assert.assertEquals(AgentLifeCycleState.SHUTDOWN, refreshed.get(0).getStatus().getState());
+        Assert.assertEquals(AGENT_START_TIMESTAMP, refreshed.get(0).getStartTimestamp());
+    }
+
+    @Test
+    public void refreshRestartedAgent() {
+        AgentInfoCache agentInfoCache = new AgentInfoCache(agentInfoDao, agentLifeCycleDao, true, REFRESH_INTERVAL, 10, 1000);
+        List<String> agentIds = Collections.singletonList(AGENT_ID);
+        AgentInfo restarted = new AgentInfo();
+        restarted.setAgentId(AGENT_ID);
+        restarted.setStartTimestamp(15000);
+        when(agentInfoDao.getUpdatedAgentInfos(anyListOf(AgentInfo.class), anyLong(), anyLong())).thenReturn(Collections.singletonList(restarted));
+
+        agentInfoCache.getAgentInfos(agentIds, 10000);
+        List<AgentInfo> refreshed = agentInfoCache.getAgentInfos(agentIds, 20000);
+
+        Assert.assertEquals(15000, refreshed.get(0).getStartTimestamp());
+        // the status of the new agent is read in full
+        verify(agentLifeCycleDao, times(2)).populateAgentStatuses(anyListOf(AgentInfo.class), anyLong());
+        verify(agentLifeCycleDao, times(0)).getUpdatedAgentStatuses(anyListOf(AgentInfo.class), anyLong(), anyLong());
+    }
+
+    @Test
+    public void refreshBeforeAgentStart() {
+        AgentInfoCache agentInfoCache = new AgentInfoCache(agentInfoDao, agentLifeCycleDao, true, REFRESH_INTERVAL, 10, 1000);
+        List<String> agentIds = Collections.singletonList(AGENT_ID);
+
+        agentInfoCache.getAgentInfos(agentIds, 10000);
+        agentInfoCache.getAgentInfos(agentIds, AGENT_START_TIMESTAMP - 1);
+
+        verify(agentInfoDao, times(2)).getAgentInfos(anyListOf(String.class), anyLong());
+    }
+
+    @Test
+    public void disabled() {
+        AgentInfoCache agentInfoCache = new AgentInfoCache(agentInfoDao, agentLifeCycleDao, false, REFRESH_INTERVAL, 10, 1000);
+        List<String> agentIds = Collections.singletonList(AGENT_ID);
+
+        agentInfoCache.getAgentInfos(agentIds, 10000);
+        agentInfoCache.getAgentInfos(agentIds, 10000);
+
+        verify(agentInfoDao, times(2)).getAgentInfos(anyListOf(String.class), anyLong());
+    }
+}
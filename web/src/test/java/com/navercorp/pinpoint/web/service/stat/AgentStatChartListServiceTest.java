@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service.stat;
+
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.navercorp.pinpoint.web.vo.stat.chart.StatChart;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AgentStatChartListServiceTest {
+
+    private static final String AGENT_ID = "agentId";
+
+    private final TimeWindow timeWindow = new TimeWindow(new Range(0, 60000));
+
+    private JvmGcChartService jvmGcChartService;
+    private JvmGcDetailedChartService jvmGcDetailedChartService;
+    private CpuLoadChartService cpuLoadChartService;
+    private TransactionChartService transactionChartService;
+    private ActiveTraceChartService activeTraceChartService;
+    private DataSourceChartService dataSourceChartService;
+    private ResponseTimeChartService responseTimeChartService;
+    private DeadlockChartService deadlockChartService;
+
+    private final List<AgentStatChartListService> services = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        jvmGcChartService = mockChartService(JvmGcChartService.class);
+        jvmGcDetailedChartService = mockChartService(JvmGcDetailedChartService.class);
+        cpuLoadChartService = mockChartService(CpuLoadChartService.class);
+        transactionChartService = mockChartService(TransactionChartService.class);
+        activeTraceChartService = mockChartService(ActiveTraceChartService.class);
+        dataSourceChartService = mockChartService(DataSourceChartService.class);
+        responseTimeChartService = mockChartService(ResponseTimeChartService.class);
+        deadlockChartService = mockChartService(DeadlockChartService.class);
+    }
+
+    @After
+    public void tearDown() {
+        for (AgentStatChartListService service : services) {
+            service.preDestroy();
+        }
+    }
+
+    private <T extends AgentStatChartService> T mockChartService(Class<T> type) {
+        T chartService = mock(type);
+        List<StatChart> statChartList = Collections.singletonList(mock(StatChart.class));
+        when(chartService.selectAgentChartList(anyString(), any(TimeWindow.class))).thenReturn(statChartList);
+        return chartService;
+    }
+
+    private AgentStatChartListService createService(int maxThreads, int queueSize) {
+        AgentStatChartListService service = new AgentStatChartListService(jvmGcChartService, jvmGcDetailedChartService,
+                cpuLoadChartService, transactionChartService, activeTraceChartService, dataSourceChartService,
+                responseTimeChartService, deadlockChartService, maxThreads, queueSize);
+        services.add(service);
+        return service;
+    }
+
+    @Test
+    public void selectAll() {
+        AgentStatChartListService service = createService(4, 16);
+
+        Map<String, List<StatChart>> result = service.selectAgentChartList(AGENT_ID, timeWindow, service.getStatNames());
+
+        Assert.assertEquals(new ArrayList<>(service.getStatNames()), new ArrayList<>(result.keySet()));
+        Assert.assertSame(cpuLoadChartService.selectAgentChartList(AGENT_ID, timeWindow), result.get("cpuLoad"));
+        Assert.assertSame(deadlockChartService.selectAgentChartList(AGENT_ID, timeWindow), result.get("deadlock"));
+        verify(jvmGcChartService).selectAgentChartList(AGENT_ID, timeWindow);
+        verify(jvmGcDetailedChartService).selectAgentChartList(AGENT_ID, timeWindow);
+        verify(transactionChartService).selectAgentChartList(AGENT_ID, timeWindow);
+        verify(activeTraceChartService).selectAgentChartList(AGENT_ID, timeWindow);
+        verify(dataSourceChartService).selectAgentChartList(AGENT_ID, timeWindow);
+        verify(responseTimeChartService).selectAgentChartList(AGENT_ID, timeWindow);
+    }
+
+    @Test
+    public void selectStatNames() {
+        AgentStatChartListService service = createService(4, 16);
+
+        Map<String, List<StatChart>> result = service.selectAgentChartList(AGENT_ID, timeWindow, Arrays.asList("cpuLoad", "jvmGc", "cpuLoad"));
+
+        Assert.assertEquals(Arrays.asList("cpuLoad", "jvmGc"), new ArrayList<>(result.keySet()));
+        verify(cpuLoadChartService, times(1)).selectAgentChartList(AGENT_ID, timeWindow);
+        verify(jvmGcChartService, times(1)).selectAgentChartList(AGENT_ID, timeWindow);
+        verify(transactionChartService, never()).selectAgentChartList(anyString(), any(TimeWindow.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownStatName() {
+        AgentStatChartListService service = createService(4, 16);
+        service.selectAgentChartList(AGENT_ID, timeWindow, Arrays.asList("cpuLoad", "unknown"));
+    }
+
+    @Test
+    public void chartServiceFailure() {
+        IllegalStateException failure = new IllegalStateException("hbase failure");
+        when(transactionChartService.selectAgentChartList(anyString(), any(TimeWindow.class))).thenThrow(failure);
+        AgentStatChartListService service = createService(4, 16);
+
+        try {
+            service.selectAgentChartList(AGENT_ID, timeWindow, service.getStatNames());
+            Assert.fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            Assert.assertSame(failure, e);
+        }
+    }
+
+    @Test
+    public void rejectWhenQueueIsFull() throws Exception {
+        final CountDownLatch blockLatch = new CountDownLatch(1);
+        when(jvmGcChartService.selectAgentChartList(anyString(), any(TimeWindow.class))).thenAnswer(invocation -> {
+            blockLatch.await();
+            return Collections.emptyList();
+        });
+        AgentStatChartListService service = createService(1, 1);
+
+        try {
+            service.selectAgentChartList(AGENT_ID, timeWindow, Arrays.asList("jvmGc", "cpuLoad", "transaction"));
+            Assert.fail("expected RejectedExecutionException");
+        } catch (RejectedExecutionException e) {
+            // jvmGc holds the only thread, cpuLoad fills the queue
+        } finally {
+            blockLatch.countDown();
+        }
+        verify(transactionChartService, never()).selectAgentChartList(anyString(), any(TimeWindow.class));
+    }
+}
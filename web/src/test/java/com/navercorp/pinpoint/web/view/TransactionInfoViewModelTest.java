@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.view;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.navercorp.pinpoint.common.server.bo.MethodTypeEnum;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.util.TransactionIdUtils;
+import com.navercorp.pinpoint.web.applicationmap.link.Link;
+import com.navercorp.pinpoint.web.applicationmap.nodes.Node;
+import com.navercorp.pinpoint.web.vo.callstacks.DefaultRecord;
+import com.navercorp.pinpoint.web.vo.callstacks.Record;
+import com.navercorp.pinpoint.web.vo.callstacks.RecordSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class TransactionInfoViewModelTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void callStack() throws Exception {
+        List<Record> recordList = new ArrayList<>();
+        recordList.add(newRecord(1, 0, 1000, 50));
+        recordList.add(newRecord(2, 1, 1010, 20));
+        recordList.add(newRecord(3, 2, 1020, 5));
+        RecordSet recordSet = new RecordSet();
+        recordSet.setRecordList(recordList);
+
+        TransactionInfoViewModel viewModel = new TransactionInfoViewModel(TransactionIdUtils.parseTransactionId("agent^1^1"),
+                Collections.<Node>emptyList(), Collections.<Link>emptyList(), recordSet, "Complete", false, "", "", "");
+
+        JsonNode callStack = mapper.readTree(mapper.writeValueAsString(viewModel)).get("callStack");
+        Assert.assertTrue(callStack.isArray());
+        Assert.assertEquals(recordList.size(), callStack.size());
+        for (int i = 0; i < recordList.size(); i++) {
+            JsonNode row = callStack.get(i);
+            Assert.assertEquals(TransactionInfoViewModel.CallStack.INDEX.length, row.size());
+            Assert.assertEquals(String.valueOf(recordList.get(i).getId()), row.get(6).asText());
+            // barRatio of the root record is 100 / 50
+            Assert.assertEquals(String.valueOf(recordList.get(i).getElapsed() * 2), row.get(15).asText());
+        }
+
+        // the call stack can be serialized more than once
+        Assert.assertEquals(callStack, mapper.readTree(mapper.writeValueAsString(viewModel)).get("callStack"));
+    }
+
+    private Record newRecord(int id, int parentId, long begin, long elapsed) {
+        return new DefaultRecord(id, id, parentId, true, "title" + id, "arguments", begin, elapsed, 0, "agent", "application", ServiceType.STAND_ALONE,
+                null, false, false, "agent^1^1", id, elapsed, MethodTypeEnum.DEFAULT, true);
+    }
+}
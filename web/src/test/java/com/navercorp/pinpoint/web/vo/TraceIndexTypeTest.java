@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.vo;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TraceIndexTypeTest {
+
+    @Test
+    public void parse() {
+        Assert.assertEquals(TraceIndexType.ALL, TraceIndexType.parse(null));
+        Assert.assertEquals(TraceIndexType.ALL, TraceIndexType.parse(""));
+        Assert.assertEquals(TraceIndexType.ERROR, TraceIndexType.parse("error"));
+        Assert.assertEquals(TraceIndexType.SLOW, TraceIndexType.parse("SLOW"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_unknown() {
+        TraceIndexType.parse("fast");
+    }
+}